@@ -0,0 +1,92 @@
+package javastrava.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javastrava.binary.BinaryUtil;
+import javastrava.binary.exception.BinarySerialisationException;
+import javastrava.binary.impl.BinaryUtilImpl;
+import javastrava.json.impl.JsonUtilImpl;
+
+/**
+ * <p>
+ * Throughput of {@link BinaryUtilImpl} serialising and deserialising each {@link Fixture}, for comparison with {@link JsonUtilBenchmark}
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class BinaryUtilBenchmark {
+	/**
+	 * The payload to work on
+	 */
+	@Param({ "ACTIVITY_DETAILED", "STREAMS_HIGH_RESOLUTION", "SEGMENT_LEADERBOARD", "SEGMENT_EXPLORER" })
+	public Fixture		fixture;
+
+	/**
+	 * The serialiser under test
+	 */
+	private BinaryUtil	binary;
+
+	/**
+	 * The payload in binary
+	 */
+	private byte[]		bytes;
+
+	/**
+	 * The payload deserialised, for serialising
+	 */
+	private Object		value;
+
+	/**
+	 * Read the fixture, deserialise it from JSON and serialise it to binary once, so that a broken fixture fails the run rather than being measured
+	 *
+	 * @throws Exception
+	 *             If the fixture can't be read or serialised
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.binary = new BinaryUtilImpl();
+		this.value = new JsonUtilImpl().deserialise(new String(this.fixture.read(), StandardCharsets.UTF_8), this.fixture.getType());
+		this.bytes = this.binary.serialise(this.value);
+	}
+
+	/**
+	 * @return The deserialised payload
+	 * @throws BinarySerialisationException
+	 *             If the payload can't be deserialised
+	 */
+	@Benchmark
+	public Object deserialise() throws BinarySerialisationException {
+		return this.binary.deserialise(this.bytes, this.fixture.getType());
+	}
+
+	/**
+	 * @return The payload serialised to binary
+	 * @throws BinarySerialisationException
+	 *             If the payload can't be serialised
+	 */
+	@Benchmark
+	public byte[] serialise() throws BinarySerialisationException {
+		return this.binary.serialise(this.value);
+	}
+}
@@ -0,0 +1,84 @@
+package javastrava.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javastrava.model.StravaActivity;
+import javastrava.model.StravaSegmentExplorerResponse;
+import javastrava.model.StravaSegmentLeaderboard;
+import javastrava.model.StravaStream;
+
+/**
+ * <p>
+ * The JSON payloads the benchmarks work on, shaped like Strava's responses and kept as files so that the benchmarks run offline
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public enum Fixture {
+	/**
+	 * Detailed representation of an hour-long ride, with 60 segment efforts, metric and standard splits, 20 laps, best efforts and the full polyline
+	 */
+	ACTIVITY_DETAILED("activity-detailed.json", StravaActivity.class), //$NON-NLS-1$
+	/**
+	 * All eleven streams for the same ride at high resolution (3600 points each)
+	 */
+	STREAMS_HIGH_RESOLUTION("streams-high-resolution.json", StravaStream[].class), //$NON-NLS-1$
+	/**
+	 * A full page (200 entries) of a popular segment's leaderboard, plus the authenticated athlete's neighbourhood
+	 */
+	SEGMENT_LEADERBOARD("segment-leaderboard.json", StravaSegmentLeaderboard.class), //$NON-NLS-1$
+	/**
+	 * The ten segments the segment explorer returns, with their polylines
+	 */
+	SEGMENT_EXPLORER("segment-explorer.json", StravaSegmentExplorerResponse.class); //$NON-NLS-1$
+
+	/**
+	 * Name of the file in the <code>fixtures</code> directory
+	 */
+	private final String	fileName;
+
+	/**
+	 * Class the payload deserialises to
+	 */
+	private final Class<?>	type;
+
+	/**
+	 * @param fileName
+	 *            Name of the file in the <code>fixtures</code> directory
+	 * @param type
+	 *            Class the payload deserialises to
+	 */
+	private Fixture(final String fileName, final Class<?> type) {
+		this.fileName = fileName;
+		this.type = type;
+	}
+
+	/**
+	 * @return Class the payload deserialises to
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 * @return The payload, as UTF-8 bytes
+	 * @throws IOException
+	 *             If the fixture can't be read
+	 */
+	public byte[] read() throws IOException {
+		try (InputStream in = Fixture.class.getResourceAsStream("/fixtures/" + this.fileName)) { //$NON-NLS-1$
+			if (in == null) {
+				throw new IOException("Fixture not found: " + this.fileName); //$NON-NLS-1$
+			}
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+}
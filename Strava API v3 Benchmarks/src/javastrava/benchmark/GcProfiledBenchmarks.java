@@ -0,0 +1,51 @@
+package javastrava.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the benchmarks with the GC profiler, which is the same as <code>java -jar benchmarks.jar -prof gc</code>, and writes the results to
+ * <code>jmh-result.json</code> so that runs can be compared
+ * </p>
+ *
+ * <p>
+ * Any other JMH options given on the command line are applied too, for example a regular expression to pick the benchmarks to run.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class GcProfiledBenchmarks {
+	/**
+	 * @param args
+	 *            JMH command line options
+	 * @throws RunnerException
+	 *             If the benchmarks fail
+	 * @throws CommandLineOptionException
+	 *             If the options can't be parsed
+	 */
+	public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions commandLine = new CommandLineOptions(args);
+		final OptionsBuilder builder = new OptionsBuilder();
+		if (commandLine.getIncludes().isEmpty()) {
+			builder.include(JsonUtilBenchmark.class.getSimpleName());
+			builder.include(BinaryUtilBenchmark.class.getSimpleName());
+		}
+		final Options options = builder.parent(commandLine).addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON).result("jmh-result.json").build(); //$NON-NLS-1$
+		new Runner(options).run();
+	}
+
+	/**
+	 * Not instantiable
+	 */
+	private GcProfiledBenchmarks() {
+		// Not instantiable
+	}
+}
@@ -0,0 +1,114 @@
+package javastrava.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javastrava.json.JsonUtil;
+import javastrava.json.exception.JsonSerialisationException;
+import javastrava.json.impl.JsonUtilImpl;
+
+/**
+ * <p>
+ * Throughput of {@link JsonUtilImpl} serialising and deserialising each {@link Fixture}
+ * </p>
+ *
+ * <p>
+ * Run with <code>-prof gc</code> (or {@link GcProfiledBenchmarks}) to see the allocation rate too.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class JsonUtilBenchmark {
+	/**
+	 * The payload to work on
+	 */
+	@Param({ "ACTIVITY_DETAILED", "STREAMS_HIGH_RESOLUTION", "SEGMENT_LEADERBOARD", "SEGMENT_EXPLORER" })
+	public Fixture		fixture;
+
+	/**
+	 * The serialiser under test
+	 */
+	private JsonUtil	json;
+
+	/**
+	 * The payload as UTF-8 bytes, as it comes off the wire
+	 */
+	private byte[]		bytes;
+
+	/**
+	 * The payload as a string
+	 */
+	private String		text;
+
+	/**
+	 * The payload deserialised, for serialising
+	 */
+	private Object		value;
+
+	/**
+	 * Read the fixture and deserialise it once, so that a broken fixture fails the run rather than being measured
+	 *
+	 * @throws Exception
+	 *             If the fixture can't be read or deserialised
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		this.json = new JsonUtilImpl();
+		this.bytes = this.fixture.read();
+		this.text = new String(this.bytes, StandardCharsets.UTF_8);
+		this.value = this.json.deserialise(this.text, this.fixture.getType());
+	}
+
+	/**
+	 * @return The deserialised payload
+	 * @throws JsonSerialisationException
+	 *             If the payload can't be deserialised
+	 */
+	@Benchmark
+	public Object deserialise() throws JsonSerialisationException {
+		return this.json.deserialise(this.text, this.fixture.getType());
+	}
+
+	/**
+	 * Deserialise from a stream of bytes, the way a response body is read
+	 *
+	 * @return The deserialised payload
+	 * @throws JsonSerialisationException
+	 *             If the payload can't be deserialised
+	 */
+	@Benchmark
+	public Object deserialiseStream() throws JsonSerialisationException {
+		return this.json.deserialise(new ByteArrayInputStream(this.bytes), this.fixture.getType());
+	}
+
+	/**
+	 * @return The payload serialised to JSON
+	 * @throws JsonSerialisationException
+	 *             If the payload can't be serialised
+	 */
+	@Benchmark
+	public String serialise() throws JsonSerialisationException {
+		return this.json.serialise(this.value);
+	}
+}
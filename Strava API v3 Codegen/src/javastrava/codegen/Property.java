@@ -0,0 +1,190 @@
+package javastrava.codegen;
+
+import java.util.List;
+import java.util.Locale;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * <p>
+ * A property of a model class, as Gson sees it: a field, with the JSON name it is serialised under, and the accessors used to get and set it
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class Property {
+	/**
+	 * How the value of a property is read and written
+	 */
+	enum Kind {
+		/**
+		 * {@link String}
+		 */
+		STRING("java.lang.String"), //$NON-NLS-1$
+		/**
+		 * {@link Integer}
+		 */
+		INTEGER("java.lang.Integer"), //$NON-NLS-1$
+		/**
+		 * {@link Long}
+		 */
+		LONG("java.lang.Long"), //$NON-NLS-1$
+		/**
+		 * {@link Float}
+		 */
+		FLOAT("java.lang.Float"), //$NON-NLS-1$
+		/**
+		 * {@link Double}
+		 */
+		DOUBLE("java.lang.Double"), //$NON-NLS-1$
+		/**
+		 * {@link Boolean}
+		 */
+		BOOLEAN("java.lang.Boolean"), //$NON-NLS-1$
+		/**
+		 * <code>int</code>
+		 */
+		PRIMITIVE_INT("int"), //$NON-NLS-1$
+		/**
+		 * <code>long</code>
+		 */
+		PRIMITIVE_LONG("long"), //$NON-NLS-1$
+		/**
+		 * <code>float</code>
+		 */
+		PRIMITIVE_FLOAT("float"), //$NON-NLS-1$
+		/**
+		 * <code>double</code>
+		 */
+		PRIMITIVE_DOUBLE("double"), //$NON-NLS-1$
+		/**
+		 * <code>boolean</code>
+		 */
+		PRIMITIVE_BOOLEAN("boolean"), //$NON-NLS-1$
+		/**
+		 * Anything else, which is read and written by the adapter Gson has for its type
+		 */
+		DELEGATED(null);
+
+		/**
+		 * @param type
+		 *            A type
+		 * @return The kind of property with that type
+		 */
+		static Kind of(final TypeMirror type) {
+			final String name = type.toString();
+			for (final Kind kind : values()) {
+				if (name.equals(kind.typeName)) {
+					return kind;
+				}
+			}
+			return DELEGATED;
+		}
+
+		/**
+		 * Name of the type of property, or <code>null</code> for {@link #DELEGATED}
+		 */
+		private final String typeName;
+
+		/**
+		 * @param typeName
+		 *            Name of the type of property, or <code>null</code> for {@link #DELEGATED}
+		 */
+		private Kind(final String typeName) {
+			this.typeName = typeName;
+		}
+
+		/**
+		 * @return <code>true</code> if the property is a number
+		 */
+		boolean isNumber() {
+			return (this != STRING) && (this != BOOLEAN) && (this != PRIMITIVE_BOOLEAN) && (this != DELEGATED);
+		}
+
+		/**
+		 * @return <code>true</code> if the property can't be <code>null</code>
+		 */
+		boolean isPrimitive() {
+			return (this.typeName != null) && (this.typeName.indexOf('.') == -1);
+		}
+	}
+
+	/**
+	 * Gson's {@link com.google.gson.FieldNamingPolicy#LOWER_CASE_WITH_UNDERSCORES} translation of a field name
+	 *
+	 * @param fieldName
+	 *            Name of the field
+	 * @return Name of the JSON property
+	 */
+	static String lowerCaseWithUnderscores(final String fieldName) {
+		final StringBuilder translation = new StringBuilder();
+		for (int i = 0; i < fieldName.length(); i++) {
+			final char character = fieldName.charAt(i);
+			if (Character.isUpperCase(character) && (translation.length() != 0)) {
+				translation.append('_');
+			}
+			translation.append(character);
+		}
+		return translation.toString().toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Name of the field
+	 */
+	final String		fieldName;
+
+	/**
+	 * Name the property is serialised under
+	 */
+	final String		jsonName;
+
+	/**
+	 * Other names the property is deserialised from
+	 */
+	final List<String>	alternateNames;
+
+	/**
+	 * Type of the field
+	 */
+	final TypeMirror	type;
+
+	/**
+	 * How the value is read and written
+	 */
+	final Kind			kind;
+
+	/**
+	 * Name of the method that gets the value
+	 */
+	final String		getter;
+
+	/**
+	 * Name of the method that sets the value
+	 */
+	final String		setter;
+
+	/**
+	 * @param fieldName
+	 *            Name of the field
+	 * @param jsonName
+	 *            Name the property is serialised under
+	 * @param alternateNames
+	 *            Other names the property is deserialised from
+	 * @param type
+	 *            Type of the field
+	 * @param getter
+	 *            Name of the method that gets the value
+	 * @param setter
+	 *            Name of the method that sets the value
+	 */
+	Property(final String fieldName, final String jsonName, final List<String> alternateNames, final TypeMirror type, final String getter, final String setter) {
+		this.fieldName = fieldName;
+		this.jsonName = jsonName;
+		this.alternateNames = alternateNames;
+		this.type = type;
+		this.kind = Kind.of(type);
+		this.getter = getter;
+		this.setter = setter;
+	}
+}
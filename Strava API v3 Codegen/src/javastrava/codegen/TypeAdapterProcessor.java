@@ -0,0 +1,323 @@
+package javastrava.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * <p>
+ * Generates a Gson {@link com.google.gson.TypeAdapter} for each class in the <code>javastrava.model</code> packages, which reads and writes it with streaming calls instead
+ * of reflection
+ * </p>
+ *
+ * <p>
+ * The adapter for <code>javastrava.model.StravaActivity</code> is <code>javastrava.model.StravaActivity_TypeAdapter</code>; <code>GeneratedTypeAdapterFactory</code> finds
+ * it at run time. Each adapter reads and writes exactly what Gson's reflective adapter would, as configured by <code>JsonUtilImpl</code>: the same fields, under the same names
+ * (<code>LOWER_CASE_WITH_UNDERSCORES</code>, or <code>&#64;SerializedName</code>), with the same handling of <code>null</code>s and unknown names. Strings, numbers and
+ * booleans are read and written directly; anything else is passed to the adapter Gson has for its type, so the enum and date serialisers still apply.
+ * </p>
+ *
+ * <p>
+ * The generated adapters get and set the fields through their getters and setters, since the fields are private. A class is left to Gson's reflection (and a note is
+ * given) if it doesn't follow the rules that makes that safe: it must be public, top level, not generic and not abstract, with a public no-argument constructor, a superclass
+ * that is either <code>Object</code> or another model class, and a public getter and setter of the same type for every field. Classes whose setters do more than set the field
+ * (so that setting the properties one at a time wouldn't give the same object as reflection) can be left out by naming them in the <code>javastrava.codegen.exclude</code>
+ * option, separated by commas.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(TypeAdapterProcessor.EXCLUDE_OPTION)
+public class TypeAdapterProcessor extends AbstractProcessor {
+	/**
+	 * Option naming classes to leave to reflection
+	 */
+	static final String			EXCLUDE_OPTION		= "javastrava.codegen.exclude";					//$NON-NLS-1$
+
+	/**
+	 * Package (and sub-packages) of the classes adapters are generated for
+	 */
+	static final String			MODEL_PACKAGE		= "javastrava.model";							//$NON-NLS-1$
+
+	/**
+	 * Appended to the name of a class to give the name of its adapter
+	 */
+	static final String			ADAPTER_SUFFIX		= "_TypeAdapter";								//$NON-NLS-1$
+
+	/**
+	 * Gson's annotation giving the name a field is serialised under
+	 */
+	private static final String	SERIALIZED_NAME		= "com.google.gson.annotations.SerializedName";	//$NON-NLS-1$
+
+	/**
+	 * Classes adapters have already been generated for, in earlier rounds
+	 */
+	private final Set<String>	generated			= new HashSet<String>();
+
+	/**
+	 * @param type
+	 *            A class
+	 * @param names
+	 *            Names the getter may have
+	 * @param fieldType
+	 *            Type of the field
+	 * @return The name of the method, or <code>null</code>
+	 */
+	private String findGetter(final TypeElement type, final List<String> names, final TypeMirror fieldType) {
+		for (final ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+			if (names.contains(method.getSimpleName().toString()) && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+					&& method.getParameters().isEmpty() && this.processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)) {
+				return method.getSimpleName().toString();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param type
+	 *            A class
+	 * @param names
+	 *            Names the setter may have
+	 * @param fieldType
+	 *            Type of the field
+	 * @return The name of the method, or <code>null</code>
+	 */
+	private String findSetter(final TypeElement type, final List<String> names, final TypeMirror fieldType) {
+		for (final ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+			if (names.contains(method.getSimpleName().toString()) && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+					&& (method.getParameters().size() == 1) && this.processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+				return method.getSimpleName().toString();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param type
+	 *            A class
+	 * @return <code>true</code> if the class has a public constructor with no arguments
+	 */
+	private static boolean hasPublicNoArgumentConstructor(final TypeElement type) {
+		for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param type
+	 *            A class
+	 * @return <code>true</code> if the class is in the model packages
+	 */
+	private boolean isModelClass(final TypeElement type) {
+		final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		return packageName.equals(MODEL_PACKAGE) || packageName.startsWith(MODEL_PACKAGE + '.');
+	}
+
+	/**
+	 * Leave a class to reflection, saying why
+	 *
+	 * @param type
+	 *            The class
+	 * @param reason
+	 *            Why
+	 * @return <code>null</code>
+	 */
+	private List<Property> leaveToReflection(final TypeElement type, final String reason) {
+		this.processingEnv.getMessager().printMessage(Kind.NOTE, "No type adapter generated for " + type.getQualifiedName() + ": " + reason, type); //$NON-NLS-1$ //$NON-NLS-2$
+		return null;
+	}
+
+	/**
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		final Set<String> excluded = new HashSet<String>();
+		final String exclude = this.processingEnv.getOptions().get(EXCLUDE_OPTION);
+		if (exclude != null) {
+			for (final String name : exclude.split(",")) { //$NON-NLS-1$
+				excluded.add(name.trim());
+			}
+		}
+		for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+			final String name = type.getQualifiedName().toString();
+			if (!isModelClass(type) || (type.getKind() != ElementKind.CLASS) || name.endsWith(ADAPTER_SUFFIX) || !this.generated.add(name)) {
+				continue;
+			}
+			if (excluded.contains(name)) {
+				leaveToReflection(type, "excluded by the " + EXCLUDE_OPTION + " option"); //$NON-NLS-1$ //$NON-NLS-2$
+				continue;
+			}
+			final List<Property> properties = properties(type);
+			if (properties != null) {
+				write(type, properties);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Work out the properties Gson would serialise for a class
+	 *
+	 * @param type
+	 *            The class
+	 * @return The properties, in the order Gson serialises them, or <code>null</code> if the class has to be left to reflection
+	 */
+	private List<Property> properties(final TypeElement type) {
+		final Set<Modifier> modifiers = type.getModifiers();
+		if ((type.getNestingKind() != NestingKind.TOP_LEVEL) || !modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+			return leaveToReflection(type, "not a public, top level, concrete class"); //$NON-NLS-1$
+		}
+		if (!type.getTypeParameters().isEmpty()) {
+			return leaveToReflection(type, "generic"); //$NON-NLS-1$
+		}
+		if (!hasPublicNoArgumentConstructor(type)) {
+			return leaveToReflection(type, "no public constructor without arguments"); //$NON-NLS-1$
+		}
+
+		// Gson binds the class's own fields first, then its superclass's, and so on
+		final List<Property> properties = new ArrayList<Property>();
+		final Set<String> names = new HashSet<String>();
+		TypeElement current = type;
+		while (current != null) {
+			for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+					continue;
+				}
+				final Property property = property(type, field);
+				if (property == null) {
+					return leaveToReflection(type, "no public getter and setter for " + field.getSimpleName()); //$NON-NLS-1$
+				}
+				if (!names.add(property.jsonName) || !Collections.disjoint(names, property.alternateNames)) {
+					return leaveToReflection(type, "more than one field is serialised as " + property.jsonName); //$NON-NLS-1$
+				}
+				names.addAll(property.alternateNames);
+				properties.add(property);
+			}
+			current = superclass(current);
+			if ((current != null) && !isModelClass(current)) {
+				return leaveToReflection(type, "superclass " + current.getQualifiedName() + " isn't a model class"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * @param type
+	 *            The class being serialised
+	 * @param field
+	 *            A field of the class or one of its superclasses
+	 * @return The property, or <code>null</code> if it doesn't have the getter and setter needed
+	 */
+	private Property property(final TypeElement type, final VariableElement field) {
+		final String fieldName = field.getSimpleName().toString();
+		final TypeMirror fieldType = field.asType();
+		if (fieldType.getKind() == TypeKind.TYPEVAR) {
+			return null;
+		}
+
+		// Name, from @SerializedName if there is one
+		String jsonName = Property.lowerCaseWithUnderscores(fieldName);
+		final List<String> alternateNames = new ArrayList<String>();
+		for (final AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			if (!annotation.getAnnotationType().toString().equals(SERIALIZED_NAME)) {
+				continue;
+			}
+			for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+				final String element = value.getKey().getSimpleName().toString();
+				if (element.equals("value")) { //$NON-NLS-1$
+					jsonName = (String) value.getValue().getValue();
+				} else if (element.equals("alternate")) { //$NON-NLS-1$
+					for (final Object alternate : (List<?>) value.getValue().getValue()) {
+						alternateNames.add((String) ((AnnotationValue) alternate).getValue());
+					}
+				}
+			}
+		}
+
+		// Accessors, by the usual naming conventions
+		final String capitalised = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+		final List<String> getters = new ArrayList<String>(Arrays.asList("get" + capitalised, "is" + capitalised)); //$NON-NLS-1$ //$NON-NLS-2$
+		final List<String> setters = new ArrayList<String>(Arrays.asList("set" + capitalised)); //$NON-NLS-1$
+		if (fieldName.startsWith("is") && (fieldName.length() > 2) && Character.isUpperCase(fieldName.charAt(2))) { //$NON-NLS-1$
+			getters.add(fieldName);
+			setters.add("set" + fieldName.substring(2)); //$NON-NLS-1$
+		}
+		final String getter = findGetter(type, getters, fieldType);
+		final String setter = findSetter(type, setters, fieldType);
+		if ((getter == null) || (setter == null)) {
+			return null;
+		}
+		return new Property(fieldName, jsonName, alternateNames, fieldType, getter, setter);
+	}
+
+	/**
+	 * @param type
+	 *            A class
+	 * @return Its superclass, or <code>null</code> if that's <code>Object</code>
+	 */
+	private static TypeElement superclass(final TypeElement type) {
+		final TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+		return (element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element);
+	}
+
+	/**
+	 * Write the adapter for a class
+	 *
+	 * @param type
+	 *            The class
+	 * @param properties
+	 *            Its properties
+	 */
+	private void write(final TypeElement type, final List<Property> properties) {
+		final String adapterName = type.getQualifiedName() + ADAPTER_SUFFIX;
+		try (Writer writer = this.processingEnv.getFiler().createSourceFile(adapterName, type).openWriter()) {
+			writer.write(new TypeAdapterWriter(this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString(), type.getSimpleName().toString(), properties)
+					.toString());
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR, "Couldn't write " + adapterName + ": " + e.getMessage(), type); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+}
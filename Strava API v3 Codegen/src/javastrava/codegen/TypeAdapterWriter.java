@@ -0,0 +1,293 @@
+package javastrava.codegen;
+
+import java.util.List;
+
+import javax.lang.model.type.DeclaredType;
+
+/**
+ * <p>
+ * Writes the source of the type adapter for a model class
+ * </p>
+ *
+ * <p>
+ * Strings, numbers and booleans are read and written with Gson's own adapters for them, which are the ones its reflective adapter uses, so the rules for (say) reading a number
+ * from a string are the same. Other properties use the adapter Gson has for their type, looked up once when the adapter is created.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class TypeAdapterWriter {
+	/**
+	 * Gson's built-in adapters for strings, numbers and booleans
+	 */
+	private static final String			TYPE_ADAPTERS	= "com.google.gson.internal.bind.TypeAdapters";	//$NON-NLS-1$
+
+	/**
+	 * Package of the model class
+	 */
+	private final String				packageName;
+
+	/**
+	 * Simple name of the model class
+	 */
+	private final String				className;
+
+	/**
+	 * Its properties, in the order Gson serialises them
+	 */
+	private final List<Property>		properties;
+
+	/**
+	 * Source being written
+	 */
+	private final StringBuilder			source			= new StringBuilder();
+
+	/**
+	 * @param packageName
+	 *            Package of the model class
+	 * @param className
+	 *            Simple name of the model class
+	 * @param properties
+	 *            Its properties, in the order Gson serialises them
+	 */
+	TypeAdapterWriter(final String packageName, final String className, final List<Property> properties) {
+		this.packageName = packageName;
+		this.className = className;
+		this.properties = properties;
+	}
+
+	/**
+	 * @param property
+	 *            A delegated property
+	 * @return Name of the field holding the adapter for it
+	 */
+	private static String adapterField(final Property property) {
+		return property.fieldName + "Adapter"; //$NON-NLS-1$
+	}
+
+	/**
+	 * @param property
+	 *            A property that isn't delegated
+	 * @return Gson's built-in adapter for it
+	 */
+	private static String builtInAdapter(final Property property) {
+		switch (property.kind) {
+		case STRING:
+			return TYPE_ADAPTERS + ".STRING"; //$NON-NLS-1$
+		case INTEGER:
+		case PRIMITIVE_INT:
+			return TYPE_ADAPTERS + ".INTEGER"; //$NON-NLS-1$
+		case LONG:
+		case PRIMITIVE_LONG:
+			return TYPE_ADAPTERS + ".LONG"; //$NON-NLS-1$
+		case FLOAT:
+		case PRIMITIVE_FLOAT:
+			return TYPE_ADAPTERS + ".FLOAT"; //$NON-NLS-1$
+		case DOUBLE:
+		case PRIMITIVE_DOUBLE:
+			return TYPE_ADAPTERS + ".DOUBLE"; //$NON-NLS-1$
+		case BOOLEAN:
+		case PRIMITIVE_BOOLEAN:
+			return TYPE_ADAPTERS + ".BOOLEAN"; //$NON-NLS-1$
+		default:
+			throw new IllegalArgumentException(property.kind.toString());
+		}
+	}
+
+	/**
+	 * @param property
+	 *            A property that isn't delegated
+	 * @return The boxed type its built-in adapter reads
+	 */
+	private static String boxedType(final Property property) {
+		switch (property.kind) {
+		case STRING:
+			return "String"; //$NON-NLS-1$
+		case INTEGER:
+		case PRIMITIVE_INT:
+			return "Integer"; //$NON-NLS-1$
+		case LONG:
+		case PRIMITIVE_LONG:
+			return "Long"; //$NON-NLS-1$
+		case FLOAT:
+		case PRIMITIVE_FLOAT:
+			return "Float"; //$NON-NLS-1$
+		case DOUBLE:
+		case PRIMITIVE_DOUBLE:
+			return "Double"; //$NON-NLS-1$
+		case BOOLEAN:
+		case PRIMITIVE_BOOLEAN:
+			return "Boolean"; //$NON-NLS-1$
+		default:
+			throw new IllegalArgumentException(property.kind.toString());
+		}
+	}
+
+	/**
+	 * @param property
+	 *            A property that isn't delegated
+	 * @return Expression reading it with its built-in adapter
+	 */
+	private static String builtInRead(final Property property) {
+		final String read = builtInAdapter(property) + ".read(in)"; //$NON-NLS-1$
+		// The number adapters are declared to read Numbers
+		return (property.kind.isNumber() ? "(" + boxedType(property) + ") " + read : read); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @param value
+	 *            A string
+	 * @return It as a Java string literal
+	 */
+	private static String literal(final String value) {
+		final StringBuilder literal = new StringBuilder("\""); //$NON-NLS-1$
+		for (final char character : value.toCharArray()) {
+			if ((character == '"') || (character == '\\')) {
+				literal.append('\\').append(character);
+			} else if ((character < ' ') || (character > '~')) {
+				literal.append(String.format("\\u%04x", Integer.valueOf(character))); //$NON-NLS-1$
+			} else {
+				literal.append(character);
+			}
+		}
+		return literal.append('"').toString();
+	}
+
+	/**
+	 * Append a line of source
+	 *
+	 * @param indent
+	 *            Number of tabs to indent it by
+	 * @param line
+	 *            The line
+	 */
+	private void line(final int indent, final String line) {
+		for (int i = 0; i < indent; i++) {
+			this.source.append('\t');
+		}
+		this.source.append(line).append('\n');
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		if (this.source.length() != 0) {
+			return this.source.toString();
+		}
+		final String adapterName = this.className + TypeAdapterProcessor.ADAPTER_SUFFIX;
+		line(0, "package " + this.packageName + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(0, ""); //$NON-NLS-1$
+		line(0, "/**"); //$NON-NLS-1$
+		line(0, " * Reads and writes {@link " + this.className + "} without reflection; generated by " + TypeAdapterProcessor.class.getName() + ", so don't edit"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line(0, " */"); //$NON-NLS-1$
+		// javac ignores "all", so name the warnings the generated code can give: deprecated getters and setters, and raw or unchecked type tokens
+		line(0, "@SuppressWarnings({ \"deprecation\", \"unchecked\", \"rawtypes\" })"); //$NON-NLS-1$
+		line(0, "public final class " + adapterName + " extends com.google.gson.TypeAdapter<" + this.className + "> {"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		writeFields();
+		writeConstructor(adapterName);
+		writeRead();
+		writeWrite();
+		line(0, "}"); //$NON-NLS-1$
+		return this.source.toString();
+	}
+
+	/**
+	 * Write the constructor, which looks up the adapters for delegated properties
+	 *
+	 * @param adapterName
+	 *            Name of the adapter class
+	 */
+	private void writeConstructor(final String adapterName) {
+		line(1, "public " + adapterName + "(final com.google.gson.Gson gson) {"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (final Property property : this.properties) {
+			if (property.kind != Property.Kind.DELEGATED) {
+				continue;
+			}
+			final boolean generic = (property.type instanceof DeclaredType) && !((DeclaredType) property.type).getTypeArguments().isEmpty();
+			final String token = (generic ? "new com.google.gson.reflect.TypeToken<" + property.type + ">() {}" : property.type + ".class"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			line(2, "this." + adapterField(property) + " = gson.getAdapter(" + token + ");"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		line(1, "}"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Write the fields holding the adapters for delegated properties
+	 */
+	private void writeFields() {
+		for (final Property property : this.properties) {
+			if (property.kind == Property.Kind.DELEGATED) {
+				line(1, "private final com.google.gson.TypeAdapter<" + property.type + "> " + adapterField(property) + ";"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		line(0, ""); //$NON-NLS-1$
+	}
+
+	/**
+	 * Write the <code>read</code> method; like Gson's reflective adapter, it ignores names it doesn't know, and leaves primitives alone when the JSON value is
+	 * <code>null</code>
+	 */
+	private void writeRead() {
+		line(0, ""); //$NON-NLS-1$
+		line(1, "@Override"); //$NON-NLS-1$
+		line(1, "public " + this.className + " read(final com.google.gson.stream.JsonReader in) throws java.io.IOException {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(2, "if (in.peek() == com.google.gson.stream.JsonToken.NULL) {"); //$NON-NLS-1$
+		line(3, "in.nextNull();"); //$NON-NLS-1$
+		line(3, "return null;"); //$NON-NLS-1$
+		line(2, "}"); //$NON-NLS-1$
+		line(2, "final " + this.className + " value = new " + this.className + "();"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line(2, "in.beginObject();"); //$NON-NLS-1$
+		line(2, "while (in.hasNext()) {"); //$NON-NLS-1$
+		line(3, "switch (in.nextName()) {"); //$NON-NLS-1$
+		for (final Property property : this.properties) {
+			line(3, "case " + literal(property.jsonName) + ":"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (final String alternateName : property.alternateNames) {
+				line(3, "case " + literal(alternateName) + ":"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (property.kind == Property.Kind.DELEGATED) {
+				line(4, "value." + property.setter + "(this." + adapterField(property) + ".read(in));"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else if (property.kind.isPrimitive()) {
+				line(4, "{"); //$NON-NLS-1$
+				line(5, "final " + boxedType(property) + " read = " + builtInRead(property) + ";"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				line(5, "if (read != null) {"); //$NON-NLS-1$
+				line(6, "value." + property.setter + "(read);"); //$NON-NLS-1$ //$NON-NLS-2$
+				line(5, "}"); //$NON-NLS-1$
+				line(4, "}"); //$NON-NLS-1$
+			} else {
+				line(4, "value." + property.setter + "(" + builtInRead(property) + ");"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			line(4, "break;"); //$NON-NLS-1$
+		}
+		line(3, "default:"); //$NON-NLS-1$
+		line(4, "in.skipValue();"); //$NON-NLS-1$
+		line(3, "}"); //$NON-NLS-1$
+		line(2, "}"); //$NON-NLS-1$
+		line(2, "in.endObject();"); //$NON-NLS-1$
+		line(2, "return value;"); //$NON-NLS-1$
+		line(1, "}"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Write the <code>write</code> method; every property is written, and the {@link com.google.gson.stream.JsonWriter} leaves out the <code>null</code> ones unless it is
+	 * serialising <code>null</code>s, just as for Gson's reflective adapter
+	 */
+	private void writeWrite() {
+		line(0, ""); //$NON-NLS-1$
+		line(1, "@Override"); //$NON-NLS-1$
+		line(1, "public void write(final com.google.gson.stream.JsonWriter out, final " + this.className + " value) throws java.io.IOException {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(2, "if (value == null) {"); //$NON-NLS-1$
+		line(3, "out.nullValue();"); //$NON-NLS-1$
+		line(3, "return;"); //$NON-NLS-1$
+		line(2, "}"); //$NON-NLS-1$
+		line(2, "out.beginObject();"); //$NON-NLS-1$
+		for (final Property property : this.properties) {
+			line(2, "out.name(" + literal(property.jsonName) + ");"); //$NON-NLS-1$ //$NON-NLS-2$
+			final String adapter = (property.kind == Property.Kind.DELEGATED ? "this." + adapterField(property) : builtInAdapter(property)); //$NON-NLS-1$
+			line(2, adapter + ".write(out, value." + property.getter + "());"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		line(2, "out.endObject();"); //$NON-NLS-1$
+		line(1, "}"); //$NON-NLS-1$
+	}
+}
@@ -1,19 +1,19 @@
 package javastrava.api;
 
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.concurrent.CompletableFuture;
 
 import javastrava.api.async.StravaAPICallback;
 import javastrava.api.async.StravaAPIFuture;
-import javastrava.api.util.RetrofitClientResponseInterceptor;
-import javastrava.api.util.RetrofitErrorHandler;
+import javastrava.api.util.APITransport;
 import javastrava.auth.impl.AuthorisationServiceImpl;
 import javastrava.auth.model.Token;
 import javastrava.auth.model.TokenResponse;
 import javastrava.auth.ref.AuthorisationScope;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.JsonUtilImpl;
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaActivityUpdate;
 import javastrava.model.StravaActivityZone;
@@ -55,10 +55,10 @@ import javastrava.model.webhook.reference.StravaSubscriptionObjectType;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
+import retrofit.RequestInterceptor;
 import retrofit.RestAdapter;
 import retrofit.RestAdapter.LogLevel;
 import retrofit.client.Response;
-import retrofit.converter.GsonConverter;
 import retrofit.http.DELETE;
 import retrofit.http.GET;
 import retrofit.http.Path;
@@ -87,9 +87,7 @@ public class API {
 	 */
 	public static AuthorisationAPI authorisationInstance() {
 		if (authorisationAPI == null) {
-			authorisationAPI = new RestAdapter.Builder().setClient(new RetrofitClientResponseInterceptor()).setConverter(new GsonConverter(new JsonUtilImpl().getGson()))
-					.setLogLevel(API.logLevel(AuthorisationServiceImpl.class)).setEndpoint(StravaConfig.AUTH_ENDPOINT).setErrorHandler(new RetrofitErrorHandler()).build()
-					.create(AuthorisationAPI.class);
+			authorisationAPI = APITransport.restAdapter(StravaConfig.AUTH_ENDPOINT, API.logLevel(AuthorisationServiceImpl.class), null).create(AuthorisationAPI.class);
 		}
 		return authorisationAPI;
 	}
@@ -116,7 +114,7 @@ public class API {
 
 	/**
 	 * <p>
-	 * Creates and returns a new API RestAdapter instance.
+	 * Creates and returns a new API instance, using the shared {@link APITransport}.
 	 * </p>
 	 *
 	 * @param class1
@@ -128,20 +126,27 @@ public class API {
 	 * @return A REST service
 	 */
 	public static <T> T instance(final Class<T> class1, final Token token) {
-		return new RestAdapter.Builder()
-				// Client overrides handling of Strava-specific headers in the response, to deal with rate limiting
-				.setClient(new RetrofitClientResponseInterceptor())
-				// Converter is a GSON implementation with custom converters
-				.setConverter(new GsonConverter(new JsonUtilImpl().getGson()))
-				// Log level is determined per API service
-				.setLogLevel(API.logLevel(class1))
-				// Endpoint is the same for all services
-				.setEndpoint(StravaConfig.ENDPOINT)
-				// Request interceptor adds the access token into headers for each request
-				.setRequestInterceptor(request -> request.addHeader(StravaConfig.string("strava.authorization_header_name"), //$NON-NLS-1$
-						token.getTokenType() + " " + token.getToken())) //$NON-NLS-1$
-				// Error handler deals with Strava's implementations of 400, 401, 403, 404 errors etc.
-				.setErrorHandler(new RetrofitErrorHandler()).build().create(class1);
+		return restAdapter(API.logLevel(class1), authorisationInterceptor(token)).create(class1);
+	}
+
+	/**
+	 * @param token
+	 *            The access token required for authentication of requests to the Strava API
+	 * @return Request interceptor which adds the access token into the headers for each request
+	 */
+	private static RequestInterceptor authorisationInterceptor(final Token token) {
+		return request -> request.addHeader(APITransport.AUTHORIZATION_HEADER_NAME, token.getTokenType() + " " + token.getToken()); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param logLevel
+	 *            Log level for the adapter
+	 * @param requestInterceptor
+	 *            Request interceptor which adds the access token to each request
+	 * @return A REST adapter for the Strava data API endpoint
+	 */
+	private static RestAdapter restAdapter(final LogLevel logLevel, final RequestInterceptor requestInterceptor) {
+		return APITransport.restAdapter(StravaConfig.ENDPOINT, logLevel, requestInterceptor);
 	}
 
 	/**
@@ -265,20 +270,38 @@ public class API {
 	}
 
 	private void addAPIInstances(Token token) {
-		this.activityAPI = API.instance(ActivityAPI.class, token);
-		this.athleteAPI = API.instance(AthleteAPI.class, token);
-		this.challengeAPI = API.instance(ChallengeAPI.class, token);
-		this.clubAPI = API.instance(ClubAPI.class, token);
-		this.clubGroupEventAPI = API.instance(ClubGroupEventAPI.class, token);
-		this.gearAPI = API.instance(GearAPI.class, token);
-		this.segmentAPI = API.instance(SegmentAPI.class, token);
-		this.effortAPI = API.instance(SegmentEffortAPI.class, token);
-		this.routeAPI = API.instance(RouteAPI.class, token);
-		this.runningRaceAPI = API.instance(RunningRaceAPI.class, token);
-		this.streamAPI = API.instance(StreamAPI.class, token);
-		this.tokenAPI = API.instance(TokenAPI.class, token);
-		this.uploadAPI = API.instance(UploadAPI.class, token);
-		this.webhookAPI = API.instance(WebhookAPI.class, token);
+		// All the interfaces for a token share the same interceptor, and the same adapter unless their log levels differ
+		final RequestInterceptor interceptor = authorisationInterceptor(token);
+		final Map<LogLevel, RestAdapter> adapters = new EnumMap<>(LogLevel.class);
+		this.activityAPI = create(adapters, ActivityAPI.class, interceptor);
+		this.athleteAPI = create(adapters, AthleteAPI.class, interceptor);
+		this.challengeAPI = create(adapters, ChallengeAPI.class, interceptor);
+		this.clubAPI = create(adapters, ClubAPI.class, interceptor);
+		this.clubGroupEventAPI = create(adapters, ClubGroupEventAPI.class, interceptor);
+		this.gearAPI = create(adapters, GearAPI.class, interceptor);
+		this.segmentAPI = create(adapters, SegmentAPI.class, interceptor);
+		this.effortAPI = create(adapters, SegmentEffortAPI.class, interceptor);
+		this.routeAPI = create(adapters, RouteAPI.class, interceptor);
+		this.runningRaceAPI = create(adapters, RunningRaceAPI.class, interceptor);
+		this.streamAPI = create(adapters, StreamAPI.class, interceptor);
+		this.tokenAPI = create(adapters, TokenAPI.class, interceptor);
+		this.uploadAPI = create(adapters, UploadAPI.class, interceptor);
+		this.webhookAPI = create(adapters, WebhookAPI.class, interceptor);
+	}
+
+	/**
+	 * @param adapters
+	 *            Adapters already created for this token, by log level
+	 * @param class1
+	 *            The API interface to create
+	 * @param interceptor
+	 *            Request interceptor which adds the access token to each request
+	 * @param <T>
+	 *            Class of API interface to be instantiated
+	 * @return A REST service
+	 */
+	private static <T> T create(final Map<LogLevel, RestAdapter> adapters, final Class<T> class1, final RequestInterceptor interceptor) {
+		return adapters.computeIfAbsent(API.logLevel(class1), logLevel -> restAdapter(logLevel, interceptor)).create(class1);
 	}
 
 	/**
@@ -29,7 +29,8 @@ public class StravaAPICallback<T> implements Callback<T> {
 	 */
 	@Override
 	public void failure(final RetrofitError error) {
-		this.future.completeExceptionally(error.getCause());
+		// The error handler's exception is the cause; if there isn't one, the error itself will have to do
+		this.future.completeExceptionally(error.getCause() == null ? error : error.getCause());
 	}
 
 	/**
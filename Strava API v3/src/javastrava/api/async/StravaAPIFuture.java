@@ -60,4 +60,21 @@ public class StravaAPIFuture<T> {
 		}
 		return result;
 	}
+
+	/**
+	 * <p>
+	 * Get the wrapped future, so that further processing can be attached to it rather than waiting for it with {@link #get()}
+	 * </p>
+	 *
+	 * <p>
+	 * Retrofit makes the call on a thread of {@link javastrava.util.StravaExecutors#getDefault()}, which is blocked while the request is in progress (including any wait for the
+	 * rate limiter, and between retries), and the future completes on that thread; so stages attached to it without an executor should be quick. If the call fails, the future completes exceptionally with the
+	 * javastrava exception (for example, a {@link javastrava.service.exception.NotFoundException}).
+	 * </p>
+	 *
+	 * @return The wrapped future
+	 */
+	public CompletableFuture<T> toCompletableFuture() {
+		return this.future;
+	}
 }
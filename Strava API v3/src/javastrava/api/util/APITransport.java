@@ -0,0 +1,138 @@
+package javastrava.api.util;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+
+import javastrava.config.StravaConfig;
+import javastrava.json.JsonUtil;
+import javastrava.json.impl.JsonUtilImpl;
+import javastrava.util.StravaExecutors;
+import retrofit.RequestInterceptor;
+import retrofit.RestAdapter;
+import retrofit.RestAdapter.LogLevel;
+import retrofit.converter.GsonConverter;
+
+/**
+ * <p>
+ * Process-wide HTTP transport shared by every API instance, regardless of which token it was created for.
+ * </p>
+ *
+ * <p>
+ * There is exactly one pooled {@link OkHttpClient} (so connections are kept alive and reused across tokens, over HTTP/2 where the server supports it), one immutable Gson instance with
+ * all the javastrava type adapters registered, one converter and one error handler. The only thing that differs between tokens is the {@link RequestInterceptor} that adds the
+ * authorisation header, which is attached to a (lightweight) {@link RestAdapter} by {@link #restAdapter(String, LogLevel, RequestInterceptor)}.
+ * </p>
+ *
+ * <p>
+ * Asynchronous API calls run on {@link StravaExecutors#getDefault()}, which is a virtual thread per call where the Java runtime has them, unless <code>strava.executor</code> says
+ * otherwise. The executor is looked up for each call, so {@link StravaExecutors#setDefault(Executor)} applies to calls made after it.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class APITransport {
+	/**
+	 * Name of the authorisation header added to each request
+	 */
+	public static final String AUTHORIZATION_HEADER_NAME = StravaConfig.string("strava.authorization_header_name"); //$NON-NLS-1$
+
+	/**
+	 * JSON utility shared by the converter and the error handler; Gson is immutable and thread safe once built
+	 */
+	private static final JsonUtilImpl JSON = new JsonUtilImpl();
+
+	/**
+	 * Pooled HTTP client shared by all API instances
+	 */
+	private static final OkHttpClient HTTP_CLIENT = httpClient();
+
+	/**
+	 * Retrofit client, which wraps the shared HTTP client and intercepts Strava's rate limit headers
+	 */
+	private static final RetrofitClientResponseInterceptor CLIENT = new RetrofitClientResponseInterceptor(HTTP_CLIENT);
+
+	/**
+	 * Converter shared by all API instances
+	 */
+	private static final GsonConverter CONVERTER = new GsonConverter(JSON.getGson());
+
+	/**
+	 * Error handler shared by all API instances
+	 */
+	private static final RetrofitErrorHandler ERROR_HANDLER = new RetrofitErrorHandler(JSON);
+
+	/**
+	 * Executor used by Retrofit for asynchronous calls, which runs them on the default executor; requests run at the priority of the thread that made the call
+	 */
+	private static final Executor HTTP_EXECUTOR = runnable -> StravaExecutors.getDefault().execute(RequestPriority.propagate(runnable));
+
+	/**
+	 * @return The shared, pooled HTTP client
+	 */
+	public static OkHttpClient getHttpClient() {
+		return HTTP_CLIENT;
+	}
+
+	/**
+	 * @return The shared JSON utility
+	 */
+	public static JsonUtil getJson() {
+		return JSON;
+	}
+
+	/**
+	 * @return A new HTTP client configured from javastrava-config.properties
+	 */
+	private static OkHttpClient httpClient() {
+		final OkHttpClient client = new OkHttpClient();
+		client.setConnectionPool(new ConnectionPool(StravaConfig.HTTP_MAX_IDLE_CONNECTIONS, TimeUnit.SECONDS.toMillis(StravaConfig.HTTP_KEEP_ALIVE_SECONDS)));
+		client.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.SPDY_3, Protocol.HTTP_1_1));
+		client.setConnectTimeout(StravaConfig.HTTP_CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		client.setReadTimeout(StravaConfig.HTTP_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		return client;
+	}
+
+	/**
+	 * <p>
+	 * Build a REST adapter on top of the shared transport. Adapters are cheap; create one per token (and log level) and use it to create all the API interfaces that token needs.
+	 * </p>
+	 *
+	 * @param endpoint
+	 *            The endpoint the adapter talks to
+	 * @param logLevel
+	 *            Retrofit log level
+	 * @param requestInterceptor
+	 *            Interceptor to add per-token headers to each request, or <code>null</code> if there are none
+	 * @return The REST adapter
+	 */
+	public static RestAdapter restAdapter(final String endpoint, final LogLevel logLevel, final RequestInterceptor requestInterceptor) {
+		final RestAdapter.Builder builder = new RestAdapter.Builder()
+				// Client overrides handling of Strava-specific headers in the response, to deal with rate limiting
+				.setClient(CLIENT)
+				// Asynchronous calls run on the default executor; callbacks are run on the same thread
+				.setExecutors(HTTP_EXECUTOR, null)
+				// Converter is a GSON implementation with custom converters
+				.setConverter(CONVERTER)
+				.setLogLevel(logLevel)
+				.setEndpoint(endpoint)
+				// Error handler deals with Strava's implementations of 400, 401, 403, 404 errors etc.
+				.setErrorHandler(ERROR_HANDLER);
+		if (requestInterceptor != null) {
+			builder.setRequestInterceptor(requestInterceptor);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * No instances
+	 */
+	private APITransport() {
+		// Static utility class
+	}
+}
@@ -0,0 +1,337 @@
+package javastrava.api.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Schedules requests against Strava's rate limits
+ * </p>
+ *
+ * <p>
+ * Strava limits each application to a number of requests in each 15 minute window (starting on the quarter hour, UTC) and each day (starting at midnight UTC). The limiter keeps a
+ * bucket for each window, which it counts down as requests are issued and keeps in step with the usage and limits that Strava reports in the <code>X-RateLimit-Usage</code> and
+ * <code>X-RateLimit-Limit</code> headers of each response. On top of that, requests are paced: permits are issued at the average rate the 15 minute limit allows, with a configurable
+ * burst, so a bulk job spreads its requests over the window instead of using up the quota in the first minute.
+ * </p>
+ *
+ * <p>
+ * Each request has a {@link RequestPriority}; lower priority requests are held back while the remaining quota is within that priority's reserve, so bulk work can't starve
+ * interactive requests.
+ * </p>
+ *
+ * <p>
+ * Rate limits apply to the application, not to the token, so there is normally just the one limiter, {@link #instance()}.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RateLimiter {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Length of Strava's short rate limit window
+	 */
+	private static final long SHORT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	/**
+	 * Length of Strava's daily rate limit window
+	 */
+	private static final long DAILY_WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+	/**
+	 * The limiter used for all requests to the Strava API
+	 */
+	private static final RateLimiter INSTANCE = new RateLimiter(StravaConfig.integer("strava.rate_limit").intValue(), //$NON-NLS-1$
+			StravaConfig.integer("strava.rate_limit_daily").intValue(), StravaConfig.RATE_LIMITER_BURST); //$NON-NLS-1$
+
+	/**
+	 * @return The limiter used for all requests to the Strava API
+	 */
+	public static RateLimiter instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param now
+	 *            Time in milliseconds since the epoch
+	 * @param windowLength
+	 *            Length of the window in milliseconds
+	 * @return Start of the window containing the given time
+	 */
+	private static long windowStart(final long now, final long windowLength) {
+		return now - (now % windowLength);
+	}
+
+	/**
+	 * Maximum number of requests in the current 15 minute window
+	 */
+	private int		shortLimit;
+
+	/**
+	 * Maximum number of requests in the current day
+	 */
+	private int		dailyLimit;
+
+	/**
+	 * Number of requests used in the current 15 minute window
+	 */
+	private int		shortUsed;
+
+	/**
+	 * Number of requests used in the current day
+	 */
+	private int		dailyUsed;
+
+	/**
+	 * Start of the current 15 minute window
+	 */
+	private long	shortWindowStart;
+
+	/**
+	 * Start of the current day
+	 */
+	private long	dailyWindowStart;
+
+	/**
+	 * Maximum number of requests that may be issued in a burst, without pacing
+	 */
+	private final int	burst;
+
+	/**
+	 * Permits currently available for immediate use by the pacing bucket
+	 */
+	private double	pacingPermits;
+
+	/**
+	 * Time the pacing bucket was last refilled
+	 */
+	private long	lastRefill;
+
+	/**
+	 * @param shortLimit
+	 *            Maximum number of requests in each 15 minute window
+	 * @param dailyLimit
+	 *            Maximum number of requests in each day
+	 * @param burst
+	 *            Maximum number of requests that may be issued in a burst, without pacing
+	 */
+	public RateLimiter(final int shortLimit, final int dailyLimit, final int burst) {
+		final long now = System.currentTimeMillis();
+		this.shortLimit = shortLimit;
+		this.dailyLimit = dailyLimit;
+		this.burst = Math.max(1, burst);
+		this.pacingPermits = this.burst;
+		this.lastRefill = now;
+		this.shortWindowStart = windowStart(now, SHORT_WINDOW_MILLIS);
+		this.dailyWindowStart = windowStart(now, DAILY_WINDOW_MILLIS);
+	}
+
+	/**
+	 * <p>
+	 * Wait until a request of the given priority may be issued
+	 * </p>
+	 *
+	 * @param priority
+	 *            Priority of the request
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting
+	 */
+	public void acquire(final RequestPriority priority) throws InterruptedException {
+		acquire(priority, Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * <p>
+	 * Wait until a request of the given priority may be issued, for no more than the given time
+	 * </p>
+	 *
+	 * <p>
+	 * If it is already clear that the wait would be longer than the timeout (because the quota for the window is used up, for example), returns <code>false</code> straight away.
+	 * </p>
+	 *
+	 * @param priority
+	 *            Priority of the request
+	 * @param timeout
+	 *            Maximum time to wait
+	 * @param unit
+	 *            Unit of the timeout
+	 * @return <code>true</code> if the request may be issued, <code>false</code> if the timeout would expire first
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting
+	 */
+	public boolean acquire(final RequestPriority priority, final long timeout, final TimeUnit unit) throws InterruptedException {
+		final long start = System.currentTimeMillis();
+		final long timeoutMillis = unit.toMillis(timeout);
+		long wait = reserve(priority, start);
+		while (wait > 0) {
+			final long elapsed = System.currentTimeMillis() - start;
+			if (wait > (timeoutMillis - elapsed)) {
+				return false;
+			}
+			if (log.isDebugEnabled()) {
+				log.debug(String.format(Messages.string("RateLimiter.waiting"), Long.valueOf(wait), priority)); //$NON-NLS-1$
+			}
+			Thread.sleep(wait);
+			wait = reserve(priority, System.currentTimeMillis());
+		}
+		return true;
+	}
+
+	/**
+	 * @param priority
+	 *            Priority of the requests
+	 * @return Number of requests of the given priority that could be issued now without eating into the priority's reserve, in either window
+	 */
+	public synchronized int getAvailable(final RequestPriority priority) {
+		roll(System.currentTimeMillis());
+		final int shortAvailable = (this.shortLimit - this.shortUsed) - (int) Math.ceil(priority.getReserve() * this.shortLimit);
+		final int dailyAvailable = (this.dailyLimit - this.dailyUsed) - (int) Math.ceil(priority.getReserve() * this.dailyLimit);
+		return Math.max(0, Math.min(shortAvailable, dailyAvailable));
+	}
+
+	/**
+	 * @return Number of requests remaining in the current day
+	 */
+	public synchronized int getDailyRemaining() {
+		roll(System.currentTimeMillis());
+		return Math.max(0, this.dailyLimit - this.dailyUsed);
+	}
+
+	/**
+	 * @return Number of requests remaining in the current 15 minute window
+	 */
+	public synchronized int getShortRemaining() {
+		roll(System.currentTimeMillis());
+		return Math.max(0, this.shortLimit - this.shortUsed);
+	}
+
+	/**
+	 * @param remaining
+	 *            Requests remaining in the window
+	 * @param limit
+	 *            Limit for the window
+	 * @param priority
+	 *            Priority of the request
+	 * @return <code>true</code> if issuing a request now would leave at least the priority's reserve in the window
+	 */
+	private static boolean available(final int remaining, final int limit, final RequestPriority priority) {
+		return remaining > (priority.getReserve() * limit);
+	}
+
+	/**
+	 * <p>
+	 * Take a permit if one is available; if not, work out how long to wait before trying again
+	 * </p>
+	 *
+	 * @param priority
+	 *            Priority of the request
+	 * @param now
+	 *            Current time
+	 * @return 0 if a permit was taken, otherwise the time in milliseconds to wait before trying again
+	 */
+	private synchronized long reserve(final RequestPriority priority, final long now) {
+		roll(now);
+		if (!available(this.dailyLimit - this.dailyUsed, this.dailyLimit, priority)) {
+			return Math.max(1, (this.dailyWindowStart + DAILY_WINDOW_MILLIS) - now);
+		}
+		if (!available(this.shortLimit - this.shortUsed, this.shortLimit, priority)) {
+			return Math.max(1, (this.shortWindowStart + SHORT_WINDOW_MILLIS) - now);
+		}
+		if (this.pacingPermits < 1) {
+			return Math.max(1, (long) Math.ceil((1 - this.pacingPermits) / pacingRate()));
+		}
+		this.pacingPermits--;
+		this.shortUsed++;
+		this.dailyUsed++;
+		return 0;
+	}
+
+	/**
+	 * @return Permits added to the pacing bucket per millisecond
+	 */
+	private double pacingRate() {
+		return Math.max(1, this.shortLimit) / (double) SHORT_WINDOW_MILLIS;
+	}
+
+	/**
+	 * Start new windows if the current ones have expired, and refill the pacing bucket
+	 *
+	 * @param now
+	 *            Current time
+	 */
+	private void roll(final long now) {
+		final long shortStart = windowStart(now, SHORT_WINDOW_MILLIS);
+		if (shortStart > this.shortWindowStart) {
+			this.shortWindowStart = shortStart;
+			this.shortUsed = 0;
+		}
+		final long dailyStart = windowStart(now, DAILY_WINDOW_MILLIS);
+		if (dailyStart > this.dailyWindowStart) {
+			this.dailyWindowStart = dailyStart;
+			this.dailyUsed = 0;
+		}
+		if (now > this.lastRefill) {
+			this.pacingPermits = Math.min(this.burst, this.pacingPermits + ((now - this.lastRefill) * pacingRate()));
+			this.lastRefill = now;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Take a permit for a request of the given priority if one is available right now
+	 * </p>
+	 *
+	 * @param priority
+	 *            Priority of the request
+	 * @return <code>true</code> if the request may be issued, <code>false</code> if not
+	 */
+	public boolean tryAcquire(final RequestPriority priority) {
+		return reserve(priority, System.currentTimeMillis()) == 0;
+	}
+
+	/**
+	 * <p>
+	 * Update the limits from the <code>X-RateLimit-Limit</code> header returned by Strava
+	 * </p>
+	 *
+	 * @param shortLimitValue
+	 *            Limit for the 15 minute window
+	 * @param dailyLimitValue
+	 *            Limit for the day
+	 */
+	public synchronized void updateLimits(final int shortLimitValue, final int dailyLimitValue) {
+		this.shortLimit = shortLimitValue;
+		this.dailyLimit = dailyLimitValue;
+	}
+
+	/**
+	 * <p>
+	 * Update the usage from the <code>X-RateLimit-Usage</code> header returned by Strava
+	 * </p>
+	 *
+	 * <p>
+	 * Strava's count includes requests made by other instances of the application, but not requests which this instance has issued and which haven't yet reached Strava, so the higher of
+	 * the two counts is kept.
+	 * </p>
+	 *
+	 * @param shortUsage
+	 *            Requests used in the 15 minute window
+	 * @param dailyUsage
+	 *            Requests used in the day
+	 */
+	public synchronized void updateUsage(final int shortUsage, final int dailyUsage) {
+		roll(System.currentTimeMillis());
+		this.shortUsed = Math.max(this.shortUsed, shortUsage);
+		this.dailyUsed = Math.max(this.dailyUsed, dailyUsage);
+	}
+}
@@ -0,0 +1,127 @@
+package javastrava.api.util;
+
+import java.util.function.Supplier;
+
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Priority of a request to the Strava API, as far as the {@link RateLimiter} is concerned
+ * </p>
+ *
+ * <p>
+ * Each priority has a reserve: the fraction of each rate limit window that must still be available for a request of that priority to be allowed through. Interactive requests
+ * ({@link #HIGH}) can use the whole quota, whereas bulk work ({@link #LOW}, which is what the <code>listAll*</code> methods use) stops well short of the limit and leaves the rest for
+ * everything else.
+ * </p>
+ *
+ * <p>
+ * The priority of requests made on the current thread is set with {@link #call(RequestPriority, Supplier)}; requests made outside of that run at {@link #NORMAL} priority.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public enum RequestPriority {
+	/**
+	 * Interactive requests, which may use the whole of the quota
+	 */
+	HIGH(StravaConfig.integer("strava.rate_limiter.reserve_percent.high").intValue()), //$NON-NLS-1$
+	/**
+	 * Default priority
+	 */
+	NORMAL(StravaConfig.integer("strava.rate_limiter.reserve_percent.normal").intValue()), //$NON-NLS-1$
+	/**
+	 * Bulk work, such as <code>listAll*</code> sweeps
+	 */
+	LOW(StravaConfig.integer("strava.rate_limiter.reserve_percent.low").intValue()); //$NON-NLS-1$
+
+	/**
+	 * Priority of requests made on the current thread
+	 */
+	private static final ThreadLocal<RequestPriority> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * <p>
+	 * Run the supplier with requests made on the current thread at the given priority, then restore the previous priority
+	 * </p>
+	 *
+	 * @param priority
+	 *            Priority for requests made by the supplier
+	 * @param supplier
+	 *            The work to do
+	 * @param <T>
+	 *            Type of the result
+	 * @return The supplier's result
+	 */
+	public static <T> T call(final RequestPriority priority, final Supplier<T> supplier) {
+		final RequestPriority previous = CURRENT.get();
+		CURRENT.set(priority);
+		try {
+			return supplier.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * @return The priority of requests made on the current thread
+	 */
+	public static RequestPriority current() {
+		final RequestPriority priority = CURRENT.get();
+		return (priority == null ? NORMAL : priority);
+	}
+
+	/**
+	 * <p>
+	 * Wrap a runnable so that it runs at the priority of the thread that wrapped it, whichever thread it eventually runs on
+	 * </p>
+	 *
+	 * @param runnable
+	 *            The runnable to wrap
+	 * @return The wrapped runnable
+	 */
+	public static Runnable propagate(final Runnable runnable) {
+		final RequestPriority priority = CURRENT.get();
+		if (priority == null) {
+			return runnable;
+		}
+		return () -> {
+			final RequestPriority previous = CURRENT.get();
+			CURRENT.set(priority);
+			try {
+				runnable.run();
+			} finally {
+				if (previous == null) {
+					CURRENT.remove();
+				} else {
+					CURRENT.set(previous);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Fraction of each rate limit window that must remain available for a request of this priority to go ahead
+	 */
+	private final float reserve;
+
+	/**
+	 * @param reservePercent
+	 *            Percentage of each rate limit window that must remain available for a request of this priority to go ahead
+	 */
+	private RequestPriority(final int reservePercent) {
+		this.reserve = reservePercent / 100f;
+	}
+
+	/**
+	 * @return Fraction of each rate limit window that must remain available for a request of this priority to go ahead
+	 */
+	public float getReserve() {
+		return this.reserve;
+	}
+}
@@ -1,12 +1,19 @@
 package javastrava.api.util;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.squareup.okhttp.OkHttpClient;
 
+import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.service.Strava;
+import javastrava.service.exception.StravaAPIRateLimitException;
 import retrofit.client.Header;
 import retrofit.client.OkClient;
 import retrofit.client.Request;
@@ -21,6 +28,10 @@ import retrofit.client.Response;
  *
  */
 public class RetrofitClientResponseInterceptor extends OkClient {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
 
 	/**
 	 * No-args constructor
@@ -37,21 +48,135 @@ public class RetrofitClientResponseInterceptor extends OkClient {
 
 	/**
 	 * <p>
-	 * Gets and stores the values of the rate limit information headers returned by Strava with each response
+	 * Executes the request, retrying it according to the {@link RetryPolicy} if it fails with a transient error
+	 * </p>
+	 *
+	 * <p>
+	 * Each attempt waits for the {@link RateLimiter} to allow it, and the values of the rate limit information headers returned by Strava with each response are stored
+	 * </p>
+	 *
+	 * <p>
+	 * GET requests that have been made before are sent as conditional requests, and a 304 Not Modified response is answered from the {@link RevalidationCache}
 	 * </p>
 	 * 
 	 * @see retrofit.client.OkClient#execute(retrofit.client.Request)
 	 */
 	@Override
 	public Response execute(final Request request) throws IOException {
-		Response response = super.execute(request);
+		if (!StravaConfig.REVALIDATION_ENABLED) {
+			return send(request);
+		}
+		final RevalidationCache revalidationCache = RevalidationCache.instance();
+		final Response response = revalidationCache.revalidated(request, send(revalidationCache.conditional(request)));
+		if (response.getBody() instanceof RevalidationCache.CachedBody) {
+			log.debug(String.format(Messages.string("RevalidationCache.notModified"), request.getUrl())); //$NON-NLS-1$
+		}
+		return response;
+	}
+
+	/**
+	 * Sends the request, retrying it according to the {@link RetryPolicy} if it fails with a transient error
+	 *
+	 * @param request
+	 *            The request
+	 * @return The response
+	 * @throws IOException
+	 *             If the request fails and isn't (or can't be) retried
+	 */
+	private Response send(final Request request) throws IOException {
+		final RetryPolicy retryPolicy = RetryPolicy.instance();
+		int attempt = 0;
+		while (true) {
+			attempt++;
+			acquire(request);
+			if (StravaConfig.RETRY_ENABLED) {
+				retryPolicy.recordRequest(request);
+			}
 
+			final Response response;
+			try {
+				response = super.execute(request);
+			} catch (final IOException e) {
+				final long delay = (StravaConfig.RETRY_ENABLED ? retryPolicy.delay(request, null, attempt) : -1);
+				if (delay < 0) {
+					throw e;
+				}
+				log.warn(String.format(Messages.string("RetryPolicy.retrying"), request.getMethod(), request.getUrl(), e, Integer.valueOf(attempt), Long.valueOf(delay))); //$NON-NLS-1$
+				sleep(delay);
+				continue;
+			}
+
+			recordRateLimits(response);
+
+			final long delay = (StravaConfig.RETRY_ENABLED ? retryPolicy.delay(request, response, attempt) : -1);
+			if (delay < 0) {
+				return response;
+			}
+			log.warn(String.format(Messages.string("RetryPolicy.retrying"), request.getMethod(), request.getUrl(), //$NON-NLS-1$
+					response.getStatus() + " " + response.getReason(), Integer.valueOf(attempt), Long.valueOf(delay))); //$NON-NLS-1$
+			discard(response);
+			sleep(delay);
+		}
+	}
+
+	/**
+	 * Wait for the {@link RateLimiter} to allow the request
+	 *
+	 * @param request
+	 *            The request
+	 * @throws InterruptedIOException
+	 *             If the thread is interrupted while waiting
+	 * @throws StravaAPIRateLimitException
+	 *             If the rate limiter won't allow the request within <code>strava.rate_limiter.max_wait_seconds</code>, unless
+	 *             <code>strava.rate_limiter.send_when_exhausted</code> is set
+	 */
+	private static void acquire(final Request request) throws InterruptedIOException {
+		if (StravaConfig.RATE_LIMITER_ENABLED) {
+			final RequestPriority priority = RequestPriority.current();
+			try {
+				if (!RateLimiter.instance().acquire(priority, StravaConfig.RATE_LIMITER_MAX_WAIT_SECONDS, TimeUnit.SECONDS)) {
+					if (!StravaConfig.RATE_LIMITER_SEND_WHEN_EXHAUSTED) {
+						throw new StravaAPIRateLimitException(String.format(Messages.string("RateLimiter.exhausted"), priority, request.getUrl()), null, null); //$NON-NLS-1$
+					}
+					log.warn(String.format(Messages.string("RateLimiter.notWaiting"), priority, request.getUrl())); //$NON-NLS-1$
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Close the body of a response that isn't going to be used, so that the connection can be reused
+	 *
+	 * @param response
+	 *            The response
+	 */
+	private static void discard(final Response response) {
+		if (response.getBody() != null) {
+			try {
+				response.getBody().in().close();
+			} catch (final IOException e) {
+				// Nothing to be done; the connection won't be reused
+			}
+		}
+	}
+
+	/**
+	 * Gets and stores the values of the rate limit information headers returned by Strava with each response
+	 *
+	 * @param response
+	 *            The response
+	 */
+	private static void recordRateLimits(final Response response) {
 		for (Header header : response.getHeaders()) {
 			if (header.getName().equals(StravaConfig.string("strava.rate-limit-usage-header-name"))) { //$NON-NLS-1$
 				String values = header.getValue();
 				StringTokenizer tokenizer = new StringTokenizer(values, ","); //$NON-NLS-1$
 				Strava.REQUEST_RATE_CURRENT = Integer.valueOf(tokenizer.nextToken()).intValue();
 				Strava.REQUEST_RATE_DAILY = Integer.valueOf(tokenizer.nextToken()).intValue();
+				RateLimiter.instance().updateUsage(Strava.REQUEST_RATE_CURRENT, Strava.REQUEST_RATE_DAILY);
 				Strava.requestRateCurrentPercentage();
 			}
 			if (header.getName().equals(StravaConfig.string("strava.rate-limit-limit-header-name"))) { //$NON-NLS-1$
@@ -59,10 +184,24 @@ public class RetrofitClientResponseInterceptor extends OkClient {
 				StringTokenizer tokenizer = new StringTokenizer(values, ","); //$NON-NLS-1$
 				Strava.RATE_LIMIT_CURRENT = Integer.valueOf(tokenizer.nextToken()).intValue();
 				Strava.RATE_LIMIT_DAILY = Integer.valueOf(tokenizer.nextToken()).intValue();
+				RateLimiter.instance().updateLimits(Strava.RATE_LIMIT_CURRENT, Strava.RATE_LIMIT_DAILY);
 				Strava.requestRateDailyPercentage();
 			}
 		}
+	}
 
-		return response;
+	/**
+	 * @param delay
+	 *            Time to wait, in milliseconds
+	 * @throws InterruptedIOException
+	 *             If the thread is interrupted while waiting
+	 */
+	private static void sleep(final long delay) throws InterruptedIOException {
+		try {
+			Thread.sleep(delay);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
 	}
 }
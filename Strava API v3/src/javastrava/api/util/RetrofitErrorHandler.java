@@ -71,7 +71,22 @@ public class RetrofitErrorHandler implements ErrorHandler {
 	/**
 	 * JSON utilities for serialisation and deserialisation
 	 */
-	JsonUtil json = new JsonUtilImpl();
+	JsonUtil json;
+
+	/**
+	 * No-args constructor
+	 */
+	public RetrofitErrorHandler() {
+		this(new JsonUtilImpl());
+	}
+
+	/**
+	 * @param json
+	 *            JSON utilities to use to read Strava's error responses
+	 */
+	public RetrofitErrorHandler(final JsonUtil json) {
+		this.json = json;
+	}
 
 	/**
 	 * @see retrofit.ErrorHandler#handleError(retrofit.RetrofitError)
@@ -83,6 +98,11 @@ public class RetrofitErrorHandler implements ErrorHandler {
 		final String status = (r == null ? Messages.string("RetrofitErrorHandler.unknownError") //$NON-NLS-1$
 				: r.getStatus() + " " + r.getReason()); //$NON-NLS-1$
 
+		// The rate limiter refused to send the request
+		if (cause.getCause() instanceof StravaAPIRateLimitException) {
+			return cause.getCause();
+		}
+
 		// Handle network errors
 		if (cause.getKind() == Kind.NETWORK) {
 			return new StravaAPINetworkException(null, response, cause);
@@ -0,0 +1,290 @@
+package javastrava.api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javastrava.config.StravaConfig;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+/**
+ * <p>
+ * Decides whether, and when, a failed request to the Strava API should be retried
+ * </p>
+ *
+ * <p>
+ * Only idempotent requests (GETs) are retried, and only if they failed with a network error, a 429 (rate limit exceeded) or a 5xx status. The delay between attempts grows
+ * exponentially, with full jitter so that many clients that failed together don't all retry together. If Strava says when to retry (with a <code>Retry-After</code> header) that is
+ * honoured, and a 429 without one waits for the next 15 minute rate limit window.
+ * </p>
+ *
+ * <p>
+ * Retries are limited by a budget per token: each request adds a fraction of a retry to the token's budget, each retry takes a whole one away, so when Strava is having a bad time
+ * the clients don't make it worse by multiplying the load on it. Budgets are kept for the tokens used most recently, up to a configured number of them; a token whose budget has
+ * been dropped starts again with a full one.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RetryPolicy {
+	/**
+	 * Name of the header Strava may use to say when to retry
+	 */
+	private static final String RETRY_AFTER_HEADER_NAME = "Retry-After"; //$NON-NLS-1$
+
+	/**
+	 * HTTP method that is safe to retry
+	 */
+	private static final String RETRYABLE_METHOD = "GET"; //$NON-NLS-1$
+
+	/**
+	 * Length of Strava's short rate limit window
+	 */
+	private static final long SHORT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	/**
+	 * The policy used for all requests to the Strava API
+	 */
+	private static final RetryPolicy INSTANCE = new RetryPolicy(StravaConfig.RETRY_MAX_ATTEMPTS, StravaConfig.RETRY_BASE_DELAY_MILLIS,
+			TimeUnit.SECONDS.toMillis(StravaConfig.RETRY_MAX_BACKOFF_SECONDS), TimeUnit.SECONDS.toMillis(StravaConfig.RETRY_MAX_DELAY_SECONDS),
+			StravaConfig.RETRY_BUDGET_PERCENT / 100d, StravaConfig.RETRY_BUDGET_MAXIMUM, StravaConfig.RETRY_BUDGET_TOKENS);
+
+	/**
+	 * @return The policy used for all requests to the Strava API
+	 */
+	public static RetryPolicy instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param request
+	 *            The request
+	 * @return SHA-256 hash of the value of the authorisation header, which identifies the token the request was made with without holding on to it, or an empty string if there
+	 *         isn't one
+	 */
+	private static String tokenKey(final Request request) {
+		for (final Header header : request.getHeaders()) {
+			if (APITransport.AUTHORIZATION_HEADER_NAME.equalsIgnoreCase(header.getName()) && (header.getValue() != null)) {
+				try {
+					final byte[] digest = MessageDigest.getInstance("SHA-256").digest(header.getValue().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+					final StringBuilder hex = new StringBuilder(digest.length * 2);
+					for (final byte b : digest) {
+						hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+					}
+					return hex.toString();
+				} catch (final NoSuchAlgorithmException e) {
+					// Every Java platform is required to support SHA-256
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Maximum number of attempts, including the first
+	 */
+	private final int maxAttempts;
+
+	/**
+	 * Delay before the first retry, before jitter
+	 */
+	private final long baseDelayMillis;
+
+	/**
+	 * Cap on the exponential backoff
+	 */
+	private final long maxBackoffMillis;
+
+	/**
+	 * Cap on any delay, including one requested by Strava; if Strava asks for a longer delay than this the request is not retried
+	 */
+	private final long maxDelayMillis;
+
+	/**
+	 * Retries added to a token's budget by each request
+	 */
+	private final double budgetRatio;
+
+	/**
+	 * Maximum (and initial) size of each token's budget
+	 */
+	private final double budgetMaximum;
+
+	/**
+	 * Retry budgets, keyed by hash of the authorisation header value, least recently used first; guarded by itself
+	 */
+	private final Map<String, double[]> budgets;
+
+	/**
+	 * @param maxAttempts
+	 *            Maximum number of attempts, including the first
+	 * @param baseDelayMillis
+	 *            Delay before the first retry, before jitter
+	 * @param maxBackoffMillis
+	 *            Cap on the exponential backoff
+	 * @param maxDelayMillis
+	 *            Cap on any delay, including one requested by Strava
+	 * @param budgetRatio
+	 *            Retries added to a token's budget by each request
+	 * @param budgetMaximum
+	 *            Maximum (and initial) size of each token's budget
+	 * @param budgetTokens
+	 *            Maximum number of tokens to keep budgets for; the least recently used is dropped when there are more
+	 */
+	public RetryPolicy(final int maxAttempts, final long baseDelayMillis, final long maxBackoffMillis, final long maxDelayMillis, final double budgetRatio,
+			final double budgetMaximum, final int budgetTokens) {
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMillis = baseDelayMillis;
+		this.maxBackoffMillis = maxBackoffMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.budgetRatio = budgetRatio;
+		this.budgetMaximum = budgetMaximum;
+		this.budgets = new LinkedHashMap<String, double[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, double[]> eldest) {
+				return size() > budgetTokens;
+			}
+		};
+	}
+
+	/**
+	 * @param attempt
+	 *            Number of attempts made so far (1 after the first failure)
+	 * @return Exponential backoff with full jitter
+	 */
+	private long backoff(final int attempt) {
+		final long ceiling = Math.min(this.maxBackoffMillis, this.baseDelayMillis << Math.min(attempt - 1, 30));
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	/**
+	 * @param tokenKey
+	 *            Key identifying the token
+	 * @return The token's budget, a full one if it doesn't have one yet; the caller must hold the lock on {@link #budgets}
+	 */
+	private double[] budget(final String tokenKey) {
+		return this.budgets.computeIfAbsent(tokenKey, key -> new double[] { this.budgetMaximum });
+	}
+
+	/**
+	 * <p>
+	 * Work out how long to wait before retrying a request which failed with the given response, or with a network error
+	 * </p>
+	 *
+	 * @param request
+	 *            The request that failed
+	 * @param response
+	 *            The response, or <code>null</code> if the request failed with a network error
+	 * @param attempt
+	 *            Number of attempts made so far
+	 * @return Delay in milliseconds before the next attempt, or -1 if the request should not be retried
+	 */
+	public long delay(final Request request, final Response response, final int attempt) {
+		if ((attempt >= this.maxAttempts) || !RETRYABLE_METHOD.equals(request.getMethod())) {
+			return -1;
+		}
+		final long delay;
+		if (response == null) {
+			delay = backoff(attempt);
+		} else if (!isRetryableStatus(response.getStatus())) {
+			return -1;
+		} else {
+			final long retryAfter = retryAfter(response);
+			if (retryAfter >= 0) {
+				delay = retryAfter;
+			} else if (response.getStatus() == 429) {
+				if (RateLimiter.instance().getDailyRemaining() == 0) {
+					// No point in retrying until tomorrow
+					return -1;
+				}
+				final long now = System.currentTimeMillis();
+				delay = (SHORT_WINDOW_MILLIS - (now % SHORT_WINDOW_MILLIS)) + backoff(1);
+			} else {
+				delay = backoff(attempt);
+			}
+		}
+		if ((delay > this.maxDelayMillis) || !withdraw(tokenKey(request))) {
+			return -1;
+		}
+		return delay;
+	}
+
+	/**
+	 * @param status
+	 *            HTTP status
+	 * @return <code>true</code> if a request that failed with this status may succeed if retried
+	 */
+	private static boolean isRetryableStatus(final int status) {
+		return (status == 429) || ((status >= 500) && (status < 600) && (status != 501));
+	}
+
+	/**
+	 * <p>
+	 * Record that a request is being made, adding to the token's retry budget
+	 * </p>
+	 *
+	 * @param request
+	 *            The request
+	 */
+	public void recordRequest(final Request request) {
+		final String tokenKey = tokenKey(request);
+		synchronized (this.budgets) {
+			final double[] budget = budget(tokenKey);
+			budget[0] = Math.min(this.budgetMaximum, budget[0] + this.budgetRatio);
+		}
+	}
+
+	/**
+	 * @param response
+	 *            The response
+	 * @return The delay requested by the <code>Retry-After</code> header in milliseconds, or -1 if there isn't a usable one
+	 */
+	private static long retryAfter(final Response response) {
+		for (final Header header : response.getHeaders()) {
+			if (RETRY_AFTER_HEADER_NAME.equalsIgnoreCase(header.getName()) && (header.getValue() != null)) {
+				final String value = header.getValue().trim();
+				try {
+					return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+				} catch (final NumberFormatException e) {
+					// Not a number of seconds, so it should be an HTTP date
+				}
+				try {
+					final long when = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+					return Math.max(0, when - System.currentTimeMillis());
+				} catch (final DateTimeParseException e) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param tokenKey
+	 *            Key identifying the token
+	 * @return <code>true</code> if there was a retry in the budget to take, <code>false</code> if the budget is exhausted
+	 */
+	private boolean withdraw(final String tokenKey) {
+		synchronized (this.budgets) {
+			final double[] budget = budget(tokenKey);
+			if (budget[0] < 1) {
+				return false;
+			}
+			budget[0]--;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,425 @@
+package javastrava.api.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javastrava.config.StravaConfig;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+import retrofit.mime.TypedInput;
+
+/**
+ * <p>
+ * Validators (ETag and Last-Modified) for the responses to GET requests, kept along with the bodies of those responses, so that the next time the same request is made it can be
+ * sent as a conditional request
+ * </p>
+ *
+ * <p>
+ * The {@link RetrofitClientResponseInterceptor} adds <code>If-None-Match</code> and <code>If-Modified-Since</code> headers to a request it has seen before. If Strava answers 304 Not
+ * Modified, the body from last time is given to Retrofit instead, so there is no body to download. It is parsed again each time, because the services change the objects they are
+ * given, and those changes mustn't turn up in the next caller's object.
+ * </p>
+ *
+ * <p>
+ * Requests are keyed by URL and authorisation header, because the same URL can return different content to different athletes. The least recently used requests are forgotten
+ * once there are more than <code>strava.revalidation.max_entries</code> of them, or their bodies take up more than <code>strava.revalidation.max_bytes</code>. A body bigger than
+ * <code>strava.revalidation.max_entry_bytes</code> isn't kept at all: it is passed through to Retrofit as it arrives, so that big responses such as streams are still parsed
+ * without being buffered. Any other request to the same URL (a PUT or DELETE) forgets the GET, since it is likely to have changed the resource.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class RevalidationCache {
+	/**
+	 * The body kept from an earlier response, standing in for the body of a 304 response
+	 */
+	static final class CachedBody extends TypedByteArray {
+		/**
+		 * @param mimeType
+		 *            MIME type of the body
+		 * @param bytes
+		 *            The body
+		 */
+		CachedBody(final String mimeType, final byte[] bytes) {
+			super(mimeType, bytes);
+		}
+	}
+
+	/**
+	 * A body that was too big to keep: the bytes read before that was discovered, followed by the rest of the response, read as Retrofit parses it
+	 */
+	private static final class PassedThroughBody implements TypedInput {
+		/**
+		 * MIME type of the body
+		 */
+		private final String		mimeType;
+
+		/**
+		 * The start of the body, already read
+		 */
+		private final byte[]		head;
+
+		/**
+		 * The rest of the body, not yet read
+		 */
+		private final InputStream	rest;
+
+		/**
+		 * @param mimeType
+		 *            MIME type of the body
+		 * @param head
+		 *            The start of the body, already read
+		 * @param rest
+		 *            The rest of the body, not yet read
+		 */
+		PassedThroughBody(final String mimeType, final byte[] head, final InputStream rest) {
+			this.mimeType = mimeType;
+			this.head = head;
+			this.rest = rest;
+		}
+
+		@Override
+		public InputStream in() {
+			return new SequenceInputStream(new ByteArrayInputStream(this.head), this.rest);
+		}
+
+		@Override
+		public long length() {
+			return -1;
+		}
+
+		@Override
+		public String mimeType() {
+			return this.mimeType;
+		}
+	}
+
+	/**
+	 * Validators from a response, with its body
+	 */
+	private static final class Validators {
+		/**
+		 * Value of the ETag header, or <code>null</code>
+		 */
+		final String	etag;
+
+		/**
+		 * Value of the Last-Modified header, or <code>null</code>
+		 */
+		final String	lastModified;
+
+		/**
+		 * MIME type of the body
+		 */
+		final String	mimeType;
+
+		/**
+		 * The body; never changed once kept
+		 */
+		final byte[]	body;
+
+		/**
+		 * @param etag
+		 *            Value of the ETag header, or <code>null</code>
+		 * @param lastModified
+		 *            Value of the Last-Modified header, or <code>null</code>
+		 * @param mimeType
+		 *            MIME type of the body
+		 * @param body
+		 *            The body
+		 */
+		Validators(final String etag, final String lastModified, final String mimeType, final byte[] body) {
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.mimeType = mimeType;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * MIME type of a kept body, if its response didn't give one
+	 */
+	private static final String JSON_MIME_TYPE = "application/json; charset=UTF-8"; //$NON-NLS-1$
+
+	/**
+	 * Method of requests that can be revalidated
+	 */
+	private static final String GET = "GET"; //$NON-NLS-1$
+
+	/**
+	 * HTTP status for Not Modified
+	 */
+	private static final int NOT_MODIFIED = 304;
+
+	/**
+	 * HTTP status for OK
+	 */
+	private static final int OK = 200;
+
+	/**
+	 * The instance used by all API instances
+	 */
+	private static final RevalidationCache INSTANCE = new RevalidationCache(StravaConfig.REVALIDATION_MAX_ENTRIES, StravaConfig.REVALIDATION_MAX_BYTES,
+			StravaConfig.REVALIDATION_MAX_ENTRY_BYTES);
+
+	/**
+	 * Close the body of a response, so that the connection can be reused
+	 *
+	 * @param response
+	 *            The response
+	 */
+	private static void close(final Response response) {
+		if (response.getBody() != null) {
+			try {
+				response.getBody().in().close();
+			} catch (final IOException e) {
+				// Nothing to be done; the connection won't be reused
+			}
+		}
+	}
+
+	/**
+	 * @param in
+	 *            A response body
+	 * @param length
+	 *            Length of the body, or -1 if it isn't known
+	 * @param limit
+	 *            Number of bytes to stop reading after
+	 * @return The bytes of the body, read to the end or until there are more than the limit
+	 * @throws IOException
+	 *             If the body can't be read
+	 */
+	private static byte[] read(final InputStream in, final long length, final int limit) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream((length > 0) && (length <= limit) ? (int) length : 8192);
+		final byte[] buffer = new byte[8192];
+		for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+			out.write(buffer, 0, read);
+			if (out.size() > limit) {
+				break;
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * @param headers
+	 *            Headers
+	 * @param name
+	 *            Name of a header
+	 * @return Value of the first header with that name (ignoring case), or <code>null</code> if there isn't one
+	 */
+	private static String header(final List<Header> headers, final String name) {
+		for (final Header header : headers) {
+			if (name.equalsIgnoreCase(header.getName())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return The revalidation cache used by all API instances
+	 */
+	public static RevalidationCache instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param request
+	 *            The request
+	 * @return The key identifying a GET request for the same URL, with the same authorisation, as the request
+	 */
+	private static String key(final Request request) {
+		final String authorisation = header(request.getHeaders(), APITransport.AUTHORIZATION_HEADER_NAME);
+		return (authorisation == null ? request.getUrl() : authorisation + ' ' + request.getUrl());
+	}
+
+	/**
+	 * Requests and their validators, least recently used first; guarded by synchronising on the map, as is {@link #bytes}
+	 */
+	private final LinkedHashMap<String, Validators> entries = new LinkedHashMap<String, Validators>(16, 0.75f, true);
+
+	/**
+	 * Total size of the bodies kept
+	 */
+	private long bytes;
+
+	/**
+	 * Maximum number of requests to keep
+	 */
+	private final int maxEntries;
+
+	/**
+	 * Maximum total size of the bodies kept
+	 */
+	private final long maxBytes;
+
+	/**
+	 * Maximum size of a body that is kept
+	 */
+	private final int maxEntryBytes;
+
+	/**
+	 * @param maxEntries
+	 *            Maximum number of requests to keep
+	 * @param maxBytes
+	 *            Maximum total size of the bodies kept
+	 * @param maxEntryBytes
+	 *            Maximum size of a body that is kept; bigger ones are passed through
+	 */
+	RevalidationCache(final int maxEntries, final long maxBytes, final int maxEntryBytes) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.maxEntryBytes = maxEntryBytes;
+	}
+
+	/**
+	 * <p>
+	 * Make a request conditional, if a response to it has been kept
+	 * </p>
+	 *
+	 * <p>
+	 * Requests other than GET are returned as they are, and the GET for their URL is forgotten.
+	 * </p>
+	 *
+	 * @param request
+	 *            The request
+	 * @return The request, with <code>If-None-Match</code> and <code>If-Modified-Since</code> headers added if its response has been kept
+	 */
+	Request conditional(final Request request) {
+		final String key = key(request);
+		if (!GET.equals(request.getMethod())) {
+			forget(key);
+			return request;
+		}
+		final Validators entry = get(key);
+		if (entry == null) {
+			return request;
+		}
+		final List<Header> headers = new ArrayList<Header>(request.getHeaders());
+		if (entry.etag != null) {
+			headers.add(new Header("If-None-Match", entry.etag)); //$NON-NLS-1$
+		}
+		if (entry.lastModified != null) {
+			headers.add(new Header("If-Modified-Since", entry.lastModified)); //$NON-NLS-1$
+		}
+		return new Request(request.getMethod(), request.getUrl(), headers, request.getBody());
+	}
+
+	/**
+	 * @param key
+	 *            Key of the request
+	 */
+	private void forget(final String key) {
+		synchronized (this.entries) {
+			final Validators entry = this.entries.remove(key);
+			if (entry != null) {
+				this.bytes -= entry.body.length;
+			}
+		}
+	}
+
+	/**
+	 * @param key
+	 *            Key of the request
+	 * @return The entry for the request, or <code>null</code>
+	 */
+	private Validators get(final String key) {
+		synchronized (this.entries) {
+			return this.entries.get(key);
+		}
+	}
+
+	/**
+	 * Keep the validators and body of a response, and forget the least recently used requests until the rest are within bounds
+	 *
+	 * @param key
+	 *            Key of the request
+	 * @param entry
+	 *            The validators and body
+	 */
+	private void keep(final String key, final Validators entry) {
+		synchronized (this.entries) {
+			final Validators previous = this.entries.put(key, entry);
+			this.bytes += entry.body.length - (previous == null ? 0 : previous.body.length);
+			final Iterator<Validators> eldest = this.entries.values().iterator();
+			while (((this.entries.size() > this.maxEntries) || (this.bytes > this.maxBytes)) && eldest.hasNext()) {
+				this.bytes -= eldest.next().body.length;
+				eldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Deal with the response to a request that may have been made conditional by {@link #conditional(Request)}
+	 * </p>
+	 *
+	 * <ul>
+	 * <li>A 304 Not Modified response becomes a 200 OK response with a {@link CachedBody} holding the body kept from last time</li>
+	 * <li>The body of a 200 OK response to a GET, with an ETag or Last-Modified header, is read and kept, along with the validators, unless it turns out to be too big; then what has
+	 * been read is passed on, followed by the rest of the body</li>
+	 * <li>Anything else is left alone</li>
+	 * </ul>
+	 *
+	 * @param request
+	 *            The request
+	 * @param response
+	 *            The response
+	 * @return The response to give to Retrofit
+	 * @throws IOException
+	 *             If the body of a response to be kept can't be read
+	 */
+	Response revalidated(final Request request, final Response response) throws IOException {
+		if (!GET.equals(request.getMethod())) {
+			return response;
+		}
+		final String key = key(request);
+		if (response.getStatus() == NOT_MODIFIED) {
+			final Validators entry = get(key);
+			if (entry != null) {
+				close(response);
+				return new Response(response.getUrl(), OK, "OK", response.getHeaders(), new CachedBody(entry.mimeType, entry.body)); //$NON-NLS-1$
+			}
+			return response;
+		}
+		if ((response.getStatus() != OK) || (response.getBody() == null)) {
+			return response;
+		}
+		final String cacheControl = header(response.getHeaders(), "Cache-Control"); //$NON-NLS-1$
+		final String etag = header(response.getHeaders(), "ETag"); //$NON-NLS-1$
+		final String lastModified = header(response.getHeaders(), "Last-Modified"); //$NON-NLS-1$
+		final long length = response.getBody().length();
+		if (((etag == null) && (lastModified == null)) || ((cacheControl != null) && cacheControl.contains("no-store")) || (length > this.maxEntryBytes)) { //$NON-NLS-1$
+			forget(key);
+			return response;
+		}
+		final String mimeType = (response.getBody().mimeType() == null ? JSON_MIME_TYPE : response.getBody().mimeType());
+		final InputStream in = response.getBody().in();
+		final byte[] body;
+		try {
+			body = read(in, length, this.maxEntryBytes);
+		} catch (final IOException e) {
+			in.close();
+			throw e;
+		}
+		if (body.length > this.maxEntryBytes) {
+			// The length wasn't given up front, and it's too big to keep
+			forget(key);
+			return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(), new PassedThroughBody(mimeType, body, in));
+		}
+		in.close();
+		keep(key, new Validators(etag, lastModified, mimeType, body));
+		return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(), new TypedByteArray(mimeType, body));
+	}
+}
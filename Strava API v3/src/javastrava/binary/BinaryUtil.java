@@ -0,0 +1,47 @@
+package javastrava.binary;
+
+import javastrava.binary.exception.BinarySerialisationException;
+
+/**
+ * <p>
+ * Serialisation and de-serialisation of model objects in a compact binary format, for storing them (in a cache, or an archive) more cheaply than as JSON
+ * </p>
+ *
+ * <p>
+ * The format is versioned, and fields are identified by their JSON names, so objects serialised by an older version of the model still de-serialise, with any new fields left
+ * empty, and fields that have since been removed are ignored.
+ * </p>
+ *
+ * @author Dan Shannon
+ */
+public interface BinaryUtil {
+
+	/**
+	 * Deserialise bytes produced by {@link #serialise(Object)} to the named class
+	 *
+	 * @param bytes
+	 *            The bytes to deserialise
+	 * @param class1
+	 *            The class to which they should be deserialised; a model class or an array of them
+	 * @param <T>
+	 *            Class to deserialise to
+	 * @return An instance of the class as deserialised from the bytes
+	 * @throws BinarySerialisationException
+	 *             If the bytes aren't in the binary format, were written by a later version, or don't hold an instance of the class
+	 */
+	public abstract <T> T deserialise(final byte[] bytes, final Class<T> class1) throws BinarySerialisationException;
+
+	/**
+	 * Serialise an object to bytes
+	 *
+	 * @param object
+	 *            The object to be serialised; a model object or an array of them
+	 * @param <T>
+	 *            Class to serialise
+	 * @return The bytes
+	 * @throws BinarySerialisationException
+	 *             If the object has a field of a type that can't be serialised
+	 */
+	public abstract <T> byte[] serialise(final T object) throws BinarySerialisationException;
+
+}
@@ -0,0 +1,28 @@
+package javastrava.binary.exception;
+
+/**
+ * <p>
+ * Default exception if there is some issue with binary serialisation that can't be dealt with
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class BinarySerialisationException extends Exception {
+
+	/**
+	 * Default serialVersionUID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param string
+	 *            Error message
+	 * @param e
+	 *            Root cause
+	 */
+	public BinarySerialisationException(final String string, final Exception e) {
+		super(string, e);
+	}
+
+}
@@ -0,0 +1,204 @@
+package javastrava.binary.impl;
+
+/**
+ * <p>
+ * Constants describing the binary format
+ * </p>
+ *
+ * <p>
+ * The bytes start with {@link #MAGIC} and the {@link #VERSION} of the format as a varint, followed by the value serialised: a varint wire type, and the value as described by
+ * the wire type. Varints hold 7 bits per byte, least significant first, with the top bit set on all but the last byte; signed numbers are zigzag encoded first, so small
+ * negative numbers are short too.
+ * </p>
+ *
+ * <p>
+ * An {@link #OBJECT} is a sequence of fields ended by a varint 0. Each field starts with a varint key: a reference to the field's name, shifted left by {@link #WIRE_TYPE_BITS},
+ * with the wire type of its value in the low bits. The first time a name is used in the bytes, it is given as {@link #NEW_NAME} and the name follows as a length-prefixed UTF-8
+ * string; after that, the name is referred to by its position in the order names were given, starting at {@link #FIRST_NAME}. Null fields are left out. A field with a name (or
+ * wire type) the reader doesn't expect is skipped, which is what makes objects readable by other versions of the model.
+ * </p>
+ *
+ * <p>
+ * The other wire types are:
+ * </p>
+ * <ul>
+ * <li>{@link #VARINT}: an integer, boolean or integer identifier of a reference type, zigzag encoded</li>
+ * <li>{@link #FIXED64} and {@link #FIXED32}: a <code>double</code> or <code>float</code>, little-endian</li>
+ * <li>{@link #BYTES}: a varint length and that many bytes; a UTF-8 string, a bit set, or a packed array (see below)</li>
+ * <li>{@link #SYMBOL}: a string from a small set (a string identifier of a reference type, an enum name, a time zone) held in a dictionary; a varint reference, and if it is 0,
+ * a new string as for {@link #NEW_NAME}, referred to after that by its position in the dictionary, starting at 1</li>
+ * <li>{@link #LIST}: a varint count, and each element as a varint wire type (or {@link #NULL}) and value</li>
+ * <li>{@link #TIMESTAMP}: a varint holding, zigzag encoded, the difference in seconds since the epoch from the previous timestamp in the bytes (starting at 0), shifted left 2,
+ * with {@link #ZONE_FOLLOWS} set if a time zone follows as a {@link #SYMBOL} and {@link #NANOS_FOLLOW} set if a varint number of nanoseconds follows. A zone is only given
+ * when it differs from the last one given. Local date/times are stored as if they were in UTC, and dates as the start of the day in UTC.</li>
+ * </ul>
+ *
+ * <p>
+ * A packed array is a byte giving the type of the elements (shifted left {@link #PACKED_TYPE_SHIFT}) and how they are packed, the varint number of elements, and the elements.
+ * {@link #PACKED_RAW} elements are little-endian <code>float</code>s or <code>double</code>s, or zigzag varints for integer arrays. {@link #PACKED_SCALED} is used when every
+ * element is a decimal with no more than a few decimal places (as nearly everything Strava sends is): a varint number of decimal places, then each element multiplied by 10 to
+ * that power, as the zigzag varint difference from the previous one. Streams hold values close to their neighbours, so most of those take a byte or two. Scaled elements can't
+ * be negative zero, so if {@link #NEGATIVE_ZEROS} is set, the elements are followed by the length-prefixed bytes of a bit set of the ones that are.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class BinaryFormat {
+	/**
+	 * First bytes of the binary format
+	 */
+	static final byte[]	MAGIC				= { 'J', 'S', 'B' };
+
+	/**
+	 * Version of the format written; readers reject later versions
+	 */
+	static final int	VERSION				= 1;
+
+	/**
+	 * Number of bits of a field key that hold the wire type
+	 */
+	static final int	WIRE_TYPE_BITS		= 3;
+
+	/**
+	 * Key that ends an object
+	 */
+	static final int	END					= 0;
+
+	/**
+	 * Name reference saying the field's name follows
+	 */
+	static final int	NEW_NAME			= 1;
+
+	/**
+	 * Name reference to the first name given
+	 */
+	static final int	FIRST_NAME			= 2;
+
+	/**
+	 * Wire type of zigzag encoded varints
+	 */
+	static final int	VARINT				= 0;
+
+	/**
+	 * Wire type of <code>double</code>s
+	 */
+	static final int	FIXED64				= 1;
+
+	/**
+	 * Wire type of length-prefixed bytes
+	 */
+	static final int	BYTES				= 2;
+
+	/**
+	 * Wire type of objects
+	 */
+	static final int	OBJECT				= 3;
+
+	/**
+	 * Wire type of dictionary encoded strings
+	 */
+	static final int	SYMBOL				= 4;
+
+	/**
+	 * Wire type of <code>float</code>s
+	 */
+	static final int	FIXED32				= 5;
+
+	/**
+	 * Wire type of lists and arrays of objects
+	 */
+	static final int	LIST				= 6;
+
+	/**
+	 * Wire type of delta encoded date/times and dates
+	 */
+	static final int	TIMESTAMP			= 7;
+
+	/**
+	 * Wire type of a <code>null</code> element of a list
+	 */
+	static final int	NULL				= 8;
+
+	/**
+	 * Packed array of raw elements
+	 */
+	static final int	PACKED_RAW			= 0;
+
+	/**
+	 * Packed array of scaled, delta encoded elements
+	 */
+	static final int	PACKED_SCALED		= 1;
+
+	/**
+	 * Flag in a packed array's first byte saying a bit set of negative zero elements follows them
+	 */
+	static final int	NEGATIVE_ZEROS		= 2;
+
+	/**
+	 * Number of bits a packed array's element type is shifted left in its first byte
+	 */
+	static final int	PACKED_TYPE_SHIFT	= 2;
+
+	/**
+	 * Packed array of <code>int</code>s
+	 */
+	static final int	PACKED_INT			= 0;
+
+	/**
+	 * Packed array of <code>long</code>s
+	 */
+	static final int	PACKED_LONG			= 1;
+
+	/**
+	 * Packed array of <code>float</code>s
+	 */
+	static final int	PACKED_FLOAT		= 2;
+
+	/**
+	 * Packed array of <code>double</code>s
+	 */
+	static final int	PACKED_DOUBLE		= 3;
+
+	/**
+	 * Most decimal places tried for packed <code>float</code>s
+	 */
+	static final int	FLOAT_PLACES		= 3;
+
+	/**
+	 * Most decimal places tried for packed <code>double</code>s
+	 */
+	static final int	DOUBLE_PLACES		= 7;
+
+	/**
+	 * Powers of 10, indexed by the power
+	 */
+	static final double[]	POWERS_OF_TEN		= { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7 };
+
+	/**
+	 * Flag in a timestamp saying a zone follows
+	 */
+	static final int	ZONE_FOLLOWS		= 1;
+
+	/**
+	 * Flag in a timestamp saying nanoseconds follow
+	 */
+	static final int	NANOS_FOLLOW		= 2;
+
+	/**
+	 * Number of bits of a timestamp holding the flags
+	 */
+	static final int	TIMESTAMP_FLAG_BITS	= 2;
+
+	/**
+	 * Seconds in a day, for dates
+	 */
+	static final long	SECONDS_PER_DAY		= 86400L;
+
+	/**
+	 * No instances
+	 */
+	private BinaryFormat() {
+		// Constants only
+	}
+}
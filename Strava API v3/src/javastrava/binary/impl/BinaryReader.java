@@ -0,0 +1,613 @@
+package javastrava.binary.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import javastrava.binary.impl.ClassSchema.FieldSchema;
+import javastrava.binary.impl.ValueType.Kind;
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * Reads a value in the binary format described by {@link BinaryFormat}
+ * </p>
+ *
+ * <p>
+ * Values are read into the types the caller expects. Where what was written doesn't match (a field that has since been removed, or whose type has changed) it is skipped,
+ * except that numbers are converted between types where that makes sense. The field names, symbols and timestamps read so far are remembered, so a reader can only be used once.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class BinaryReader {
+	/**
+	 * Returned in place of a value that was skipped
+	 */
+	private static final Object SKIPPED = new Object();
+
+	/**
+	 * @param type
+	 *            Type of a reference type
+	 * @param id
+	 *            An identifier
+	 * @return The value with that identifier
+	 * @throws IOException
+	 *             If the reference type can't create values
+	 */
+	private static Object create(final ValueType type, final Object id) throws IOException {
+		try {
+			return type.create.invoke(null, id);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @param kind
+	 *            A kind
+	 * @return <code>true</code> if the type is of that kind
+	 */
+	private static boolean is(final ValueType type, final Kind kind) {
+		return (type != null) && (type.kind == kind);
+	}
+
+	/**
+	 * @param value
+	 *            A zigzag encoded value
+	 * @return The value
+	 */
+	private static long unzigzag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * The bytes being read
+	 */
+	private final byte[]		buffer;
+
+	/**
+	 * Position of the next byte to be read
+	 */
+	private int					position;
+
+	/**
+	 * Field names read so far, in the order they were given
+	 */
+	private final List<String>	names	= new ArrayList<>();
+
+	/**
+	 * Symbols read so far, in the order they were given
+	 */
+	private final List<String>	symbols	= new ArrayList<>();
+
+	/**
+	 * Seconds since the epoch of the last timestamp read
+	 */
+	private long				previousSeconds;
+
+	/**
+	 * Last zone read
+	 */
+	private ZoneId				previousZone;
+
+	/**
+	 * @param buffer
+	 *            The bytes to be read
+	 */
+	BinaryReader(final byte[] buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * @return An exception saying the bytes are malformed at the current position
+	 */
+	private IOException malformed() {
+		return new IOException(String.format(Messages.string("BinaryReader.malformed"), Integer.valueOf(this.position))); //$NON-NLS-1$
+	}
+
+	/**
+	 * Read the header and a value
+	 *
+	 * @param class1
+	 *            Class of the value expected
+	 * @return The value, which may be <code>null</code>
+	 * @throws IOException
+	 *             If the bytes aren't in the binary format, were written by a later version, or don't hold a value of that class
+	 * @throws IllegalArgumentException
+	 *             If the class has a field of a type that can't be serialised
+	 */
+	Object read(final Class<?> class1) throws IOException {
+		for (final byte magic : BinaryFormat.MAGIC) {
+			if ((this.position == this.buffer.length) || (this.buffer[this.position++] != magic)) {
+				throw new IOException(Messages.string("BinaryReader.notBinary")); //$NON-NLS-1$
+			}
+		}
+		final long version = readVarint();
+		if (version > BinaryFormat.VERSION) {
+			throw new IOException(String.format(Messages.string("BinaryReader.laterVersion"), Long.valueOf(version), Integer.valueOf(BinaryFormat.VERSION))); //$NON-NLS-1$
+		}
+		final Object value = readElement(ValueType.of(class1));
+		if (value == SKIPPED) {
+			throw new IOException(String.format(Messages.string("BinaryReader.wrongClass"), class1.getName())); //$NON-NLS-1$
+		}
+		if (this.position != this.buffer.length) {
+			throw malformed();
+		}
+		return value;
+	}
+
+	/**
+	 * @return A bit set, as its length-prefixed bytes
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private BitSet readBitSet() throws IOException {
+		final int length = readLength();
+		if (length > (this.buffer.length - this.position)) {
+			throw truncated();
+		}
+		final BitSet value = BitSet.valueOf(ByteBuffer.wrap(this.buffer, this.position, length));
+		this.position += length;
+		return value;
+	}
+
+	/**
+	 * @return The next byte
+	 * @throws EOFException
+	 *             If there are no more bytes
+	 */
+	private int readByte() throws EOFException {
+		if (this.position == this.buffer.length) {
+			throw truncated();
+		}
+		return this.buffer[this.position++] & 0xff;
+	}
+
+	/**
+	 * Read a {@link BinaryFormat#BYTES} value
+	 *
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @return The value, or {@link #SKIPPED}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readBytes(final ValueType type) throws IOException {
+		final int length = readLength();
+		if (length > (this.buffer.length - this.position)) {
+			throw truncated();
+		}
+		final int end = this.position + length;
+		final Object value;
+		if (type == null) {
+			value = SKIPPED;
+		} else if (type.kind == Kind.STRING) {
+			value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+		} else if (type.kind == Kind.BIT_SET) {
+			value = BitSet.valueOf(ByteBuffer.wrap(this.buffer, this.position, length));
+		} else if ((type.kind == Kind.FLOAT_ARRAY) || (type.kind == Kind.DOUBLE_ARRAY) || (type.kind == Kind.INT_ARRAY) || (type.kind == Kind.LONG_ARRAY)) {
+			value = readPacked(type, end);
+			if ((value != SKIPPED) && (this.position != end)) {
+				throw malformed();
+			}
+		} else {
+			value = SKIPPED;
+		}
+		this.position = end;
+		return value;
+	}
+
+	/**
+	 * Read an element of a list, or the value at the top level: its wire type and the value
+	 *
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @return The value, which may be <code>null</code>, or {@link #SKIPPED}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readElement(final ValueType type) throws IOException {
+		final long wireType = readVarint();
+		if (wireType == BinaryFormat.NULL) {
+			return null;
+		}
+		if ((wireType < 0) || (wireType > BinaryFormat.NULL)) {
+			throw malformed();
+		}
+		return readValue((int) wireType, type);
+	}
+
+	/**
+	 * @return Little-endian value
+	 * @throws EOFException
+	 *             If there aren't enough bytes
+	 */
+	private int readFixed32() throws EOFException {
+		if ((this.buffer.length - this.position) < 4) {
+			throw truncated();
+		}
+		final int value = (this.buffer[this.position] & 0xff) | ((this.buffer[this.position + 1] & 0xff) << 8) | ((this.buffer[this.position + 2] & 0xff) << 16)
+				| ((this.buffer[this.position + 3] & 0xff) << 24);
+		this.position += 4;
+		return value;
+	}
+
+	/**
+	 * @return Little-endian value
+	 * @throws EOFException
+	 *             If there aren't enough bytes
+	 */
+	private long readFixed64() throws EOFException {
+		final long low = readFixed32() & 0xffffffffL;
+		return low | ((long) readFixed32() << 32);
+	}
+
+	/**
+	 * @return A varint length, count or reference
+	 * @throws IOException
+	 *             If it is too big to be one
+	 */
+	private int readLength() throws IOException {
+		final long value = readVarint();
+		if ((value < 0) || (value > Integer.MAX_VALUE)) {
+			throw malformed();
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Read a {@link BinaryFormat#LIST} value
+	 *
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @return The list or array, or {@link #SKIPPED}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readList(final ValueType type) throws IOException {
+		final int count = readLength();
+		// Every element takes at least a byte, so don't believe a count bigger than that
+		if (count > (this.buffer.length - this.position)) {
+			throw truncated();
+		}
+		final boolean list = is(type, Kind.LIST);
+		final boolean array = is(type, Kind.ARRAY);
+		final ValueType element = (list || array ? type.element : null);
+		final List<Object> elements = new ArrayList<>(list || array ? count : 0);
+		for (int i = 0; i < count; i++) {
+			final Object value = readElement(element);
+			if (list || array) {
+				elements.add(value == SKIPPED ? null : value);
+			}
+		}
+		if (list) {
+			return elements;
+		}
+		if (array) {
+			return elements.toArray((Object[]) Array.newInstance(element.type, count));
+		}
+		return SKIPPED;
+	}
+
+	/**
+	 * Read an object's fields, until {@link BinaryFormat#END}
+	 *
+	 * @param schema
+	 *            Schema of the object expected, or <code>null</code> if it is being skipped
+	 * @return The object, or {@link #SKIPPED}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readObject(final ClassSchema schema) throws IOException {
+		final Object object;
+		try {
+			object = (schema == null ? SKIPPED : schema.newInstance());
+		} catch (final IllegalStateException e) {
+			throw new IOException(e);
+		}
+		for (long key = readVarint(); key != BinaryFormat.END; key = readVarint()) {
+			final int wireType = (int) (key & ((1 << BinaryFormat.WIRE_TYPE_BITS) - 1));
+			final long reference = key >>> BinaryFormat.WIRE_TYPE_BITS;
+			final String name;
+			if (reference == BinaryFormat.NEW_NAME) {
+				name = readString();
+				this.names.add(name);
+			} else if ((reference >= BinaryFormat.FIRST_NAME) && ((reference - BinaryFormat.FIRST_NAME) < this.names.size())) {
+				name = this.names.get((int) (reference - BinaryFormat.FIRST_NAME));
+			} else {
+				throw malformed();
+			}
+			final FieldSchema field = (schema == null ? null : schema.field(name));
+			final Object value = readValue(wireType, (field == null ? null : field.type));
+			if ((field != null) && (value != SKIPPED) && (value != null)) {
+				try {
+					field.field.set(object, value);
+				} catch (final IllegalAccessException e) {
+					// The field was made accessible when the schema was created
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+		return object;
+	}
+
+	/**
+	 * @param type
+	 *            Type expected
+	 * @param end
+	 *            Position after the packed array
+	 * @return The packed array, or {@link #SKIPPED} if it isn't of the type expected
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readPacked(final ValueType type, final int end) throws IOException {
+		final int header = readByte();
+		final int elements = header >>> BinaryFormat.PACKED_TYPE_SHIFT;
+		final boolean scaled = ((header & 1) == BinaryFormat.PACKED_SCALED);
+		final boolean negativeZeros = ((header & BinaryFormat.NEGATIVE_ZEROS) != 0);
+		final int count = readLength();
+		if (count > (end - this.position)) {
+			throw malformed();
+		}
+		final double power;
+		if (scaled) {
+			final int places = readLength();
+			if (places >= BinaryFormat.POWERS_OF_TEN.length) {
+				throw malformed();
+			}
+			power = BinaryFormat.POWERS_OF_TEN[places];
+		} else {
+			power = 1;
+		}
+		long previous = 0;
+		switch (type.kind) {
+		case FLOAT_ARRAY:
+			if (elements != BinaryFormat.PACKED_FLOAT) {
+				return SKIPPED;
+			}
+			final float[] floats = new float[count];
+			for (int i = 0; i < count; i++) {
+				if (scaled) {
+					previous += unzigzag(readVarint());
+					floats[i] = (float) (previous / power);
+				} else {
+					floats[i] = Float.intBitsToFloat(readFixed32());
+				}
+			}
+			if (negativeZeros) {
+				final BitSet zeros = readBitSet();
+				for (int i = zeros.nextSetBit(0); (i >= 0) && (i < count); i = zeros.nextSetBit(i + 1)) {
+					floats[i] = -0.0f;
+				}
+			}
+			return floats;
+		case DOUBLE_ARRAY:
+			if (elements != BinaryFormat.PACKED_DOUBLE) {
+				return SKIPPED;
+			}
+			final double[] doubles = new double[count];
+			for (int i = 0; i < count; i++) {
+				if (scaled) {
+					previous += unzigzag(readVarint());
+					doubles[i] = previous / power;
+				} else {
+					doubles[i] = Double.longBitsToDouble(readFixed64());
+				}
+			}
+			if (negativeZeros) {
+				final BitSet zeros = readBitSet();
+				for (int i = zeros.nextSetBit(0); (i >= 0) && (i < count); i = zeros.nextSetBit(i + 1)) {
+					doubles[i] = -0.0;
+				}
+			}
+			return doubles;
+		case INT_ARRAY:
+			if (elements != BinaryFormat.PACKED_INT) {
+				return SKIPPED;
+			}
+			final int[] ints = new int[count];
+			for (int i = 0; i < count; i++) {
+				final long value = unzigzag(readVarint());
+				previous = (scaled ? previous + value : value);
+				ints[i] = (int) previous;
+			}
+			return ints;
+		case LONG_ARRAY:
+			if (elements != BinaryFormat.PACKED_LONG) {
+				return SKIPPED;
+			}
+			final long[] longs = new long[count];
+			for (int i = 0; i < count; i++) {
+				final long value = unzigzag(readVarint());
+				previous = (scaled ? previous + value : value);
+				longs[i] = previous;
+			}
+			return longs;
+		default:
+			return SKIPPED;
+		}
+	}
+
+	/**
+	 * @return A length-prefixed UTF-8 string
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private String readString() throws IOException {
+		final int length = readLength();
+		if (length > (this.buffer.length - this.position)) {
+			throw truncated();
+		}
+		final String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+		this.position += length;
+		return value;
+	}
+
+	/**
+	 * @return A {@link BinaryFormat#SYMBOL}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private String readSymbol() throws IOException {
+		final int reference = readLength();
+		if (reference == 0) {
+			final String symbol = readString();
+			this.symbols.add(symbol);
+			return symbol;
+		}
+		if (reference > this.symbols.size()) {
+			throw malformed();
+		}
+		return this.symbols.get(reference - 1);
+	}
+
+	/**
+	 * Read a {@link BinaryFormat#TIMESTAMP}
+	 *
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @return The date/time or date, or {@link #SKIPPED}
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readTimestamp(final ValueType type) throws IOException {
+		final long header = readVarint();
+		final long seconds = this.previousSeconds + unzigzag(header >>> BinaryFormat.TIMESTAMP_FLAG_BITS);
+		this.previousSeconds = seconds;
+		try {
+			if ((header & BinaryFormat.ZONE_FOLLOWS) != 0) {
+				this.previousZone = ZoneId.of(readSymbol());
+			}
+			final int nanos = ((header & BinaryFormat.NANOS_FOLLOW) != 0 ? readLength() : 0);
+			if (type == null) {
+				return SKIPPED;
+			}
+			switch (type.kind) {
+			case ZONED_DATE_TIME:
+				return ZonedDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), (this.previousZone == null ? ZoneOffset.UTC : this.previousZone));
+			case LOCAL_DATE_TIME:
+				return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+			case LOCAL_DATE:
+				return LocalDate.ofEpochDay(Math.floorDiv(seconds, BinaryFormat.SECONDS_PER_DAY));
+			default:
+				return SKIPPED;
+			}
+		} catch (final DateTimeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Read a value, as described by its wire type
+	 *
+	 * @param wireType
+	 *            The wire type
+	 * @param type
+	 *            Type expected, or <code>null</code> if the value is being skipped
+	 * @return The value, or {@link #SKIPPED} if it isn't of the type expected
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private Object readValue(final int wireType, final ValueType type) throws IOException {
+		switch (wireType) {
+		case BinaryFormat.VARINT:
+			final long integer = unzigzag(readVarint());
+			if (type == null) {
+				return SKIPPED;
+			}
+			switch (type.kind) {
+			case BOOLEAN:
+				return Boolean.valueOf(integer != 0);
+			case INTEGER:
+				return Integer.valueOf((int) integer);
+			case LONG:
+				return Long.valueOf(integer);
+			case FLOAT:
+				return Float.valueOf(integer);
+			case DOUBLE:
+				return Double.valueOf(integer);
+			case INTEGER_REFERENCE:
+				return create(type, Integer.valueOf((int) integer));
+			default:
+				return SKIPPED;
+			}
+		case BinaryFormat.FIXED32:
+			final float single = Float.intBitsToFloat(readFixed32());
+			if (is(type, Kind.FLOAT)) {
+				return Float.valueOf(single);
+			}
+			return (is(type, Kind.DOUBLE) ? Double.valueOf(single) : SKIPPED);
+		case BinaryFormat.FIXED64:
+			final double real = Double.longBitsToDouble(readFixed64());
+			if (is(type, Kind.DOUBLE)) {
+				return Double.valueOf(real);
+			}
+			return (is(type, Kind.FLOAT) ? Float.valueOf((float) real) : SKIPPED);
+		case BinaryFormat.BYTES:
+			return readBytes(type);
+		case BinaryFormat.OBJECT:
+			return readObject(is(type, Kind.OBJECT) ? type.schema() : null);
+		case BinaryFormat.SYMBOL:
+			final String symbol = readSymbol();
+			if (is(type, Kind.STRING_REFERENCE)) {
+				return create(type, symbol);
+			}
+			if (is(type, Kind.ENUM)) {
+				for (final Object constant : type.type.getEnumConstants()) {
+					if (((Enum<?>) constant).name().equals(symbol)) {
+						return constant;
+					}
+				}
+				return SKIPPED;
+			}
+			return (is(type, Kind.STRING) ? symbol : SKIPPED);
+		case BinaryFormat.LIST:
+			return readList(type);
+		case BinaryFormat.TIMESTAMP:
+			return readTimestamp(type);
+		default:
+			throw malformed();
+		}
+	}
+
+	/**
+	 * @return Unsigned varint
+	 * @throws IOException
+	 *             If the bytes are malformed
+	 */
+	private long readVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int next = readByte();
+			value |= (long) (next & 0x7f) << shift;
+			if ((next & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw malformed();
+	}
+
+	/**
+	 * @return An exception saying the bytes end too soon
+	 */
+	private EOFException truncated() {
+		return new EOFException(String.format(Messages.string("BinaryReader.truncated"), Integer.valueOf(this.position))); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,48 @@
+package javastrava.binary.impl;
+
+import java.io.IOException;
+
+import javastrava.binary.BinaryUtil;
+import javastrava.binary.exception.BinarySerialisationException;
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * Implementation of binary utilities, in the format described by {@link BinaryFormat}
+ * </p>
+ *
+ * <p>
+ * The fields of each class are found by reflection the first time it is serialised or de-serialised, and serialised as they are by
+ * {@link javastrava.json.impl.JsonUtilImpl}, under the same names. Instances are thread safe and hold no state, so one can be shared.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class BinaryUtilImpl implements BinaryUtil {
+	/**
+	 * @see javastrava.binary.BinaryUtil#deserialise(byte[], java.lang.Class)
+	 */
+	@Override
+	public <T> T deserialise(final byte[] bytes, final Class<T> class1) throws BinarySerialisationException {
+		try {
+			return class1.cast(new BinaryReader(bytes).read(class1));
+		} catch (final IOException | IllegalArgumentException e) {
+			throw new BinarySerialisationException(String.format(Messages.string("BinaryUtilImpl.failedToDeserialise"), Integer.valueOf(bytes.length), class1.getName()), e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @see javastrava.binary.BinaryUtil#serialise(java.lang.Object)
+	 */
+	@Override
+	public <T> byte[] serialise(final T object) throws BinarySerialisationException {
+		final BinaryWriter writer = new BinaryWriter();
+		try {
+			writer.write(object);
+		} catch (final IllegalArgumentException e) {
+			throw new BinarySerialisationException(String.format(Messages.string("BinaryUtilImpl.failedToSerialise"), object.getClass().getName()), e); //$NON-NLS-1$
+		}
+		return writer.toByteArray();
+	}
+}
@@ -0,0 +1,530 @@
+package javastrava.binary.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javastrava.binary.impl.ClassSchema.FieldSchema;
+import javastrava.model.reference.StravaReferenceType;
+
+/**
+ * <p>
+ * Writes a value in the binary format described by {@link BinaryFormat}
+ * </p>
+ *
+ * <p>
+ * The field names, symbols and timestamps written so far are remembered, so a writer can only be used once.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class BinaryWriter {
+	/**
+	 * Most bytes a varint of a length takes
+	 */
+	private static final int	MAX_LENGTH_BYTES	= 5;
+
+	/**
+	 * @param value
+	 *            A value
+	 * @param type
+	 *            Its type
+	 * @return <code>true</code> if it is a reference type with no identifier, which can't be written
+	 */
+	private static boolean isNullReference(final Object value, final ValueType type) {
+		return ((type.kind == ValueType.Kind.INTEGER_REFERENCE) || (type.kind == ValueType.Kind.STRING_REFERENCE)) && (((StravaReferenceType<?>) value).getId() == null);
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>double</code>s
+	 * @param places
+	 *            Number of decimal places
+	 * @return <code>true</code> if every value is exactly the nearest <code>double</code> to a decimal with that many places
+	 */
+	private static boolean scales(final double[] values, final int places) {
+		final double power = BinaryFormat.POWERS_OF_TEN[places];
+		for (final double value : values) {
+			final double scaled = Math.rint(value * power);
+			if (!(Math.abs(scaled) < 0x1p53) || (Double.doubleToRawLongBits(scaled / power) != Double.doubleToRawLongBits(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>float</code>s
+	 * @param places
+	 *            Number of decimal places
+	 * @return <code>true</code> if every value is exactly the nearest <code>float</code> to a decimal with that many places
+	 */
+	private static boolean scales(final float[] values, final int places) {
+		final double power = BinaryFormat.POWERS_OF_TEN[places];
+		for (final float value : values) {
+			final double scaled = Math.rint(value * power);
+			if (!(Math.abs(scaled) < 0x1p53) || (Float.floatToRawIntBits((float) (scaled / power)) != Float.floatToRawIntBits(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param value
+	 *            A value
+	 * @return The value zigzag encoded
+	 */
+	private static long zigzag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Bytes written so far
+	 */
+	private byte[]						buffer			= new byte[256];
+
+	/**
+	 * Number of bytes written so far
+	 */
+	private int							size;
+
+	/**
+	 * Field names written so far, and their references
+	 */
+	private final Map<String, Integer>	names			= new HashMap<>();
+
+	/**
+	 * Symbols written so far, and their references
+	 */
+	private final Map<String, Integer>	symbols			= new HashMap<>();
+
+	/**
+	 * Seconds since the epoch of the last timestamp written
+	 */
+	private long						previousSeconds;
+
+	/**
+	 * Last zone written
+	 */
+	private ZoneId						previousZone;
+
+	/**
+	 * Fill in the length of a {@link BinaryFormat#BYTES} value, moving the value back over the space not needed
+	 *
+	 * @param start
+	 *            Position returned by {@link #startLength()}
+	 */
+	private void endLength(final int start) {
+		final int valueStart = start + MAX_LENGTH_BYTES;
+		final int length = this.size - valueStart;
+		this.size = start;
+		writeVarint(length);
+		System.arraycopy(this.buffer, valueStart, this.buffer, this.size, length);
+		this.size += length;
+	}
+
+	/**
+	 * @param capacity
+	 *            Number of bytes that are about to be written
+	 */
+	private void ensure(final int capacity) {
+		if ((this.size + capacity) > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.size + capacity));
+		}
+	}
+
+	/**
+	 * Leave space for the length of a {@link BinaryFormat#BYTES} value, which is filled in by {@link #endLength(int)}
+	 *
+	 * @return Position of the space
+	 */
+	private int startLength() {
+		ensure(MAX_LENGTH_BYTES);
+		this.size += MAX_LENGTH_BYTES;
+		return this.size - MAX_LENGTH_BYTES;
+	}
+
+	/**
+	 * @return The bytes written
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer, this.size);
+	}
+
+	/**
+	 * Write the header and a value
+	 *
+	 * @param value
+	 *            The value, which may be <code>null</code>
+	 * @throws IllegalArgumentException
+	 *             If the value has a field of a type that can't be serialised
+	 */
+	void write(final Object value) {
+		ensure(BinaryFormat.MAGIC.length);
+		System.arraycopy(BinaryFormat.MAGIC, 0, this.buffer, 0, BinaryFormat.MAGIC.length);
+		this.size = BinaryFormat.MAGIC.length;
+		writeVarint(BinaryFormat.VERSION);
+		writeElement(value, (value == null ? null : ValueType.of(value.getClass())));
+	}
+
+	/**
+	 * @param bytes
+	 *            Bytes to write, after their length
+	 */
+	private void writeBytes(final byte[] bytes) {
+		writeVarint(bytes.length);
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+		this.size += bytes.length;
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>double</code>s
+	 */
+	private void writeDoubles(final double[] values) {
+		int places = 0;
+		while ((places <= BinaryFormat.DOUBLE_PLACES) && !scales(values, places)) {
+			places++;
+		}
+		if (places > BinaryFormat.DOUBLE_PLACES) {
+			writeRaw((BinaryFormat.PACKED_DOUBLE << BinaryFormat.PACKED_TYPE_SHIFT) | BinaryFormat.PACKED_RAW);
+			writeVarint(values.length);
+			ensure(values.length * 8);
+			for (final double value : values) {
+				writeFixed64(Double.doubleToRawLongBits(value));
+			}
+			return;
+		}
+		BitSet negativeZeros = null;
+		for (int i = 0; i < values.length; i++) {
+			if (Double.doubleToRawLongBits(values[i]) == Long.MIN_VALUE) {
+				negativeZeros = (negativeZeros == null ? new BitSet(values.length) : negativeZeros);
+				negativeZeros.set(i);
+			}
+		}
+		writeRaw((BinaryFormat.PACKED_DOUBLE << BinaryFormat.PACKED_TYPE_SHIFT) | (negativeZeros == null ? 0 : BinaryFormat.NEGATIVE_ZEROS) | BinaryFormat.PACKED_SCALED);
+		writeVarint(values.length);
+		writeVarint(places);
+		final double power = BinaryFormat.POWERS_OF_TEN[places];
+		long previous = 0;
+		for (final double value : values) {
+			final long scaled = (long) Math.rint(value * power);
+			writeVarint(zigzag(scaled - previous));
+			previous = scaled;
+		}
+		if (negativeZeros != null) {
+			writeBytes(negativeZeros.toByteArray());
+		}
+	}
+
+	/**
+	 * Write an element of a list, or the value at the top level: its wire type and the value
+	 *
+	 * @param value
+	 *            The value, which may be <code>null</code>
+	 * @param type
+	 *            The value's type
+	 */
+	private void writeElement(final Object value, final ValueType type) {
+		if ((value == null) || isNullReference(value, type)) {
+			writeVarint(BinaryFormat.NULL);
+		} else {
+			writeVarint(type.kind.wireType);
+			writeValue(value, type);
+		}
+	}
+
+	/**
+	 * @param value
+	 *            Little-endian value to write
+	 */
+	private void writeFixed32(final int value) {
+		ensure(4);
+		this.buffer[this.size++] = (byte) value;
+		this.buffer[this.size++] = (byte) (value >>> 8);
+		this.buffer[this.size++] = (byte) (value >>> 16);
+		this.buffer[this.size++] = (byte) (value >>> 24);
+	}
+
+	/**
+	 * @param value
+	 *            Little-endian value to write
+	 */
+	private void writeFixed64(final long value) {
+		writeFixed32((int) value);
+		writeFixed32((int) (value >>> 32));
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>float</code>s
+	 */
+	private void writeFloats(final float[] values) {
+		int places = 0;
+		while ((places <= BinaryFormat.FLOAT_PLACES) && !scales(values, places)) {
+			places++;
+		}
+		if (places > BinaryFormat.FLOAT_PLACES) {
+			writeRaw((BinaryFormat.PACKED_FLOAT << BinaryFormat.PACKED_TYPE_SHIFT) | BinaryFormat.PACKED_RAW);
+			writeVarint(values.length);
+			for (final float value : values) {
+				writeFixed32(Float.floatToRawIntBits(value));
+			}
+			return;
+		}
+		BitSet negativeZeros = null;
+		for (int i = 0; i < values.length; i++) {
+			if (Float.floatToRawIntBits(values[i]) == Integer.MIN_VALUE) {
+				negativeZeros = (negativeZeros == null ? new BitSet(values.length) : negativeZeros);
+				negativeZeros.set(i);
+			}
+		}
+		writeRaw((BinaryFormat.PACKED_FLOAT << BinaryFormat.PACKED_TYPE_SHIFT) | (negativeZeros == null ? 0 : BinaryFormat.NEGATIVE_ZEROS) | BinaryFormat.PACKED_SCALED);
+		writeVarint(values.length);
+		writeVarint(places);
+		final double power = BinaryFormat.POWERS_OF_TEN[places];
+		long previous = 0;
+		for (final float value : values) {
+			final long scaled = (long) Math.rint(value * power);
+			writeVarint(zigzag(scaled - previous));
+			previous = scaled;
+		}
+		if (negativeZeros != null) {
+			writeBytes(negativeZeros.toByteArray());
+		}
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>int</code>s
+	 */
+	private void writeInts(final int[] values) {
+		writeRaw((BinaryFormat.PACKED_INT << BinaryFormat.PACKED_TYPE_SHIFT) | BinaryFormat.PACKED_SCALED);
+		writeVarint(values.length);
+		writeVarint(0);
+		long previous = 0;
+		for (final int value : values) {
+			writeVarint(zigzag(value - previous));
+			previous = value;
+		}
+	}
+
+	/**
+	 * @param values
+	 *            Packed array of <code>long</code>s
+	 */
+	private void writeLongs(final long[] values) {
+		writeRaw((BinaryFormat.PACKED_LONG << BinaryFormat.PACKED_TYPE_SHIFT) | BinaryFormat.PACKED_SCALED);
+		writeVarint(values.length);
+		writeVarint(0);
+		long previous = 0;
+		for (final long value : values) {
+			writeVarint(zigzag(value - previous));
+			previous = value;
+		}
+	}
+
+	/**
+	 * Write an object's non-null fields
+	 *
+	 * @param object
+	 *            The object
+	 * @param schema
+	 *            Its schema
+	 */
+	private void writeObject(final Object object, final ClassSchema schema) {
+		for (final FieldSchema field : schema.fields) {
+			final Object value;
+			try {
+				value = field.field.get(object);
+			} catch (final IllegalAccessException e) {
+				// The field was made accessible when the schema was created
+				throw new IllegalStateException(e);
+			}
+			if ((value == null) || isNullReference(value, field.type)) {
+				continue;
+			}
+			final Integer reference = this.names.get(field.name);
+			if (reference == null) {
+				this.names.put(field.name, Integer.valueOf(this.names.size()));
+				writeVarint((BinaryFormat.NEW_NAME << BinaryFormat.WIRE_TYPE_BITS) | field.type.kind.wireType);
+				writeString(field.name);
+			} else {
+				writeVarint(((BinaryFormat.FIRST_NAME + reference.intValue()) << BinaryFormat.WIRE_TYPE_BITS) | field.type.kind.wireType);
+			}
+			writeValue(value, field.type);
+		}
+		writeVarint(BinaryFormat.END);
+	}
+
+	/**
+	 * @param value
+	 *            Single byte to write
+	 */
+	private void writeRaw(final int value) {
+		ensure(1);
+		this.buffer[this.size++] = (byte) value;
+	}
+
+	/**
+	 * @param value
+	 *            String to write, as its UTF-8 length and bytes
+	 */
+	private void writeString(final String value) {
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param value
+	 *            String to write as a {@link BinaryFormat#SYMBOL}
+	 */
+	private void writeSymbol(final String value) {
+		final Integer reference = this.symbols.get(value);
+		if (reference == null) {
+			this.symbols.put(value, Integer.valueOf(this.symbols.size() + 1));
+			writeVarint(0);
+			writeString(value);
+		} else {
+			writeVarint(reference.intValue());
+		}
+	}
+
+	/**
+	 * @param seconds
+	 *            Seconds since the epoch
+	 * @param nanos
+	 *            Nanoseconds within the second
+	 * @param zone
+	 *            Time zone, or <code>null</code> if there isn't one
+	 */
+	private void writeTimestamp(final long seconds, final int nanos, final ZoneId zone) {
+		final boolean zoneFollows = (zone != null) && !zone.equals(this.previousZone);
+		final long flags = (zoneFollows ? BinaryFormat.ZONE_FOLLOWS : 0) | (nanos != 0 ? BinaryFormat.NANOS_FOLLOW : 0);
+		writeVarint((zigzag(seconds - this.previousSeconds) << BinaryFormat.TIMESTAMP_FLAG_BITS) | flags);
+		this.previousSeconds = seconds;
+		if (zoneFollows) {
+			writeSymbol(zone.getId());
+			this.previousZone = zone;
+		}
+		if (nanos != 0) {
+			writeVarint(nanos);
+		}
+	}
+
+	/**
+	 * Write a value, as described by the wire type of its kind
+	 *
+	 * @param value
+	 *            The value; not <code>null</code>
+	 * @param type
+	 *            The value's type
+	 */
+	private void writeValue(final Object value, final ValueType type) {
+		switch (type.kind) {
+		case BOOLEAN:
+			writeVarint(((Boolean) value).booleanValue() ? zigzag(1) : 0);
+			break;
+		case INTEGER:
+		case LONG:
+			writeVarint(zigzag(((Number) value).longValue()));
+			break;
+		case FLOAT:
+			writeFixed32(Float.floatToRawIntBits(((Float) value).floatValue()));
+			break;
+		case DOUBLE:
+			writeFixed64(Double.doubleToRawLongBits(((Double) value).doubleValue()));
+			break;
+		case STRING:
+			writeString((String) value);
+			break;
+		case INTEGER_REFERENCE:
+			writeVarint(zigzag(((Integer) ((StravaReferenceType<?>) value).getId()).longValue()));
+			break;
+		case STRING_REFERENCE:
+			writeSymbol(((StravaReferenceType<?>) value).getId().toString());
+			break;
+		case ENUM:
+			writeSymbol(((Enum<?>) value).name());
+			break;
+		case ZONED_DATE_TIME:
+			final ZonedDateTime zoned = (ZonedDateTime) value;
+			writeTimestamp(zoned.toEpochSecond(), zoned.getNano(), zoned.getZone());
+			break;
+		case LOCAL_DATE_TIME:
+			final LocalDateTime local = (LocalDateTime) value;
+			writeTimestamp(local.toEpochSecond(ZoneOffset.UTC), local.getNano(), null);
+			break;
+		case LOCAL_DATE:
+			writeTimestamp(((LocalDate) value).toEpochDay() * BinaryFormat.SECONDS_PER_DAY, 0, null);
+			break;
+		case FLOAT_ARRAY:
+			final int floats = startLength();
+			writeFloats((float[]) value);
+			endLength(floats);
+			break;
+		case DOUBLE_ARRAY:
+			final int doubles = startLength();
+			writeDoubles((double[]) value);
+			endLength(doubles);
+			break;
+		case INT_ARRAY:
+			final int ints = startLength();
+			writeInts((int[]) value);
+			endLength(ints);
+			break;
+		case LONG_ARRAY:
+			final int longs = startLength();
+			writeLongs((long[]) value);
+			endLength(longs);
+			break;
+		case BIT_SET:
+			writeBytes(((BitSet) value).toByteArray());
+			break;
+		case LIST:
+			final List<?> list = (List<?>) value;
+			writeVarint(list.size());
+			for (final Object element : list) {
+				writeElement(element, type.element);
+			}
+			break;
+		case ARRAY:
+			final Object[] array = (Object[]) value;
+			writeVarint(array.length);
+			for (final Object element : array) {
+				writeElement(element, type.element);
+			}
+			break;
+		case OBJECT:
+			writeObject(value, type.schema());
+			break;
+		default:
+			throw new IllegalStateException(type.kind.toString());
+		}
+	}
+
+	/**
+	 * @param value
+	 *            Unsigned value to write as a varint
+	 */
+	private void writeVarint(final long value) {
+		ensure(10);
+		long remaining = value;
+		while ((remaining & ~0x7fL) != 0) {
+			this.buffer[this.size++] = (byte) ((remaining & 0x7f) | 0x80);
+			remaining >>>= 7;
+		}
+		this.buffer[this.size++] = (byte) remaining;
+	}
+}
@@ -0,0 +1,161 @@
+package javastrava.binary.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.annotations.SerializedName;
+
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * The fields of a class that are serialised, found by reflection once per class
+ * </p>
+ *
+ * <p>
+ * Fields are serialised as they are by {@link javastrava.json.impl.JsonUtilImpl}: all the fields of the class and its superclasses except static and transient ones, named as
+ * they are in JSON. Objects are created with the class's no-args constructor, so fields that aren't serialised have their default values.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class ClassSchema {
+	/**
+	 * A field that is serialised
+	 */
+	static final class FieldSchema {
+		/**
+		 * The field's name in JSON
+		 */
+		final String	name;
+
+		/**
+		 * The field
+		 */
+		final Field		field;
+
+		/**
+		 * The field's type
+		 */
+		final ValueType	type;
+
+		/**
+		 * @param name
+		 *            The field's name in JSON
+		 * @param field
+		 *            The field
+		 */
+		FieldSchema(final String name, final Field field) {
+			this.name = name;
+			this.field = field;
+			this.type = ValueType.of(field.getGenericType());
+		}
+	}
+
+	/**
+	 * Schemas found so far, by class
+	 */
+	private static final Map<Class<?>, ClassSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+	/**
+	 * @param class1
+	 *            A class
+	 * @return Its schema
+	 * @throws IllegalArgumentException
+	 *             If it has a field of a type that can't be serialised
+	 */
+	static ClassSchema of(final Class<?> class1) {
+		return SCHEMAS.computeIfAbsent(class1, ClassSchema::new);
+	}
+
+	/**
+	 * The class
+	 */
+	private final Class<?>					type;
+
+	/**
+	 * The no-args constructor, or <code>null</code> if there isn't one
+	 */
+	private final Constructor<?>			constructor;
+
+	/**
+	 * The fields that are serialised, in the order they are written
+	 */
+	final FieldSchema[]						fields;
+
+	/**
+	 * The fields that are serialised, by name, including any alternate names they are given in JSON
+	 */
+	private final Map<String, FieldSchema>	byName	= new HashMap<>();
+
+	/**
+	 * @param type
+	 *            The class
+	 */
+	private ClassSchema(final Class<?> type) {
+		this.type = type;
+		final List<FieldSchema> found = new ArrayList<>();
+		for (Class<?> class1 = type; (class1 != null) && (class1 != Object.class); class1 = class1.getSuperclass()) {
+			for (final Field field : class1.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+					continue;
+				}
+				field.setAccessible(true);
+				final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+				final String name = (serializedName == null ? FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES.translateName(field) : serializedName.value());
+				final FieldSchema schema = new FieldSchema(name, field);
+				if (this.byName.putIfAbsent(name, schema) == null) {
+					found.add(schema);
+				}
+				if (serializedName != null) {
+					for (final String alternate : serializedName.alternate()) {
+						this.byName.putIfAbsent(alternate, schema);
+					}
+				}
+			}
+		}
+		this.fields = found.toArray(new FieldSchema[found.size()]);
+		Constructor<?> noArgs;
+		try {
+			noArgs = type.getDeclaredConstructor();
+			noArgs.setAccessible(true);
+		} catch (final NoSuchMethodException e) {
+			noArgs = null;
+		}
+		this.constructor = noArgs;
+	}
+
+	/**
+	 * @param name
+	 *            Name of a field in JSON
+	 * @return The field, or <code>null</code> if there isn't one by that name
+	 */
+	FieldSchema field(final String name) {
+		return this.byName.get(name);
+	}
+
+	/**
+	 * @return A new instance of the class
+	 * @throws IllegalStateException
+	 *             If the class can't be instantiated
+	 */
+	Object newInstance() {
+		if (this.constructor == null) {
+			throw new IllegalStateException(String.format(Messages.string("ClassSchema.noConstructor"), this.type.getName())); //$NON-NLS-1$
+		}
+		try {
+			return this.constructor.newInstance();
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException(String.format(Messages.string("ClassSchema.noConstructor"), this.type.getName()), e); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package javastrava.binary.impl;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import javastrava.config.Messages;
+import javastrava.model.reference.StravaReferenceType;
+
+/**
+ * <p>
+ * The type of a value that can be serialised, and how it is serialised
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class ValueType {
+	/**
+	 * The kinds of value that can be serialised
+	 */
+	enum Kind {
+		/**
+		 * <code>boolean</code> or {@link Boolean}
+		 */
+		BOOLEAN(BinaryFormat.VARINT),
+		/**
+		 * <code>int</code> or {@link Integer}
+		 */
+		INTEGER(BinaryFormat.VARINT),
+		/**
+		 * <code>long</code> or {@link Long}
+		 */
+		LONG(BinaryFormat.VARINT),
+		/**
+		 * <code>float</code> or {@link Float}
+		 */
+		FLOAT(BinaryFormat.FIXED32),
+		/**
+		 * <code>double</code> or {@link Double}
+		 */
+		DOUBLE(BinaryFormat.FIXED64),
+		/**
+		 * {@link String}
+		 */
+		STRING(BinaryFormat.BYTES),
+		/**
+		 * {@link StravaReferenceType} with {@link Integer} identifiers
+		 */
+		INTEGER_REFERENCE(BinaryFormat.VARINT),
+		/**
+		 * {@link StravaReferenceType} with {@link String} identifiers
+		 */
+		STRING_REFERENCE(BinaryFormat.SYMBOL),
+		/**
+		 * Any other enum, by name
+		 */
+		ENUM(BinaryFormat.SYMBOL),
+		/**
+		 * {@link ZonedDateTime}
+		 */
+		ZONED_DATE_TIME(BinaryFormat.TIMESTAMP),
+		/**
+		 * {@link LocalDateTime}
+		 */
+		LOCAL_DATE_TIME(BinaryFormat.TIMESTAMP),
+		/**
+		 * {@link LocalDate}
+		 */
+		LOCAL_DATE(BinaryFormat.TIMESTAMP),
+		/**
+		 * <code>float[]</code>
+		 */
+		FLOAT_ARRAY(BinaryFormat.BYTES),
+		/**
+		 * <code>double[]</code>
+		 */
+		DOUBLE_ARRAY(BinaryFormat.BYTES),
+		/**
+		 * <code>int[]</code>
+		 */
+		INT_ARRAY(BinaryFormat.BYTES),
+		/**
+		 * <code>long[]</code>
+		 */
+		LONG_ARRAY(BinaryFormat.BYTES),
+		/**
+		 * {@link BitSet}
+		 */
+		BIT_SET(BinaryFormat.BYTES),
+		/**
+		 * {@link List}
+		 */
+		LIST(BinaryFormat.LIST),
+		/**
+		 * Array of objects
+		 */
+		ARRAY(BinaryFormat.LIST),
+		/**
+		 * Any other object, field by field
+		 */
+		OBJECT(BinaryFormat.OBJECT);
+
+		/**
+		 * Wire type of values of this kind
+		 */
+		final int wireType;
+
+		/**
+		 * @param wireType
+		 *            Wire type of values of this kind
+		 */
+		private Kind(final int wireType) {
+			this.wireType = wireType;
+		}
+	}
+
+	/**
+	 * @param enumClass
+	 *            Class of a reference type
+	 * @param idClass
+	 *            Class of its identifiers
+	 * @return Its static <code>create</code> method taking an identifier of that class, or <code>null</code> if it doesn't have one
+	 */
+	private static Method create(final Class<?> enumClass, final Class<?> idClass) {
+		try {
+			final Method create = enumClass.getMethod("create", idClass); //$NON-NLS-1$
+			return (Modifier.isStatic(create.getModifiers()) ? create : null);
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param type
+	 *            A declared type
+	 * @return How values of that type are serialised
+	 * @throws IllegalArgumentException
+	 *             If values of that type can't be serialised
+	 */
+	static ValueType of(final Type type) {
+		if (type instanceof Class) {
+			return of((Class<?>) type);
+		}
+		if ((type instanceof ParameterizedType) && List.class.isAssignableFrom((Class<?>) ((ParameterizedType) type).getRawType())) {
+			return new ValueType(Kind.LIST, List.class, of(((ParameterizedType) type).getActualTypeArguments()[0]), null);
+		}
+		if (type instanceof GenericArrayType) {
+			final ValueType element = of(((GenericArrayType) type).getGenericComponentType());
+			return new ValueType(Kind.ARRAY, Array.newInstance(element.type, 0).getClass(), element, null);
+		}
+		throw new IllegalArgumentException(String.format(Messages.string("ValueType.unsupported"), type)); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param type
+	 *            A declared class
+	 * @return How values of that class are serialised
+	 * @throws IllegalArgumentException
+	 *             If values of that class can't be serialised
+	 */
+	private static ValueType of(final Class<?> type) {
+		if ((type == Boolean.class) || (type == boolean.class)) {
+			return new ValueType(Kind.BOOLEAN, type, null, null);
+		}
+		if ((type == Integer.class) || (type == int.class)) {
+			return new ValueType(Kind.INTEGER, type, null, null);
+		}
+		if ((type == Long.class) || (type == long.class)) {
+			return new ValueType(Kind.LONG, type, null, null);
+		}
+		if ((type == Float.class) || (type == float.class)) {
+			return new ValueType(Kind.FLOAT, type, null, null);
+		}
+		if ((type == Double.class) || (type == double.class)) {
+			return new ValueType(Kind.DOUBLE, type, null, null);
+		}
+		if (type == String.class) {
+			return new ValueType(Kind.STRING, type, null, null);
+		}
+		if (type.isEnum()) {
+			if (StravaReferenceType.class.isAssignableFrom(type)) {
+				Method create = create(type, Integer.class);
+				if (create != null) {
+					return new ValueType(Kind.INTEGER_REFERENCE, type, null, create);
+				}
+				create = create(type, String.class);
+				if (create != null) {
+					return new ValueType(Kind.STRING_REFERENCE, type, null, create);
+				}
+			}
+			return new ValueType(Kind.ENUM, type, null, null);
+		}
+		if (type == ZonedDateTime.class) {
+			return new ValueType(Kind.ZONED_DATE_TIME, type, null, null);
+		}
+		if (type == LocalDateTime.class) {
+			return new ValueType(Kind.LOCAL_DATE_TIME, type, null, null);
+		}
+		if (type == LocalDate.class) {
+			return new ValueType(Kind.LOCAL_DATE, type, null, null);
+		}
+		if (type == float[].class) {
+			return new ValueType(Kind.FLOAT_ARRAY, type, null, null);
+		}
+		if (type == double[].class) {
+			return new ValueType(Kind.DOUBLE_ARRAY, type, null, null);
+		}
+		if (type == int[].class) {
+			return new ValueType(Kind.INT_ARRAY, type, null, null);
+		}
+		if (type == long[].class) {
+			return new ValueType(Kind.LONG_ARRAY, type, null, null);
+		}
+		if (type == BitSet.class) {
+			return new ValueType(Kind.BIT_SET, type, null, null);
+		}
+		if (type.isArray() && !type.getComponentType().isPrimitive()) {
+			return new ValueType(Kind.ARRAY, type, of(type.getComponentType()), null);
+		}
+		if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.getName().startsWith("java.")) { //$NON-NLS-1$
+			throw new IllegalArgumentException(String.format(Messages.string("ValueType.unsupported"), type.getName())); //$NON-NLS-1$
+		}
+		return new ValueType(Kind.OBJECT, type, null, null);
+	}
+
+	/**
+	 * How the value is serialised
+	 */
+	final Kind		kind;
+
+	/**
+	 * Class of the value
+	 */
+	final Class<?>	type;
+
+	/**
+	 * For lists and arrays, the type of the elements
+	 */
+	final ValueType	element;
+
+	/**
+	 * For reference types, the static method that returns the value with a given identifier
+	 */
+	final Method	create;
+
+	/**
+	 * @param kind
+	 *            How the value is serialised
+	 * @param type
+	 *            Class of the value
+	 * @param element
+	 *            For lists and arrays, the type of the elements
+	 * @param create
+	 *            For reference types, the static method that returns the value with a given identifier
+	 */
+	private ValueType(final Kind kind, final Class<?> type, final ValueType element, final Method create) {
+		this.kind = kind;
+		this.type = type;
+		this.element = element;
+		this.create = create;
+	}
+
+	/**
+	 * @return The schema of objects of this type
+	 */
+	ClassSchema schema() {
+		return ClassSchema.of(this.type);
+	}
+}
@@ -1,6 +1,8 @@
 package javastrava.cache;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * <p>
@@ -19,6 +21,23 @@ import java.util.List;
  *            Class of object's id
  */
 public interface StravaCache<T extends StravaCacheableEntity<U>, U> {
+	/**
+	 * <p>
+	 * Declares a secondary index on the cache, so that {@link #listByIndex(StravaCacheIndex, Object)} and {@link #removeByIndex(StravaCacheIndex, Object)} don't have to scan the whole
+	 * cache. Declaring the same index more than once has no further effect.
+	 * </p>
+	 *
+	 * <p>
+	 * Implementations that don't support indexes may ignore this; the default lookups work without them, just more slowly.
+	 * </p>
+	 *
+	 * @param index
+	 *            The index
+	 */
+	public default void addIndex(final StravaCacheIndex<T, ?> index) {
+		// Indexes are optional; without them, the lookups scan the cache
+	}
+
 	/**
 	 * <p>
 	 * Retrieves the object from the cache.
@@ -39,6 +58,29 @@ public interface StravaCache<T extends StravaCacheableEntity<U>, U> {
 	 */
 	public List<T> list();
 
+	/**
+	 * <p>
+	 * Returns a list of the objects in the cache whose foreign key, as extracted by the index, is the given value
+	 * </p>
+	 *
+	 * @param index
+	 *            The index
+	 * @param key
+	 *            Value of the foreign key
+	 * @param <K>
+	 *            Class of the foreign key
+	 * @return List of the matching objects in the cache
+	 */
+	public default <K> List<T> listByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		final List<T> list = new ArrayList<T>();
+		for (final T object : list()) {
+			if (Objects.equals(index.keyOf(object), key)) {
+				list.add(object);
+			}
+		}
+		return list;
+	}
+
 	/**
 	 * <p>
 	 * Stores the given object in the cache
@@ -69,6 +111,24 @@ public interface StravaCache<T extends StravaCacheableEntity<U>, U> {
 	 */
 	public void remove(U key);
 
+	/**
+	 * <p>
+	 * Removes all the objects whose foreign key, as extracted by the index, is the given value; for example, all the laps of an activity that has been deleted
+	 * </p>
+	 *
+	 * @param index
+	 *            The index
+	 * @param key
+	 *            Value of the foreign key
+	 * @param <K>
+	 *            Class of the foreign key
+	 */
+	public default <K> void removeByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		for (final T object : listByIndex(index, key)) {
+			remove(object.getId());
+		}
+	}
+
 	/**
 	 * <p>
 	 * Removes all elements from the cache that are associated with the token
@@ -0,0 +1,33 @@
+package javastrava.cache;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Encodes objects stored in a {@link StravaCache} that keeps them outside the Java heap (on disk, for example) as bytes, and decodes them again
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be encoded
+ */
+public interface StravaCacheCodec<T> {
+	/**
+	 * @param bytes
+	 *            Bytes produced by {@link #encode(Object)}
+	 * @return The object
+	 * @throws IOException
+	 *             If the bytes can't be decoded
+	 */
+	public T decode(byte[] bytes) throws IOException;
+
+	/**
+	 * @param object
+	 *            The object
+	 * @return The object encoded as bytes
+	 * @throws IOException
+	 *             If the object can't be encoded
+	 */
+	public byte[] encode(T object) throws IOException;
+}
@@ -0,0 +1,28 @@
+package javastrava.cache;
+
+/**
+ * <p>
+ * A secondary index on a {@link StravaCache}, which extracts a foreign key (such as the id of the activity a lap belongs to) from each cached object
+ * </p>
+ *
+ * <p>
+ * Indexes are identified by instance, so declare each one once as a constant (see {@link StravaCacheIndexes}) and pass the same instance to {@link StravaCache#addIndex(StravaCacheIndex)}
+ * and to the lookups.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object stored in the cache
+ * @param <K>
+ *            Class of the foreign key
+ */
+@FunctionalInterface
+public interface StravaCacheIndex<T, K> {
+	/**
+	 * @param object
+	 *            A cached object
+	 * @return The object's foreign key, or <code>null</code> if it doesn't have one (in which case it isn't indexed)
+	 */
+	public K keyOf(T object);
+}
@@ -0,0 +1,43 @@
+package javastrava.cache;
+
+import javastrava.model.StravaComment;
+import javastrava.model.StravaLap;
+import javastrava.model.StravaPhoto;
+import javastrava.model.StravaSegmentEffort;
+
+/**
+ * <p>
+ * The {@link StravaCacheIndex secondary indexes} used by the service implementations to find child objects by their parent's id
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaCacheIndexes {
+	/**
+	 * Comments, by the id of the activity they were made on
+	 */
+	public static final StravaCacheIndex<StravaComment, Long> COMMENT_ACTIVITY = comment -> comment.getActivityId();
+
+	/**
+	 * Laps, by the id of the activity they belong to
+	 */
+	public static final StravaCacheIndex<StravaLap, Long> LAP_ACTIVITY = lap -> (lap.getActivity() == null ? null : lap.getActivity().getId());
+
+	/**
+	 * Photos, by the id of the activity they are attached to
+	 */
+	public static final StravaCacheIndex<StravaPhoto, Long> PHOTO_ACTIVITY = photo -> photo.getActivityId();
+
+	/**
+	 * Segment efforts, by the id of the activity they are part of
+	 */
+	public static final StravaCacheIndex<StravaSegmentEffort, Long> EFFORT_ACTIVITY = effort -> (effort.getActivity() == null ? null : effort.getActivity().getId());
+
+	/**
+	 * No instances
+	 */
+	private StravaCacheIndexes() {
+		// Constants only
+	}
+}
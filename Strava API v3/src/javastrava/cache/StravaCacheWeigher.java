@@ -0,0 +1,34 @@
+package javastrava.cache;
+
+/**
+ * <p>
+ * Estimates the relative weight (memory footprint) of an object stored in a {@link StravaCache}, so that caches can be bounded by weight as well as by number of entries
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be weighed
+ */
+@FunctionalInterface
+public interface StravaCacheWeigher<T> {
+	/**
+	 * <p>
+	 * Weigher that gives every object a weight of 1
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of object to be weighed
+	 * @return The weigher
+	 */
+	public static <T> StravaCacheWeigher<T> singleton() {
+		return object -> 1;
+	}
+
+	/**
+	 * @param object
+	 *            The object to be weighed
+	 * @return The object's weight, which must be at least 1
+	 */
+	public int weigh(T object);
+}
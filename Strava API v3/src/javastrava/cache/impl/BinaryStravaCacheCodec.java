@@ -0,0 +1,120 @@
+package javastrava.cache.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javastrava.binary.BinaryUtil;
+import javastrava.binary.exception.BinarySerialisationException;
+import javastrava.binary.impl.BinaryUtilImpl;
+import javastrava.cache.StravaCacheCodec;
+
+/**
+ * <p>
+ * Encodes objects in javastrava's compact binary format (see {@link BinaryUtil}), by default compressed with deflate
+ * </p>
+ *
+ * <p>
+ * Objects encode to a fraction of the size of their JSON, and decode several times faster; streams, which are mostly numbers, shrink the most. Polylines and other text are
+ * kept as they are, which is what compression is for. As with {@link JsonStravaCacheCodec}, objects encoded by an older version of the model still decode, with any new fields
+ * left empty.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be encoded
+ */
+public class BinaryStravaCacheCodec<T> implements StravaCacheCodec<T> {
+	/**
+	 * Binary serialiser; thread safe
+	 */
+	private static final BinaryUtil BINARY = new BinaryUtilImpl();
+
+	/**
+	 * Class of object to be encoded
+	 */
+	private final Class<T> class1;
+
+	/**
+	 * Whether the encoded objects are compressed
+	 */
+	private final boolean compress;
+
+	/**
+	 * @param class1
+	 *            Class of object to be encoded
+	 */
+	public BinaryStravaCacheCodec(final Class<T> class1) {
+		this(class1, true);
+	}
+
+	/**
+	 * @param class1
+	 *            Class of object to be encoded
+	 * @param compress
+	 *            Whether the encoded objects are compressed; if not, they are bigger but quicker to encode and decode
+	 */
+	public BinaryStravaCacheCodec(final Class<T> class1, final boolean compress) {
+		this.class1 = class1;
+		this.compress = compress;
+	}
+
+	/**
+	 * @see javastrava.cache.StravaCacheCodec#decode(byte[])
+	 */
+	@Override
+	public T decode(final byte[] bytes) throws IOException {
+		try {
+			return BINARY.deserialise(this.compress ? inflate(bytes) : bytes, this.class1);
+		} catch (final BinarySerialisationException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * @see javastrava.cache.StravaCacheCodec#encode(java.lang.Object)
+	 */
+	@Override
+	public byte[] encode(final T object) throws IOException {
+		final byte[] bytes;
+		try {
+			bytes = BINARY.serialise(object);
+		} catch (final BinarySerialisationException e) {
+			throw new IOException(e);
+		}
+		if (!this.compress) {
+			return bytes;
+		}
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+			out.write(bytes);
+		} finally {
+			deflater.end();
+		}
+		return compressed.toByteArray();
+	}
+
+	/**
+	 * @param bytes
+	 *            Compressed bytes
+	 * @return The bytes uncompressed
+	 * @throws IOException
+	 *             If they aren't compressed with deflate
+	 */
+	private static byte[] inflate(final byte[] bytes) throws IOException {
+		final ByteArrayOutputStream inflated = new ByteArrayOutputStream(bytes.length * 3);
+		try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+			final byte[] buffer = new byte[8192];
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				inflated.write(buffer, 0, read);
+			}
+		}
+		return inflated.toByteArray();
+	}
+}
@@ -0,0 +1,252 @@
+package javastrava.cache.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javastrava.auth.model.Token;
+import javastrava.cache.StravaCache;
+import javastrava.cache.StravaCacheIndex;
+import javastrava.cache.StravaCacheWeigher;
+import javastrava.cache.StravaCacheableEntity;
+import javastrava.model.reference.StravaResourceState;
+
+/**
+ * <p>
+ * In-process cache backed by a {@link ConcurrentHashMap} per class and token, keyed directly on the object's id
+ * </p>
+ *
+ * <p>
+ * Secondary indexes declared with {@link #addIndex(StravaCacheIndex)} are maintained as objects are stored and removed, so looking up children by their parent's id costs time
+ * proportional to the number of children rather than the size of the cache.
+ * </p>
+ *
+ * <p>
+ * The region for the class and token is looked up once, when the cache is created, so a lookup is a single hash table read: no lock, no key object and no group name to build. All
+ * regions share the size and weight bounds, time to live and eviction policy of the {@link StravaCacheStore}.
+ * </p>
+ *
+ * <p>
+ * Caches created for the same class and token (by different services, for example) share the same region, as they do with {@link StravaCacheImpl}.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be stored in cache
+ * @param <U>
+ *            Class of object id
+ */
+public class ConcurrentStravaCacheImpl<T extends StravaCacheableEntity<U>, U> implements StravaCache<T, U> {
+	/**
+	 * Strava access token associated with this cache instance
+	 */
+	private final Token token;
+
+	/**
+	 * Store that bounds and evicts the entries in this cache, along with all the others
+	 */
+	private final StravaCacheStore store;
+
+	/**
+	 * The entries in this cache, keyed by object id, and their indexes
+	 */
+	private final StravaCacheRegion<U, T> region;
+
+	/**
+	 * Seed identifying the region, used when hashing ids to record access frequencies
+	 */
+	private final int seed;
+
+	/**
+	 * Weigher used to determine the weight of each object stored
+	 */
+	private final StravaCacheWeigher<T> weigher;
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token, which is used to keep the cached objects separate from those of other tokens
+	 */
+	public ConcurrentStravaCacheImpl(final Class<T> class1, final Token token) {
+		this(class1, token, StravaCacheWeigher.singleton());
+	}
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token, which is used to keep the cached objects separate from those of other tokens
+	 * @param weigher
+	 *            Weigher used to determine the weight of each object stored
+	 */
+	public ConcurrentStravaCacheImpl(final Class<T> class1, final Token token, final StravaCacheWeigher<T> weigher) {
+		this(class1, token, weigher, StravaCacheStore.INSTANCE);
+	}
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token, which is used to keep the cached objects separate from those of other tokens
+	 * @param weigher
+	 *            Weigher used to determine the weight of each object stored
+	 * @param store
+	 *            Store that bounds and evicts the entries
+	 */
+	ConcurrentStravaCacheImpl(final Class<T> class1, final Token token, final StravaCacheWeigher<T> weigher, final StravaCacheStore store) {
+		this(class1.getName() + "::" + StravaCacheStore.hash(token.getToken()), token, weigher, store); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param name
+	 *            Name of the region to store the objects in
+	 * @param token
+	 *            The security token
+	 * @param weigher
+	 *            Weigher used to determine the weight of each object stored
+	 * @param store
+	 *            Store that bounds and evicts the entries
+	 */
+	ConcurrentStravaCacheImpl(final String name, final Token token, final StravaCacheWeigher<T> weigher, final StravaCacheStore store) {
+		this.token = token;
+		this.weigher = weigher;
+		this.store = store;
+		this.region = store.region(name);
+		this.seed = name.hashCode();
+	}
+
+	@Override
+	public void addIndex(final StravaCacheIndex<T, ?> index) {
+		this.region.addIndex(index);
+	}
+
+	@Override
+	public T get(final U id) {
+		if (id == null) {
+			return null;
+		}
+		this.store.recordAccess(StravaCacheStore.hash(this.seed, id));
+		final StravaCacheEntry<U, T> entry = this.region.entries.get(id);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(System.nanoTime())) {
+			this.store.remove(entry);
+			return null;
+		}
+		entry.hit();
+		return entry.value;
+	}
+
+	/**
+	 * Get the token in use
+	 *
+	 * @return The token
+	 */
+	protected Token getToken() {
+		return this.token;
+	}
+
+	@Override
+	public List<T> list() {
+		final long now = System.nanoTime();
+		final List<T> list = new ArrayList<T>(this.region.entries.size());
+		for (final StravaCacheEntry<U, T> entry : this.region.entries.values()) {
+			if (entry.isExpired(now)) {
+				this.store.remove(entry);
+			} else {
+				list.add(entry.value);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public <K> List<T> listByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		final List<StravaCacheEntry<U, T>> entries = this.region.lookup(index, key);
+		if (entries == null) {
+			// Not an index that has been declared
+			return StravaCache.super.listByIndex(index, key);
+		}
+		final long now = System.nanoTime();
+		final List<T> list = new ArrayList<T>(entries.size());
+		for (final StravaCacheEntry<U, T> entry : entries) {
+			if (entry.isExpired(now)) {
+				this.store.remove(entry);
+			} else {
+				entry.hit();
+				list.add(entry.value);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void put(final T object) {
+		// Null safety!
+		if ((object == null) || (object.getId() == null)) {
+			return;
+		}
+
+		// Only cache detailed objects
+		if (object.getResourceState() == StravaResourceState.DETAILED) {
+			final U id = object.getId();
+			final int hash = StravaCacheStore.hash(this.seed, id);
+			this.store.recordAccess(hash);
+			final StravaCacheEntry<U, T> entry = new StravaCacheEntry<U, T>(this.region, id, hash, object, Math.max(1, this.weigher.weigh(object)), this.store.expiry());
+			final StravaCacheEntry<U, T> previous = this.region.entries.put(entry.key, entry);
+			this.region.index(entry, previous);
+			if (previous != null) {
+				this.store.removed(previous);
+			}
+			this.store.added(entry);
+		}
+	}
+
+	@Override
+	public void putAll(final List<T> list) {
+		if (list == null) {
+			return;
+		}
+		for (final T object : list) {
+			put(object);
+		}
+	}
+
+	@Override
+	public void remove(final U id) {
+		if (id == null) {
+			return;
+		}
+		final StravaCacheEntry<U, T> entry = this.region.entries.get(id);
+		if (entry != null) {
+			this.store.remove(entry);
+		}
+	}
+
+	@Override
+	public <K> void removeByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		final List<StravaCacheEntry<U, T>> entries = this.region.lookup(index, key);
+		if (entries == null) {
+			StravaCache.super.removeByIndex(index, key);
+			return;
+		}
+		for (final StravaCacheEntry<U, T> entry : entries) {
+			this.store.remove(entry);
+		}
+	}
+
+	@Override
+	public void removeAll() {
+		for (final StravaCacheEntry<U, T> entry : this.region.entries.values()) {
+			this.store.remove(entry);
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.region.entries.size();
+	}
+}
@@ -0,0 +1,126 @@
+package javastrava.cache.impl;
+
+/**
+ * <p>
+ * Approximate, ageing count of how often each key has been accessed recently (a count-min sketch of 4 bit counters), used by the {@link StravaCacheStore} to decide whether a newly
+ * stored entry is worth keeping at the expense of the entry that would be evicted to make room for it
+ * </p>
+ *
+ * <p>
+ * Every time the number of recorded accesses reaches ten times the capacity of the cache, all the counts are halved, so the sketch reflects recent popularity rather than all-time
+ * popularity. Updates are not synchronised: the occasional lost increment doesn't matter to an estimate, and it keeps the cost of recording an access to a few array writes.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class FrequencySketch {
+	/**
+	 * Largest table that will be allocated, in longs
+	 */
+	private static final int MAX_TABLE_SIZE = 1 << 22;
+
+	/**
+	 * Seeds for the four hash functions
+	 */
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+	/**
+	 * Mask with the least significant bit of each 4 bit counter clear, used when halving
+	 */
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	/**
+	 * Sixteen 4 bit counters per long
+	 */
+	private final long[] table;
+
+	/**
+	 * Mask used to select a long in the table
+	 */
+	private final int tableMask;
+
+	/**
+	 * Number of accesses after which the counts are halved
+	 */
+	private final int sampleSize;
+
+	/**
+	 * Number of accesses recorded since the counts were last halved
+	 */
+	private int accesses;
+
+	/**
+	 * @param capacity
+	 *            Expected maximum number of entries in the cache
+	 */
+	FrequencySketch(final long capacity) {
+		final int size = (int) Math.min(MAX_TABLE_SIZE, Math.max(16, capacity));
+		this.table = new long[Integer.highestOneBit(size - 1) << 1];
+		this.tableMask = this.table.length - 1;
+		this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(16, capacity));
+	}
+
+	/**
+	 * @param hash
+	 *            Hash of the key
+	 * @return Estimated number of recent accesses to the key, from 0 to 15
+	 */
+	int frequency(final int hash) {
+		final int start = (hash & 3) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			final int index = indexOf(hash, i);
+			final int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Record an access to the key
+	 *
+	 * @param hash
+	 *            Hash of the key
+	 */
+	void increment(final int hash) {
+		final int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			final int index = indexOf(hash, i);
+			final int offset = (start + i) << 2;
+			final long mask = 0xfL << offset;
+			final long value = this.table[index];
+			if ((value & mask) != mask) {
+				this.table[index] = value + (1L << offset);
+				added = true;
+			}
+		}
+		if (added && (++this.accesses >= this.sampleSize)) {
+			reset();
+		}
+	}
+
+	/**
+	 * @param hash
+	 *            Hash of the key
+	 * @param i
+	 *            Which of the four hash functions to use
+	 * @return Index of the long in the table holding the key's i'th counter
+	 */
+	private int indexOf(final int hash, final int i) {
+		long h = (hash + SEEDS[i]) * SEEDS[i];
+		h += h >>> 32;
+		return ((int) h) & this.tableMask;
+	}
+
+	/**
+	 * Halve all the counts
+	 */
+	private void reset() {
+		for (int i = 0; i < this.table.length; i++) {
+			this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+		}
+		this.accesses = this.accesses >>> 1;
+	}
+}
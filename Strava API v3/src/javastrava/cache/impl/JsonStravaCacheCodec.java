@@ -0,0 +1,83 @@
+package javastrava.cache.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javastrava.api.util.APITransport;
+import javastrava.cache.StravaCacheCodec;
+import javastrava.json.exception.JsonSerialisationException;
+
+/**
+ * <p>
+ * Encodes objects as they would be sent by the Strava API (JSON), compressed with deflate
+ * </p>
+ *
+ * <p>
+ * JSON compresses well, especially the repetitive field names, so the encoded objects are a fraction of the size of the JSON; and as the model classes evolve, objects encoded by
+ * an older version still decode, with any new fields left empty.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be encoded
+ */
+public class JsonStravaCacheCodec<T> implements StravaCacheCodec<T> {
+	/**
+	 * Class of object to be encoded
+	 */
+	private final Class<T> class1;
+
+	/**
+	 * @param class1
+	 *            Class of object to be encoded
+	 */
+	public JsonStravaCacheCodec(final Class<T> class1) {
+		this.class1 = class1;
+	}
+
+	/**
+	 * @see javastrava.cache.StravaCacheCodec#decode(byte[])
+	 */
+	@Override
+	public T decode(final byte[] bytes) throws IOException {
+		final StringBuilder json = new StringBuilder(bytes.length * 4);
+		try (Reader reader = new InputStreamReader(new InflaterInputStream(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8)) {
+			final char[] buffer = new char[4096];
+			for (int read = reader.read(buffer); read != -1; read = reader.read(buffer)) {
+				json.append(buffer, 0, read);
+			}
+		}
+		try {
+			return APITransport.getJson().deserialise(json.toString(), this.class1);
+		} catch (final JsonSerialisationException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * @see javastrava.cache.StravaCacheCodec#encode(java.lang.Object)
+	 */
+	@Override
+	public byte[] encode(final T object) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (Writer writer = new OutputStreamWriter(new DeflaterOutputStream(bytes, deflater), StandardCharsets.UTF_8)) {
+			writer.write(APITransport.getJson().serialise(object));
+		} catch (final JsonSerialisationException e) {
+			throw new IOException(e);
+		} finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+}
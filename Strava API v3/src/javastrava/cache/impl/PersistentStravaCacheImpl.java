@@ -0,0 +1,325 @@
+package javastrava.cache.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.auth.model.Token;
+import javastrava.cache.StravaCache;
+import javastrava.cache.StravaCacheCodec;
+import javastrava.cache.StravaCacheIndex;
+import javastrava.cache.StravaCacheableEntity;
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.model.reference.StravaResourceState;
+
+/**
+ * <p>
+ * Cache that keeps objects on disk, in memory-mapped files, rather than on the Java heap, so that it can hold far more objects than a heap-based cache without adding to garbage
+ * collection, and so that they are still there when the application restarts
+ * </p>
+ *
+ * <p>
+ * Objects are encoded by a {@link StravaCacheCodec} (by default, the one given by <code>strava.cache.persistent.codec</code>) and stored in a directory per class, under
+ * <code>strava.cache.persistent.directory</code>, which is shared by all tokens. Each object is stored with a hash of its token, so the token itself is never written to disk. See
+ * {@link PersistentStravaCacheRegion} for how the files are organised. {@link #closeAll()} releases the files.
+ * </p>
+ *
+ * <p>
+ * Nothing is read from disk when the cache is created: the index of what is stored is built the first time the cache is used, and objects are only decoded when they are asked for.
+ * </p>
+ *
+ * <p>
+ * Secondary indexes declared with {@link #addIndex(StravaCacheIndex)} are kept on the heap. Each is built, by decoding the token's objects once, the first time it is looked up,
+ * and maintained as objects are stored after that; a lookup checks each object it finds against the foreign key before returning it, so removed and changed objects don't have to
+ * be taken out of the index.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be stored in cache
+ * @param <U>
+ *            Class of object id; must be {@link Integer}, {@link Long} or {@link String}
+ */
+public class PersistentStravaCacheImpl<T extends StravaCacheableEntity<U>, U> implements StravaCache<T, U> {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * <p>
+	 * Close the files of all the persistent caches in this JVM, releasing their memory mappings and their locks on their directories so that another process can use them
+	 * </p>
+	 *
+	 * <p>
+	 * Caches may still be used after this; their files are opened again when they are.
+	 * </p>
+	 */
+	public static void closeAll() {
+		PersistentStravaCacheRegion.closeAll();
+	}
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @return The codec given by <code>strava.cache.persistent.codec</code>
+	 */
+	private static <T> StravaCacheCodec<T> codec(final Class<T> class1) {
+		if ("binary".equalsIgnoreCase(StravaConfig.CACHE_PERSISTENT_CODEC.trim())) { //$NON-NLS-1$
+			return new BinaryStravaCacheCodec<T>(class1);
+		}
+		return new JsonStravaCacheCodec<T>(class1);
+	}
+
+	/**
+	 * @return The directory under which the caches are stored
+	 */
+	private static Path directory() {
+		final String directory = StravaConfig.CACHE_PERSISTENT_DIRECTORY;
+		if ((directory == null) || directory.trim().isEmpty()) {
+			return Paths.get(System.getProperty("java.io.tmpdir"), "javastrava-cache"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return Paths.get(directory.trim());
+	}
+
+	/**
+	 * Strava access token associated with this cache instance
+	 */
+	private final Token token;
+
+	/**
+	 * Codec used to encode and decode the objects
+	 */
+	private final StravaCacheCodec<T> codec;
+
+	/**
+	 * Where the objects are stored
+	 */
+	private final PersistentStravaCacheRegion<U> region;
+
+	/**
+	 * Hash of the token, which identifies its objects in the region
+	 */
+	private final String owner;
+
+	/**
+	 * The indexes declared on this cache
+	 */
+	private final Set<StravaCacheIndex<T, ?>> declared = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token, which is used to keep the cached objects separate from those of other tokens
+	 */
+	public PersistentStravaCacheImpl(final Class<T> class1, final Token token) {
+		this(class1, token, codec(class1));
+	}
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token, which is used to keep the cached objects separate from those of other tokens
+	 * @param codec
+	 *            Codec used to encode and decode the objects
+	 */
+	public PersistentStravaCacheImpl(final Class<T> class1, final Token token, final StravaCacheCodec<T> codec) {
+		this.token = token;
+		this.codec = codec;
+		this.region = PersistentStravaCacheRegion.open(directory().resolve(class1.getName()), StravaConfig.CACHE_PERSISTENT_SEGMENT_SIZE_MB << 20,
+				StravaConfig.CACHE_PERSISTENT_MAX_SEGMENTS, TimeUnit.SECONDS.toMillis(StravaConfig.CACHE_PERSISTENT_TTL_SECONDS));
+		this.owner = StravaCacheStore.hash(token.getToken());
+	}
+
+	/**
+	 * @param keys
+	 *            An index
+	 * @param foreignKey
+	 *            Foreign key
+	 * @param id
+	 *            Id of the object to add
+	 */
+	private void add(final Map<Object, Set<U>> keys, final Object foreignKey, final U id) {
+		if (foreignKey != null) {
+			keys.computeIfAbsent(foreignKey, key -> ConcurrentHashMap.newKeySet()).add(id);
+		}
+	}
+
+	@Override
+	public void addIndex(final StravaCacheIndex<T, ?> index) {
+		this.declared.add(index);
+	}
+
+	@Override
+	public T get(final U id) {
+		if (id == null) {
+			return null;
+		}
+		final byte[] bytes = this.region.get(this.owner, id);
+		if (bytes == null) {
+			return null;
+		}
+		try {
+			return this.codec.decode(bytes);
+		} catch (final IOException e) {
+			// Stored by an incompatible version, perhaps; either way it's no use
+			log.warn(String.format(Messages.string("PersistentStravaCache.undecodable"), id, e)); //$NON-NLS-1$
+			this.region.remove(this.owner, id);
+			return null;
+		}
+	}
+
+	/**
+	 * Get the token in use
+	 *
+	 * @return The token
+	 */
+	protected Token getToken() {
+		return this.token;
+	}
+
+	@Override
+	public List<T> list() {
+		final List<T> list = new ArrayList<T>();
+		for (final U id : this.region.keys(this.owner)) {
+			final T object = get(id);
+			if (object != null) {
+				list.add(object);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public <K> List<T> listByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		final List<T> list = lookup(index, key);
+		return (list == null ? StravaCache.super.listByIndex(index, key) : list);
+	}
+
+	/**
+	 * List the objects with the given foreign key, building the index first if it hasn't been built
+	 *
+	 * @param index
+	 *            The index
+	 * @param foreignKey
+	 *            The foreign key
+	 * @param <K>
+	 *            Class of the foreign key
+	 * @return The matching objects, or <code>null</code> if the index hasn't been declared
+	 */
+	private <K> List<T> lookup(final StravaCacheIndex<T, K> index, final K foreignKey) {
+		if (!this.declared.contains(index)) {
+			return null;
+		}
+		final ConcurrentHashMap<Object, ConcurrentHashMap<Object, Set<U>>> indexes = this.region.indexes(this.owner);
+		ConcurrentHashMap<Object, Set<U>> keys = indexes.get(index);
+		if (keys == null) {
+			// Built under the same lock as put() adds to the indexes, so that nothing stored meanwhile is missed
+			synchronized (indexes) {
+				keys = indexes.get(index);
+				if (keys == null) {
+					keys = new ConcurrentHashMap<>();
+					for (final U id : this.region.keys(this.owner)) {
+						final T object = get(id);
+						if (object != null) {
+							add(keys, index.keyOf(object), id);
+						}
+					}
+					indexes.put(index, keys);
+				}
+			}
+		}
+		final Set<U> ids = (foreignKey == null ? null : keys.get(foreignKey));
+		final List<T> list = new ArrayList<T>();
+		if (ids != null) {
+			for (final U id : ids) {
+				final T object = get(id);
+				if ((object != null) && foreignKey.equals(index.keyOf(object))) {
+					list.add(object);
+				} else {
+					ids.remove(id);
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void put(final T object) {
+		// Null safety!
+		if ((object == null) || (object.getId() == null)) {
+			return;
+		}
+
+		// Only cache detailed objects
+		if (object.getResourceState() == StravaResourceState.DETAILED) {
+			try {
+				this.region.put(this.owner, object.getId(), this.codec.encode(object));
+			} catch (final IOException e) {
+				log.warn(String.format(Messages.string("PersistentStravaCache.unencodable"), object.getId(), e)); //$NON-NLS-1$
+				this.region.remove(this.owner, object.getId());
+				return;
+			}
+			final ConcurrentHashMap<Object, ConcurrentHashMap<Object, Set<U>>> indexes = this.region.indexes(this.owner);
+			synchronized (indexes) {
+				for (final Map.Entry<Object, ConcurrentHashMap<Object, Set<U>>> index : indexes.entrySet()) {
+					@SuppressWarnings("unchecked")
+					final StravaCacheIndex<T, ?> declaredIndex = (StravaCacheIndex<T, ?>) index.getKey();
+					add(index.getValue(), declaredIndex.keyOf(object), object.getId());
+				}
+			}
+		}
+	}
+
+	@Override
+	public void putAll(final List<T> list) {
+		if (list == null) {
+			return;
+		}
+		for (final T object : list) {
+			put(object);
+		}
+	}
+
+	@Override
+	public void remove(final U id) {
+		if (id != null) {
+			this.region.remove(this.owner, id);
+		}
+	}
+
+	@Override
+	public void removeAll() {
+		this.region.removeAll(this.owner);
+	}
+
+	@Override
+	public <K> void removeByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		final List<T> list = lookup(index, key);
+		if (list == null) {
+			StravaCache.super.removeByIndex(index, key);
+			return;
+		}
+		for (final T object : list) {
+			remove(object.getId());
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.region.size(this.owner);
+	}
+}
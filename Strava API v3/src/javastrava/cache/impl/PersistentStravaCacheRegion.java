@@ -0,0 +1,862 @@
+package javastrava.cache.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * The entries for one class of object in a {@link PersistentStravaCacheImpl}, for all tokens, stored in a directory of append-only, memory-mapped segment files
+ * </p>
+ *
+ * <p>
+ * Every put or remove appends a record (a put with the encoded object, or a tombstone) to the current segment; when it is full a new one is started. Each record carries the
+ * hash of the token it was stored for (its owner), so the entries of different tokens are kept apart without each token needing its own files. The only thing held on the heap is
+ * an index, for each owner, from id to the location of the latest record for it, so reading an object is a lookup, a copy out of the mapped file (which the operating system pages
+ * in and out as it needs to) and a decode. Each record carries a CRC, so a record that was only partly written when the process died is detected, and everything from it onwards
+ * in that segment is ignored.
+ * </p>
+ *
+ * <p>
+ * The index is built the first time the region is used, by reading through the segments, rather than when the cache is created. Once there are more than the maximum number of
+ * segments, either the live records are copied into new segments and the old ones deleted (if at least half of what has been written is dead: overwritten, removed or expired), or
+ * the oldest segment is dropped along with the entries in it.
+ * </p>
+ *
+ * <p>
+ * There is one region per directory in each JVM, however many caches use it. Only one process can use a directory at a time; if another already has it, the region stores nothing.
+ * {@link #close()} unmaps the segments and releases the directory; the region is opened again if it is used after that.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <U>
+ *            Class of object id; must be {@link Integer}, {@link Long} or {@link String}
+ */
+final class PersistentStravaCacheRegion<U> {
+	/**
+	 * The entries stored for one token
+	 *
+	 * @param <U>
+	 *            Class of object id
+	 */
+	private static final class Owner<U> {
+		/**
+		 * Location of the latest record for each id
+		 */
+		final ConcurrentHashMap<U, Long>									locations	= new ConcurrentHashMap<>();
+
+		/**
+		 * Secondary indexes built on the entries, each mapping a foreign key to the ids of the entries with that key; see {@link PersistentStravaCacheRegion#indexes(String)}
+		 */
+		final ConcurrentHashMap<Object, ConcurrentHashMap<Object, Set<U>>>	indexes		= new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Identifies a segment file
+	 */
+	private static final int MAGIC = 0x4a534331;
+
+	/**
+	 * Version of the record format
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Size of the segment header (magic and version)
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Size of the owner of a record, which is a SHA-256 hash
+	 */
+	private static final int OWNER_SIZE = 32;
+
+	/**
+	 * Record type of a put
+	 */
+	private static final byte PUT = 1;
+
+	/**
+	 * Record type of a removal
+	 */
+	private static final byte TOMBSTONE = 2;
+
+	/**
+	 * Key type tags
+	 */
+	private static final byte INTEGER_KEY = 1, LONG_KEY = 2, STRING_KEY = 3;
+
+	/**
+	 * Value of a tombstone
+	 */
+	private static final byte[] EMPTY = new byte[0];
+
+	/**
+	 * Prefix of segment file names
+	 */
+	private static final String SEGMENT_PREFIX = "segment-"; //$NON-NLS-1$
+
+	/**
+	 * Suffix of segment file names
+	 */
+	private static final String SEGMENT_SUFFIX = ".dat"; //$NON-NLS-1$
+
+	/**
+	 * Regions open in this JVM, keyed by directory
+	 */
+	private static final ConcurrentHashMap<Path, PersistentStravaCacheRegion<?>> REGIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * Close all the regions open in this JVM
+	 */
+	static void closeAll() {
+		for (final PersistentStravaCacheRegion<?> region : REGIONS.values()) {
+			region.close();
+		}
+	}
+
+	/**
+	 * @param number
+	 *            Segment number
+	 * @param offset
+	 *            Offset of the record in the segment
+	 * @return Location of the record
+	 */
+	private static long location(final int number, final int offset) {
+		return ((long) number << 32) | (offset & 0xffffffffL);
+	}
+
+	/**
+	 * @param location
+	 *            Location of a record
+	 * @return Segment number
+	 */
+	private static int numberOf(final long location) {
+		return (int) (location >>> 32);
+	}
+
+	/**
+	 * @param location
+	 *            Location of a record
+	 * @return Offset of the record in its segment
+	 */
+	private static int offsetOf(final long location) {
+		return (int) location;
+	}
+
+	/**
+	 * Get the region stored in the given directory, creating it if necessary
+	 *
+	 * @param directory
+	 *            The directory
+	 * @param segmentSize
+	 *            Size of each segment file, in bytes
+	 * @param maxSegments
+	 *            Number of segments above which the region is compacted or the oldest segment dropped
+	 * @param ttlMillis
+	 *            Time to live of each entry, in milliseconds, or 0 if entries don't expire
+	 * @param <U>
+	 *            Class of object id
+	 * @return The region
+	 */
+	@SuppressWarnings("unchecked")
+	static <U> PersistentStravaCacheRegion<U> open(final Path directory, final int segmentSize, final int maxSegments, final long ttlMillis) {
+		return (PersistentStravaCacheRegion<U>) REGIONS.computeIfAbsent(directory.toAbsolutePath(),
+				path -> new PersistentStravaCacheRegion<U>(path, segmentSize, maxSegments, ttlMillis));
+	}
+
+	/**
+	 * @param owner
+	 *            Hash of a token, in hex
+	 * @return The hash as bytes
+	 */
+	private static byte[] ownerBytes(final String owner) {
+		final byte[] bytes = new byte[OWNER_SIZE];
+		for (int i = 0; i < OWNER_SIZE; i++) {
+			bytes[i] = (byte) ((Character.digit(owner.charAt(2 * i), 16) << 4) | Character.digit(owner.charAt((2 * i) + 1), 16));
+		}
+		return bytes;
+	}
+
+	/**
+	 * @param record
+	 *            A record, positioned at its owner
+	 * @return The owner, in hex
+	 */
+	private static String ownerOf(final ByteBuffer record) {
+		final StringBuilder hex = new StringBuilder(OWNER_SIZE * 2);
+		for (int i = 0; i < OWNER_SIZE; i++) {
+			final byte b = record.get();
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Directory holding the segment files
+	 */
+	private final Path directory;
+
+	/**
+	 * Size of each new segment file, in bytes
+	 */
+	private final int segmentSize;
+
+	/**
+	 * Number of segments above which the region is compacted or the oldest segment dropped
+	 */
+	private final int maxSegments;
+
+	/**
+	 * Time to live of each entry, in milliseconds, or 0 if entries don't expire
+	 */
+	private final long ttlMillis;
+
+	/**
+	 * The entries, by owner
+	 */
+	private final ConcurrentHashMap<String, Owner<U>> owners = new ConcurrentHashMap<>();
+
+	/**
+	 * Mapped segments, by segment number
+	 */
+	private final ConcurrentSkipListMap<Integer, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Set once the index has been built, or it has been found that the directory can't be used; cleared when the region is closed
+	 */
+	private volatile boolean loaded;
+
+	/**
+	 * Set if the directory can't be used, in which case nothing is stored
+	 */
+	private volatile boolean disabled;
+
+	/**
+	 * Channel holding the lock on the directory
+	 */
+	private FileChannel lockChannel;
+
+	/**
+	 * Number of the segment being written to
+	 */
+	private int current;
+
+	/**
+	 * Offset in the current segment at which the next record will be written
+	 */
+	private int position;
+
+	/**
+	 * Total size of the records in all the segments
+	 */
+	private long totalBytes;
+
+	/**
+	 * Total size of the records that are no longer needed
+	 */
+	private long deadBytes;
+
+	/**
+	 * Set while compacting
+	 */
+	private boolean compacting;
+
+	/**
+	 * @param directory
+	 *            Directory holding the segment files
+	 * @param segmentSize
+	 *            Size of each segment file, in bytes
+	 * @param maxSegments
+	 *            Number of segments above which the region is compacted or the oldest segment dropped
+	 * @param ttlMillis
+	 *            Time to live of each entry, in milliseconds, or 0 if entries don't expire
+	 */
+	private PersistentStravaCacheRegion(final Path directory, final int segmentSize, final int maxSegments, final long ttlMillis) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = Math.max(1, maxSegments);
+		this.ttlMillis = ttlMillis;
+	}
+
+	/**
+	 * Append a record to the current segment, starting a new one if it is full
+	 *
+	 * @param type
+	 *            Record type
+	 * @param owner
+	 *            Owner, as bytes
+	 * @param key
+	 *            Encoded key
+	 * @param writtenAt
+	 *            Time the object was stored, in milliseconds since the epoch
+	 * @param value
+	 *            Encoded object
+	 * @return Location of the record, or -1 if it is too large to fit in a segment
+	 * @throws IOException
+	 *             If a new segment can't be created
+	 */
+	private long append(final byte type, final byte[] owner, final byte[] key, final long writtenAt, final byte[] value) throws IOException {
+		final int bodyLength = 1 + 8 + OWNER_SIZE + key.length + 4 + value.length;
+		final int recordLength = 4 + bodyLength + 4;
+		if (recordLength > (this.segmentSize - HEADER_SIZE)) {
+			return -1;
+		}
+		if ((this.position + recordLength) > this.segments.get(Integer.valueOf(this.current)).capacity()) {
+			roll();
+			if ((this.position + recordLength) > this.segments.get(Integer.valueOf(this.current)).capacity()) {
+				// Compaction filled the new segment
+				newSegment(this.current + 1);
+			}
+		}
+		final ByteBuffer buffer = this.segments.get(Integer.valueOf(this.current)).duplicate();
+		buffer.position(this.position + 4);
+		buffer.put(type).putLong(writtenAt).put(owner).put(key).putInt(value.length).put(value);
+		buffer.putInt(crc(buffer, this.position + 4, bodyLength));
+		// Write the length last; if the process dies part way through, the CRC won't match and the record will be ignored
+		buffer.putInt(this.position, bodyLength + 4);
+		final long location = location(this.current, this.position);
+		this.position += recordLength;
+		this.totalBytes += recordLength;
+		return location;
+	}
+
+	/**
+	 * Unmap the segments, release the directory and forget the index; the region is opened again if it is used after this
+	 */
+	synchronized void close() {
+		if (!this.loaded) {
+			return;
+		}
+		this.owners.clear();
+		// Mapped segments can't be unmapped explicitly; they are unmapped once nothing refers to them
+		this.segments.clear();
+		if (this.lockChannel != null) {
+			try {
+				// Closing the channel releases the lock
+				this.lockChannel.close();
+			} catch (final IOException e) {
+				log.warn(String.format(Messages.string("PersistentStravaCache.ioError"), this.directory, e)); //$NON-NLS-1$
+			}
+			this.lockChannel = null;
+		}
+		this.totalBytes = 0;
+		this.deadBytes = 0;
+		this.disabled = false;
+		this.loaded = false;
+	}
+
+	/**
+	 * @param buffer
+	 *            Segment
+	 * @param offset
+	 *            Offset of the body of a record
+	 * @param length
+	 *            Length of the body
+	 * @return CRC of the body
+	 */
+	private static int crc(final ByteBuffer buffer, final int offset, final int length) {
+		final ByteBuffer body = buffer.duplicate();
+		body.limit(offset + length).position(offset);
+		final CRC32 crc = new CRC32();
+		crc.update(body);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Copy the live records into new segments and delete the old ones
+	 *
+	 * @throws IOException
+	 *             If a new segment can't be created
+	 */
+	private void compact() throws IOException {
+		this.compacting = true;
+		try {
+			final Set<Integer> old = new HashSet<Integer>(this.segments.keySet());
+			newSegment(this.current + 1);
+			this.totalBytes = 0;
+			this.deadBytes = 0;
+			final long now = System.currentTimeMillis();
+			for (final Owner<U> owner : this.owners.values()) {
+				for (final Map.Entry<U, Long> entry : owner.locations.entrySet()) {
+					final ByteBuffer record = record(entry.getValue().longValue());
+					if ((record == null) || isExpired(record, now)) {
+						owner.locations.remove(entry.getKey(), entry.getValue());
+						continue;
+					}
+					record.position(4 + 1 + 8);
+					final byte[] ownerBytes = new byte[OWNER_SIZE];
+					record.get(ownerBytes);
+					final byte[] key = new byte[keyLength(record)];
+					record.get(key);
+					final byte[] value = new byte[record.getInt()];
+					record.get(value);
+					final long location = append(PUT, ownerBytes, key, record.getLong(4 + 1), value);
+					owner.locations.replace(entry.getKey(), entry.getValue(), Long.valueOf(location));
+				}
+			}
+			for (final Integer number : old) {
+				deleteSegment(number.intValue());
+			}
+		} finally {
+			this.compacting = false;
+		}
+	}
+
+	/**
+	 * @param number
+	 *            Number of the segment to delete
+	 */
+	private void deleteSegment(final int number) {
+		this.segments.remove(Integer.valueOf(number));
+		try {
+			Files.deleteIfExists(segmentPath(number));
+		} catch (final IOException e) {
+			log.warn(String.format(Messages.string("PersistentStravaCache.ioError"), this.directory, e)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Drop the oldest segment and the entries whose latest record is in it
+	 */
+	private void dropOldest() {
+		final int oldest = this.segments.firstKey().intValue();
+		for (final Owner<U> owner : this.owners.values()) {
+			for (final Map.Entry<U, Long> entry : owner.locations.entrySet()) {
+				if (numberOf(entry.getValue().longValue()) == oldest) {
+					owner.locations.remove(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		// Older segments are (nearly) full, so their capacity is a good enough estimate of the size of the records in them
+		final int size = this.segments.get(Integer.valueOf(oldest)).capacity() - HEADER_SIZE;
+		this.totalBytes = Math.max(0, this.totalBytes - size);
+		this.deadBytes = Math.min(this.totalBytes, Math.max(0, this.deadBytes - size));
+		deleteSegment(oldest);
+	}
+
+	/**
+	 * @param key
+	 *            The key
+	 * @return The key encoded with its type tag
+	 */
+	private static byte[] encodeKey(final Object key) {
+		if (key instanceof Integer) {
+			return ByteBuffer.allocate(5).put(INTEGER_KEY).putInt(((Integer) key).intValue()).array();
+		}
+		if (key instanceof Long) {
+			return ByteBuffer.allocate(9).put(LONG_KEY).putLong(((Long) key).longValue()).array();
+		}
+		final byte[] string = key.toString().getBytes(StandardCharsets.UTF_8);
+		return ByteBuffer.allocate(5 + string.length).put(STRING_KEY).putInt(string.length).put(string).array();
+	}
+
+	/**
+	 * Make sure the index has been built
+	 */
+	private void ensureLoaded() {
+		if (!this.loaded) {
+			synchronized (this) {
+				if (!this.loaded) {
+					try {
+						load();
+					} catch (final IOException e) {
+						log.warn(String.format(Messages.string("PersistentStravaCache.ioError"), this.directory, e)); //$NON-NLS-1$
+						this.disabled = true;
+					}
+					this.loaded = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param owner
+	 *            Hash of the token
+	 * @param key
+	 *            The id
+	 * @return The encoded object stored for the id, or <code>null</code> if there isn't one or it has expired
+	 */
+	byte[] get(final String owner, final U key) {
+		ensureLoaded();
+		final Owner<U> entries = this.owners.get(owner);
+		final Long location = (entries == null ? null : entries.locations.get(key));
+		if (location == null) {
+			return null;
+		}
+		final ByteBuffer record = record(location.longValue());
+		if (record == null) {
+			return null;
+		}
+		if (isExpired(record, System.currentTimeMillis())) {
+			remove(owner, key);
+			return null;
+		}
+		record.position(4 + 1 + 8 + OWNER_SIZE);
+		record.position(record.position() + keyLength(record));
+		final byte[] value = new byte[record.getInt()];
+		record.get(value);
+		return value;
+	}
+
+	/**
+	 * <p>
+	 * The secondary indexes on an owner's entries, keyed by the {@link javastrava.cache.StravaCacheIndex} they were built with
+	 * </p>
+	 *
+	 * <p>
+	 * They are built and maintained by the caches, which can decode the objects; the region only keeps them, so that all the caches for a token share them, and drops them when
+	 * the owner's entries are all removed or the region is closed. They are only kept on the heap.
+	 * </p>
+	 *
+	 * @param owner
+	 *            Hash of the token
+	 * @return The indexes
+	 */
+	ConcurrentHashMap<Object, ConcurrentHashMap<Object, Set<U>>> indexes(final String owner) {
+		ensureLoaded();
+		return this.owners.computeIfAbsent(owner, key -> new Owner<U>()).indexes;
+	}
+
+	/**
+	 * @param record
+	 *            A record
+	 * @param now
+	 *            Current time, in milliseconds since the epoch
+	 * @return <code>true</code> if the record has expired
+	 */
+	private boolean isExpired(final ByteBuffer record, final long now) {
+		return (this.ttlMillis > 0) && ((now - record.getLong(4 + 1)) > this.ttlMillis);
+	}
+
+	/**
+	 * @param owner
+	 *            Hash of the token
+	 * @return The ids of the objects stored for the token
+	 */
+	Set<U> keys(final String owner) {
+		ensureLoaded();
+		final Owner<U> entries = this.owners.get(owner);
+		return (entries == null ? Collections.<U> emptySet() : entries.locations.keySet());
+	}
+
+	/**
+	 * @param record
+	 *            A record, positioned at its key
+	 * @return Length of the key, including its type tag
+	 */
+	private static int keyLength(final ByteBuffer record) {
+		final int start = record.position();
+		switch (record.get(start)) {
+		case INTEGER_KEY:
+			return 5;
+		case LONG_KEY:
+			return 9;
+		default:
+			return 5 + record.getInt(start + 1);
+		}
+	}
+
+	/**
+	 * Take the lock on the directory, map the segments and build the index
+	 *
+	 * @throws IOException
+	 *             If the directory can't be used
+	 */
+	private void load() throws IOException {
+		Files.createDirectories(this.directory);
+		this.lockChannel = FileChannel.open(this.directory.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE); //$NON-NLS-1$
+		final FileLock lock = this.lockChannel.tryLock();
+		if (lock == null) {
+			log.warn(String.format(Messages.string("PersistentStravaCache.locked"), this.directory)); //$NON-NLS-1$
+			this.disabled = true;
+			return;
+		}
+		final List<Integer> numbers = new ArrayList<Integer>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) { //$NON-NLS-1$
+			for (final Path file : files) {
+				final String name = file.getFileName().toString();
+				try {
+					numbers.add(Integer.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+				} catch (final NumberFormatException e) {
+					// Not one of ours
+				}
+			}
+		}
+		numbers.sort(null);
+		for (final Integer number : numbers) {
+			final MappedByteBuffer segment = map(segmentPath(number.intValue()), 0);
+			if ((segment.capacity() < HEADER_SIZE) || (segment.getInt(0) != MAGIC) || (segment.getInt(4) != VERSION)) {
+				log.warn(String.format(Messages.string("PersistentStravaCache.corrupt"), segmentPath(number.intValue()))); //$NON-NLS-1$
+				Files.delete(segmentPath(number.intValue()));
+				continue;
+			}
+			this.segments.put(number, segment);
+			this.current = number.intValue();
+			this.position = scan(number.intValue(), segment);
+		}
+		if (this.segments.isEmpty()) {
+			newSegment(this.current + 1);
+		} else if (this.segments.size() > this.maxSegments) {
+			trim();
+		}
+	}
+
+	/**
+	 * @param path
+	 *            Segment file
+	 * @param size
+	 *            Size to map, or 0 to map the whole of an existing file
+	 * @return The mapped segment
+	 * @throws IOException
+	 *             If the file can't be mapped
+	 */
+	private static MappedByteBuffer map(final Path path, final int size) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return channel.map(MapMode.READ_WRITE, 0, (size == 0 ? channel.size() : size));
+		}
+	}
+
+	/**
+	 * Create, map and start writing to a new segment
+	 *
+	 * @param number
+	 *            Segment number
+	 * @throws IOException
+	 *             If the segment can't be created
+	 */
+	private void newSegment(final int number) throws IOException {
+		final MappedByteBuffer segment = map(segmentPath(number), this.segmentSize);
+		segment.putInt(0, MAGIC).putInt(4, VERSION);
+		this.segments.put(Integer.valueOf(number), segment);
+		this.current = number;
+		this.position = HEADER_SIZE;
+	}
+
+	/**
+	 * Store an encoded object
+	 *
+	 * @param owner
+	 *            Hash of the token
+	 * @param key
+	 *            The id
+	 * @param value
+	 *            The encoded object
+	 */
+	synchronized void put(final String owner, final U key, final byte[] value) {
+		ensureLoaded();
+		if (this.disabled) {
+			return;
+		}
+		try {
+			final long location = append(PUT, ownerBytes(owner), encodeKey(key), System.currentTimeMillis(), value);
+			if (location < 0) {
+				remove(owner, key);
+				return;
+			}
+			final Long previous = this.owners.computeIfAbsent(owner, hash -> new Owner<U>()).locations.put(key, Long.valueOf(location));
+			if (previous != null) {
+				this.deadBytes += recordLength(previous.longValue());
+			}
+		} catch (final IOException e) {
+			log.warn(String.format(Messages.string("PersistentStravaCache.ioError"), this.directory, e)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param location
+	 *            Location of a record
+	 * @return A buffer positioned at the start of the record, or <code>null</code> if its segment has gone
+	 */
+	private ByteBuffer record(final long location) {
+		final MappedByteBuffer segment = this.segments.get(Integer.valueOf(numberOf(location)));
+		if (segment == null) {
+			return null;
+		}
+		final ByteBuffer record = segment.duplicate();
+		record.position(offsetOf(location));
+		return record.slice();
+	}
+
+	/**
+	 * @param location
+	 *            Location of a record
+	 * @return Length of the record, or 0 if its segment has gone
+	 */
+	private int recordLength(final long location) {
+		final ByteBuffer record = record(location);
+		return (record == null ? 0 : 4 + record.getInt(0));
+	}
+
+	/**
+	 * Remove the object stored for an id
+	 *
+	 * @param owner
+	 *            Hash of the token
+	 * @param key
+	 *            The id
+	 */
+	synchronized void remove(final String owner, final U key) {
+		ensureLoaded();
+		if (this.disabled) {
+			return;
+		}
+		final Owner<U> entries = this.owners.get(owner);
+		final Long previous = (entries == null ? null : entries.locations.remove(key));
+		if (previous != null) {
+			this.deadBytes += recordLength(previous.longValue());
+			try {
+				final long location = append(TOMBSTONE, ownerBytes(owner), encodeKey(key), System.currentTimeMillis(), EMPTY);
+				this.deadBytes += recordLength(location);
+			} catch (final IOException e) {
+				log.warn(String.format(Messages.string("PersistentStravaCache.ioError"), this.directory, e)); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Remove all the objects stored for a token
+	 *
+	 * @param owner
+	 *            Hash of the token
+	 */
+	synchronized void removeAll(final String owner) {
+		ensureLoaded();
+		if (this.disabled) {
+			return;
+		}
+		final Owner<U> entries = this.owners.get(owner);
+		if (entries == null) {
+			return;
+		}
+		for (final U key : new ArrayList<U>(entries.locations.keySet())) {
+			remove(owner, key);
+		}
+		entries.indexes.clear();
+	}
+
+	/**
+	 * Start a new segment, then compact or drop the oldest segment if there are too many
+	 *
+	 * @throws IOException
+	 *             If a new segment can't be created
+	 */
+	private void roll() throws IOException {
+		newSegment(this.current + 1);
+		if (!this.compacting && (this.segments.size() > this.maxSegments)) {
+			trim();
+		}
+	}
+
+	/**
+	 * Read through a segment, checking each record and adding it to the index
+	 *
+	 * @param number
+	 *            Segment number
+	 * @param segment
+	 *            The segment
+	 * @return Offset of the end of the last good record
+	 */
+	@SuppressWarnings("unchecked")
+	private int scan(final int number, final MappedByteBuffer segment) {
+		int offset = HEADER_SIZE;
+		while ((offset + 4) <= segment.capacity()) {
+			final int length = segment.getInt(offset);
+			if ((length < (1 + 8 + OWNER_SIZE + 5 + 4 + 4)) || ((offset + 4 + length) > segment.capacity())
+					|| (crc(segment, offset + 4, length - 4) != segment.getInt(offset + length))) {
+				break;
+			}
+			final ByteBuffer record = segment.duplicate();
+			record.position(offset + 4);
+			final byte type = record.get();
+			record.getLong();
+			final Owner<U> owner = this.owners.computeIfAbsent(ownerOf(record), hash -> new Owner<U>());
+			final U key;
+			switch (record.get()) {
+			case INTEGER_KEY:
+				key = (U) Integer.valueOf(record.getInt());
+				break;
+			case LONG_KEY:
+				key = (U) Long.valueOf(record.getLong());
+				break;
+			default:
+				final byte[] string = new byte[record.getInt()];
+				record.get(string);
+				key = (U) new String(string, StandardCharsets.UTF_8);
+			}
+			final Long previous = (type == PUT ? owner.locations.put(key, Long.valueOf(location(number, offset))) : owner.locations.remove(key));
+			if (previous != null) {
+				this.deadBytes += recordLength(previous.longValue());
+			}
+			if (type != PUT) {
+				this.deadBytes += 4 + length;
+			}
+			this.totalBytes += 4 + length;
+			offset += 4 + length;
+		}
+		return offset;
+	}
+
+	/**
+	 * @param number
+	 *            Segment number
+	 * @return Path of the segment file
+	 */
+	private Path segmentPath(final int number) {
+		return this.directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, Integer.valueOf(number), SEGMENT_SUFFIX)); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param owner
+	 *            Hash of the token
+	 * @return Number of objects stored for the token
+	 */
+	int size(final String owner) {
+		ensureLoaded();
+		final Owner<U> entries = this.owners.get(owner);
+		return (entries == null ? 0 : entries.locations.size());
+	}
+
+	/**
+	 * Compact the region if at least half of it is dead, otherwise drop the oldest segments until there are no more than the maximum
+	 *
+	 * @throws IOException
+	 *             If a new segment can't be created
+	 */
+	private void trim() throws IOException {
+		if ((this.deadBytes * 2) >= this.totalBytes) {
+			compact();
+		}
+		while (this.segments.size() > this.maxSegments) {
+			dropOldest();
+		}
+	}
+}
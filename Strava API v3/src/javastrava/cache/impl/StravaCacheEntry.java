@@ -0,0 +1,116 @@
+package javastrava.cache.impl;
+
+/**
+ * <p>
+ * An entry in a {@link ConcurrentStravaCacheImpl}, holding the cached object along with what the {@link StravaCacheStore} needs to know to expire and evict it
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <U>
+ *            Class of the object's id
+ * @param <T>
+ *            Class of the cached object
+ */
+final class StravaCacheEntry<U, T> {
+	/**
+	 * Largest value the hit counter is allowed to reach
+	 */
+	private static final int MAX_HITS = 15;
+
+	/**
+	 * The region the entry is stored in
+	 */
+	final StravaCacheRegion<U, T>						region;
+
+	/**
+	 * The object's id
+	 */
+	final U												key;
+
+	/**
+	 * Hash of the region and id, used to look up the entry's access frequency
+	 */
+	final int											hash;
+
+	/**
+	 * The cached object
+	 */
+	final T												value;
+
+	/**
+	 * The object's weight, as determined by the cache's weigher
+	 */
+	final int											weight;
+
+	/**
+	 * Value of {@link System#nanoTime()} after which the entry has expired, or 0 if it never expires
+	 */
+	final long											expiresAt;
+
+	/**
+	 * Approximate number of recent hits. Updates are deliberately racy: this is only a hint to the eviction policy, and keeping it exact would cost a contended write on every hit
+	 */
+	int													hits;
+
+	/**
+	 * Set once the entry has been removed from its region and its size and weight no longer count towards the store's totals
+	 */
+	volatile boolean									removed;
+
+	/**
+	 * @param region
+	 *            The region the entry is stored in
+	 * @param key
+	 *            The object's id
+	 * @param hash
+	 *            Hash of the region and id
+	 * @param value
+	 *            The cached object
+	 * @param weight
+	 *            The object's weight
+	 * @param expiresAt
+	 *            Value of {@link System#nanoTime()} after which the entry has expired, or 0 if it never expires
+	 */
+	StravaCacheEntry(final StravaCacheRegion<U, T> region, final U key, final int hash, final T value, final int weight, final long expiresAt) {
+		this.region = region;
+		this.key = key;
+		this.hash = hash;
+		this.value = value;
+		this.weight = weight;
+		this.expiresAt = expiresAt;
+	}
+
+	/**
+	 * Age the entry, as the eviction sweep passes it
+	 *
+	 * @return <code>true</code> if the entry had been hit since the last sweep, and so deserves another chance
+	 */
+	boolean age() {
+		final int h = this.hits;
+		if (h == 0) {
+			return false;
+		}
+		this.hits = h >>> 1;
+		return true;
+	}
+
+	/**
+	 * Record a hit
+	 */
+	void hit() {
+		final int h = this.hits;
+		if (h < MAX_HITS) {
+			this.hits = h + 1;
+		}
+	}
+
+	/**
+	 * @param now
+	 *            Current value of {@link System#nanoTime()}
+	 * @return <code>true</code> if the entry has expired
+	 */
+	boolean isExpired(final long now) {
+		return (this.expiresAt != 0) && ((now - this.expiresAt) > 0);
+	}
+}
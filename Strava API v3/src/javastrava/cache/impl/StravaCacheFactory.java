@@ -0,0 +1,85 @@
+package javastrava.cache.impl;
+
+import javastrava.auth.model.Token;
+import javastrava.cache.StravaCache;
+import javastrava.cache.StravaCacheableEntity;
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Creates the caches used by the service implementations, using the implementation configured by the <code>strava.cache.implementation</code> property
+ * </p>
+ *
+ * <ul>
+ * <li><code>concurrent</code> - {@link ConcurrentStravaCacheImpl} (the default)</li>
+ * <li><code>persistent</code> - {@link PersistentStravaCacheImpl}, stored on disk</li>
+ * <li><code>jcs</code> - {@link StravaCacheImpl}, backed by Apache Commons JCS</li>
+ * </ul>
+ *
+ * <p>
+ * With the concurrent implementation, classes listed in <code>strava.cache.shared_types</code> get a {@link TieredStravaCache}, which also shares public objects between tokens.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaCacheFactory {
+	/**
+	 * Value of <code>strava.cache.implementation</code> that selects {@link StravaCacheImpl}
+	 */
+	private static final String JCS = "jcs"; //$NON-NLS-1$
+
+	/**
+	 * Value of <code>strava.cache.implementation</code> that selects {@link PersistentStravaCacheImpl}
+	 */
+	private static final String PERSISTENT = "persistent"; //$NON-NLS-1$
+
+	/**
+	 * <p>
+	 * Create a cache for objects of the given class, separated from those of other tokens
+	 * </p>
+	 *
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token
+	 * @param <T>
+	 *            Class of object to be stored in cache
+	 * @param <U>
+	 *            Class of object id
+	 * @return The cache
+	 */
+	public static <T extends StravaCacheableEntity<U>, U> StravaCache<T, U> create(final Class<T> class1, final Token token) {
+		if (JCS.equals(StravaConfig.CACHE_IMPLEMENTATION)) {
+			return new StravaCacheImpl<T, U>(class1, token);
+		}
+		if (PERSISTENT.equals(StravaConfig.CACHE_IMPLEMENTATION)) {
+			return new PersistentStravaCacheImpl<T, U>(class1, token);
+		}
+		if (isShared(class1)) {
+			return new TieredStravaCache<T, U>(class1, token);
+		}
+		return new ConcurrentStravaCacheImpl<T, U>(class1, token);
+	}
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @return <code>true</code> if the class is listed in <code>strava.cache.shared_types</code>
+	 */
+	private static boolean isShared(final Class<?> class1) {
+		for (final String type : StravaConfig.CACHE_SHARED_TYPES.split(",")) { //$NON-NLS-1$
+			if (type.trim().equals(class1.getSimpleName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * No instances
+	 */
+	private StravaCacheFactory() {
+		// Static factory
+	}
+}
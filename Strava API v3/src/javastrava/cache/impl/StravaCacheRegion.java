@@ -0,0 +1,158 @@
+package javastrava.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javastrava.cache.StravaCacheIndex;
+
+/**
+ * <p>
+ * The entries for one class of object and one token, keyed by id, along with any secondary indexes declared on them
+ * </p>
+ *
+ * <p>
+ * Each index maps a foreign key to the set of ids of the entries that have it. The indexes are maintained as entries are stored and removed, but not atomically with the entries
+ * themselves, so a lookup checks each entry it finds against the foreign key before returning it.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <U>
+ *            Class of object id
+ * @param <T>
+ *            Class of object stored
+ */
+final class StravaCacheRegion<U, T> {
+	/**
+	 * The entries, keyed by id
+	 */
+	final ConcurrentHashMap<U, StravaCacheEntry<U, T>>							entries	= new ConcurrentHashMap<>();
+
+	/**
+	 * The secondary indexes, each mapping a foreign key to the ids of the entries with that key
+	 */
+	private final ConcurrentHashMap<StravaCacheIndex<T, ?>, ConcurrentHashMap<Object, Set<U>>>	indexes	= new ConcurrentHashMap<>();
+
+	/**
+	 * Declare an index, and index the entries already stored
+	 *
+	 * @param index
+	 *            The index
+	 */
+	void addIndex(final StravaCacheIndex<T, ?> index) {
+		final ConcurrentHashMap<Object, Set<U>> keys = new ConcurrentHashMap<>();
+		if (this.indexes.putIfAbsent(index, keys) == null) {
+			for (final StravaCacheEntry<U, T> entry : this.entries.values()) {
+				add(keys, index.keyOf(entry.value), entry.key);
+			}
+		}
+	}
+
+	/**
+	 * @param keys
+	 *            An index
+	 * @param foreignKey
+	 *            Foreign key
+	 * @param id
+	 *            Id of the entry to add
+	 */
+	private void add(final ConcurrentHashMap<Object, Set<U>> keys, final Object foreignKey, final U id) {
+		if (foreignKey != null) {
+			keys.compute(foreignKey, (key, ids) -> {
+				final Set<U> result = (ids == null ? ConcurrentHashMap.newKeySet() : ids);
+				result.add(id);
+				return result;
+			});
+		}
+	}
+
+	/**
+	 * Add an entry to all the indexes, and take the entry it replaced (if any) out of them
+	 *
+	 * @param entry
+	 *            The entry stored
+	 * @param previous
+	 *            The entry it replaced, or <code>null</code>
+	 */
+	void index(final StravaCacheEntry<U, T> entry, final StravaCacheEntry<U, T> previous) {
+		for (final Map.Entry<StravaCacheIndex<T, ?>, ConcurrentHashMap<Object, Set<U>>> index : this.indexes.entrySet()) {
+			final Object foreignKey = index.getKey().keyOf(entry.value);
+			if (previous != null) {
+				final Object previousKey = index.getKey().keyOf(previous.value);
+				if (!Objects.equals(previousKey, foreignKey)) {
+					remove(index.getValue(), previousKey, previous.key);
+				}
+			}
+			add(index.getValue(), foreignKey, entry.key);
+		}
+	}
+
+	/**
+	 * List the entries with the given foreign key
+	 *
+	 * @param index
+	 *            The index
+	 * @param foreignKey
+	 *            The foreign key
+	 * @param <K>
+	 *            Class of the foreign key
+	 * @return The matching entries, or <code>null</code> if the index hasn't been declared
+	 */
+	<K> List<StravaCacheEntry<U, T>> lookup(final StravaCacheIndex<T, K> index, final K foreignKey) {
+		final ConcurrentHashMap<Object, Set<U>> keys = this.indexes.get(index);
+		if (keys == null) {
+			return null;
+		}
+		final Set<U> ids = (foreignKey == null ? null : keys.get(foreignKey));
+		if (ids == null) {
+			return Collections.emptyList();
+		}
+		final List<StravaCacheEntry<U, T>> list = new ArrayList<>(ids.size());
+		for (final U id : ids) {
+			final StravaCacheEntry<U, T> entry = this.entries.get(id);
+			if ((entry != null) && foreignKey.equals(index.keyOf(entry.value))) {
+				list.add(entry);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * @param keys
+	 *            An index
+	 * @param foreignKey
+	 *            Foreign key
+	 * @param id
+	 *            Id of the entry to remove
+	 */
+	private void remove(final ConcurrentHashMap<Object, Set<U>> keys, final Object foreignKey, final U id) {
+		if (foreignKey != null) {
+			keys.computeIfPresent(foreignKey, (key, ids) -> {
+				ids.remove(id);
+				return (ids.isEmpty() ? null : ids);
+			});
+		}
+	}
+
+	/**
+	 * Take an entry that has been removed out of all the indexes
+	 *
+	 * @param entry
+	 *            The entry
+	 */
+	void unindex(final StravaCacheEntry<U, T> entry) {
+		for (final Map.Entry<StravaCacheIndex<T, ?>, ConcurrentHashMap<Object, Set<U>>> index : this.indexes.entrySet()) {
+			final Object foreignKey = index.getKey().keyOf(entry.value);
+			// Another entry with the same id may have been stored since, in which case it stays in the index
+			final StravaCacheEntry<U, T> current = this.entries.get(entry.key);
+			if ((current == null) || !Objects.equals(foreignKey, index.getKey().keyOf(current.value))) {
+				remove(index.getValue(), foreignKey, entry.key);
+			}
+		}
+	}
+}
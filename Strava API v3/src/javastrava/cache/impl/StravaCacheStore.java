@@ -0,0 +1,353 @@
+package javastrava.cache.impl;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Global bookkeeping for all the {@link ConcurrentStravaCacheImpl} instances: the regions they store entries in, and the size and weight bounds that apply to all of them together
+ * </p>
+ *
+ * <p>
+ * Eviction uses a CLOCK (second chance) policy with frequency counts. Every entry is queued on one of a number of striped, lock-free rings when it is stored. When the store is
+ * over its bounds, the thread that pushed it over sweeps the rings: expired entries are evicted, entries that have been hit since the last sweep have their hit count halved and are
+ * queued again, and the first one that hasn't becomes the victim. The victim is then compared with the entry that has just been stored, using a {@link FrequencySketch} of recent
+ * accesses (hits and misses) in the style of TinyLFU: if the new entry has been asked for less often than the victim, it is the new entry that goes. So a scan of one-off lookups
+ * can't flush out the entries that are used all the time, and no lock is ever taken on the read path.
+ * </p>
+ *
+ * <p>
+ * Regions are named with a hash of the token rather than the token itself, and are only held weakly: once no cache uses a region and its last entry has been evicted, the region
+ * goes, so tokens that have been refreshed or revoked don't leave their regions behind.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class StravaCacheStore {
+	/**
+	 * Weak reference to a region, which remembers the region's name so that it can be taken out of the map once the region has been collected
+	 */
+	private static final class RegionReference extends WeakReference<StravaCacheRegion<?, ?>> {
+		/**
+		 * Name of the region
+		 */
+		final String name;
+
+		/**
+		 * @param name
+		 *            Name of the region
+		 * @param region
+		 *            The region
+		 * @param queue
+		 *            Queue the reference is put on when the region is collected
+		 */
+		RegionReference(final String name, final StravaCacheRegion<?, ?> region, final ReferenceQueue<StravaCacheRegion<?, ?>> queue) {
+			super(region, queue);
+			this.name = name;
+		}
+	}
+
+	/**
+	 * The store used by all caches
+	 */
+	static final StravaCacheStore INSTANCE = new StravaCacheStore(StravaConfig.CACHE_MAX_ENTRIES, StravaConfig.CACHE_MAX_WEIGHT,
+			TimeUnit.SECONDS.toNanos(StravaConfig.CACHE_TTL_SECONDS));
+
+	/**
+	 * @param seed
+	 *            Seed identifying the region
+	 * @param key
+	 *            The object's id
+	 * @return Hash of the region and id, used to look up the access frequency
+	 */
+	static int hash(final int seed, final Object key) {
+		final int h = (seed * 31) + key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * @param token
+	 *            An access token
+	 * @return SHA-256 hash of the token, in hex, so that the token itself isn't kept in the cache
+	 */
+	static String hash(final String token) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (final byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+		} catch (final NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param value
+	 *            A positive number
+	 * @return The smallest power of two which is not less than the value
+	 */
+	private static int powerOfTwo(final int value) {
+		return (value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1);
+	}
+
+	/**
+	 * Regions, keyed by class name and token hash; each region holds the entries for one class of object and one token. The caches using a region, and the entries in it, keep it
+	 * alive
+	 */
+	private final ConcurrentHashMap<String, RegionReference> regions = new ConcurrentHashMap<>();
+
+	/**
+	 * References to regions that have been collected, to be taken out of {@link #regions}
+	 */
+	private final ReferenceQueue<StravaCacheRegion<?, ?>> collected = new ReferenceQueue<>();
+
+	/**
+	 * Eviction rings; entries are spread over several to reduce contention when storing them
+	 */
+	private final ConcurrentLinkedQueue<StravaCacheEntry<?, ?>>[] rings;
+
+	/**
+	 * Mask used to select a ring
+	 */
+	private final int ringMask;
+
+	/**
+	 * Next ring to be swept
+	 */
+	private int nextRing;
+
+	/**
+	 * Number of entries currently stored
+	 */
+	private final AtomicLong size = new AtomicLong();
+
+	/**
+	 * Total weight of the entries currently stored
+	 */
+	private final AtomicLong weight = new AtomicLong();
+
+	/**
+	 * Recent access frequencies, used to decide whether to admit new entries
+	 */
+	private final FrequencySketch sketch;
+
+	/**
+	 * Set while a thread is evicting entries
+	 */
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	/**
+	 * Maximum number of entries
+	 */
+	private final long maxEntries;
+
+	/**
+	 * Maximum total weight of entries
+	 */
+	private final long maxWeight;
+
+	/**
+	 * Time to live for each entry, in nanoseconds, or 0 if entries don't expire
+	 */
+	private final long ttlNanos;
+
+	/**
+	 * @param maxEntries
+	 *            Maximum number of entries
+	 * @param maxWeight
+	 *            Maximum total weight of entries
+	 * @param ttlNanos
+	 *            Time to live for each entry, in nanoseconds, or 0 if entries don't expire
+	 */
+	StravaCacheStore(final long maxEntries, final long maxWeight, final long ttlNanos) {
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		this.ttlNanos = ttlNanos;
+		this.sketch = new FrequencySketch(maxEntries);
+		final int stripes = powerOfTwo(Runtime.getRuntime().availableProcessors());
+		// Generic arrays can't be created, so this one is created raw and filled with queues of the right type
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		final ConcurrentLinkedQueue<StravaCacheEntry<?, ?>>[] rings = new ConcurrentLinkedQueue[stripes];
+		this.rings = rings;
+		for (int i = 0; i < stripes; i++) {
+			this.rings[i] = new ConcurrentLinkedQueue<>();
+		}
+		this.ringMask = stripes - 1;
+	}
+
+	/**
+	 * Account for a newly stored entry, and evict entries if that puts the store over its bounds
+	 *
+	 * @param entry
+	 *            The entry
+	 */
+	void added(final StravaCacheEntry<?, ?> entry) {
+		this.size.incrementAndGet();
+		this.weight.addAndGet(entry.weight);
+		this.rings[System.identityHashCode(entry) & this.ringMask].offer(entry);
+		if (isOverBounds()) {
+			evict(entry);
+		}
+	}
+
+	/**
+	 * Record an access (hit or miss) for the purposes of admission
+	 *
+	 * @param hash
+	 *            Hash of the region and id
+	 */
+	void recordAccess(final int hash) {
+		this.sketch.increment(hash);
+	}
+
+	/**
+	 * @return Value of {@link System#nanoTime()} at which an entry stored now will expire, or 0 if entries don't expire
+	 */
+	long expiry() {
+		if (this.ttlNanos == 0) {
+			return 0;
+		}
+		final long expiresAt = System.nanoTime() + this.ttlNanos;
+		return (expiresAt == 0 ? 1 : expiresAt);
+	}
+
+	/**
+	 * Evict entries until the store is back within its bounds. Only one thread evicts at a time; if another thread is already doing it, returns straight away.
+	 *
+	 * @param candidate
+	 *            The entry just stored, which is only kept if it is accessed at least as often as the victims
+	 */
+	private void evict(final StravaCacheEntry<?, ?> candidate) {
+		if (!this.evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			final long now = System.nanoTime();
+			int emptyRings = 0;
+			while (isOverBounds() && (emptyRings <= this.ringMask)) {
+				final ConcurrentLinkedQueue<StravaCacheEntry<?, ?>> ring = this.rings[this.nextRing];
+				this.nextRing = (this.nextRing + 1) & this.ringMask;
+				final StravaCacheEntry<?, ?> entry = ring.poll();
+				if (entry == null) {
+					emptyRings++;
+					continue;
+				}
+				emptyRings = 0;
+				if (entry.removed) {
+					continue;
+				}
+				if (entry.isExpired(now)) {
+					remove(entry);
+				} else if ((entry == candidate) || entry.age()) {
+					ring.offer(entry);
+				} else if (!candidate.removed && (this.sketch.frequency(candidate.hash) < this.sketch.frequency(entry.hash))) {
+					// The victim is more popular than the newcomer, so the newcomer goes instead
+					ring.offer(entry);
+					remove(candidate);
+				} else {
+					remove(entry);
+				}
+			}
+		} finally {
+			this.evicting.set(false);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the store is holding more entries, or more weight, than it should
+	 */
+	private boolean isOverBounds() {
+		return (this.size.get() > this.maxEntries) || (this.weight.get() > this.maxWeight);
+	}
+
+	/**
+	 * Get the region for the given name, creating it if necessary
+	 *
+	 * @param name
+	 *            Name of the region
+	 * @param <U>
+	 *            Class of the ids of objects stored in the region
+	 * @param <T>
+	 *            Class of objects stored in the region
+	 * @return The region
+	 */
+	@SuppressWarnings("unchecked")
+	<U, T> StravaCacheRegion<U, T> region(final String name) {
+		RegionReference reference;
+		while ((reference = (RegionReference) this.collected.poll()) != null) {
+			this.regions.remove(reference.name, reference);
+		}
+		while (true) {
+			final RegionReference existing = this.regions.get(name);
+			final StravaCacheRegion<?, ?> region = (existing == null ? null : existing.get());
+			if (region != null) {
+				return (StravaCacheRegion<U, T>) region;
+			}
+			final StravaCacheRegion<U, T> created = new StravaCacheRegion<>();
+			final RegionReference replacement = new RegionReference(name, created, this.collected);
+			if ((existing == null) ? (this.regions.putIfAbsent(name, replacement) == null) : this.regions.replace(name, existing, replacement)) {
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Remove the entry from its region and its indexes, if it is still there
+	 *
+	 * @param entry
+	 *            The entry
+	 * @param <U>
+	 *            Class of the entry's key
+	 * @param <T>
+	 *            Class of the entry's value
+	 * @return <code>true</code> if the entry was removed, <code>false</code> if it had already gone
+	 */
+	<U, T> boolean remove(final StravaCacheEntry<U, T> entry) {
+		if (entry.region.entries.remove(entry.key, entry)) {
+			entry.region.unindex(entry);
+			removed(entry);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Account for an entry that has been removed from its region (or replaced)
+	 *
+	 * @param entry
+	 *            The entry
+	 */
+	void removed(final StravaCacheEntry<?, ?> entry) {
+		entry.removed = true;
+		this.size.decrementAndGet();
+		this.weight.addAndGet(-entry.weight);
+	}
+
+	/**
+	 * @return Number of entries currently stored
+	 */
+	long size() {
+		return this.size.get();
+	}
+
+	/**
+	 * @return Total weight of the entries currently stored
+	 */
+	long weight() {
+		return this.weight.get();
+	}
+}
@@ -0,0 +1,135 @@
+package javastrava.cache.impl;
+
+import java.util.List;
+
+import javastrava.auth.model.Token;
+import javastrava.cache.StravaCache;
+import javastrava.cache.StravaCacheIndex;
+import javastrava.cache.StravaCacheWeigher;
+import javastrava.cache.StravaCacheableEntity;
+import javastrava.util.PrivacyUtils;
+
+/**
+ * <p>
+ * Cache for objects whose content doesn't depend on who is asking for them, such as public segments and clubs. Objects are cached for the token as usual, and a copy is also
+ * cached in a tier shared by all tokens, so that a different token asking for the same object doesn't have to go to Strava for it.
+ * </p>
+ *
+ * <p>
+ * Only objects that {@link PrivacyUtils#isShareable(StravaCacheableEntity)} allows are shared, and the shared copy has the data that is specific to the authenticated athlete
+ * (starred, personal records, club membership and so on) taken out of it by {@link PrivacyUtils#shareableCopy(StravaCacheableEntity)}. An object found in the shared tier rather
+ * than the token's own tier is therefore only a partial hit: each caller gets a {@link PrivacyUtils#sharedCopy(StravaCacheableEntity) copy} of its own, and if data was taken out
+ * of it the copy is a summary rather than a detailed representation, so a service that needs the athlete's own data goes back to Strava for it.
+ * </p>
+ *
+ * <p>
+ * Listing, removing all and the secondary indexes apply to the token's own tier only.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of object to be stored in cache
+ * @param <U>
+ *            Class of object id
+ */
+public class TieredStravaCache<T extends StravaCacheableEntity<U>, U> implements StravaCache<T, U> {
+	/**
+	 * Cache for the token
+	 */
+	private final StravaCache<T, U> tokenCache;
+
+	/**
+	 * Cache shared by all tokens
+	 */
+	private final StravaCache<T, U> sharedCache;
+
+	/**
+	 * @param class1
+	 *            The class of objects to be stored
+	 * @param token
+	 *            The security token
+	 */
+	public TieredStravaCache(final Class<T> class1, final Token token) {
+		this(new ConcurrentStravaCacheImpl<T, U>(class1, token), new ConcurrentStravaCacheImpl<T, U>(class1.getName() + "::shared", token, StravaCacheWeigher.singleton(), //$NON-NLS-1$
+				StravaCacheStore.INSTANCE));
+	}
+
+	/**
+	 * @param tokenCache
+	 *            Cache for the token
+	 * @param sharedCache
+	 *            Cache shared by all tokens
+	 */
+	TieredStravaCache(final StravaCache<T, U> tokenCache, final StravaCache<T, U> sharedCache) {
+		this.tokenCache = tokenCache;
+		this.sharedCache = sharedCache;
+	}
+
+	@Override
+	public void addIndex(final StravaCacheIndex<T, ?> index) {
+		this.tokenCache.addIndex(index);
+	}
+
+	@Override
+	public T get(final U id) {
+		final T object = this.tokenCache.get(id);
+		if (object != null) {
+			return object;
+		}
+		final T shared = this.sharedCache.get(id);
+		return (shared == null ? null : PrivacyUtils.sharedCopy(shared));
+	}
+
+	@Override
+	public List<T> list() {
+		return this.tokenCache.list();
+	}
+
+	@Override
+	public <K> List<T> listByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		return this.tokenCache.listByIndex(index, key);
+	}
+
+	@Override
+	public void put(final T object) {
+		this.tokenCache.put(object);
+		if (PrivacyUtils.isShareable(object)) {
+			this.sharedCache.put(PrivacyUtils.shareableCopy(object));
+		} else if ((object != null) && (object.getId() != null)) {
+			// It's not (or no longer) public, so nobody else should see it
+			this.sharedCache.remove(object.getId());
+		}
+	}
+
+	@Override
+	public void putAll(final List<T> list) {
+		if (list == null) {
+			return;
+		}
+		for (final T object : list) {
+			put(object);
+		}
+	}
+
+	@Override
+	public void remove(final U id) {
+		this.tokenCache.remove(id);
+		this.sharedCache.remove(id);
+	}
+
+	@Override
+	public <K> void removeByIndex(final StravaCacheIndex<T, K> index, final K key) {
+		this.tokenCache.removeByIndex(index, key);
+	}
+
+	@Override
+	public void removeAll() {
+		this.tokenCache.removeAll();
+	}
+
+	@Override
+	public int size() {
+		return this.tokenCache.size();
+	}
+}
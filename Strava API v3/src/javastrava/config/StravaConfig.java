@@ -51,6 +51,11 @@ public class StravaConfig {
 	 */
 	public static final String DATE_FORMAT = string("strava.date_format"); //$NON-NLS-1$
 
+	/**
+	 * Whether to use the type adapters generated for the model classes at compile time, where there are any, instead of reflection
+	 */
+	public static final boolean JSON_GENERATED_TYPE_ADAPTERS = Boolean.parseBoolean(string("strava.json.generated_type_adapters")); //$NON-NLS-1$
+
 	/**
 	 * The percentage of request limits that, if exceeded, should log a warning
 	 */
@@ -61,6 +66,177 @@ public class StravaConfig {
 	 */
 	public static final int PAGING_LIST_ALL_PARALLELISM = integer("strava.paging_list_all_parallelism").intValue(); //$NON-NLS-1$
 
+	/**
+	 * Maximum number of pages fetched at once for each token, by default
+	 */
+	public static final int PAGING_MAX_ACTIVE_PAGES = integer("strava.paging_max_active_pages").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of pages waiting to be fetched for each token, by default; once the queue is full, the thread asking for more pages has to fetch them itself
+	 */
+	public static final int PAGING_QUEUE_CAPACITY = integer("strava.paging_queue_capacity").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of days before the most recent activity seen that an incremental activity sync looks back over for changes and deletions
+	 */
+	public static final int SYNC_LOOKBACK_DAYS = integer("strava.sync.lookback_days").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Kind of executor used for asynchronous service methods and parallel paging; <code>virtual</code>, <code>cached</code> or <code>common</code>
+	 */
+	public static final String EXECUTOR = string("strava.executor"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of idle HTTP connections kept in the shared connection pool
+	 */
+	public static final int HTTP_MAX_IDLE_CONNECTIONS = integer("strava.http.max_idle_connections").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of seconds an idle HTTP connection is kept alive in the shared connection pool
+	 */
+	public static final int HTTP_KEEP_ALIVE_SECONDS = integer("strava.http.keep_alive_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * HTTP connection timeout, in seconds
+	 */
+	public static final int HTTP_CONNECT_TIMEOUT_SECONDS = integer("strava.http.connect_timeout_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * HTTP read timeout, in seconds
+	 */
+	public static final int HTTP_READ_TIMEOUT_SECONDS = integer("strava.http.read_timeout_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether requests are scheduled by the rate limiter
+	 */
+	public static final boolean RATE_LIMITER_ENABLED = Boolean.parseBoolean(string("strava.rate_limiter.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Number of requests the rate limiter allows in a burst before it starts pacing them
+	 */
+	public static final int RATE_LIMITER_BURST = integer("strava.rate_limiter.burst").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Longest time, in seconds, that a request will wait for the rate limiter
+	 */
+	public static final int RATE_LIMITER_MAX_WAIT_SECONDS = integer("strava.rate_limiter.max_wait_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether a request that would have to wait longer than {@link #RATE_LIMITER_MAX_WAIT_SECONDS} is sent anyway, rather than failing with a
+	 * {@link javastrava.service.exception.StravaAPIRateLimitException}
+	 */
+	public static final boolean RATE_LIMITER_SEND_WHEN_EXHAUSTED = Boolean.parseBoolean(string("strava.rate_limiter.send_when_exhausted")); //$NON-NLS-1$
+
+	/**
+	 * Whether failed GET requests are retried
+	 */
+	public static final boolean RETRY_ENABLED = Boolean.parseBoolean(string("strava.retry.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of attempts at a request, including the first
+	 */
+	public static final int RETRY_MAX_ATTEMPTS = integer("strava.retry.max_attempts").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Delay before the first retry, in milliseconds, before jitter is applied
+	 */
+	public static final int RETRY_BASE_DELAY_MILLIS = integer("strava.retry.base_delay_millis").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Cap on the exponential backoff between retries, in seconds
+	 */
+	public static final int RETRY_MAX_BACKOFF_SECONDS = integer("strava.retry.max_backoff_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Longest delay before a retry, in seconds, including delays requested by Strava; requests that would have to wait longer are not retried
+	 */
+	public static final int RETRY_MAX_DELAY_SECONDS = integer("strava.retry.max_delay_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Percentage of a retry added to a token's retry budget by each request
+	 */
+	public static final int RETRY_BUDGET_PERCENT = integer("strava.retry.budget_percent").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum (and initial) number of retries in a token's retry budget
+	 */
+	public static final int RETRY_BUDGET_MAXIMUM = integer("strava.retry.budget_maximum").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of tokens to keep retry budgets for; the least recently used token's budget is dropped when there are more
+	 */
+	public static final int RETRY_BUDGET_TOKENS = integer("strava.retry.budget_tokens").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether GET requests for responses that have been seen before are sent as conditional requests
+	 */
+	public static final boolean REVALIDATION_ENABLED = Boolean.parseBoolean(string("strava.revalidation.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of responses kept for revalidation, across all tokens
+	 */
+	public static final int REVALIDATION_MAX_ENTRIES = integer("strava.revalidation.max_entries").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum total size, in bytes, of the response bodies kept for revalidation, across all tokens
+	 */
+	public static final int REVALIDATION_MAX_BYTES = integer("strava.revalidation.max_bytes").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum size, in bytes, of a response body that is kept for revalidation; bigger ones are passed through without being buffered
+	 */
+	public static final int REVALIDATION_MAX_ENTRY_BYTES = integer("strava.revalidation.max_entry_bytes").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Cache implementation to use; <code>concurrent</code>, <code>persistent</code> or <code>jcs</code>
+	 */
+	public static final String CACHE_IMPLEMENTATION = string("strava.cache.implementation"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of objects held in the in-process cache, across all tokens
+	 */
+	public static final long CACHE_MAX_ENTRIES = integer("strava.cache.max_entries").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum total weight of objects held in the in-process cache, across all tokens
+	 */
+	public static final long CACHE_MAX_WEIGHT = integer("strava.cache.max_weight").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Time, in seconds, that objects are kept in the in-process cache; 0 means they don't expire
+	 */
+	public static final int CACHE_TTL_SECONDS = integer("strava.cache.ttl_seconds").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Comma separated simple class names of the objects that are also cached in a tier shared by all tokens, provided they are public
+	 */
+	public static final String CACHE_SHARED_TYPES = string("strava.cache.shared_types"); //$NON-NLS-1$
+
+	/**
+	 * How the persistent cache encodes objects: json (compressed JSON) or binary (compressed javastrava binary format, smaller and quicker to decode)
+	 */
+	public static final String CACHE_PERSISTENT_CODEC = string("strava.cache.persistent.codec"); //$NON-NLS-1$
+
+	/**
+	 * Directory under which the persistent cache is stored; if empty, a directory under the system temporary directory is used
+	 */
+	public static final String CACHE_PERSISTENT_DIRECTORY = string("strava.cache.persistent.directory"); //$NON-NLS-1$
+
+	/**
+	 * Size of each file of the persistent cache, in megabytes
+	 */
+	public static final int CACHE_PERSISTENT_SEGMENT_SIZE_MB = integer("strava.cache.persistent.segment_size_mb").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of files, per class and token, above which the persistent cache is compacted or the oldest file dropped
+	 */
+	public static final int CACHE_PERSISTENT_MAX_SEGMENTS = integer("strava.cache.persistent.max_segments").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Time, in seconds, that objects are kept in the persistent cache; 0 means they don't expire
+	 */
+	public static final int CACHE_PERSISTENT_TTL_SECONDS = integer("strava.cache.persistent.ttl_seconds").intValue(); //$NON-NLS-1$
+
 	/**
 	 * @param key
 	 *            The name of the property to return
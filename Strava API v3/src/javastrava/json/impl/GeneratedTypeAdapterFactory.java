@@ -0,0 +1,86 @@
+package javastrava.json.impl;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * <p>
+ * Gives Gson the type adapters generated for the model classes at compile time, where there are any
+ * </p>
+ *
+ * <p>
+ * When the library is built with the <code>generated-adapters</code> profile, the <code>javastrava-api-codegen</code> annotation processor writes a type adapter for each model
+ * class (for example <code>javastrava.model.StravaActivity_TypeAdapter</code> for {@link javastrava.model.StravaActivity}), which reads and writes it with streaming calls instead
+ * of reflection. This factory returns the generated adapter for a class if there is one; otherwise it returns <code>null</code>, and Gson uses reflection as usual, so a build
+ * without the generated adapters behaves exactly as before.
+ * </p>
+ *
+ * <p>
+ * It should be registered before any other type adapters, so that they take precedence over it.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class GeneratedTypeAdapterFactory implements TypeAdapterFactory {
+	/**
+	 * Package (and sub-packages) of the classes adapters are generated for
+	 */
+	private static final String									MODEL_PACKAGE	= "javastrava.model.";	//$NON-NLS-1$
+
+	/**
+	 * Appended to the name of a class to give the name of its generated adapter
+	 */
+	private static final String									ADAPTER_SUFFIX	= "_TypeAdapter";		//$NON-NLS-1$
+
+	/**
+	 * Marks a class without a generated adapter in {@link #constructors}
+	 */
+	private static final Constructor<?>							NONE			= GeneratedTypeAdapterFactory.class.getConstructors()[0];
+
+	/**
+	 * Constructors of the generated adapters, by the class they adapt; classes without one map to <code>null</code>, held as {@link #NONE}
+	 */
+	private final ConcurrentMap<Class<?>, Constructor<?>>	constructors	= new ConcurrentHashMap<>();
+
+	/**
+	 * @see com.google.gson.TypeAdapterFactory#create(com.google.gson.Gson, com.google.gson.reflect.TypeToken)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+		final Class<? super T> raw = type.getRawType();
+		if (!raw.getName().startsWith(MODEL_PACKAGE)) {
+			return null;
+		}
+		final Constructor<?> constructor = this.constructors.computeIfAbsent(raw, GeneratedTypeAdapterFactory::findConstructor);
+		if (constructor == NONE) {
+			return null;
+		}
+		try {
+			return (TypeAdapter<T>) constructor.newInstance(gson);
+		} catch (final ReflectiveOperationException e) {
+			throw new JsonIOException(e);
+		}
+	}
+
+	/**
+	 * @param raw
+	 *            A model class
+	 * @return The constructor of its generated adapter, or {@link #NONE} if it doesn't have one
+	 */
+	private static Constructor<?> findConstructor(final Class<?> raw) {
+		try {
+			return Class.forName(raw.getName() + ADAPTER_SUFFIX, true, raw.getClassLoader()).getConstructor(Gson.class);
+		} catch (final ClassNotFoundException | NoSuchMethodException e) {
+			return NONE;
+		}
+	}
+}
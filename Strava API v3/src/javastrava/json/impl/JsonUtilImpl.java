@@ -112,6 +112,10 @@ public class JsonUtilImpl implements JsonUtil {
 	 */
 	public JsonUtilImpl() {
 		final GsonBuilder gsonBuilder = new GsonBuilder();
+		if (StravaConfig.JSON_GENERATED_TYPE_ADAPTERS) {
+			// Registered first, so the type adapters below take precedence
+			gsonBuilder.registerTypeAdapterFactory(new GeneratedTypeAdapterFactory());
+		}
 		gsonBuilder.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
 		gsonBuilder.setDateFormat(StravaConfig.DATE_FORMAT);
 		gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeSerializer());
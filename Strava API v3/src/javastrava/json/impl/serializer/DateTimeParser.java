@@ -0,0 +1,165 @@
+package javastrava.json.impl.serializer;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <p>
+ * Parses the date/times in Strava's JSON
+ * </p>
+ *
+ * <p>
+ * Strava always sends date/times as <code>yyyy-MM-dd'T'HH:mm:ss</code> followed by <code>Z</code> (or, for local times, nothing), which can be picked apart directly
+ * much more cheaply than by a {@link DateTimeFormatter}. Anything else (fractional seconds, a named time zone, an invalid date and so on) is passed to the formatter the
+ * serialisers have always used, so the result, or the exception, is the same as it was.
+ * </p>
+ *
+ * <p>
+ * Offsets are given as <code>+HH:mm</code> or <code>-HH:mm</code>; {@link ZoneOffset#ofTotalSeconds(int)} returns cached instances for them (and <code>Z</code> is
+ * always {@link ZoneOffset#UTC}), so parsing doesn't create new ones.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class DateTimeParser {
+	/**
+	 * Length of <code>yyyy-MM-dd'T'HH:mm:ss</code>
+	 */
+	private static final int	LOCAL_LENGTH	= 19;
+
+	/**
+	 * Length of <code>yyyy-MM-dd'T'HH:mm:ss+HH:mm</code>
+	 */
+	private static final int	OFFSET_LENGTH	= 25;
+
+	/**
+	 * @param text
+	 *            Text
+	 * @param index
+	 *            Index of two digits in the text
+	 * @return Their value, or -1 if they aren't both digits
+	 */
+	private static int digits2(final String text, final int index) {
+		final int tens = text.charAt(index) - '0';
+		final int units = text.charAt(index + 1) - '0';
+		if ((tens < 0) || (tens > 9) || (units < 0) || (units > 9)) {
+			return -1;
+		}
+		return (tens * 10) + units;
+	}
+
+	/**
+	 * Parse <code>yyyy-MM-dd'T'HH:mm:ss</code> at the start of the text
+	 *
+	 * @param text
+	 *            Text at least {@link #LOCAL_LENGTH} characters long
+	 * @return The date/time, or <code>null</code> if the text isn't in that format or isn't a valid date/time
+	 */
+	private static LocalDateTime local(final String text) {
+		if ((text.charAt(4) != '-') || (text.charAt(7) != '-') || (text.charAt(10) != 'T') || (text.charAt(13) != ':') || (text.charAt(16) != ':')) {
+			return null;
+		}
+		final int century = digits2(text, 0);
+		final int year = digits2(text, 2);
+		final int month = digits2(text, 5);
+		final int day = digits2(text, 8);
+		final int hour = digits2(text, 11);
+		final int minute = digits2(text, 14);
+		final int second = digits2(text, 17);
+		if ((century < 0) || (year < 0) || (month < 0) || (day < 0) || (hour < 0) || (minute < 0) || (second < 0)) {
+			return null;
+		}
+		try {
+			return LocalDateTime.of((century * 100) + year, month, day, hour, minute, second);
+		} catch (final DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Parse the offset at the end of the text
+	 *
+	 * @param text
+	 *            Text at least {@link #LOCAL_LENGTH} characters long
+	 * @return The offset, or <code>null</code> if there isn't one in the expected format
+	 */
+	private static ZoneOffset offset(final String text) {
+		if (text.length() == (LOCAL_LENGTH + 1)) {
+			return (text.charAt(LOCAL_LENGTH) == 'Z' ? ZoneOffset.UTC : null);
+		}
+		if (text.length() != OFFSET_LENGTH) {
+			return null;
+		}
+		final char sign = text.charAt(LOCAL_LENGTH);
+		if (((sign != '+') && (sign != '-')) || (text.charAt(LOCAL_LENGTH + 3) != ':')) {
+			return null;
+		}
+		final int hours = digits2(text, LOCAL_LENGTH + 1);
+		final int minutes = digits2(text, LOCAL_LENGTH + 4);
+		if ((hours < 0) || (hours > 18) || (minutes < 0) || (minutes > 59)) {
+			return null;
+		}
+		final int seconds = ((hours * 3600) + (minutes * 60)) * (sign == '-' ? -1 : 1);
+		try {
+			return ZoneOffset.ofTotalSeconds(seconds);
+		} catch (final DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Parse a local date/time, ignoring any offset, as {@link LocalDateTime#parse(CharSequence, DateTimeFormatter)} does with {@link DateTimeFormatter#ISO_DATE_TIME}
+	 * </p>
+	 *
+	 * @param text
+	 *            The date/time
+	 * @return The local date/time
+	 * @throws java.time.format.DateTimeParseException
+	 *             If the text can't be parsed
+	 */
+	static LocalDateTime parseLocalDateTime(final String text) {
+		if ((text.length() == LOCAL_LENGTH) || ((text.length() >= LOCAL_LENGTH) && (offset(text) != null))) {
+			final LocalDateTime dateTime = local(text);
+			if (dateTime != null) {
+				return dateTime;
+			}
+		}
+		return LocalDateTime.parse(text, DateTimeFormatter.ISO_DATE_TIME);
+	}
+
+	/**
+	 * <p>
+	 * Parse a date/time with an offset, as {@link ZonedDateTime#parse(CharSequence)} does
+	 * </p>
+	 *
+	 * @param text
+	 *            The date/time
+	 * @return The date/time
+	 * @throws java.time.format.DateTimeParseException
+	 *             If the text can't be parsed
+	 */
+	static ZonedDateTime parseZonedDateTime(final String text) {
+		if (text.length() > LOCAL_LENGTH) {
+			final ZoneOffset offset = offset(text);
+			if (offset != null) {
+				final LocalDateTime dateTime = local(text);
+				if (dateTime != null) {
+					return ZonedDateTime.of(dateTime, offset);
+				}
+			}
+		}
+		return ZonedDateTime.parse(text);
+	}
+
+	/**
+	 * No instances
+	 */
+	private DateTimeParser() {
+		// Static methods only
+	}
+}
@@ -23,7 +23,7 @@ public class LocalDateTimeSerializer implements JsonSerializer<LocalDateTime>, J
 	 */
 	@Override
 	public LocalDateTime deserialize(final JsonElement json, final Type type, final JsonDeserializationContext context) throws JsonParseException {
-		return LocalDateTime.parse(json.getAsString(), DateTimeFormatter.ISO_DATE_TIME);
+		return DateTimeParser.parseLocalDateTime(json.getAsString());
 		// return LocalDateTime.ofInstant(Instant.parse(json.getAsString()), ZoneOffset.UTC);
 	}
 
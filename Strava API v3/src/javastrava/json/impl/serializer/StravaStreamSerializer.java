@@ -1,117 +1,329 @@
 package javastrava.json.impl.serializer;
 
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
-
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import javastrava.model.StravaMapPoint;
 import javastrava.model.StravaStream;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
 import javastrava.model.reference.StravaStreamType;
 
 /**
+ * <p>
+ * Streaming (de)serialiser for {@link StravaStream}
+ * </p>
+ *
+ * <p>
+ * Reads the <code>data</code> array token by token straight into the stream's primitive storage, so there is never a JSON tree or a list of boxed values in between the HTTP response and
+ * the model. The shape of the data (numbers, booleans or lat/lng pairs) is detected from the tokens themselves, so it doesn't matter whether Strava sends the <code>type</code> before or
+ * after the <code>data</code>.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
-public class StravaStreamSerializer implements JsonSerializer<StravaStream>, JsonDeserializer<StravaStream> {
+public class StravaStreamSerializer extends TypeAdapter<StravaStream> {
+	/**
+	 * Initial size of the buffers used when the number of data points isn't known in advance
+	 */
+	private static final int	DEFAULT_CAPACITY	= 1024;
 
 	/**
-	 * @see com.google.gson.JsonDeserializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
+	 * Largest initial buffer size that will be allocated on the strength of the <code>original_size</code> property
 	 */
-	@Override
-	public StravaStream deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
-		JsonObject json = null;
-		try {
-			json = (JsonObject) element;
-		} catch (final ClassCastException e) { // happens if it's a primitive, or if it's crap data
-			throw new JsonParseException(e);
-		}
-
-		// Get the type, as that will determine what the deserialization should do
-		final StravaStreamType streamType = (StravaStreamType) context.deserialize(json.get("type"), StravaStreamType.class); //$NON-NLS-1$
-
-		final JsonArray array = json.getAsJsonArray("data"); //$NON-NLS-1$
-		List<StravaMapPoint> points = null;
-		List<Float> data = null;
-		List<Boolean> moving = null;
-		if (streamType == StravaStreamType.MAPPOINT) {
-			points = new ArrayList<StravaMapPoint>();
-			for (final JsonElement arrayElement : array) {
-				final Float latitude = Float.valueOf(arrayElement.getAsJsonArray().get(0).getAsFloat());
-				final Float longitude = Float.valueOf(arrayElement.getAsJsonArray().get(1).getAsFloat());
-				final StravaMapPoint point = new StravaMapPoint(latitude, longitude);
-				points.add(point);
-			}
-		} else if (streamType == StravaStreamType.MOVING) {
-			moving = new ArrayList<Boolean>();
-			for (final JsonElement arrayElement : array) {
-				final Boolean bool = Boolean.valueOf(arrayElement.getAsBoolean());
-				moving.add(bool);
-			}
+	private static final int	MAX_INITIAL_CAPACITY	= 1 << 20;
+
+	/**
+	 * @param capacityHint
+	 *            Number of data points expected, or -1 if unknown
+	 * @return Initial capacity to use for the data buffers
+	 */
+	private static int initialCapacity(final int capacityHint) {
+		if (capacityHint < 0) {
+			return DEFAULT_CAPACITY;
+		}
+		return Math.min(capacityHint, MAX_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * @param array
+	 *            Array to grow
+	 * @param required
+	 *            Capacity required
+	 * @return The array, or a larger copy of it if it is not big enough
+	 */
+	private static double[] grow(final double[] array, final int required) {
+		if (required <= array.length) {
+			return array;
+		}
+		return Arrays.copyOf(array, Math.max(required, array.length << 1));
+	}
+
+	/**
+	 * @param array
+	 *            Array to grow
+	 * @param required
+	 *            Capacity required
+	 * @return The array, or a larger copy of it if it is not big enough
+	 */
+	private static float[] grow(final float[] array, final int required) {
+		if (required <= array.length) {
+			return array;
+		}
+		return Arrays.copyOf(array, Math.max(required, array.length << 1));
+	}
+
+	/**
+	 * Read the <code>data</code> array into the stream
+	 *
+	 * @param in
+	 *            Reader, positioned at the start of the data array
+	 * @param stream
+	 *            Stream to populate
+	 * @param capacityHint
+	 *            Expected number of data points, or -1 if unknown
+	 * @throws IOException
+	 *             If the reader fails
+	 */
+	private static void readData(final JsonReader in, final StravaStream stream, final int capacityHint) throws IOException {
+		in.beginArray();
+		if (!in.hasNext()) {
+			in.endArray();
+			return;
+		}
+		final JsonToken shape = in.peek();
+		if (shape == JsonToken.BEGIN_ARRAY) {
+			readMapPoints(in, stream, capacityHint);
+		} else if (shape == JsonToken.BOOLEAN) {
+			readMoving(in, stream);
 		} else {
-			data = new ArrayList<Float>();
-			for (final JsonElement arrayElement : array) {
-				if (arrayElement.isJsonNull()) {
-					data.add(null);
-				} else {
-					final Float dataElement = Float.valueOf(arrayElement.getAsFloat());
-					data.add(dataElement);
+			readNumbers(in, stream, capacityHint);
+		}
+		in.endArray();
+	}
+
+	/**
+	 * Read an array of lat/lng pairs into the stream
+	 *
+	 * @param in
+	 *            Reader, positioned at the first pair
+	 * @param stream
+	 *            Stream to populate
+	 * @param capacityHint
+	 *            Expected number of data points, or -1 if unknown
+	 * @throws IOException
+	 *             If the reader fails
+	 */
+	private static void readMapPoints(final JsonReader in, final StravaStream stream, final int capacityHint) throws IOException {
+		double[] latitudes = new double[initialCapacity(capacityHint)];
+		double[] longitudes = new double[latitudes.length];
+		int size = 0;
+		while (in.hasNext()) {
+			latitudes = grow(latitudes, size + 1);
+			longitudes = grow(longitudes, size + 1);
+			in.beginArray();
+			latitudes[size] = in.nextDouble();
+			longitudes[size] = in.nextDouble();
+			in.endArray();
+			size++;
+		}
+		stream.setLatLng(trim(latitudes, size), trim(longitudes, size));
+	}
+
+	/**
+	 * Read an array of booleans into the stream
+	 *
+	 * @param in
+	 *            Reader, positioned at the first value
+	 * @param stream
+	 *            Stream to populate
+	 * @throws IOException
+	 *             If the reader fails
+	 */
+	private static void readMoving(final JsonReader in, final StravaStream stream) throws IOException {
+		final BitSet moving = new BitSet();
+		int size = 0;
+		while (in.hasNext()) {
+			if (in.nextBoolean()) {
+				moving.set(size);
+			}
+			size++;
+		}
+		stream.setMovingBits(moving, size);
+	}
+
+	/**
+	 * Read an array of (possibly null) numbers into the stream
+	 *
+	 * @param in
+	 *            Reader, positioned at the first value
+	 * @param stream
+	 *            Stream to populate
+	 * @param capacityHint
+	 *            Expected number of data points, or -1 if unknown
+	 * @throws IOException
+	 *             If the reader fails
+	 */
+	private static void readNumbers(final JsonReader in, final StravaStream stream, final int capacityHint) throws IOException {
+		float[] data = new float[initialCapacity(capacityHint)];
+		BitSet missing = null;
+		int size = 0;
+		while (in.hasNext()) {
+			data = grow(data, size + 1);
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				if (missing == null) {
+					missing = new BitSet();
 				}
+				missing.set(size);
+			} else {
+				data[size] = (float) in.nextDouble();
 			}
+			size++;
+		}
+		stream.setDataArray(trim(data, size), missing);
+	}
+
+	/**
+	 * @param array
+	 *            Buffer
+	 * @param size
+	 *            Number of values used in the buffer
+	 * @return The buffer, or a copy of exactly the right length
+	 */
+	private static double[] trim(final double[] array, final int size) {
+		return (array.length == size ? array : Arrays.copyOf(array, size));
+	}
+
+	/**
+	 * @param array
+	 *            Buffer
+	 * @param size
+	 *            Number of values used in the buffer
+	 * @return The buffer, or a copy of exactly the right length
+	 */
+	private static float[] trim(final float[] array, final int size) {
+		return (array.length == size ? array : Arrays.copyOf(array, size));
+	}
+
+	/**
+	 * @see com.google.gson.TypeAdapter#read(com.google.gson.stream.JsonReader)
+	 */
+	@Override
+	public StravaStream read(final JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		if (in.peek() != JsonToken.BEGIN_OBJECT) {
+			throw new JsonParseException("Expected a stream object but was " + in.peek()); //$NON-NLS-1$
 		}
 
 		final StravaStream stream = new StravaStream();
-		stream.setData(data);
-		stream.setMapPoints(points);
-		stream.setMoving(moving);
-		final JsonElement originalSizeElement = json.get("original_size");//$NON-NLS-1$
-		if (originalSizeElement != null) {
-			stream.setOriginalSize(new Integer(originalSizeElement.getAsInt()));
-		}
-		stream.setResolution((StravaStreamResolutionType) context.deserialize(json.get("resolution"), //$NON-NLS-1$
-				StravaStreamResolutionType.class));
-		stream.setSeriesType((StravaStreamSeriesDownsamplingType) context.deserialize(json.get("series_type"), //$NON-NLS-1$
-				StravaStreamSeriesDownsamplingType.class));
-		stream.setType(streamType);
+		int capacityHint = -1;
+		in.beginObject();
+		while (in.hasNext()) {
+			final String name = in.nextName();
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				continue;
+			}
+			switch (name) {
+			case "type": //$NON-NLS-1$
+				stream.setType(StravaStreamType.create(in.nextString()));
+				break;
+			case "data": //$NON-NLS-1$
+				readData(in, stream, capacityHint);
+				break;
+			case "original_size": //$NON-NLS-1$
+				final int originalSize = in.nextInt();
+				stream.setOriginalSize(Integer.valueOf(originalSize));
+				capacityHint = originalSize;
+				break;
+			case "resolution": //$NON-NLS-1$
+				stream.setResolution(StravaStreamResolutionType.create(in.nextString()));
+				break;
+			case "series_type": //$NON-NLS-1$
+				stream.setSeriesType(StravaStreamSeriesDownsamplingType.create(in.nextString()));
+				break;
+			default:
+				in.skipValue();
+			}
+		}
+		in.endObject();
+
+		// An empty data array doesn't tell us its shape, so fall back to the stream type
+		if ((stream.getDataArray() == null) && (stream.getLatitudes() == null) && (stream.getMovingBits() == null)) {
+			if (stream.getType() == StravaStreamType.MAPPOINT) {
+				stream.setLatLng(new double[0], new double[0]);
+			} else if (stream.getType() == StravaStreamType.MOVING) {
+				stream.setMovingBits(new BitSet(), 0);
+			} else {
+				stream.setDataArray(new float[0], null);
+			}
+		}
 		return stream;
 	}
 
 	/**
-	 * @see com.google.gson.JsonSerializer#serialize(java.lang.Object, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see com.google.gson.TypeAdapter#write(com.google.gson.stream.JsonWriter, java.lang.Object)
 	 */
 	@Override
-	public JsonElement serialize(final StravaStream stream, final Type type, final JsonSerializationContext context) {
-		final JsonObject element = new JsonObject();
-		element.add("original_size", context.serialize(stream.getOriginalSize())); //$NON-NLS-1$
-		element.add("resolution", context.serialize(stream.getResolution())); //$NON-NLS-1$
-		element.add("series_type", context.serialize(stream.getSeriesType())); //$NON-NLS-1$
-		element.add("type", context.serialize(stream.getType())); //$NON-NLS-1$
-		final JsonArray dataArray = new JsonArray();
-		element.add("data", dataArray); //$NON-NLS-1$
-		if (stream.getType() == StravaStreamType.MAPPOINT) {
-			for (final StravaMapPoint point : stream.getMapPoints()) {
-				dataArray.add(context.serialize(point));
+	public void write(final JsonWriter out, final StravaStream stream) throws IOException {
+		if (stream == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		if (stream.getOriginalSize() != null) {
+			out.name("original_size").value(stream.getOriginalSize()); //$NON-NLS-1$
+		}
+		if (stream.getResolution() != null) {
+			out.name("resolution").value(stream.getResolution().getValue()); //$NON-NLS-1$
+		}
+		if (stream.getSeriesType() != null) {
+			out.name("series_type").value(stream.getSeriesType().getValue()); //$NON-NLS-1$
+		}
+		if (stream.getType() != null) {
+			out.name("type").value(stream.getType().getValue()); //$NON-NLS-1$
+		}
+		out.name("data"); //$NON-NLS-1$
+		out.beginArray();
+		final int size = stream.getSize();
+		if (stream.getLatitudes() != null) {
+			final double[] latitudes = stream.getLatitudes();
+			final double[] longitudes = stream.getLongitudes();
+			for (int i = 0; i < size; i++) {
+				out.beginArray();
+				out.value(latitudes[i]);
+				out.value(longitudes[i]);
+				out.endArray();
 			}
-		} else if (stream.getType() == StravaStreamType.MOVING) {
-			for (final Boolean moving : stream.getMoving()) {
-				dataArray.add(context.serialize(moving));
+		} else if (stream.getMovingBits() != null) {
+			final BitSet moving = stream.getMovingBits();
+			for (int i = 0; i < size; i++) {
+				out.value(moving.get(i));
 			}
-		} else {
-			for (final Number number : stream.getData()) {
-				dataArray.add(context.serialize(number));
+		} else if (stream.getDataArray() != null) {
+			final float[] data = stream.getDataArray();
+			final BitSet missing = stream.getMissingData();
+			for (int i = 0; i < size; i++) {
+				if ((missing != null) && missing.get(i)) {
+					out.nullValue();
+				} else {
+					out.value(Float.valueOf(data[i]));
+				}
 			}
 		}
-		return element;
+		out.endArray();
+		out.endObject();
 	}
 
 }
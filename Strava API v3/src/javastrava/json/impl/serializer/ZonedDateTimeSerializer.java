@@ -22,7 +22,7 @@ public class ZonedDateTimeSerializer implements JsonSerializer<ZonedDateTime>, J
 	 */
 	@Override
 	public ZonedDateTime deserialize(final JsonElement json, final Type type, final JsonDeserializationContext context) throws JsonParseException {
-		return ZonedDateTime.parse(json.getAsString());
+		return DateTimeParser.parseZonedDateTime(json.getAsString());
 	}
 
 	/**
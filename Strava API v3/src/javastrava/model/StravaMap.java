@@ -1,6 +1,8 @@
 package javastrava.model;
 
 import javastrava.model.reference.StravaResourceState;
+import javastrava.util.DecodedPolyline;
+import javastrava.util.PolylineCodec;
 
 /**
  * <p>
@@ -35,6 +37,16 @@ public class StravaMap implements StravaEntity {
 	 */
 	private StravaResourceState resourceState;
 
+	/**
+	 * {@link #polyline}, decoded the first time it's asked for; not serialised
+	 */
+	private transient volatile DecodedPolyline decodedPolyline;
+
+	/**
+	 * {@link #summaryPolyline}, decoded the first time it's asked for; not serialised
+	 */
+	private transient volatile DecodedPolyline decodedSummaryPolyline;
+
 	/**
 	 * No args constructor
 	 */
@@ -42,6 +54,23 @@ public class StravaMap implements StravaEntity {
 		super();
 	}
 
+	/**
+	 * @param encoded
+	 *            An encoded polyline, or <code>null</code>
+	 * @param decoded
+	 *            The polyline decoded previously, if it has been
+	 * @return The encoded polyline decoded, reusing the previous decoding if it was of the same polyline
+	 */
+	private static DecodedPolyline decode(final String encoded, final DecodedPolyline decoded) {
+		if (encoded == null) {
+			return null;
+		}
+		if ((decoded != null) && (decoded.getEncoded() == encoded)) {
+			return decoded;
+		}
+		return PolylineCodec.decode(encoded);
+	}
+
 	/**
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -84,6 +113,44 @@ public class StravaMap implements StravaEntity {
 		return true;
 	}
 
+	/**
+	 * <p>
+	 * The detailed polyline, decoded
+	 * </p>
+	 *
+	 * <p>
+	 * It is decoded the first time it's asked for, and the same (immutable) instance returned after that, until the polyline is changed.
+	 * </p>
+	 *
+	 * @return The decoded polyline, or <code>null</code> if there is no polyline
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed
+	 */
+	public DecodedPolyline getDecodedPolyline() {
+		final DecodedPolyline decoded = decode(this.polyline, this.decodedPolyline);
+		this.decodedPolyline = decoded;
+		return decoded;
+	}
+
+	/**
+	 * <p>
+	 * The summary polyline, decoded
+	 * </p>
+	 *
+	 * <p>
+	 * It is decoded the first time it's asked for, and the same (immutable) instance returned after that, until the polyline is changed.
+	 * </p>
+	 *
+	 * @return The decoded summary polyline, or <code>null</code> if there is no summary polyline
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed
+	 */
+	public DecodedPolyline getDecodedSummaryPolyline() {
+		final DecodedPolyline decoded = decode(this.summaryPolyline, this.decodedSummaryPolyline);
+		this.decodedSummaryPolyline = decoded;
+		return decoded;
+	}
+
 	/**
 	 * @return the id
 	 */
@@ -7,6 +7,7 @@ import com.google.gson.annotations.SerializedName;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaRouteSubType;
 import javastrava.model.reference.StravaRouteType;
+import javastrava.util.DecodedPolyline;
 
 /**
  * <p>
@@ -209,6 +210,28 @@ public class StravaRoute implements StravaEntity {
 		return this.athlete;
 	}
 
+	/**
+	 * <p>
+	 * The detailed polyline of the map, decoded; see {@link StravaMap#getDecodedPolyline()}
+	 * </p>
+	 *
+	 * @return The decoded polyline, or <code>null</code> if there is no map or it has no polyline
+	 */
+	public DecodedPolyline getDecodedPolyline() {
+		return (this.map == null ? null : this.map.getDecodedPolyline());
+	}
+
+	/**
+	 * <p>
+	 * The summary polyline of the map, decoded; see {@link StravaMap#getDecodedSummaryPolyline()}
+	 * </p>
+	 *
+	 * @return The decoded summary polyline, or <code>null</code> if there is no map or it has no summary polyline
+	 */
+	public DecodedPolyline getDecodedSummaryPolyline() {
+		return (this.map == null ? null : this.map.getDecodedSummaryPolyline());
+	}
+
 	/**
 	 * @return the description
 	 */
@@ -10,6 +10,7 @@ import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaSegmentActivityType;
 import javastrava.service.SegmentService;
 import javastrava.service.StreamService;
+import javastrava.util.DecodedPolyline;
 
 /**
  * <p>
@@ -504,6 +505,28 @@ public class StravaSegment implements StravaCacheableEntity<Integer> {
 		return this.createdAt;
 	}
 
+	/**
+	 * <p>
+	 * The detailed polyline of the map, decoded; see {@link StravaMap#getDecodedPolyline()}
+	 * </p>
+	 *
+	 * @return The decoded polyline, or <code>null</code> if there is no map or it has no polyline
+	 */
+	public DecodedPolyline getDecodedPolyline() {
+		return (this.map == null ? null : this.map.getDecodedPolyline());
+	}
+
+	/**
+	 * <p>
+	 * The summary polyline of the map, decoded; see {@link StravaMap#getDecodedSummaryPolyline()}
+	 * </p>
+	 *
+	 * @return The decoded summary polyline, or <code>null</code> if there is no map or it has no summary polyline
+	 */
+	public DecodedPolyline getDecodedSummaryPolyline() {
+		return (this.map == null ? null : this.map.getDecodedSummaryPolyline());
+	}
+
 	/**
 	 * @return the distance
 	 */
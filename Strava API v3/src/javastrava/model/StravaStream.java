@@ -1,7 +1,12 @@
 package javastrava.model;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.RandomAccess;
 
+import javastrava.config.Messages;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
@@ -16,26 +21,198 @@ import javastrava.model.reference.StravaStreamType;
  * All streams for a given {@link StravaActivity activity} or {@link StravaSegmentEffort segment effort} will be the same length and the values at a given index correspond to the same time.
  * </p>
  *
+ * <p>
+ * Stream data is held in columnar form, in primitive arrays, so that a high resolution stream doesn't cost one boxed object per data point. The primitive arrays are available directly via
+ * {@link #getDataArray()}, {@link #getLatitudes()}, {@link #getLongitudes()} and {@link #getMovingBits()} (no copying is done, so changes made to the arrays are changes to the stream). The
+ * {@link List} getters remain available for compatibility; they return views over the primitive arrays, so values are only boxed as they are read.
+ * </p>
+ *
+ * <p>
+ * The list views are fixed-size: {@link List#set(int, Object) set} writes through to the stream, but {@link List#add(Object) add} and {@link List#remove(int) remove} throw
+ * {@link UnsupportedOperationException}. Use the setters to replace the data with a list of a different length.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
 public class StravaStream implements StravaEntity {
+	/**
+	 * <p>
+	 * Read/write {@link List} view over a numeric stream; missing data points are returned as <code>null</code>
+	 * </p>
+	 */
+	private static final class DataList extends AbstractList<Float> implements RandomAccess {
+		/**
+		 * The stream being viewed
+		 */
+		private final StravaStream stream;
+
+		/**
+		 * @param stream
+		 *            The stream being viewed
+		 */
+		DataList(final StravaStream stream) {
+			this.stream = stream;
+		}
+
+		@Override
+		public Float get(final int index) {
+			rangeCheck(index, this.stream.size);
+			if ((this.stream.missingData != null) && this.stream.missingData.get(index)) {
+				return null;
+			}
+			return Float.valueOf(this.stream.dataArray[index]);
+		}
+
+		@Override
+		public Float set(final int index, final Float element) {
+			final Float previous = get(index);
+			if (element == null) {
+				if (this.stream.missingData == null) {
+					this.stream.missingData = new BitSet(this.stream.size);
+				}
+				this.stream.missingData.set(index);
+				this.stream.dataArray[index] = 0f;
+			} else {
+				if (this.stream.missingData != null) {
+					this.stream.missingData.clear(index);
+				}
+				this.stream.dataArray[index] = element.floatValue();
+			}
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return this.stream.size;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read/write {@link List} view over a GPS stream. Each call to {@link #get(int)} creates a new {@link StravaMapPoint}. A stream can't record a missing point, so {@link #set(int, StravaMapPoint)}
+	 * rejects <code>null</code>, or a point without a latitude or longitude, with an {@link IllegalArgumentException}
+	 * </p>
+	 */
+	private static final class MapPointList extends AbstractList<StravaMapPoint> implements RandomAccess {
+		/**
+		 * The stream being viewed
+		 */
+		private final StravaStream stream;
+
+		/**
+		 * @param stream
+		 *            The stream being viewed
+		 */
+		MapPointList(final StravaStream stream) {
+			this.stream = stream;
+		}
+
+		@Override
+		public StravaMapPoint get(final int index) {
+			rangeCheck(index, this.stream.size);
+			return new StravaMapPoint(Float.valueOf((float) this.stream.latitudes[index]), Float.valueOf((float) this.stream.longitudes[index]));
+		}
+
+		@Override
+		public StravaMapPoint set(final int index, final StravaMapPoint element) {
+			final StravaMapPoint previous = get(index);
+			if ((element == null) || (element.getLatitude() == null) || (element.getLongitude() == null)) {
+				throw new IllegalArgumentException(String.format(Messages.string("StravaStream.nullElement"), Integer.valueOf(index))); //$NON-NLS-1$
+			}
+			this.stream.latitudes[index] = element.getLatitude().doubleValue();
+			this.stream.longitudes[index] = element.getLongitude().doubleValue();
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return this.stream.size;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read/write {@link List} view over a moving stream. A stream can't record a missing value, so {@link #set(int, Boolean)} rejects <code>null</code> with an {@link IllegalArgumentException}
+	 * </p>
+	 */
+	private static final class MovingList extends AbstractList<Boolean> implements RandomAccess {
+		/**
+		 * The stream being viewed
+		 */
+		private final StravaStream stream;
+
+		/**
+		 * @param stream
+		 *            The stream being viewed
+		 */
+		MovingList(final StravaStream stream) {
+			this.stream = stream;
+		}
+
+		@Override
+		public Boolean get(final int index) {
+			rangeCheck(index, this.stream.size);
+			return Boolean.valueOf(this.stream.movingBits.get(index));
+		}
+
+		@Override
+		public Boolean set(final int index, final Boolean element) {
+			final Boolean previous = get(index);
+			if (element == null) {
+				throw new IllegalArgumentException(String.format(Messages.string("StravaStream.nullElement"), Integer.valueOf(index))); //$NON-NLS-1$
+			}
+			this.stream.movingBits.set(index, element.booleanValue());
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return this.stream.size;
+		}
+	}
+
+	/**
+	 * @param index
+	 *            Index being accessed
+	 * @param size
+	 *            Number of data points in the stream
+	 */
+	private static void rangeCheck(final int index, final int size) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	/**
 	 * Type of stream data
 	 */
 	private StravaStreamType					type;
 	/**
-	 * Raw data (either this or {@link #mapPoints} or {@link #moving} will be populated, depending on the {@link #type} of stream).
+	 * Number of data points in this stream
 	 */
-	private List<Float>							data;
+	private int									size;
 	/**
-	 * Raw GPS co-ordinates (either this or {@link #data} or {@link #moving} will be populated, depending on the {@link #type} of stream).
+	 * Raw data (either this or {@link #latitudes}/{@link #longitudes} or {@link #movingBits} will be populated, depending on the {@link #type} of stream).
 	 */
-	private List<StravaMapPoint>				mapPoints;
+	private float[]								dataArray;
 	/**
-	 * Boolean data stream indicating whether athlete was moving or not (either this or {@link #data} or {@link #mapPoints} will be populated, depending on the {@link #type} of stream).
+	 * Indexes of data points in {@link #dataArray} for which Strava returned no value (may be <code>null</code> if there are none)
 	 */
-	private List<Boolean>						moving;
+	private BitSet								missingData;
+	/**
+	 * Latitudes of the raw GPS co-ordinates (either this and {@link #longitudes} or {@link #dataArray} or {@link #movingBits} will be populated, depending on the {@link #type} of stream).
+	 */
+	private double[]							latitudes;
+	/**
+	 * Longitudes of the raw GPS co-ordinates, in the same order as {@link #latitudes}
+	 */
+	private double[]							longitudes;
+	/**
+	 * Boolean data stream indicating whether athlete was moving or not (either this or {@link #dataArray} or {@link #latitudes}/{@link #longitudes} will be populated, depending on the
+	 * {@link #type} of stream).
+	 */
+	private BitSet								movingBits;
 	/**
 	 * Method of downsampling applied by Strava when returning the stream (if appropriate) - either by distance or by time
 	 */
@@ -71,25 +248,26 @@ public class StravaStream implements StravaEntity {
 			return false;
 		}
 		final StravaStream other = (StravaStream) obj;
-		if (this.data == null) {
-			if (other.data != null) {
-				return false;
-			}
-		} else if (!this.data.equals(other.data)) {
+		if (this.size != other.size) {
 			return false;
 		}
-		if (this.mapPoints == null) {
-			if (other.mapPoints != null) {
-				return false;
-			}
-		} else if (!this.mapPoints.equals(other.mapPoints)) {
+		if (!Arrays.equals(this.dataArray, other.dataArray)) {
+			return false;
+		}
+		if (!missingDataEquals(other)) {
+			return false;
+		}
+		if (!Arrays.equals(this.latitudes, other.latitudes)) {
+			return false;
+		}
+		if (!Arrays.equals(this.longitudes, other.longitudes)) {
 			return false;
 		}
-		if (this.moving == null) {
-			if (other.moving != null) {
+		if (this.movingBits == null) {
+			if (other.movingBits != null) {
 				return false;
 			}
-		} else if (!this.moving.equals(other.moving)) {
+		} else if (!this.movingBits.equals(other.movingBits)) {
 			return false;
 		}
 		if (this.originalSize == null) {
@@ -112,24 +290,85 @@ public class StravaStream implements StravaEntity {
 	}
 
 	/**
-	 * @return the data
+	 * @return the data as a list view over {@link #getDataArray()}, or <code>null</code> if this is not a numeric stream
 	 */
 	public List<Float> getData() {
-		return this.data;
+		if (this.dataArray == null) {
+			return null;
+		}
+		return new DataList(this);
 	}
 
 	/**
-	 * @return the mapPoints
+	 * <p>
+	 * Zero-copy access to the numeric data in the stream. Where Strava returned no value for a data point, the array holds 0 and the index is flagged in {@link #getMissingData()}
+	 * </p>
+	 *
+	 * @return the raw data, or <code>null</code> if this is not a numeric stream
+	 */
+	public float[] getDataArray() {
+		return this.dataArray;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the data point
+	 * @return The value of the data point, or {@link Float#NaN} if Strava returned no value for it
+	 */
+	public float getDataValue(final int index) {
+		rangeCheck(index, this.size);
+		if ((this.missingData != null) && this.missingData.get(index)) {
+			return Float.NaN;
+		}
+		return this.dataArray[index];
+	}
+
+	/**
+	 * @return the latitudes of the GPS co-ordinates, or <code>null</code> if this is not a GPS stream
+	 */
+	public double[] getLatitudes() {
+		return this.latitudes;
+	}
+
+	/**
+	 * @return the longitudes of the GPS co-ordinates, or <code>null</code> if this is not a GPS stream
+	 */
+	public double[] getLongitudes() {
+		return this.longitudes;
+	}
+
+	/**
+	 * @return the mapPoints as a list view over {@link #getLatitudes()} and {@link #getLongitudes()}, or <code>null</code> if this is not a GPS stream
 	 */
 	public List<StravaMapPoint> getMapPoints() {
-		return this.mapPoints;
+		if (this.latitudes == null) {
+			return null;
+		}
+		return new MapPointList(this);
+	}
+
+	/**
+	 * @return the indexes of data points for which Strava returned no value (may be <code>null</code> if there are none)
+	 */
+	public BitSet getMissingData() {
+		return this.missingData;
 	}
 
 	/**
-	 * @return the moving
+	 * @return the moving data as a list view over {@link #getMovingBits()}, or <code>null</code> if this is not a moving stream
 	 */
 	public List<Boolean> getMoving() {
-		return this.moving;
+		if (this.movingBits == null) {
+			return null;
+		}
+		return new MovingList(this);
+	}
+
+	/**
+	 * @return zero-copy access to the moving data, or <code>null</code> if this is not a moving stream
+	 */
+	public BitSet getMovingBits() {
+		return this.movingBits;
 	}
 
 	/**
@@ -158,6 +397,13 @@ public class StravaStream implements StravaEntity {
 		return this.seriesType;
 	}
 
+	/**
+	 * @return the number of data points in this stream
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
 	/**
 	 * @return the type
 	 */
@@ -172,9 +418,12 @@ public class StravaStream implements StravaEntity {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = (prime * result) + ((this.data == null) ? 0 : this.data.hashCode());
-		result = (prime * result) + ((this.mapPoints == null) ? 0 : this.mapPoints.hashCode());
-		result = (prime * result) + ((this.moving == null) ? 0 : this.moving.hashCode());
+		result = (prime * result) + this.size;
+		result = (prime * result) + Arrays.hashCode(this.dataArray);
+		result = (prime * result) + (((this.missingData == null) || this.missingData.isEmpty()) ? 0 : this.missingData.hashCode());
+		result = (prime * result) + Arrays.hashCode(this.latitudes);
+		result = (prime * result) + Arrays.hashCode(this.longitudes);
+		result = (prime * result) + ((this.movingBits == null) ? 0 : this.movingBits.hashCode());
 		result = (prime * result) + ((this.originalSize == null) ? 0 : this.originalSize.hashCode());
 		result = (prime * result) + ((this.resolution == null) ? 0 : this.resolution.hashCode());
 		result = (prime * result) + ((this.seriesType == null) ? 0 : this.seriesType.hashCode());
@@ -182,28 +431,162 @@ public class StravaStream implements StravaEntity {
 		return result;
 	}
 
+	/**
+	 * @param index
+	 *            Index of the data point
+	 * @return <code>true</code> if the athlete was moving at the given data point
+	 */
+	public boolean isMoving(final int index) {
+		rangeCheck(index, this.size);
+		return this.movingBits.get(index);
+	}
+
+	/**
+	 * Missing data is equal if the same indexes are flagged; <code>null</code> and empty are the same thing
+	 *
+	 * @param other
+	 *            The stream to compare with
+	 * @return <code>true</code> if the missing data flags are the same
+	 */
+	private boolean missingDataEquals(final StravaStream other) {
+		final boolean thisEmpty = (this.missingData == null) || this.missingData.isEmpty();
+		final boolean otherEmpty = (other.missingData == null) || other.missingData.isEmpty();
+		if (thisEmpty || otherEmpty) {
+			return thisEmpty == otherEmpty;
+		}
+		return this.missingData.equals(other.missingData);
+	}
+
 	/**
 	 * @param data
-	 *            the data to set
+	 *            the data to set (copied into the stream's primitive storage)
 	 */
 	public void setData(final List<Float> data) {
-		this.data = data;
+		if (data == null) {
+			this.dataArray = null;
+			this.missingData = null;
+			return;
+		}
+		final int length = data.size();
+		final float[] values = new float[length];
+		BitSet missing = null;
+		for (int i = 0; i < length; i++) {
+			final Float value = data.get(i);
+			if (value == null) {
+				if (missing == null) {
+					missing = new BitSet(length);
+				}
+				missing.set(i);
+			} else {
+				values[i] = value.floatValue();
+			}
+		}
+		setDataArray(values, missing);
+	}
+
+	/**
+	 * <p>
+	 * Sets the numeric data without copying
+	 * </p>
+	 *
+	 * @param dataArray
+	 *            the data to set
+	 * @param missingData
+	 *            Indexes of data points for which there is no value (may be <code>null</code>)
+	 */
+	public void setDataArray(final float[] dataArray, final BitSet missingData) {
+		this.dataArray = dataArray;
+		this.missingData = missingData;
+		if (dataArray != null) {
+			this.size = dataArray.length;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Sets the GPS co-ordinates without copying
+	 * </p>
+	 *
+	 * @param latitudes
+	 *            Latitudes of the points
+	 * @param longitudes
+	 *            Longitudes of the points; must be the same length as the latitudes
+	 * @throws IllegalArgumentException
+	 *             If only one of the arrays is <code>null</code>, or they are different lengths
+	 */
+	public void setLatLng(final double[] latitudes, final double[] longitudes) {
+		if ((latitudes == null) != (longitudes == null)) {
+			throw new IllegalArgumentException(Messages.string("StravaStream.latLngNull")); //$NON-NLS-1$
+		}
+		if ((latitudes != null) && (latitudes.length != longitudes.length)) {
+			throw new IllegalArgumentException(String.format(Messages.string("StravaStream.latLngLengths"), Integer.valueOf(latitudes.length), Integer.valueOf(longitudes.length))); //$NON-NLS-1$
+		}
+		this.latitudes = latitudes;
+		this.longitudes = longitudes;
+		if (latitudes != null) {
+			this.size = latitudes.length;
+		}
 	}
 
 	/**
 	 * @param mapPoints
-	 *            the mapPoints to set
+	 *            the mapPoints to set (copied into the stream's primitive storage)
+	 * @throws IllegalArgumentException
+	 *             If any of the points is <code>null</code> or lacks a latitude or longitude
 	 */
 	public void setMapPoints(final List<StravaMapPoint> mapPoints) {
-		this.mapPoints = mapPoints;
+		if (mapPoints == null) {
+			setLatLng(null, null);
+			return;
+		}
+		final int length = mapPoints.size();
+		final double[] lats = new double[length];
+		final double[] lngs = new double[length];
+		for (int i = 0; i < length; i++) {
+			final StravaMapPoint point = mapPoints.get(i);
+			if ((point == null) || (point.getLatitude() == null) || (point.getLongitude() == null)) {
+				throw new IllegalArgumentException(String.format(Messages.string("StravaStream.nullElement"), Integer.valueOf(i))); //$NON-NLS-1$
+			}
+			lats[i] = point.getLatitude().doubleValue();
+			lngs[i] = point.getLongitude().doubleValue();
+		}
+		setLatLng(lats, lngs);
 	}
 
 	/**
 	 * @param moving
-	 *            the moving to set
+	 *            the moving to set (copied into the stream's primitive storage)
 	 */
 	public void setMoving(final List<Boolean> moving) {
-		this.moving = moving;
+		if (moving == null) {
+			this.movingBits = null;
+			return;
+		}
+		final int length = moving.size();
+		final BitSet bits = new BitSet(length);
+		for (int i = 0; i < length; i++) {
+			if (Boolean.TRUE.equals(moving.get(i))) {
+				bits.set(i);
+			}
+		}
+		setMovingBits(bits, length);
+	}
+
+	/**
+	 * <p>
+	 * Sets the moving data without copying
+	 * </p>
+	 *
+	 * @param movingBits
+	 *            Bit set, with bits set where the athlete was moving
+	 * @param size
+	 *            Number of data points in the stream
+	 */
+	public void setMovingBits(final BitSet movingBits, final int size) {
+		this.movingBits = movingBits;
+		if (movingBits != null) {
+			this.size = size;
+		}
 	}
 
 	/**
@@ -243,8 +626,8 @@ public class StravaStream implements StravaEntity {
 	 */
 	@Override
 	public String toString() {
-		return "StravaStream [type=" + this.type + ", data=" + this.data + ", mapPoints=" + this.mapPoints + ", moving=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-				+ this.moving + ", seriesType=" //$NON-NLS-1$
+		return "StravaStream [type=" + this.type + ", data=" + getData() + ", mapPoints=" + getMapPoints() + ", moving=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ getMoving() + ", seriesType=" //$NON-NLS-1$
 				+ this.seriesType + ", originalSize=" + this.originalSize + ", resolution=" + this.resolution + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	}
 }
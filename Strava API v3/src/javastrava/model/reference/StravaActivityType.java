@@ -206,6 +206,11 @@ public enum StravaActivityType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaActivityType> LOOKUP = StravaReferenceTypeLookup.ofIgnoringCase(values(), UNKNOWN);
+
 	/**
 	 * @param id
 	 *            The string representation of the activity type as returned by
@@ -216,12 +221,7 @@ public enum StravaActivityType implements StravaReferenceType<String> {
 	 *      java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaActivityType create(final String id) {
-		for (final StravaActivityType type : StravaActivityType.values()) {
-			if (type.getId().equalsIgnoreCase(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -29,19 +29,18 @@ public enum StravaActivityZoneType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaActivityZoneType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaActivityZoneType} as returned by the Strava API
 	 * @return The matching {@link StravaActivityZoneType}, or {@link StravaActivityZoneType#UNKNOWN} if there is no match
 	 */
 	public static StravaActivityZoneType create(final String id) {
-		final StravaActivityZoneType[] types = StravaActivityZoneType.values();
-		for (final StravaActivityZoneType type : types) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
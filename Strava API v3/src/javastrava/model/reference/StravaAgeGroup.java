@@ -45,19 +45,18 @@ public enum StravaAgeGroup implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaAgeGroup> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaAgeGroup} returned by the Strava API
 	 * @return The matching {@link StravaAgeGroup}, or {@link StravaAgeGroup#UNKNOWN} if there is no match
 	 */
 	public static StravaAgeGroup create(final String id) {
-		final StravaAgeGroup[] ageGroups = StravaAgeGroup.values();
-		for (final StravaAgeGroup ageGroup : ageGroups) {
-			if (ageGroup.getId().equals(id)) {
-				return ageGroup;
-			}
-		}
-		return StravaAgeGroup.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -26,6 +26,11 @@ public enum StravaAthleteType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaAthleteType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaAthleteType} as returned by the Strava API
@@ -33,13 +38,7 @@ public enum StravaAthleteType implements StravaReferenceType<Integer> {
 	 * @see AthleteTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaAthleteType create(final Integer id) {
-		final StravaAthleteType[] categories = StravaAthleteType.values();
-		for (final StravaAthleteType category : categories) {
-			if (category.getId().equals(id)) {
-				return category;
-			}
-		}
-		return StravaAthleteType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -33,6 +33,11 @@ public enum StravaChallengeType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$//$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaChallengeType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * @param string
 	 *            The string representation of the activity type as returned by the Strava API
@@ -40,12 +45,7 @@ public enum StravaChallengeType implements StravaReferenceType<String> {
 	 * @see ActivityTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaChallengeType create(final String string) {
-		for (final StravaChallengeType type : StravaChallengeType.values()) {
-			if (type.getId().equals(string)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(string);
 	}
 
 	/**
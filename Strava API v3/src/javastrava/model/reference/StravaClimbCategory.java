@@ -45,6 +45,11 @@ public enum StravaClimbCategory implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaClimbCategory> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaClimbCategory} as returned by the Strava API
@@ -52,13 +57,7 @@ public enum StravaClimbCategory implements StravaReferenceType<Integer> {
 	 * @see ClimbCategorySerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaClimbCategory create(final Integer id) {
-		final StravaClimbCategory[] categories = StravaClimbCategory.values();
-		for (final StravaClimbCategory category : categories) {
-			if (category.getId().equals(id)) {
-				return category;
-			}
-		}
-		return StravaClimbCategory.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -26,6 +26,11 @@ public enum StravaClubMembershipStatus implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaClubMembershipStatus> LOOKUP = StravaReferenceTypeLookup.ofIgnoringCase(values(), UNKNOWN);
+
 	/**
 	 * @param id
 	 *            The string representation of the status as returned by
@@ -36,12 +41,7 @@ public enum StravaClubMembershipStatus implements StravaReferenceType<String> {
 	 *      java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaClubMembershipStatus create(final String id) {
-		for (final StravaClubMembershipStatus status : StravaClubMembershipStatus.values()) {
-			if (status.getId().equalsIgnoreCase(id)) {
-				return status;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
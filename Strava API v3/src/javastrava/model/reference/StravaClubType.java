@@ -40,19 +40,18 @@ public enum StravaClubType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaClubType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaClubType} returned by the Strava API
 	 * @return The matching {@link StravaClubType}, or {@link StravaClubType#UNKNOWN} if there is no match
 	 */
 	public static StravaClubType create(final String id) {
-		final StravaClubType[] clubTypes = StravaClubType.values();
-		for (final StravaClubType clubType : clubTypes) {
-			if (clubType.getId().equals(id)) {
-				return clubType;
-			}
-		}
-		return StravaClubType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -27,18 +27,18 @@ public enum StravaEventFrequency implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaEventFrequency> LOOKUP = StravaReferenceTypeLookup.ofIgnoringCase(values(), UNKNOWN);
+
 	/**
 	 * @param id
 	 *            The string representation of the frequency
 	 * @return The frequency with the matching code, or UNKNOWN if there is no match
 	 */
 	public static StravaEventFrequency create(final String id) {
-		for (final StravaEventFrequency frequency : StravaEventFrequency.values()) {
-			if (frequency.getId().equalsIgnoreCase(id)) {
-				return frequency;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -32,19 +32,18 @@ public enum StravaFollowerState implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaFollowerState> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaFollowerState} as returned by the Strava API
 	 * @return The matching {@link StravaFollowerState}, or {@link StravaFollowerState#UNKNOWN} if there is no match
 	 */
 	public static StravaFollowerState create(final String id) {
-		final StravaFollowerState[] followerStates = StravaFollowerState.values();
-		for (final StravaFollowerState followerState : followerStates) {
-			if (followerState.getId().equals(id)) {
-				return followerState;
-			}
-		}
-		return StravaFollowerState.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
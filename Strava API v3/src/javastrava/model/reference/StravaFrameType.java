@@ -36,19 +36,18 @@ public enum StravaFrameType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaFrameType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of a {@link StravaFrameType} as returned by the Strava API
 	 * @return The matching {@link StravaFrameType}, or {@link StravaFrameType#UNKNOWN} if there is no match
 	 */
 	public static StravaFrameType create(final Integer id) {
-		final StravaFrameType[] frameTypes = StravaFrameType.values();
-		for (final StravaFrameType frameType : frameTypes) {
-			if (frameType.getId().equals(id)) {
-				return frameType;
-			}
-		}
-		return StravaFrameType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -25,18 +25,18 @@ public enum StravaGearType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"),Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaGearType> LOOKUP = StravaReferenceTypeLookup.ofIgnoringCase(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaGearType} returned by the Strava API
 	 * @return The matching {@link StravaGearType}, or {@link StravaGearType#UNKNOWN} if there is no match
 	 */
 	public static StravaGearType create(final String id) {
-		for (final StravaGearType type : StravaGearType.values()) {
-			if (type.getId().toLowerCase().equals(id.toLowerCase())) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -28,19 +28,18 @@ public enum StravaGender implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaGender> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaGender} returned by the Strava API
 	 * @return The matching {@link StravaGender}, or {@link StravaGender#UNKNOWN} if there is no match
 	 */
 	public static StravaGender create(final String id) {
-		final StravaGender[] genders = StravaGender.values();
-		for (final StravaGender gender : genders) {
-			if (gender.getId().equals(id)) {
-				return gender;
-			}
-		}
-		return StravaGender.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -37,18 +37,18 @@ public enum StravaLeaderboardDateRange implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaLeaderboardDateRange> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaLeaderboardDateRange} returned by the Strava API
 	 * @return The matching {@link StravaLeaderboardDateRange}, or {@link StravaLeaderboardDateRange#UNKNOWN} if there is no match
 	 */
 	public static StravaLeaderboardDateRange create(final String id) {
-		for (final StravaLeaderboardDateRange dateRange : StravaLeaderboardDateRange.values()) {
-			if (dateRange.getId().equals(id)) {
-				return dateRange;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
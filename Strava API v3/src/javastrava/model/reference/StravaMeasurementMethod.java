@@ -28,19 +28,18 @@ public enum StravaMeasurementMethod implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaMeasurementMethod> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaMeasurementMethod} returned by the Strava API
 	 * @return The matching {@link StravaMeasurementMethod}, or {@link StravaMeasurementMethod#UNKNOWN} if there is no match
 	 */
 	public static StravaMeasurementMethod create(final String id) {
-		final StravaMeasurementMethod[] methods = StravaMeasurementMethod.values();
-		for (final StravaMeasurementMethod method : methods) {
-			if (method.getId().equals(id)) {
-				return method;
-			}
-		}
-		return StravaMeasurementMethod.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -23,6 +23,11 @@ public enum StravaPhotoSource implements StravaReferenceType<Integer>{
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"),Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaPhotoSource> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaClimbCategory} as returned by the Strava API
@@ -30,13 +35,7 @@ public enum StravaPhotoSource implements StravaReferenceType<Integer>{
 	 * @see ClimbCategorySerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaPhotoSource create(final Integer id) {
-		final StravaPhotoSource[] sources = StravaPhotoSource.values();
-		for (final StravaPhotoSource source : sources) {
-			if (source.getId().equals(id)) {
-				return source;
-			}
-		}
-		return StravaPhotoSource.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
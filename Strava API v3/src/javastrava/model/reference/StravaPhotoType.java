@@ -24,19 +24,18 @@ public enum StravaPhotoType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaPhotoType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string represenation of a {@link StravaPhotoType} as returned by the Strava API
 	 * @return The matching {@link StravaPhotoType}, or {@link StravaPhotoType#UNKNOWN} if there is no match
 	 */
 	public static StravaPhotoType create(final String id) {
-		final StravaPhotoType[] types = StravaPhotoType.values();
-		for (final StravaPhotoType type : types) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return StravaPhotoType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
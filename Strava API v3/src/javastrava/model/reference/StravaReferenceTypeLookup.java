@@ -0,0 +1,220 @@
+package javastrava.model.reference;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Finds the instance of a reference type with a given identifier, without searching through all the instances
+ * </p>
+ *
+ * <p>
+ * Each reference type builds one of these when it is loaded, from its values in declaration order, so where two values have the same identifier the first one is found, as it
+ * was by searching. String identifiers are held in an open-addressed hash table at most half full, and can be looked up by any {@link CharSequence} (for example a buffer of
+ * characters read from JSON) without first making a {@link String} of it. Small integer identifiers are held in an array indexed by the identifier, and the rest in a map.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            The reference type
+ */
+public final class StravaReferenceTypeLookup<T extends StravaReferenceType<?>> {
+	/**
+	 * Integer identifiers from 0 up to (but not including) this are held in an array
+	 */
+	private static final int	SMALL_IDENTIFIERS	= 128;
+
+	/**
+	 * @param values
+	 *            The values of the reference type, in declaration order
+	 * @param unknown
+	 *            Value to return for identifiers that don't match any value
+	 * @return Lookup matching string identifiers exactly
+	 */
+	public static <T extends StravaReferenceType<?>> StravaReferenceTypeLookup<T> of(final T[] values, final T unknown) {
+		return new StravaReferenceTypeLookup<T>(values, unknown, false);
+	}
+
+	/**
+	 * @param values
+	 *            The values of the reference type, in declaration order
+	 * @param unknown
+	 *            Value to return for identifiers that don't match any value
+	 * @return Lookup matching string identifiers regardless of case, as {@link String#equalsIgnoreCase(String)} does
+	 */
+	public static <T extends StravaReferenceType<?>> StravaReferenceTypeLookup<T> ofIgnoringCase(final T[] values, final T unknown) {
+		return new StravaReferenceTypeLookup<T>(values, unknown, true);
+	}
+
+	/**
+	 * @param character
+	 *            A character
+	 * @return The character with its case folded as {@link String#equalsIgnoreCase(String)} does
+	 */
+	private static char fold(final char character) {
+		if (character < 0x80) {
+			return ((character >= 'A') && (character <= 'Z') ? (char) (character + ('a' - 'A')) : character);
+		}
+		return Character.toLowerCase(Character.toUpperCase(character));
+	}
+
+	/**
+	 * Value returned for identifiers that don't match any value
+	 */
+	private final T					unknown;
+
+	/**
+	 * Whether string identifiers are matched regardless of case
+	 */
+	private final boolean			ignoreCase;
+
+	/**
+	 * String identifiers, in the slots given by their hashes; empty slots are <code>null</code>
+	 */
+	private final String[]			keys;
+
+	/**
+	 * Values for the identifiers in {@link #keys}, in the same slots
+	 */
+	private final Object[]			entries;
+
+	/**
+	 * Mask giving a slot in {@link #keys} from a hash
+	 */
+	private final int				mask;
+
+	/**
+	 * Values with small integer identifiers, indexed by the identifier
+	 */
+	private final Object[]			small	= new Object[SMALL_IDENTIFIERS];
+
+	/**
+	 * Values with other integer identifiers
+	 */
+	private final Map<Integer, T>	large	= new HashMap<>();
+
+	/**
+	 * @param values
+	 *            The values of the reference type, in declaration order
+	 * @param unknown
+	 *            Value to return for identifiers that don't match any value
+	 * @param ignoreCase
+	 *            Whether string identifiers are matched regardless of case
+	 */
+	private StravaReferenceTypeLookup(final T[] values, final T unknown, final boolean ignoreCase) {
+		this.unknown = unknown;
+		this.ignoreCase = ignoreCase;
+		int capacity = 4;
+		while (capacity < (values.length * 2)) {
+			capacity <<= 1;
+		}
+		this.keys = new String[capacity];
+		this.entries = new Object[capacity];
+		this.mask = capacity - 1;
+		for (final T value : values) {
+			final Object id = value.getId();
+			if (id instanceof Integer) {
+				final int key = ((Integer) id).intValue();
+				if ((key >= 0) && (key < SMALL_IDENTIFIERS)) {
+					if (this.small[key] == null) {
+						this.small[key] = value;
+					}
+				} else {
+					this.large.putIfAbsent((Integer) id, value);
+				}
+			} else if (id != null) {
+				final String key = id.toString();
+				int slot = hash(key) & this.mask;
+				while ((this.keys[slot] != null) && !matches(this.keys[slot], key)) {
+					slot = (slot + 1) & this.mask;
+				}
+				if (this.keys[slot] == null) {
+					this.keys[slot] = key;
+					this.entries[slot] = value;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param id
+	 *            String identifier, or <code>null</code>
+	 * @return The first value with that identifier, or the unknown value if there isn't one
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(final CharSequence id) {
+		if (id == null) {
+			return this.unknown;
+		}
+		for (int slot = hash(id) & this.mask;; slot = (slot + 1) & this.mask) {
+			final String key = this.keys[slot];
+			if (key == null) {
+				return this.unknown;
+			}
+			if (matches(key, id)) {
+				return (T) this.entries[slot];
+			}
+		}
+	}
+
+	/**
+	 * @param id
+	 *            Integer identifier
+	 * @return The first value with that identifier, or the unknown value if there isn't one
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(final int id) {
+		final Object value = ((id >= 0) && (id < SMALL_IDENTIFIERS) ? this.small[id] : this.large.get(Integer.valueOf(id)));
+		return (value == null ? this.unknown : (T) value);
+	}
+
+	/**
+	 * @param id
+	 *            Integer identifier, or <code>null</code>
+	 * @return The first value with that identifier, or the unknown value if there isn't one
+	 */
+	public T get(final Integer id) {
+		return (id == null ? this.unknown : get(id.intValue()));
+	}
+
+	/**
+	 * @param id
+	 *            String identifier
+	 * @return Hash of the identifier; the same for any identifiers that match
+	 */
+	private int hash(final CharSequence id) {
+		int hash;
+		if (!this.ignoreCase && (id instanceof String)) {
+			hash = id.hashCode();
+		} else {
+			hash = 0;
+			for (int i = 0; i < id.length(); i++) {
+				hash = (31 * hash) + (this.ignoreCase ? fold(id.charAt(i)) : id.charAt(i));
+			}
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * @param key
+	 *            Identifier of a value
+	 * @param id
+	 *            Identifier being looked up
+	 * @return <code>true</code> if they match
+	 */
+	private boolean matches(final String key, final CharSequence id) {
+		if (!this.ignoreCase) {
+			return key.contentEquals(id);
+		}
+		if (key.length() != id.length()) {
+			return false;
+		}
+		for (int i = 0; i < key.length(); i++) {
+			if (fold(key.charAt(i)) != fold(id.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
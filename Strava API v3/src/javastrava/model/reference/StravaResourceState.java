@@ -46,6 +46,11 @@ public enum StravaResourceState implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaResourceState> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 *
@@ -54,13 +59,7 @@ public enum StravaResourceState implements StravaReferenceType<Integer> {
 	 * @return The matching {@link StravaResourceState}, or {@link StravaResourceState#UNKNOWN} if there is no match
 	 */
 	public static StravaResourceState create(final Integer id) {
-		final StravaResourceState[] states = StravaResourceState.values();
-		for (final StravaResourceState state : states) {
-			if ((state.getValue() != null) && state.getValue().equals(id)) {
-				return state;
-			}
-		}
-		return StravaResourceState.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -36,6 +36,11 @@ public enum StravaRouteSubType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaRouteSubType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * @param id
 	 *            The string representation of the activity type as returned by the Strava API
@@ -44,12 +49,7 @@ public enum StravaRouteSubType implements StravaReferenceType<Integer> {
 	 *      com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRouteSubType create(final Integer id) {
-		for (final StravaRouteSubType type : StravaRouteSubType.values()) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	private Integer id;
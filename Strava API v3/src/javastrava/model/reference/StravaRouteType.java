@@ -24,6 +24,11 @@ public enum StravaRouteType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaRouteType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * @param id
 	 *            The string representation of the activity type as returned by the Strava API
@@ -32,12 +37,7 @@ public enum StravaRouteType implements StravaReferenceType<Integer> {
 	 *      com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRouteType create(final Integer id) {
-		for (final StravaRouteType type : StravaRouteType.values()) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	private Integer id;
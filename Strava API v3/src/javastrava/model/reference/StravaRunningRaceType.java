@@ -35,6 +35,11 @@ public enum StravaRunningRaceType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaRunningRaceType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 *
@@ -44,13 +49,7 @@ public enum StravaRunningRaceType implements StravaReferenceType<Integer> {
 	 * @see AthleteTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRunningRaceType create(final Integer id) {
-		final StravaRunningRaceType[] categories = StravaRunningRaceType.values();
-		for (final StravaRunningRaceType category : categories) {
-			if (category.getId().equals(id)) {
-				return category;
-			}
-		}
-		return StravaRunningRaceType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -33,19 +33,18 @@ public enum StravaSegmentActivityType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSegmentActivityType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of the {@link StravaSegmentActivityType} as returned by the Strava API
 	 * @return The matching {@link StravaSegmentActivityType}, or {@link StravaSegmentActivityType#UNKNOWN} if there is no match
 	 */
 	public static StravaSegmentActivityType create(final String id) {
-		final StravaSegmentActivityType[] activityTypes = StravaSegmentActivityType.values();
-		for (final StravaSegmentActivityType activityType : activityTypes) {
-			if (activityType.getId().equals(id)) {
-				return activityType;
-			}
-		}
-		return StravaSegmentActivityType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -31,6 +31,11 @@ public enum StravaSegmentExplorerActivityType implements StravaReferenceType<Str
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSegmentExplorerActivityType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * 
@@ -39,12 +44,7 @@ public enum StravaSegmentExplorerActivityType implements StravaReferenceType<Str
 	 * @return The matching {@link StravaSegmentExplorerActivityType}, or {@link StravaSegmentExplorerActivityType#UNKNOWN} if there is no match
 	 */
 	public static StravaSegmentExplorerActivityType create(final String id) {
-		for (final StravaSegmentExplorerActivityType type : StravaSegmentExplorerActivityType.values()) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
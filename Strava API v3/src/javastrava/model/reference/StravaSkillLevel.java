@@ -27,18 +27,18 @@ public enum StravaSkillLevel implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSkillLevel> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The id of the enum to return
 	 * @return The enumeration, or {@link #UNKNOWN} if not found
 	 */
 	public static StravaSkillLevel create(final Integer id) {
-		for (final StravaSkillLevel skillLevel : StravaSkillLevel.values()) {
-			if (skillLevel.getId().equals(id)) {
-				return skillLevel;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -37,6 +37,11 @@ public enum StravaSportType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSportType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaSportType} as returned by the Strava API
@@ -44,13 +49,7 @@ public enum StravaSportType implements StravaReferenceType<String> {
 	 * @see SportTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaSportType create(final String id) {
-		final StravaSportType[] sportTypes = StravaSportType.values();
-		for (final StravaSportType sportType : sportTypes) {
-			if (sportType.getId().equals(id)) {
-				return sportType;
-			}
-		}
-		return StravaSportType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
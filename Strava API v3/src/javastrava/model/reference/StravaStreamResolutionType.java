@@ -33,19 +33,18 @@ public enum StravaStreamResolutionType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description"), 0); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaStreamResolutionType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaStreamResolutionType} returned by the Strava API
 	 * @return The matching {@link StravaStreamResolutionType}, or {@link StravaStreamResolutionType#UNKNOWN} if there is no match
 	 */
 	public static StravaStreamResolutionType create(final String id) {
-		final StravaStreamResolutionType[] types = StravaStreamResolutionType.values();
-		for (final StravaStreamResolutionType type : types) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return StravaStreamResolutionType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -27,19 +27,18 @@ public enum StravaStreamSeriesDownsamplingType implements StravaReferenceType<St
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaStreamSeriesDownsamplingType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaStreamSeriesDownsamplingType} as returned by the Strava API
 	 * @return The matching {@link StravaStreamSeriesDownsamplingType}, or {@link StravaStreamSeriesDownsamplingType#UNKNOWN} if there is no match
 	 */
 	public static StravaStreamSeriesDownsamplingType create(final String id) {
-		final StravaStreamSeriesDownsamplingType[] types = StravaStreamSeriesDownsamplingType.values();
-		for (final StravaStreamSeriesDownsamplingType type : types) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return StravaStreamSeriesDownsamplingType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -64,19 +64,18 @@ public enum StravaStreamType implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaStreamType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaStreamType} as returned by the Strava API
 	 * @return The matching {@link StravaStreamType}, or {@link StravaStreamType#UNKNOWN} if there is no match
 	 */
 	public static StravaStreamType create(final String id) {
-		final StravaStreamType[] streamTypes = StravaStreamType.values();
-		for (final StravaStreamType streamType : streamTypes) {
-			if (streamType.getId().equals(id)) {
-				return streamType;
-			}
-		}
-		return StravaStreamType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -25,18 +25,18 @@ public enum StravaTerrainType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaTerrainType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Create the one from the integer id
 	 * @param id Identifier
 	 * @return The enumeration instance with the given id, or {@link #UNKNOWN} if there is no match
 	 */
 	public static StravaTerrainType create(final Integer id) {
-		for (final StravaTerrainType terrainType : StravaTerrainType.values()) {
-			if (terrainType.getId().equals(id)) {
-				return terrainType;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
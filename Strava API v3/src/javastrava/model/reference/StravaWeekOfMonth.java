@@ -35,6 +35,11 @@ public enum StravaWeekOfMonth implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaWeekOfMonth> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON serialisation
 	 * 
@@ -43,13 +48,7 @@ public enum StravaWeekOfMonth implements StravaReferenceType<Integer> {
 	 * @return The corresponding week
 	 */
 	public static StravaWeekOfMonth create(final Integer id) {
-		final StravaWeekOfMonth[] weeks = StravaWeekOfMonth.values();
-		for (final StravaWeekOfMonth week : weeks) {
-			if (week.getId().equals(id)) {
-				return week;
-			}
-		}
-		return StravaWeekOfMonth.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
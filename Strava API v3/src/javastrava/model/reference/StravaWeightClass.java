@@ -72,19 +72,18 @@ public enum StravaWeightClass implements StravaReferenceType<String> {
 	 */
 	UNKNOWN(StravaConfig.string("Common.unknown"), Messages.string("Common.unknown.description"), StravaMeasurementMethod.UNKNOWN); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(String)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaWeightClass> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaWeightClass} as returned by the Strava API
 	 * @return The matching {@link StravaWeightClass}, or {@link StravaWeightClass#UNKNOWN} if there is no match
 	 */
 	public static StravaWeightClass create(final String id) {
-		final StravaWeightClass[] weightClasses = StravaWeightClass.values();
-		for (final StravaWeightClass weightClass : weightClasses) {
-			if (weightClass.getId().equals(id)) {
-				return weightClass;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Returns a list of all {@link StravaWeightClass weight classes} for the given {@link StravaMeasurementMethod}
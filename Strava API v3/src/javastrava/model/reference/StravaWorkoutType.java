@@ -49,6 +49,11 @@ public enum StravaWorkoutType implements StravaReferenceType<Integer> {
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaWorkoutType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON deserialisation
 	 * 
@@ -58,13 +63,7 @@ public enum StravaWorkoutType implements StravaReferenceType<Integer> {
 	 * @see WorkoutTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaWorkoutType create(final Integer id) {
-		final StravaWorkoutType[] workoutTypes = StravaWorkoutType.values();
-		for (final StravaWorkoutType workoutType : workoutTypes) {
-			if (workoutType.getId().equals(id)) {
-				return workoutType;
-			}
-		}
-		return StravaWorkoutType.UNKNOWN;
+		return LOOKUP.get(id);
 	}
 
 	/**
@@ -3,6 +3,7 @@ package javastrava.model.webhook.reference;
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.model.reference.StravaReferenceType;
+import javastrava.model.reference.StravaReferenceTypeLookup;
 
 /**
  * @author Dan Shannon
@@ -18,18 +19,18 @@ public enum StravaSubscriptionAspectType implements StravaReferenceType<Integer>
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSubscriptionAspectType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * Used by JSON serialisation
 	 * @param id Identifier
 	 * @return Matching instance, or {@link #UNKNOWN} if there is no match
 	 */
 	public static StravaSubscriptionAspectType create(final Integer id) {
-		for (final StravaSubscriptionAspectType type : StravaSubscriptionAspectType.values()) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
@@ -3,6 +3,7 @@ package javastrava.model.webhook.reference;
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.model.reference.StravaReferenceType;
+import javastrava.model.reference.StravaReferenceTypeLookup;
 
 /**
  * @author Dan Shannon
@@ -18,17 +19,17 @@ public enum StravaSubscriptionObjectType implements StravaReferenceType<Integer>
 	 */
 	UNKNOWN(StravaConfig.integer("Common.unknown.integer"), Messages.string("Common.unknown.description")); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Finds values by identifier for {@link #create(Integer)}
+	 */
+	private static final StravaReferenceTypeLookup<StravaSubscriptionObjectType> LOOKUP = StravaReferenceTypeLookup.of(values(), UNKNOWN);
+
 	/**
 	 * @param id the id
 	 * @return The matching instance, or {@link #UNKNOWN} if there is no match
 	 */
 	public static StravaSubscriptionObjectType create(final Integer id) {
-		for (final StravaSubscriptionObjectType type : StravaSubscriptionObjectType.values()) {
-			if (type.getId().equals(id)) {
-				return type;
-			}
-		}
-		return UNKNOWN;
+		return LOOKUP.get(id);
 	}
 	/**
 	 * Identifier
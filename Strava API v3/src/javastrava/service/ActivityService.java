@@ -1,8 +1,11 @@
 package javastrava.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaActivityUpdate;
@@ -327,6 +330,42 @@ public interface ActivityService extends StravaService {
 	 */
 	public CompletableFuture<Void> deleteCommentAsync(final StravaComment comment) throws NotFoundException;
 
+	/**
+	 * <p>
+	 * Get several {@link StravaActivity activities} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getActivity(Long)
+	 *
+	 * @param activityIds
+	 *            The ids of the activities to return
+	 * @return Map of the {@link StravaActivity activities}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public Map<Long, StravaActivity> getActivities(final Collection<Long> activityIds);
+
+	/**
+	 * <p>
+	 * Get several {@link StravaActivity activities} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getActivity(Long)
+	 *
+	 * @param activityIds
+	 *            The ids of the activities to return
+	 * @return (A {@link CompletableFuture} which returns) Map of the {@link StravaActivity activities}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public CompletableFuture<Map<Long, StravaActivity>> getActivitiesAsync(final Collection<Long> activityIds);
+
 	/**
 	 * <p>
 	 * StravaActivity details, including segment efforts, splits and best efforts, are only available to the owner of the activity.
@@ -1749,6 +1788,76 @@ public interface ActivityService extends StravaService {
 	 */
 	public CompletableFuture<List<StravaActivity>> listRelatedActivitiesAsync(final Long activityId, final Paging pagingInstruction);
 
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllActivityComments(java.lang.Long)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param activityId
+	 *            The activity whose comments should be listed
+	 * @return Stream of all comments on the activity; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaComment> streamAllActivityComments(final Long activityId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllActivityKudoers(java.lang.Long)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param activityId
+	 *            The activity whose kudoers should be listed
+	 * @return Stream of all athletes who have kudoed the activity; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllActivityKudoers(final Long activityId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAuthenticatedAthleteActivities()} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @return Stream of {@link StravaActivity} summary representations sorted newest first by default; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities();
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAuthenticatedAthleteActivities(java.time.LocalDateTime, java.time.LocalDateTime)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param before
+	 *            Return only rides started BEFORE this date/time
+	 * @param after
+	 *            Return only rides started AFTER this data/time
+	 * @return Stream of {@link StravaActivity} summary representations sorted newest first by default; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllFriendsActivities()} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @return Stream of activity summary representations sorted newest first by start_date; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaActivity> streamAllFriendsActivities();
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllRelatedActivities(java.lang.Long)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param activityId
+	 *            The activity identifier
+	 * @return Stream of strava activities that Strava has determined are related to this one; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaActivity> streamAllRelatedActivities(final Long activityId);
+
 	/**
 	 * <p>
 	 * Requires write permissions, as requested during the authorization process.
@@ -2,6 +2,7 @@ package javastrava.service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaAthleteZones;
@@ -855,6 +856,56 @@ public interface AthleteService extends StravaService {
 	 */
 	public CompletableFuture<StravaStatistics> statisticsAsync(final Integer athleteId);
 
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAthleteFriends(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            The athlete whose friends are to be listed
+	 * @return Stream of athlete's friends, or <code>null</code> if the athlete does not exist; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllAthleteFriends(final Integer athleteId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAthleteKOMs(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            The athlete whose KOM'ss are to be listed
+	 * @return Stream of segment efforts for which the athlete is KOM, or <code>null</code> if the athlete does not exist; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaSegmentEffort> streamAllAthleteKOMs(final Integer athleteId);
+
+	/**
+	 * <p>
+	 * As {@link #listAllAthletesBothFollowing(java.lang.Integer)}, but lazily: pages are requested from Strava as the stream is consumed, with a few read ahead, and are released once they have been consumed
+	 * </p>
+	 *
+	 * <p>
+	 * Nothing is requested until a terminal operation is started on the stream. Close the stream if it isn't read to the end, to cancel the pages read ahead.
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            The athlete who the list is to be generated for
+	 *
+	 * @return List of the authenticated athlete's friends; empty if there are none to be had
+	 */
+	public Stream<StravaAthlete> streamAllAthletesBothFollowing(final Integer athleteId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAuthenticatedAthleteFriends()} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @return Stream of the authenticated athlete's friends; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllAuthenticatedAthleteFriends();
+
 	/**
 	 * <p>
 	 * Updates the personal details of the currently authenticated {@link StravaAthlete athlete}.
@@ -2,6 +2,7 @@ package javastrava.service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.auth.ref.AuthorisationScope;
@@ -263,4 +264,16 @@ public interface ClubGroupEventService extends StravaService {
 	 * @return Array of athletes who have joined the event
 	 */
 	public CompletableFuture<List<StravaAthlete>> listEventJoinedAthletesAsync(Integer eventId, Paging pagingInstruction);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllEventJoinedAthletes(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param eventId
+	 *            The identifier of the event for which athletes should be listed
+	 * @return Stream of array of athletes who have joined the event; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllEventJoinedAthletes(Integer eventId);
 }
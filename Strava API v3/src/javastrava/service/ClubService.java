@@ -2,6 +2,7 @@ package javastrava.service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaAthlete;
@@ -728,4 +729,39 @@ public interface ClubService extends StravaService {
 	 * @return Returns an array of {@link StravaActivity activity} summary {@link StravaResourceState representations}.
 	 */
 	public CompletableFuture<List<StravaActivity>> listRecentClubActivitiesAsync(final Integer clubId, final Paging pagingInstruction);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllClubAdmins(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param clubId The club whose administrators should be listed
+	 * @return Stream of administrators; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllClubAdmins(final Integer clubId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllClubMembers(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param clubId
+	 *            The id of the {@link StravaClub} whose member {@link StravaAthlete athletes} should be returned
+	 * @return Stream of {@link StravaAthlete athlete} summary {@link StravaResourceState representations}; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllRecentClubActivities(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param clubId
+	 *            The id of the {@link StravaClub} for which recent {@link StravaActivity activities} are to be returned.
+	 * @return Stream of {@link StravaActivity activity} summary {@link StravaResourceState representations}; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaActivity> streamAllRecentClubActivities(final Integer clubId);
 }
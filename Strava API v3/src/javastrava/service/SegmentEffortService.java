@@ -1,5 +1,7 @@
 package javastrava.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import javastrava.model.StravaAthlete;
@@ -66,4 +68,40 @@ public interface SegmentEffortService extends StravaService {
 	 * @return Returns a detailed segment effort representation
 	 */
 	public CompletableFuture<StravaSegmentEffort> getSegmentEffortAsync(final Long segmentEffortId);
+
+	/**
+	 * <p>
+	 * Get several {@link StravaSegmentEffort segment efforts} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getSegmentEffort(Long)
+	 *
+	 * @param segmentEffortIds
+	 *            The ids of the segment efforts to return
+	 * @return Map of the {@link StravaSegmentEffort segment efforts}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public Map<Long, StravaSegmentEffort> getSegmentEfforts(final Collection<Long> segmentEffortIds);
+
+	/**
+	 * <p>
+	 * Get several {@link StravaSegmentEffort segment efforts} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getSegmentEffort(Long)
+	 *
+	 * @param segmentEffortIds
+	 *            The ids of the segment efforts to return
+	 * @return (A {@link CompletableFuture} which returns) Map of the {@link StravaSegmentEffort segment efforts}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public CompletableFuture<Map<Long, StravaSegmentEffort>> getSegmentEffortsAsync(final Collection<Long> segmentEffortIds);
 }
@@ -1,8 +1,11 @@
 package javastrava.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaClub;
@@ -79,6 +82,10 @@ public interface SegmentService extends StravaService {
 	 * </p>
 	 *
 	 * <p>
+	 * The first page gives the number of entries, and the remaining pages are then got in parallel, as many at a time as the rate limit allows, and merged in rank order.
+	 * </p>
+	 *
+	 * <p>
 	 * Returns <code>null</code> if the segment does not exist.
 	 * </p>
 	 *
@@ -446,6 +453,42 @@ public interface SegmentService extends StravaService {
 			final StravaWeightClass weightClass, final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange, final Paging pagingInstruction,
 			final Integer contextEntries);
 
+	/**
+	 * <p>
+	 * Get several {@link StravaSegment segments} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getSegment(Integer)
+	 *
+	 * @param segmentIds
+	 *            The ids of the segments to return
+	 * @return Map of the {@link StravaSegment segments}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public Map<Integer, StravaSegment> getSegments(final Collection<Integer> segmentIds);
+
+	/**
+	 * <p>
+	 * Get several {@link StravaSegment segments} at once, for example to fill in the details of everything in a list
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Those already in the cache are returned straight away, and the rest are got from Strava in parallel, no more
+	 * at once than the token's paging executor allows.
+	 * </p>
+	 *
+	 * @see #getSegment(Integer)
+	 *
+	 * @param segmentIds
+	 *            The ids of the segments to return
+	 * @return (A {@link CompletableFuture} which returns) Map of the {@link StravaSegment segments}, by id, in the order of the ids; ids which don't exist are left out
+	 */
+	public CompletableFuture<Map<Integer, StravaSegment>> getSegmentsAsync(final Collection<Integer> segmentIds);
+
 	/**
 	 * <p>
 	 * Returns a {@link StravaResourceState#SUMMARY summary representation} of ALL the {@link StravaSegment segments} starred by the authenticated {@link StravaAthlete athlete}.
@@ -1222,4 +1265,58 @@ public interface SegmentService extends StravaService {
 	 * @return Detailed representation of the segment
 	 */
 	public CompletableFuture<StravaSegment> starSegmentAsync(final Integer segmentId, final Boolean starred);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllAuthenticatedAthleteStarredSegments()} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @return Stream of returns a {@link StravaResourceState#SUMMARY summary representation} of the {@link StravaSegment segments} starred by the authenticated {@link StravaAthlete}; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaSegment> streamAllAuthenticatedAthleteStarredSegments();
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllSegmentEfforts(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be returned
+	 * @return Stream of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local ascending or by elapsed_time if an
+	 *         athlete_id is provided; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be returned
+	 * @param athleteId
+	 *            (Optional) id of the {@link StravaAthlete} to filter results by
+	 * @param startDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @param endDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @return Stream of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local ascending or by elapsed_time if an
+	 *         athlete_id is provided; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate);
+
+	/**
+	 * <p>
+	 * Lazily streams ALL the items {@link #listAllStarredSegments(java.lang.Integer)} returns, getting pages from Strava only as the stream is consumed
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            Identifier of the {@link StravaAthlete} for which starred {@link StravaSegment segments} are to be returned
+	 * @return Stream of returns a {@link StravaResourceState#SUMMARY summary representation} of the {@link StravaSegment segments} starred by the identified {@link StravaAthlete}; close it if it isn't read to the end
+	 * @see javastrava.util.PagingIterator
+	 */
+	public Stream<StravaSegment> streamAllStarredSegments(final Integer athleteId);
 }
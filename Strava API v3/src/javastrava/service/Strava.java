@@ -2,9 +2,14 @@ package javastrava.service;
 
 import java.io.File;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import javastrava.auth.TokenService;
 import javastrava.auth.model.Token;
@@ -54,6 +59,7 @@ import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.service.impl.StravaServiceImpl;
 import javastrava.util.Paging;
+import javastrava.util.StravaExecutors;
 
 /**
  * <p>
@@ -424,6 +430,22 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.webhookService.deleteSubscriptionAsync(clientId, clientSecret, id);
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#getActivities(java.util.Collection)
+	 */
+	@Override
+	public Map<Long, StravaActivity> getActivities(final Collection<Long> activityIds) {
+		return this.activityService.getActivities(activityIds);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#getActivitiesAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Long, StravaActivity>> getActivitiesAsync(final Collection<Long> activityIds) {
+		return this.activityService.getActivitiesAsync(activityIds);
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#getActivity(java.lang.Long)
 	 */
@@ -771,6 +793,17 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.clubGroupEventService.getEventAsync(id);
 	}
 
+	/**
+	 * @return The executor that runs the asynchronous methods
+	 * @see StravaServiceImpl#getExecutor()
+	 */
+	public Executor getExecutor() {
+		if (this.activityService instanceof StravaServiceImpl) {
+			return ((StravaServiceImpl) this.activityService).getExecutor();
+		}
+		return StravaExecutors.getDefault();
+	}
+
 	/**
 	 * @param gearId
 	 *            Gear identifier
@@ -895,6 +928,22 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.segmentEffortService.getSegmentEffortAsync(segmentEffortId);
 	}
 
+	/**
+	 * @see javastrava.service.SegmentEffortService#getSegmentEfforts(java.util.Collection)
+	 */
+	@Override
+	public Map<Long, StravaSegmentEffort> getSegmentEfforts(final Collection<Long> segmentEffortIds) {
+		return this.segmentEffortService.getSegmentEfforts(segmentEffortIds);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentEffortService#getSegmentEffortsAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Long, StravaSegmentEffort>> getSegmentEffortsAsync(final Collection<Long> segmentEffortIds) {
+		return this.segmentEffortService.getSegmentEffortsAsync(segmentEffortIds);
+	}
+
 	/**
 	 * @param segmentId
 	 *            Segment identifier
@@ -1002,6 +1051,22 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.segmentService.getSegmentLeaderboardAsync(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, pagingInstruction, contextEntries);
 	}
 
+	/**
+	 * @see javastrava.service.SegmentService#getSegments(java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, StravaSegment> getSegments(final Collection<Integer> segmentIds) {
+		return this.segmentService.getSegments(segmentIds);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#getSegmentsAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Integer, StravaSegment>> getSegmentsAsync(final Collection<Integer> segmentIds) {
+		return this.segmentService.getSegmentsAsync(segmentIds);
+	}
+
 	/**
 	 * @param segmentId
 	 *            Segment identifier
@@ -2980,6 +3045,59 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.segmentService.segmentExploreAsync(southwestCorner, northeastCorner, activityType, minCat, maxCat);
 	}
 
+	/**
+	 * @return The component services which are {@link StravaServiceImpl}s
+	 */
+	private List<StravaServiceImpl> services() {
+		final List<StravaServiceImpl> services = new ArrayList<StravaServiceImpl>();
+		for (final Object service : Arrays.asList(this.activityService, this.athleteService, this.challengeService, this.clubService, this.clubGroupEventService, this.gearService,
+				this.routeService, this.runningRaceService, this.segmentEffortService, this.segmentService, this.streamService, this.uploadService, this.webhookService)) {
+			if (service instanceof StravaServiceImpl) {
+				services.add((StravaServiceImpl) service);
+			}
+		}
+		return services;
+	}
+
+	/**
+	 * <p>
+	 * Set the executor that runs the asynchronous methods of all the services
+	 * </p>
+	 *
+	 * <p>
+	 * For example, {@link StravaExecutors#newVirtualThreadPerTaskExecutor()} runs each asynchronous method on a virtual thread of its own, so that thousands of them can be in
+	 * progress at once without tying up a platform thread each.
+	 * </p>
+	 *
+	 * <p>
+	 * This doesn't apply to the methods that make a single asynchronous API call, such as {@link #getActivityAsync(Long)}, {@link #getSegmentAsync(Integer)} or the streams methods:
+	 * the API call, and the processing of its result, run on {@link StravaExecutors#getDefault()} whichever executor the services have. That is a virtual thread per call by
+	 * default (where the Java runtime has them); use {@link StravaExecutors#setDefault(Executor)} to change it.
+	 * </p>
+	 *
+	 * @param executor
+	 *            The executor, or <code>null</code> to go back to {@link StravaExecutors#getDefault()}
+	 * @see StravaServiceImpl#setExecutor(Executor)
+	 */
+	public void setExecutor(final Executor executor) {
+		for (final StravaServiceImpl service : services()) {
+			service.setExecutor(executor);
+		}
+	}
+
+	/**
+	 * Set the executor that gets pages of data in parallel for all the services
+	 *
+	 * @param pagingExecutor
+	 *            The executor, or <code>null</code> to go back to the {@link javastrava.util.PagingExecutor} for the token
+	 * @see StravaServiceImpl#setPagingExecutor(Executor)
+	 */
+	public void setPagingExecutor(final Executor pagingExecutor) {
+		for (final StravaServiceImpl service : services()) {
+			service.setPagingExecutor(pagingExecutor);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Star or unstar a segment
@@ -3034,6 +3152,150 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.athleteService.statisticsAsync(athleteId);
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#streamAllActivityComments(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaComment> streamAllActivityComments(final Long activityId) {
+		return this.activityService.streamAllActivityComments(activityId);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllActivityKudoers(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllActivityKudoers(final Long activityId) {
+		return this.activityService.streamAllActivityKudoers(activityId);
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthleteFriends(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAthleteFriends(final Integer athleteId) {
+		return this.athleteService.streamAllAthleteFriends(athleteId);
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthleteKOMs(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllAthleteKOMs(final Integer athleteId) {
+		return this.athleteService.streamAllAthleteKOMs(athleteId);
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthletesBothFollowing(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAthletesBothFollowing(final Integer athleteId) {
+		return this.athleteService.streamAllAthletesBothFollowing(athleteId);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities() {
+		return this.activityService.streamAllAuthenticatedAthleteActivities();
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities(java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return this.activityService.streamAllAuthenticatedAthleteActivities(before, after);
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAuthenticatedAthleteFriends()
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAuthenticatedAthleteFriends() {
+		return this.athleteService.streamAllAuthenticatedAthleteFriends();
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllAuthenticatedAthleteStarredSegments()
+	 */
+	@Override
+	public Stream<StravaSegment> streamAllAuthenticatedAthleteStarredSegments() {
+		return this.segmentService.streamAllAuthenticatedAthleteStarredSegments();
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllClubAdmins(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubAdmins(final Integer clubId) {
+		return this.clubService.streamAllClubAdmins(clubId);
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId) {
+		return this.clubService.streamAllClubMembers(clubId);
+	}
+
+	/**
+	 * @see javastrava.service.ClubGroupEventService#streamAllEventJoinedAthletes(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllEventJoinedAthletes(final Integer eventId) {
+		return this.clubGroupEventService.streamAllEventJoinedAthletes(eventId);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllFriendsActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllFriendsActivities() {
+		return this.activityService.streamAllFriendsActivities();
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllRecentClubActivities(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllRecentClubActivities(final Integer clubId) {
+		return this.clubService.streamAllRecentClubActivities(clubId);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllRelatedActivities(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllRelatedActivities(final Long activityId) {
+		return this.activityService.streamAllRelatedActivities(activityId);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId) {
+		return this.segmentService.streamAllSegmentEfforts(segmentId);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		return this.segmentService.streamAllSegmentEfforts(segmentId, athleteId, startDate, endDate);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllStarredSegments(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegment> streamAllStarredSegments(final Integer athleteId) {
+		return this.segmentService.streamAllStarredSegments(athleteId);
+	}
+
 	/**
 	 * @param activityId
 	 *            Activity identifier
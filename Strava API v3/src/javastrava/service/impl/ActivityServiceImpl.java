@@ -3,12 +3,16 @@ package javastrava.service.impl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.StravaCacheIndexes;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.config.JavastravaApplicationConfig;
 import javastrava.config.Messages;
 import javastrava.model.StravaActivity;
@@ -18,6 +22,7 @@ import javastrava.model.StravaAthlete;
 import javastrava.model.StravaComment;
 import javastrava.model.StravaLap;
 import javastrava.model.StravaPhoto;
+import javastrava.model.StravaSegmentEffort;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.service.ActivityService;
 import javastrava.service.exception.BadRequestException;
@@ -27,6 +32,7 @@ import javastrava.service.exception.UnauthorizedException;
 import javastrava.util.Paging;
 import javastrava.util.PagingHandler;
 import javastrava.util.PrivacyUtils;
+import javastrava.util.SingleFlight;
 import javastrava.util.StravaDateUtils;
 
 /**
@@ -83,6 +89,16 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	private final StravaCache<StravaPhoto, Integer> photoCache;
 
+	/**
+	 * Cache of segment efforts (shared with the other services), so that the efforts of an activity can be removed along with it
+	 */
+	private final StravaCache<StravaSegmentEffort, Long> effortCache;
+
+	/**
+	 * Activity requests in flight, by activity id and whether all efforts were asked for
+	 */
+	private final SingleFlight<List<Object>, StravaActivity> activityRequests;
+
 	/**
 	 * <p>
 	 * Private constructor requires a valid access token
@@ -93,10 +109,16 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	private ActivityServiceImpl(final Token token) {
 		super(token);
-		this.activityCache = new StravaCacheImpl<>(StravaActivity.class, token);
-		this.commentCache = new StravaCacheImpl<>(StravaComment.class, token);
-		this.lapCache = new StravaCacheImpl<>(StravaLap.class, token);
-		this.photoCache = new StravaCacheImpl<>(StravaPhoto.class, token);
+		this.activityCache = StravaCacheFactory.create(StravaActivity.class, token);
+		this.commentCache = StravaCacheFactory.create(StravaComment.class, token);
+		this.lapCache = StravaCacheFactory.create(StravaLap.class, token);
+		this.photoCache = StravaCacheFactory.create(StravaPhoto.class, token);
+		this.effortCache = StravaCacheFactory.create(StravaSegmentEffort.class, token);
+		this.activityRequests = new SingleFlight<List<Object>, StravaActivity>();
+		this.commentCache.addIndex(StravaCacheIndexes.COMMENT_ACTIVITY);
+		this.lapCache.addIndex(StravaCacheIndexes.LAP_ACTIVITY);
+		this.photoCache.addIndex(StravaCacheIndexes.PHOTO_ACTIVITY);
+		this.effortCache.addIndex(StravaCacheIndexes.EFFORT_ACTIVITY);
 	}
 
 	/**
@@ -162,7 +184,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaComment> createCommentAsync(final Long activityId, final String text) throws NotFoundException, BadRequestException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return createComment(activityId, text);
 		});
 
@@ -203,7 +225,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> createManualActivityAsync(final StravaActivity activity) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return createManualActivity(activity);
 		});
 	}
@@ -243,8 +265,8 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 			return null;
 		}
 
-		// If the delete worked, also remove it from the cache
-		this.activityCache.remove(id);
+		// If the delete worked, also remove it (and everything that belongs to it) from the cache
+		removeFromCache(id);
 
 		// And finally, return it
 		return activity;
@@ -260,7 +282,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> deleteActivityAsync(final Long activityId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return deleteActivity(activityId);
 		});
 	}
@@ -316,7 +338,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> deleteCommentAsync(final Long activityId, final Integer commentId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteComment(activityId, commentId);
 			return null;
 		});
@@ -327,7 +349,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> deleteCommentAsync(final StravaComment comment) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteComment(comment);
 			return null;
 		});
@@ -344,7 +366,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	private StravaActivity doUpdateActivity(final Long id, final StravaActivityUpdate update) {
 		try {
-			this.activityCache.remove(id);
+			removeFromCache(id);
 			final StravaActivity response = this.api.updateActivity(id, update);
 			return response;
 		} catch (final NotFoundException e) {
@@ -352,6 +374,38 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 		}
 	}
 
+	/**
+	 * Remove an activity from the cache, along with the comments, laps, photos and segment efforts that belong to it
+	 *
+	 * @param id
+	 *            Activity identifier
+	 */
+	private void removeFromCache(final Long id) {
+		this.activityCache.remove(id);
+		this.commentCache.removeByIndex(StravaCacheIndexes.COMMENT_ACTIVITY, id);
+		this.lapCache.removeByIndex(StravaCacheIndexes.LAP_ACTIVITY, id);
+		this.photoCache.removeByIndex(StravaCacheIndexes.PHOTO_ACTIVITY, id);
+		this.effortCache.removeByIndex(StravaCacheIndexes.EFFORT_ACTIVITY, id);
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#getActivities(java.util.Collection)
+	 */
+	@Override
+	public Map<Long, StravaActivity> getActivities(final Collection<Long> activityIds) {
+		return getAll(activityIds, activityId -> this.activityCache.get(activityId), activityId -> getActivity(activityId));
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#getActivitiesAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Long, StravaActivity>> getActivitiesAsync(final Collection<Long> activityIds) {
+		return future(() -> {
+			return getActivities(activityIds);
+		});
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#getActivity(java.lang.Long)
 	 */
@@ -375,24 +429,26 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 			return cachedActivity;
 		}
 
-		// If it wasn't in cache, then get it from the API
-		final StravaActivity stravaResponse;
-		try {
-			stravaResponse = this.api.getActivity(activityId, includeAllEfforts);
-		} catch (final NotFoundException e) {
-			// Activity doesn't exist - return null
-			return null;
-		} catch (final UnauthorizedException e) {
-			return PrivacyUtils.privateActivity(activityId);
-		}
+		// If it wasn't in cache, then get it from the API, or wait for anyone else already getting it
+		return this.activityRequests.call(Arrays.<Object> asList(activityId, includeAllEfforts), () -> {
+			final StravaActivity stravaResponse;
+			try {
+				stravaResponse = this.api.getActivity(activityId, includeAllEfforts);
+			} catch (final NotFoundException e) {
+				// Activity doesn't exist - return null
+				return null;
+			} catch (final UnauthorizedException e) {
+				return PrivacyUtils.privateActivity(activityId);
+			}
 
-		// Put the activity in cache unless it's UPDATING
-		if (stravaResponse.getResourceState() != StravaResourceState.UPDATING) {
-			this.activityCache.put(stravaResponse);
-		}
+			// Put the activity in cache unless it's UPDATING
+			if (stravaResponse.getResourceState() != StravaResourceState.UPDATING) {
+				this.activityCache.put(stravaResponse);
+			}
 
-		// And return it
-		return stravaResponse;
+			// And return it
+			return stravaResponse;
+		});
 	}
 
 	/**
@@ -400,9 +456,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> getActivityAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return getActivity(activityId);
-		});
+		return getActivityAsync(activityId, Boolean.FALSE);
 	}
 
 	/**
@@ -410,9 +464,35 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> getActivityAsync(final Long activityId, final Boolean includeAllEfforts) {
-		return StravaServiceImpl.future(() -> {
-			return getActivity(activityId, includeAllEfforts);
-		});
+		if (activityId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the activity from cache
+		final StravaActivity cachedActivity = this.activityCache.get(activityId);
+		if (cachedActivity != null) {
+			return CompletableFuture.completedFuture(cachedActivity);
+		}
+
+		// If it wasn't in cache, then get it from the API (or share the request if someone else is already getting it); the call runs on a thread of the
+		// default executor, which processes the result when it arrives
+		return this.activityRequests.callAsync(Arrays.<Object> asList(activityId, includeAllEfforts),
+				() -> StravaServiceImpl.future(this.api.getActivityAsync(activityId, includeAllEfforts), activity -> {
+					// Put the activity in cache unless it's UPDATING
+					if (activity.getResourceState() != StravaResourceState.UPDATING) {
+						this.activityCache.put(activity);
+					}
+					return activity;
+				}, e -> {
+					if (e instanceof NotFoundException) {
+						// Activity doesn't exist - return null
+						return null;
+					}
+					if (e instanceof UnauthorizedException) {
+						return PrivacyUtils.privateActivity(activityId);
+					}
+					throw e;
+				}));
 	}
 
 	/**
@@ -450,7 +530,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> giveKudosAsync(final Long activityId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			giveKudos(activityId);
 			return null;
 		});
@@ -492,7 +572,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 
 		// Get the comments from Strava
 		final List<StravaComment> comments = PagingHandler.handlePaging(pagingInstruction,
-				thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listActivityComments(id, markdown, thisPage.getPage(), thisPage.getPageSize())));
+				thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listActivityComments(id, markdown, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		// And put them in the cache
 		this.commentCache.putAll(comments);
@@ -514,7 +594,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityComments(activityId);
 		});
 	}
@@ -524,7 +604,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Boolean markdown) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityComments(activityId, markdown);
 		});
 	}
@@ -534,7 +614,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Boolean markdown, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityComments(activityId, markdown, pagingInstruction);
 		});
 	}
@@ -544,7 +624,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityComments(activityId, pagingInstruction);
 		});
 	}
@@ -573,7 +653,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 			return new ArrayList<StravaAthlete>();
 		}
 
-		return PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listActivityKudoers(id, thisPage.getPage(), thisPage.getPageSize())));
+		return PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listActivityKudoers(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 	}
 
@@ -582,7 +662,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listActivityKudoersAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityKudoers(activityId);
 		});
 	}
@@ -592,7 +672,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listActivityKudoersAsync(final Long activityId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityKudoers(activityId, pagingInstruction);
 		});
 	}
@@ -614,13 +694,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 		}
 
 		// Try to get the laps from cache
-		final List<StravaLap> cachedLaps = this.lapCache.list();
-		List<StravaLap> laps = new ArrayList<StravaLap>();
-		for (final StravaLap lap : cachedLaps) {
-			if (lap.getActivity().getId().equals(id)) {
-				laps.add(lap);
-			}
-		}
+		List<StravaLap> laps = this.lapCache.listByIndex(StravaCacheIndexes.LAP_ACTIVITY, id);
 		if (!laps.isEmpty()) {
 			return laps;
 		}
@@ -645,7 +719,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaLap>> listActivityLapsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityLaps(activityId);
 		});
 	}
@@ -666,16 +740,8 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 			return new ArrayList<StravaPhoto>();
 		}
 
-		// Try to get the photos from cache
-		final List<StravaPhoto> cachedPhotos = this.photoCache.list();
-		List<StravaPhoto> photos = new ArrayList<StravaPhoto>();
-		for (final StravaPhoto photo : cachedPhotos) {
-			if (photo.getActivityId().equals(id)) {
-				photos.add(photo);
-			}
-		}
-
-		// Attempt to get the photos from Strava
+		// Photos are always fetched from Strava, as more may have been added since they were cached
+		List<StravaPhoto> photos;
 		try {
 			final StravaPhoto[] photoArray = this.api.listActivityPhotos(id);
 
@@ -697,7 +763,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaPhoto>> listActivityPhotosAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityPhotos(activityId);
 		});
 	}
@@ -730,7 +796,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivityZone>> listActivityZonesAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listActivityZones(activityId);
 		});
 	}
@@ -740,7 +806,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaComment> listAllActivityComments(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listActivityComments(activityId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listActivityComments(activityId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -748,7 +814,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listAllActivityCommentsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllActivityComments(activityId);
 		});
 	}
@@ -758,7 +824,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaAthlete> listAllActivityKudoers(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listActivityKudoers(activityId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listActivityKudoers(activityId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -766,7 +832,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllActivityKudoersAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllActivityKudoers(activityId);
 		});
 	}
@@ -776,7 +842,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllAuthenticatedAthleteActivities() {
-		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(thisPage));
+		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(thisPage), getPagingExecutor());
 
 	}
 
@@ -785,7 +851,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
-		final List<StravaActivity> activities = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage));
+		final List<StravaActivity> activities = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage), getPagingExecutor());
 
 		return activities;
 	}
@@ -795,7 +861,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllAuthenticatedAthleteActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteActivities();
 		});
 	}
@@ -805,7 +871,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteActivities(before, after);
 		});
 	}
@@ -815,7 +881,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllFriendsActivities() {
-		return PagingHandler.handleListAll(thisPage -> listFriendsActivities(thisPage));
+		return PagingHandler.handleListAll(thisPage -> listFriendsActivities(thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -823,7 +889,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllFriendsActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllFriendsActivities();
 		});
 	}
@@ -833,7 +899,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllRelatedActivities(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listRelatedActivities(activityId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listRelatedActivities(activityId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -841,7 +907,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllRelatedActivitiesAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllRelatedActivities(activityId);
 		});
 	}
@@ -872,7 +938,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 
 		// Get the activities from Strava
 		List<StravaActivity> activities = PagingHandler.handlePaging(pagingInstruction,
-				thisPage -> Arrays.asList(this.api.listAuthenticatedAthleteActivities(secondsBefore, secondsAfter, thisPage.getPage(), thisPage.getPageSize())));
+				thisPage -> Arrays.asList(this.api.listAuthenticatedAthleteActivities(secondsBefore, secondsAfter, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		// Handle Strava's slight weirdnesses with privacy
 		activities = PrivacyUtils.handlePrivateActivities(activities, this.getToken());
@@ -897,7 +963,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities();
 		});
 	}
@@ -907,7 +973,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(before, after);
 		});
 	}
@@ -917,7 +983,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(before, after, pagingInstruction);
 		});
 	}
@@ -927,7 +993,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(pagingInstruction);
 		});
 	}
@@ -946,7 +1012,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	@Override
 	public List<StravaActivity> listFriendsActivities(final Paging pagingInstruction) {
 		// Attempt to get the activities from Strava
-		List<StravaActivity> activities = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(this.api.listFriendsActivities(thisPage.getPage(), thisPage.getPageSize())));
+		List<StravaActivity> activities = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(this.api.listFriendsActivities(thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		// Handle any privacy errors
 		activities = PrivacyUtils.handlePrivateActivities(activities, this.getToken());
@@ -963,7 +1029,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listFriendsActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listFriendsActivities();
 		});
 	}
@@ -973,7 +1039,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listFriendsActivitiesAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listFriendsActivities(pagingInstruction);
 		});
 	}
@@ -993,7 +1059,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	public List<StravaActivity> listRelatedActivities(final Long id, final Paging pagingInstruction) {
 		// Attempt to get the activities from Strava
 		List<StravaActivity> activities = PagingHandler.handlePaging(pagingInstruction,
-				thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listRelatedActivities(id, thisPage.getPage(), thisPage.getPageSize())));
+				thisPage -> Arrays.asList(ActivityServiceImpl.this.api.listRelatedActivities(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		// Handle any privacy errors
 		activities = PrivacyUtils.handlePrivateActivities(activities, this.getToken());
@@ -1010,7 +1076,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRelatedActivitiesAsync(final Long id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRelatedActivities(id);
 		});
 	}
@@ -1020,11 +1086,59 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRelatedActivitiesAsync(final Long id, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRelatedActivities(id, pagingInstruction);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#streamAllActivityComments(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaComment> streamAllActivityComments(final Long activityId) {
+		return PagingHandler.streamAll(thisPage -> listActivityComments(activityId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllActivityKudoers(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllActivityKudoers(final Long activityId) {
+		return PagingHandler.streamAll(thisPage -> listActivityKudoers(activityId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities() {
+		return PagingHandler.streamAll(thisPage -> listAuthenticatedAthleteActivities(thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities(java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return PagingHandler.streamAll(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllFriendsActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllFriendsActivities() {
+		return PagingHandler.streamAll(thisPage -> listFriendsActivities(thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllRelatedActivities(java.lang.Long)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllRelatedActivities(final Long activityId) {
+		return PagingHandler.streamAll(thisPage -> listRelatedActivities(activityId, thisPage), getPagingExecutor());
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#updateActivity(Long,javastrava.model.StravaActivityUpdate)
 	 */
@@ -1081,7 +1195,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> updateActivityAsync(final Long activityId, final StravaActivityUpdate activity) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return updateActivity(activityId, activity);
 		});
 	}
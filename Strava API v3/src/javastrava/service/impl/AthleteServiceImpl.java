@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.StravaCacheIndexes;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaAthleteZones;
 import javastrava.model.StravaSegmentEffort;
@@ -19,6 +21,7 @@ import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.util.Paging;
 import javastrava.util.PagingHandler;
+import javastrava.util.SingleFlight;
 
 /**
  * <p>
@@ -64,6 +67,11 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	private final StravaCache<StravaSegmentEffort, Long> effortCache;
 
+	/**
+	 * Athlete requests in flight, by athlete id
+	 */
+	private final SingleFlight<Integer, StravaAthlete> athleteRequests;
+
 	/**
 	 * <p>
 	 * Private constructor requires a valid token to instantiate, see {@link AthleteServiceImpl#instance}
@@ -74,8 +82,10 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	private AthleteServiceImpl(final Token token) {
 		super(token);
-		this.athleteCache = new StravaCacheImpl<>(StravaAthlete.class, token);
-		this.effortCache = new StravaCacheImpl<>(StravaSegmentEffort.class, token);
+		this.athleteCache = StravaCacheFactory.create(StravaAthlete.class, token);
+		this.effortCache = StravaCacheFactory.create(StravaSegmentEffort.class, token);
+		this.athleteRequests = new SingleFlight<Integer, StravaAthlete>();
+		this.effortCache.addIndex(StravaCacheIndexes.EFFORT_ACTIVITY);
 	}
 
 	/**
@@ -100,23 +110,26 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 			return athlete;
 		}
 
-		// Attempt to get the athlete from the API if it's not in cache
-		try {
-			athlete = this.api.getAthlete(id);
-		} catch (final NotFoundException e) {
-			return null;
-		} catch (final UnauthorizedException e) {
-			if (accessTokenIsValid()) {
-				athlete = new StravaAthlete();
-				athlete.setId(id);
-				return athlete;
+		// Attempt to get the athlete from the API if it's not in cache, or wait for anyone else already getting it
+		return this.athleteRequests.call(id, () -> {
+			final StravaAthlete stravaAthlete;
+			try {
+				stravaAthlete = this.api.getAthlete(id);
+			} catch (final NotFoundException e) {
+				return null;
+			} catch (final UnauthorizedException e) {
+				if (accessTokenIsValid()) {
+					final StravaAthlete privateAthlete = new StravaAthlete();
+					privateAthlete.setId(id);
+					return privateAthlete;
+				}
+				throw e;
 			}
-			throw e;
-		}
 
-		// Put the athlete in the cache
-		this.athleteCache.put(athlete);
-		return athlete;
+			// Put the athlete in the cache
+			this.athleteCache.put(stravaAthlete);
+			return stravaAthlete;
+		});
 	}
 
 	/**
@@ -124,7 +137,39 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> getAthleteAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> getAthlete(athleteId));
+		// If the id is null, return null
+		if (athleteId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the athlete from the cache
+		final StravaAthlete cachedAthlete = this.athleteCache.get(athleteId);
+		if ((cachedAthlete != null) && (cachedAthlete.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedAthlete);
+		}
+
+		// Attempt to get the athlete from the API (or share the request if someone else is already getting it); the call runs on a thread of the
+		// default executor, which processes the result when it arrives
+		return this.athleteRequests.callAsync(athleteId, () -> StravaServiceImpl.future(this.api.getAthleteAsync(athleteId), athlete -> {
+			// Put the athlete in the cache
+			this.athleteCache.put(athlete);
+			return CompletableFuture.completedFuture(athlete);
+		}, e -> {
+			if (e instanceof NotFoundException) {
+				return CompletableFuture.<StravaAthlete> completedFuture(null);
+			}
+			if (e instanceof UnauthorizedException) {
+				// If the token is valid, the athlete just can't be seen; otherwise it's the token that's the problem
+				return StravaServiceImpl.future(this.api.getAuthenticatedAthleteAsync(), authenticatedAthlete -> {
+					final StravaAthlete athlete = new StravaAthlete();
+					athlete.setId(athleteId);
+					return athlete;
+				}, tokenException -> {
+					throw (tokenException instanceof UnauthorizedException ? e : tokenException);
+				});
+			}
+			throw e;
+		}).thenCompose(future -> future));
 	}
 
 	/**
@@ -151,7 +196,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> getAuthenticatedAthleteAsync() {
-		return StravaServiceImpl.future(() -> getAuthenticatedAthlete());
+		return future(() -> getAuthenticatedAthlete());
 	}
 
 	/**
@@ -171,7 +216,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthleteZones> getAuthenticatedAthleteZonesAsync() {
-		return StravaServiceImpl.future(() -> getAuthenticatedAthleteZones());
+		return future(() -> getAuthenticatedAthleteZones());
 	}
 
 	/**
@@ -180,7 +225,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	@Override
 	public List<StravaAthlete> listAllAthleteFriends(final Integer athleteId) {
 		// Always get from Strava, not from cache, as there's no way to be sure the cache is up to date
-		final List<StravaAthlete> athletes = PagingHandler.handleListAll(thisPage -> listAthleteFriends(athleteId, thisPage));
+		final List<StravaAthlete> athletes = PagingHandler.handleListAll(thisPage -> listAthleteFriends(athleteId, thisPage), getPagingExecutor());
 
 		// Return them
 		return athletes;
@@ -191,7 +236,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAthleteFriendsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthleteFriends(athleteId));
+		return future(() -> listAllAthleteFriends(athleteId));
 	}
 
 	/**
@@ -199,7 +244,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaSegmentEffort> listAllAthleteKOMs(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listAthleteKOMs(athleteId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listAthleteKOMs(athleteId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -207,7 +252,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllAthleteKOMsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthleteKOMs(athleteId));
+		return future(() -> listAllAthleteKOMs(athleteId));
 	}
 
 	/**
@@ -215,7 +260,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaAthlete> listAllAthletesBothFollowing(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listAthletesBothFollowing(athleteId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listAthletesBothFollowing(athleteId, thisPage), getPagingExecutor());
 
 	}
 
@@ -224,7 +269,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAthletesBothFollowingAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthletesBothFollowing(athleteId));
+		return future(() -> listAllAthletesBothFollowing(athleteId));
 	}
 
 	/**
@@ -232,7 +277,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaAthlete> listAllAuthenticatedAthleteFriends() {
-		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteFriends(thisPage));
+		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteFriends(thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -240,7 +285,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAuthenticatedAthleteFriendsAsync() {
-		return StravaServiceImpl.future(() -> listAllAuthenticatedAthleteFriends());
+		return future(() -> listAllAuthenticatedAthleteFriends());
 	}
 
 	/**
@@ -258,7 +303,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	public List<StravaAthlete> listAthleteFriends(final Integer id, final Paging pagingInstruction) {
 		final List<StravaAthlete> athletes;
 		try {
-			athletes = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthleteFriends(id, thisPage.getPage(), thisPage.getPageSize())));
+			athletes = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthleteFriends(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -277,7 +322,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthleteFriendsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthleteFriends(athleteId));
+		return future(() -> listAthleteFriends(athleteId));
 	}
 
 	/**
@@ -285,7 +330,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthleteFriendsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthleteFriends(athleteId, pagingInstruction));
+		return future(() -> listAthleteFriends(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -303,7 +348,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	public List<StravaSegmentEffort> listAthleteKOMs(final Integer id, final Paging pagingInstruction) {
 		final List<StravaSegmentEffort> efforts;
 		try {
-			efforts = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthleteKOMs(id, thisPage.getPage(), thisPage.getPageSize())));
+			efforts = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthleteKOMs(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -320,7 +365,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAthleteKOMsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthleteKOMs(athleteId));
+		return future(() -> listAthleteKOMs(athleteId));
 	}
 
 	/**
@@ -328,7 +373,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAthleteKOMsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthleteKOMs(athleteId, pagingInstruction));
+		return future(() -> listAthleteKOMs(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -346,7 +391,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	public List<StravaAthlete> listAthletesBothFollowing(final Integer id, final Paging pagingInstruction) {
 		final List<StravaAthlete> athletes;
 		try {
-			athletes = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthletesBothFollowing(id, thisPage.getPage(), thisPage.getPageSize())));
+			athletes = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAthletesBothFollowing(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -363,7 +408,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthletesBothFollowingAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthletesBothFollowing(athleteId));
+		return future(() -> listAthletesBothFollowing(athleteId));
 	}
 
 	/**
@@ -371,7 +416,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthletesBothFollowingAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthletesBothFollowing(athleteId, pagingInstruction));
+		return future(() -> listAthletesBothFollowing(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -388,7 +433,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	@Override
 	public List<StravaAthlete> listAuthenticatedAthleteFriends(final Paging pagingInstruction) {
 		final List<StravaAthlete> athletes = PagingHandler.handlePaging(pagingInstruction,
-				thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAuthenticatedAthleteFriends(thisPage.getPage(), thisPage.getPageSize())));
+				thisPage -> Arrays.asList(AthleteServiceImpl.this.api.listAuthenticatedAthleteFriends(thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		this.athleteCache.putAll(athletes);
 
@@ -400,7 +445,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAuthenticatedAthleteFriendsAsync() {
-		return StravaServiceImpl.future(() -> listAuthenticatedAthleteFriends());
+		return future(() -> listAuthenticatedAthleteFriends());
 	}
 
 	/**
@@ -408,7 +453,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAuthenticatedAthleteFriendsAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAuthenticatedAthleteFriends(pagingInstruction));
+		return future(() -> listAuthenticatedAthleteFriends(pagingInstruction));
 	}
 
 	/**
@@ -440,7 +485,39 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaStatistics> statisticsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> statistics(athleteId));
+		return future(() -> statistics(athleteId));
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthleteFriends(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAthleteFriends(final Integer athleteId) {
+		return PagingHandler.streamAll(thisPage -> listAthleteFriends(athleteId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthleteKOMs(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllAthleteKOMs(final Integer athleteId) {
+		return PagingHandler.streamAll(thisPage -> listAthleteKOMs(athleteId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAthletesBothFollowing(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAthletesBothFollowing(final Integer athleteId) {
+		return PagingHandler.streamAll(thisPage -> listAthletesBothFollowing(athleteId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.AthleteService#streamAllAuthenticatedAthleteFriends()
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllAuthenticatedAthleteFriends() {
+		return PagingHandler.streamAll(thisPage -> listAuthenticatedAthleteFriends(thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -461,7 +538,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> updateAuthenticatedAthleteAsync(final String city, final String state, final String country, final StravaGender sex, final Float weight) {
-		return StravaServiceImpl.future(() -> updateAuthenticatedAthlete(city, state, country, sex, weight));
+		return future(() -> updateAuthenticatedAthlete(city, state, country, sex, weight));
 	}
 
 }
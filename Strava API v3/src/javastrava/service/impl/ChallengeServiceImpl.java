@@ -6,7 +6,7 @@ import java.util.concurrent.CompletableFuture;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaChallenge;
 import javastrava.service.ChallengeService;
 import javastrava.service.exception.NotFoundException;
@@ -60,7 +60,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 	 */
 	private ChallengeServiceImpl(Token token) {
 		super(token);
-		this.cache = new StravaCacheImpl<StravaChallenge, Integer>(StravaChallenge.class, token);
+		this.cache = StravaCacheFactory.create(StravaChallenge.class, token);
 	}
 
 	@Override
@@ -95,7 +95,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<StravaChallenge> getChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getChallenge(id);
 		});
 	}
@@ -107,7 +107,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<Void> joinChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			joinChallenge(id);
 			return null;
 		});
@@ -120,7 +120,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<Void> leaveChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			leaveChallenge(id);
 			return null;
 		});
@@ -133,7 +133,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<List<StravaChallenge>> listJoinedChallengesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listJoinedChallenges();
 		});
 	}
@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaClubEvent;
 import javastrava.model.StravaClubEventJoinResponse;
@@ -53,7 +54,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	private ClubGroupEventServiceImpl(Token token) {
 		super(token);
-		this.clubEventCache = new StravaCacheImpl<StravaClubEvent, Integer>(StravaClubEvent.class, token);
+		this.clubEventCache = StravaCacheFactory.create(StravaClubEvent.class, token);
 	}
 
 	@Override
@@ -73,7 +74,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<Void> deleteEventAsync(Integer id) throws NotFoundException, UnauthorizedException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteEvent(id);
 			return null;
 		});
@@ -119,7 +120,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEvent> getEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getEvent(id);
 		});
 	}
@@ -141,7 +142,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEventJoinResponse> joinEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return joinEvent(id);
 		});
 	}
@@ -163,19 +164,19 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEventJoinResponse> leaveEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return leaveEvent(id);
 		});
 	}
 
 	@Override
 	public List<StravaAthlete> listAllEventJoinedAthletes(Integer eventId) {
-		return PagingHandler.handleListAll(thisPage -> listEventJoinedAthletes(eventId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listEventJoinedAthletes(eventId, thisPage), getPagingExecutor());
 	}
 
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllEventJoinedAthletesAsync(Integer eventId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllEventJoinedAthletes(eventId);
 		});
 	}
@@ -197,9 +198,17 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listEventJoinedAthletesAsync(Integer eventId, Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listEventJoinedAthletes(eventId, pagingInstruction);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.ClubGroupEventService#streamAllEventJoinedAthletes(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllEventJoinedAthletes(final Integer eventId) {
+		return PagingHandler.streamAll(thisPage -> listEventJoinedAthletes(eventId, thisPage), getPagingExecutor());
+	}
+
 }
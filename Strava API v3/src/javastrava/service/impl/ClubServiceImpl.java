@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaClub;
@@ -83,7 +84,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	private ClubServiceImpl(final Token token) {
 		super(token);
-		this.clubCache = new StravaCacheImpl<StravaClub, Integer>(StravaClub.class, token);
+		this.clubCache = StravaCacheFactory.create(StravaClub.class, token);
 	}
 
 	/**
@@ -104,9 +105,9 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 			return null;
 		}
 
-		// Attempt to get the club from the cache
+		// Attempt to get the club from the cache; a summary shared by another token lacks the athlete's membership, so it doesn't count
 		StravaClub club = this.clubCache.get(id);
-		if ((club != null) && (club.getResourceState() != StravaResourceState.META)) {
+		if ((club != null) && (club.getResourceState() == StravaResourceState.DETAILED)) {
 			return club;
 		}
 
@@ -129,8 +130,32 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClub> getClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
-			return getClub(clubId);
+		// If the id is null, return null
+		if (clubId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the club from the cache; a summary shared by another token lacks the athlete's membership, so it doesn't count
+		final StravaClub cachedClub = this.clubCache.get(clubId);
+		if ((cachedClub != null) && (cachedClub.getResourceState() == StravaResourceState.DETAILED)) {
+			return CompletableFuture.completedFuture(cachedClub);
+		}
+
+		// If it wasn't in cache, get it from Strava; the call runs on a thread of the default executor, which processes the result when it arrives
+		return StravaServiceImpl.future(this.api.getClubAsync(clubId), club -> club, e -> {
+			if (e instanceof NotFoundException) {
+				return null;
+			}
+			if (e instanceof UnauthorizedException) {
+				return PrivacyUtils.privateClubRepresentation(clubId);
+			}
+			throw e;
+		}).thenApply(club -> {
+			// Put it in the cache and return it
+			if (club != null) {
+				this.clubCache.put(club);
+			}
+			return club;
 		});
 	}
 
@@ -156,7 +181,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClubMembershipResponse> joinClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return joinClub(clubId);
 		});
 	}
@@ -183,7 +208,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClubMembershipResponse> leaveClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return leaveClub(clubId);
 		});
 	}
@@ -193,7 +218,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public List<StravaAthlete> listAllClubAdmins(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listClubAdmins(clubId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listClubAdmins(clubId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -201,7 +226,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllClubAdminsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllClubAdmins(clubId);
 		});
 	}
@@ -211,7 +236,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public List<StravaAthlete> listAllClubMembers(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listClubMembers(clubId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listClubMembers(clubId, thisPage), getPagingExecutor());
 
 	}
 
@@ -220,7 +245,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllClubMembersAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllClubMembers(clubId);
 		});
 	}
@@ -230,7 +255,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public List<StravaActivity> listAllRecentClubActivities(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listRecentClubActivities(clubId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listRecentClubActivities(clubId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -238,7 +263,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllRecentClubActivitiesAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllRecentClubActivities(clubId);
 		});
 	}
@@ -256,7 +281,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClub>> listAuthenticatedAthleteClubsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteClubs();
 		});
 	}
@@ -275,7 +300,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	@Override
 	public List<StravaAthlete> listClubAdmins(final Integer clubId, final Paging paging) {
 		try {
-			return PagingHandler.handlePaging(paging, thisPage -> Arrays.asList(this.api.listClubAdmins(clubId, paging.getPage(), paging.getPageSize())));
+			return PagingHandler.handlePaging(paging, thisPage -> Arrays.asList(this.api.listClubAdmins(clubId, paging.getPage(), paging.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -288,7 +313,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubAdminsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAdmins(clubId);
 		});
 	}
@@ -298,7 +323,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubAdminsAsync(final Integer clubId, final Paging paging) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAdmins(clubId, paging);
 		});
 	}
@@ -324,7 +349,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClubAnnouncement>> listClubAnnouncementsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAnnouncements(clubId);
 		});
 	}
@@ -350,7 +375,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClubEvent>> listClubGroupEventsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return Arrays.asList(this.api.listClubGroupEvents(clubId));
 		});
 	}
@@ -369,7 +394,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	@Override
 	public List<StravaAthlete> listClubMembers(final Integer id, final Paging pagingInstruction) {
 		try {
-			return PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(this.api.listClubMembers(id, thisPage.getPage(), thisPage.getPageSize())));
+			return PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(this.api.listClubMembers(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -382,7 +407,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubMembersAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubMembers(clubId);
 		});
 	}
@@ -392,7 +417,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubMembersAsync(final Integer clubId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubMembers(clubId, pagingInstruction);
 		});
 
@@ -428,7 +453,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 				activities = Arrays.asList(this.api.listRecentClubActivities(id, null, null));
 			} else {
 				activities = PagingHandler.handlePaging(pagingInstruction,
-						thisPage -> Arrays.asList(ClubServiceImpl.this.api.listRecentClubActivities(id, thisPage.getPage(), thisPage.getPageSize())));
+						thisPage -> Arrays.asList(ClubServiceImpl.this.api.listRecentClubActivities(id, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 			}
 		} catch (final NotFoundException e) {
 			return null;
@@ -448,7 +473,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRecentClubActivitiesAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRecentClubActivities(clubId);
 		});
 	}
@@ -458,9 +483,33 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRecentClubActivitiesAsync(final Integer clubId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRecentClubActivities(clubId, pagingInstruction);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.ClubService#streamAllClubAdmins(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubAdmins(final Integer clubId) {
+		return PagingHandler.streamAll(thisPage -> listClubAdmins(clubId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId) {
+		return PagingHandler.streamAll(thisPage -> listClubMembers(clubId, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllRecentClubActivities(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllRecentClubActivities(final Integer clubId) {
+		return PagingHandler.streamAll(thisPage -> listRecentClubActivities(clubId, thisPage), getPagingExecutor());
+	}
+
 }
@@ -4,7 +4,7 @@ import java.util.concurrent.CompletableFuture;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaGear;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.service.ClubService;
@@ -64,7 +64,7 @@ public class GearServiceImpl extends StravaServiceImpl implements GearService {
 	 */
 	private GearServiceImpl(final Token token) {
 		super(token);
-		this.gearCache = new StravaCacheImpl<StravaGear, String>(StravaGear.class, token);
+		this.gearCache = StravaCacheFactory.create(StravaGear.class, token);
 	}
 
 	/**
@@ -110,8 +110,32 @@ public class GearServiceImpl extends StravaServiceImpl implements GearService {
 	 */
 	@Override
 	public CompletableFuture<StravaGear> getGearAsync(final String gearId) {
-		return StravaServiceImpl.future(() -> {
-			return getGear(gearId);
+		// If the id is null, return null
+		if (gearId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the gear from cache
+		final StravaGear cachedGear = this.gearCache.get(gearId);
+		if ((cachedGear != null) && (cachedGear.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedGear);
+		}
+
+		// If it wasn't in cache, get it from the API; the call runs on a thread of the default executor, which processes the result when it arrives
+		return StravaServiceImpl.future(this.api.getGearAsync(gearId), gear -> gear, e -> {
+			if (e instanceof NotFoundException) {
+				return null;
+			}
+			if (e instanceof UnauthorizedException) {
+				return PrivacyUtils.privateGear(gearId);
+			}
+			throw e;
+		}).thenApply(gear -> {
+			// Put the gear in cache and return it
+			if (gear != null) {
+				this.gearCache.put(gear);
+			}
+			return gear;
 		});
 	}
 
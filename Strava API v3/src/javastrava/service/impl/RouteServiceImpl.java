@@ -79,7 +79,16 @@ public class RouteServiceImpl extends StravaServiceImpl implements RouteService
 
 	@Override
 	public CompletableFuture<StravaRoute> getRouteAsync(Integer routeId) {
-		return StravaServiceImpl.future(() -> getRoute(routeId));
+		if (routeId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return StravaServiceImpl.future(this.api.getRouteAsync(routeId), route -> route, e -> {
+			if (e instanceof NotFoundException) {
+				return null;
+			}
+			throw e;
+		});
 	}
 
 	@Override
@@ -95,7 +104,7 @@ public class RouteServiceImpl extends StravaServiceImpl implements RouteService
 
 	@Override
 	public CompletableFuture<List<StravaRoute>> listAthleteRoutesAsync(Integer id) {
-		return StravaServiceImpl.future(() -> listAthleteRoutes(id));
+		return future(() -> listAthleteRoutes(id));
 	}
 
 }
@@ -6,7 +6,8 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import javastrava.auth.model.Token;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.StravaCache;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaRunningRace;
 import javastrava.service.RunningRaceService;
 import javastrava.service.exception.NotFoundException;
@@ -46,7 +47,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 		return service;
 	}
 
-	private final StravaCacheImpl<StravaRunningRace, Integer> runningRaceCache;
+	private final StravaCache<StravaRunningRace, Integer> runningRaceCache;
 
 	/**
 	 * <p>
@@ -58,7 +59,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 	 */
 	private RunningRaceServiceImpl(final Token token) {
 		super(token);
-		this.runningRaceCache = new StravaCacheImpl<StravaRunningRace, Integer>(StravaRunningRace.class, token);
+		this.runningRaceCache = StravaCacheFactory.create(StravaRunningRace.class, token);
 	}
 
 	@Override
@@ -82,7 +83,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 
 	@Override
 	public CompletableFuture<StravaRunningRace> getRaceAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getRace(id);
 		});
 	}
@@ -100,7 +101,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 
 	@Override
 	public CompletableFuture<List<StravaRunningRace>> listRacesAsync(Integer year) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRaces(year);
 		});
 	}
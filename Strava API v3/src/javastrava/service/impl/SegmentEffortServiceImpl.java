@@ -1,10 +1,13 @@
 package javastrava.service.impl;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.StravaCacheIndexes;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.model.StravaSegment;
 import javastrava.model.StravaSegmentEffort;
 import javastrava.model.reference.StravaResourceState;
@@ -59,7 +62,31 @@ public class SegmentEffortServiceImpl extends StravaServiceImpl implements Segme
 	 */
 	private SegmentEffortServiceImpl(final Token token) {
 		super(token);
-		this.effortCache = new StravaCacheImpl<StravaSegmentEffort, Long>(StravaSegmentEffort.class, token);
+		this.effortCache = StravaCacheFactory.create(StravaSegmentEffort.class, token);
+		this.effortCache.addIndex(StravaCacheIndexes.EFFORT_ACTIVITY);
+	}
+
+	/**
+	 * Substitute a private effort for an effort on a private segment, and put the result into cache
+	 *
+	 * @param segmentEffortId
+	 *            Id of the effort
+	 * @param effort
+	 *            The effort, as returned by the API
+	 * @param segment
+	 *            The effort's segment, if the effort is detailed, or <code>null</code>
+	 * @return The effort to return
+	 */
+	private StravaSegmentEffort cacheEffort(final Long segmentEffortId, final StravaSegmentEffort effort, final StravaSegment segment) {
+		// TODO This is a workaround for issue javastrava-api #78
+		// See https://github.com/danshannon/javastravav3api/issues/78
+		final StravaSegmentEffort result = ((segment != null) && (segment.getResourceState() == StravaResourceState.PRIVATE)
+				? PrivacyUtils.privateSegmentEffort(segmentEffortId) : effort);
+		// End of workaround
+
+		// Put the effort into cache and return it
+		this.effortCache.put(result);
+		return result;
 	}
 
 	/**
@@ -96,19 +123,10 @@ public class SegmentEffortServiceImpl extends StravaServiceImpl implements Segme
 			effort = PrivacyUtils.privateSegmentEffort(segmentEffortId);
 		}
 
-		// TODO This is a workaround for issue javastrava-api #78
-		// See https://github.com/danshannon/javastravav3api/issues/78
-		if (effort.getResourceState() == StravaResourceState.DETAILED) {
-			final StravaSegment segment = this.getToken().getService(SegmentService.class).getSegment(effort.getSegment().getId());
-			if (segment.getResourceState() == StravaResourceState.PRIVATE) {
-				effort = PrivacyUtils.privateSegmentEffort(segmentEffortId);
-			}
-		}
-		// End of workaround
-
-		// Put the effort into cache and return it
-		this.effortCache.put(effort);
-		return effort;
+		// A detailed effort's segment is needed to tell whether the effort is private
+		final StravaSegment segment = (effort.getResourceState() == StravaResourceState.DETAILED
+				? this.getToken().getService(SegmentService.class).getSegment(effort.getSegment().getId()) : null);
+		return cacheEffort(segmentEffortId, effort, segment);
 	}
 
 	/**
@@ -116,8 +134,59 @@ public class SegmentEffortServiceImpl extends StravaServiceImpl implements Segme
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentEffort> getSegmentEffortAsync(final Long segmentEffortId) {
-		return StravaServiceImpl.future(() -> {
-			return getSegmentEffort(segmentEffortId);
+		// If id is null, return null
+		if (segmentEffortId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Try to get the effort from cache
+		final StravaSegmentEffort cachedEffort = this.effortCache.get(segmentEffortId);
+		if ((cachedEffort != null) && (cachedEffort.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedEffort);
+		}
+
+		// If it wasn't in cache, get it from the API; the call runs on a thread of the default executor, which processes the result when it arrives
+		return StravaServiceImpl.future(this.api.getSegmentEffortAsync(segmentEffortId), effort -> effort, e -> {
+			if (e instanceof NotFoundException) {
+				// Segment effort doesn't exist
+				return null;
+			}
+			if (e instanceof UnauthorizedException) {
+				return PrivacyUtils.privateSegmentEffort(segmentEffortId);
+			}
+			throw e;
+		}).thenCompose(effort -> {
+			if (effort == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// A detailed effort's segment is needed to tell whether the effort is private
+			if (effort.getResourceState() == StravaResourceState.DETAILED) {
+				return this.getToken().getService(SegmentService.class).getSegmentAsync(effort.getSegment().getId())
+						.thenApply(segment -> cacheEffort(segmentEffortId, effort, segment));
+			}
+			return CompletableFuture.completedFuture(cacheEffort(segmentEffortId, effort, null));
+		});
+	}
+
+	/**
+	 * @see javastrava.service.SegmentEffortService#getSegmentEfforts(java.util.Collection)
+	 */
+	@Override
+	public Map<Long, StravaSegmentEffort> getSegmentEfforts(final Collection<Long> segmentEffortIds) {
+		return getAll(segmentEffortIds, segmentEffortId -> {
+			final StravaSegmentEffort effort = this.effortCache.get(segmentEffortId);
+			return ((effort != null) && (effort.getResourceState() != StravaResourceState.META) ? effort : null);
+		}, segmentEffortId -> getSegmentEffort(segmentEffortId));
+	}
+
+	/**
+	 * @see javastrava.service.SegmentEffortService#getSegmentEffortsAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Long, StravaSegmentEffort>> getSegmentEffortsAsync(final Collection<Long> segmentEffortIds) {
+		return future(() -> {
+			return getSegmentEfforts(segmentEffortIds);
 		});
 	}
 
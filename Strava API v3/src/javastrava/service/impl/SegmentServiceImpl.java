@@ -4,12 +4,18 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
-import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.cache.impl.StravaCacheFactory;
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.model.StravaMapPoint;
@@ -34,6 +40,7 @@ import javastrava.util.Paging;
 import javastrava.util.PagingHandler;
 import javastrava.util.PagingUtils;
 import javastrava.util.PrivacyUtils;
+import javastrava.util.SingleFlight;
 
 /**
  * <p>
@@ -78,6 +85,11 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	private final StravaCache<StravaSegment, Integer> segmentCache;
 
+	/**
+	 * Segment requests in flight, by segment id
+	 */
+	private final SingleFlight<Integer, StravaSegment> segmentRequests;
+
 	/**
 	 * <p>
 	 * Private constructor ensures that the only way to get an instance is via {@link #instance(Token)} with a valid access token
@@ -88,7 +100,8 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	private SegmentServiceImpl(final Token token) {
 		super(token);
-		this.segmentCache = new StravaCacheImpl<StravaSegment, Integer>(StravaSegment.class, token);
+		this.segmentCache = StravaCacheFactory.create(StravaSegment.class, token);
+		this.segmentRequests = new SingleFlight<Integer, StravaSegment>();
 	}
 
 	/**
@@ -173,31 +186,32 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public StravaSegmentLeaderboard getAllSegmentLeaderboard(final Integer segmentId, final StravaGender gender, final StravaAgeGroup ageGroup, final StravaWeightClass weightClass,
 			final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange) {
-		boolean loop = true;
-		StravaSegmentLeaderboard leaderboard = new StravaSegmentLeaderboard();
+		final int pageSize = StravaConfig.MAX_PAGE_SIZE.intValue();
+		final StravaSegmentLeaderboard leaderboard;
+		try {
+			leaderboard = getSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, new Paging(Integer.valueOf(1), Integer.valueOf(pageSize)),
+					Integer.valueOf(2));
+		} catch (final UnauthorizedException e) {
+			return new StravaSegmentLeaderboard();
+		}
+		if (leaderboard == null) {
+			return null; // Segment doesn't exist
+		}
+		if ((leaderboard.getEntries() == null) || (leaderboard.getEntries().size() < pageSize)) {
+			return leaderboard;
+		}
 
-		int page = 0;
-		while (loop) {
-			page++;
-			StravaSegmentLeaderboard currentPage;
-			try {
-				currentPage = getSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, new Paging(Integer.valueOf(page), StravaConfig.MAX_PAGE_SIZE),
-						Integer.valueOf(2));
-			} catch (final UnauthorizedException e) {
-				return new StravaSegmentLeaderboard();
-			}
-			if (currentPage == null) {
-				return null; // Activity doesn't exist
-			}
-			if ((currentPage.getEntries() == null) || (currentPage.getEntries().size() < StravaConfig.MAX_PAGE_SIZE.intValue())) {
-				loop = false;
-			}
-			if (page == 1) {
-				leaderboard = currentPage;
-			} else {
-				leaderboard.getEntries().addAll(currentPage.getEntries());
-			}
+		// The first page says how many entries there are, so get all the rest at once
+		final int lastPage = (leaderboard.getEntryCount() == null ? Integer.MAX_VALUE : Math.max(2, ((leaderboard.getEntryCount().intValue() + pageSize) - 1) / pageSize));
+		final List<StravaSegmentLeaderboardEntry> rest = PagingHandler.handleListAllFrom(paging -> {
+			final StravaSegmentLeaderboard page = getSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, paging, Integer.valueOf(2));
+			return (page == null ? null : page.getEntries());
+		}, 2, lastPage, getPagingExecutor());
+		if (rest == null) {
+			return null; // Segment doesn't exist
 		}
+		leaderboard.getEntries().addAll(rest);
+		leaderboard.setEntries(mergeLeaderboardEntries(leaderboard.getEntries()));
 		return leaderboard;
 
 	}
@@ -207,7 +221,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getAllSegmentLeaderboardAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getAllSegmentLeaderboard(segmentId);
 		});
 	}
@@ -219,7 +233,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getAllSegmentLeaderboardAsync(final Integer segmentId, final StravaGender gender, final StravaAgeGroup ageGroup,
 			final StravaWeightClass weightClass, final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getAllSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange);
 		});
 	}
@@ -234,31 +248,25 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 			return null;
 		}
 
-		// Try to get the segment from cache
+		// Try to get the segment from cache; a summary shared by another token lacks the athlete's own data, so it doesn't count
 		StravaSegment segment = this.segmentCache.get(segmentId);
-		if ((segment != null) && (segment.getResourceState() != StravaResourceState.META)) {
+		if ((segment != null) && (segment.getResourceState() == StravaResourceState.DETAILED)) {
 			return segment;
 		}
 
-		try {
-			segment = this.api.getSegment(segmentId);
-		} catch (final NotFoundException e) {
-			return null;
-		} catch (final UnauthorizedException e) {
-			segment = PrivacyUtils.privateSegment(segmentId);
-		}
-
-		// TODO Workaround for javastrava-api #70
-		// If the segment is private and the token doesn't have view_private
-		// scope, then return an empty segment
-		if ((segment.getResourceState() != StravaResourceState.PRIVATE) && segment.getPrivateSegment().equals(Boolean.TRUE) && !getToken().hasViewPrivate()) {
-			segment = PrivacyUtils.privateSegment(segmentId);
-		}
-		// End of workaround
+		// Get it from the API, or wait for anyone else already getting it
+		return this.segmentRequests.call(segmentId, () -> {
+			StravaSegment stravaSegment;
+			try {
+				stravaSegment = this.api.getSegment(segmentId);
+			} catch (final NotFoundException e) {
+				return null;
+			} catch (final UnauthorizedException e) {
+				stravaSegment = PrivacyUtils.privateSegment(segmentId);
+			}
 
-		// Put the segment in cache and return it
-		this.segmentCache.put(segment);
-		return segment;
+			return cacheSegment(segmentId, stravaSegment);
+		});
 
 	}
 
@@ -267,9 +275,53 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegment> getSegmentAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
-			return getSegment(segmentId);
-		});
+		// If the id is null, return null
+		if (segmentId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Try to get the segment from cache; a summary shared by another token lacks the athlete's own data, so it doesn't count
+		final StravaSegment segment = this.segmentCache.get(segmentId);
+		if ((segment != null) && (segment.getResourceState() == StravaResourceState.DETAILED)) {
+			return CompletableFuture.completedFuture(segment);
+		}
+
+		// Get it from the API (or share the request if someone else is already getting it); the call runs on a thread of the default executor, which processes the result when it arrives
+		return this.segmentRequests.callAsync(segmentId,
+				() -> StravaServiceImpl.future(this.api.getSegmentAsync(segmentId), stravaSegment -> cacheSegment(segmentId, stravaSegment), e -> {
+					if (e instanceof NotFoundException) {
+						return null;
+					}
+					if (e instanceof UnauthorizedException) {
+						return cacheSegment(segmentId, PrivacyUtils.privateSegment(segmentId));
+					}
+					throw e;
+				}));
+	}
+
+	/**
+	 * Hide the segment if the token isn't allowed to see it, and put it in the cache
+	 *
+	 * @param segmentId
+	 *            The segment's id
+	 * @param segment
+	 *            The segment returned by the API
+	 * @return The segment
+	 */
+	private StravaSegment cacheSegment(final Integer segmentId, final StravaSegment segment) {
+		StravaSegment result = segment;
+
+		// TODO Workaround for javastrava-api #70
+		// If the segment is private and the token doesn't have view_private
+		// scope, then return an empty segment
+		if ((result.getResourceState() != StravaResourceState.PRIVATE) && result.getPrivateSegment().equals(Boolean.TRUE) && !getToken().hasViewPrivate()) {
+			result = PrivacyUtils.privateSegment(segmentId);
+		}
+		// End of workaround
+
+		// Put the segment in cache and return it
+		this.segmentCache.put(result);
+		return result;
 	}
 
 	/**
@@ -356,7 +408,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId);
 		});
 	}
@@ -366,7 +418,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId, pagingInstruction);
 		});
 	}
@@ -380,17 +432,38 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId, final StravaGender gender, final StravaAgeGroup ageGroup,
 			final StravaWeightClass weightClass, final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange, final Paging pagingInstruction,
 			final Integer contextEntries) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, pagingInstruction, contextEntries);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.SegmentService#getSegments(java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, StravaSegment> getSegments(final Collection<Integer> segmentIds) {
+		return getAll(segmentIds, segmentId -> {
+			final StravaSegment segment = this.segmentCache.get(segmentId);
+			return ((segment != null) && (segment.getResourceState() == StravaResourceState.DETAILED) ? segment : null);
+		}, segmentId -> getSegment(segmentId));
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#getSegmentsAsync(java.util.Collection)
+	 */
+	@Override
+	public CompletableFuture<Map<Integer, StravaSegment>> getSegmentsAsync(final Collection<Integer> segmentIds) {
+		return future(() -> {
+			return getSegments(segmentIds);
+		});
+	}
+
 	/**
 	 * @see javastrava.service.SegmentService#listAllAuthenticatedAthleteStarredSegments()
 	 */
 	@Override
 	public List<StravaSegment> listAllAuthenticatedAthleteStarredSegments() {
-		final List<StravaSegment> segments = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteStarredSegments(thisPage));
+		final List<StravaSegment> segments = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteStarredSegments(thisPage), getPagingExecutor());
 
 		// // TODO Workaround for issue javastrava-api #71 (see
 		// https://github.com/danshannon/javastravav3api/issues/71)
@@ -414,7 +487,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAllAuthenticatedAthleteStarredSegmentsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteStarredSegments();
 		});
 	}
@@ -457,7 +530,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 			return new ArrayList<StravaSegmentEffort>();
 		}
 		// End of workaround
-		return PagingHandler.handleListAll(thisPage -> listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage), parallelism);
+		return PagingHandler.handleListAll(thisPage -> listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage), parallelism, getPagingExecutor());
 	}
 
 	/**
@@ -465,7 +538,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllSegmentEffortsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllSegmentEfforts(segmentId);
 		});
 	}
@@ -475,7 +548,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllSegmentEfforts(segmentId);
 		});
 	}
@@ -485,7 +558,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public List<StravaSegment> listAllStarredSegments(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listStarredSegments(athleteId, thisPage));
+		return PagingHandler.handleListAll(thisPage -> listStarredSegments(athleteId, thisPage), getPagingExecutor());
 	}
 
 	/**
@@ -493,7 +566,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAllStarredSegmentsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllStarredSegments(athleteId);
 		});
 	}
@@ -512,7 +585,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public List<StravaSegment> listAuthenticatedAthleteStarredSegments(final Paging pagingInstruction) {
 		final List<StravaSegment> segments = PagingHandler.handlePaging(pagingInstruction,
-				thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listAuthenticatedAthleteStarredSegments(thisPage.getPage(), thisPage.getPageSize())));
+				thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listAuthenticatedAthleteStarredSegments(thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 
 		// TODO This is a workaround for issue javastrava-api #81
 		// (https://github.com/danshannon/javastravav3api/issues/81)
@@ -532,7 +605,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAuthenticatedAthleteStarredSegmentsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteStarredSegments();
 		});
 	}
@@ -542,7 +615,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAuthenticatedAthleteStarredSegmentsAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteStarredSegments(pagingInstruction);
 		});
 	}
@@ -612,7 +685,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 
 		try {
 			efforts = PagingHandler.handlePaging(pagingInstruction,
-					thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listSegmentEfforts(segmentId, athleteId, start, end, thisPage.getPage(), thisPage.getPageSize())));
+					thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listSegmentEfforts(segmentId, athleteId, start, end, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -635,7 +708,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId);
 		});
 	}
@@ -646,7 +719,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDateLocal,
 			final LocalDateTime endDateLocal) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, athleteId, startDateLocal, endDateLocal);
 		});
 	}
@@ -657,7 +730,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDateLocal, final LocalDateTime endDateLocal,
 			final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, athleteId, startDateLocal, endDateLocal, pagingInstruction);
 		});
 	}
@@ -667,7 +740,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, pagingInstruction);
 		});
 	}
@@ -688,7 +761,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 		final List<StravaSegment> segments;
 
 		try {
-			segments = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listStarredSegments(athleteId, thisPage.getPage(), thisPage.getPageSize())));
+			segments = PagingHandler.handlePaging(pagingInstruction, thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listStarredSegments(athleteId, thisPage.getPage(), thisPage.getPageSize())), getPagingExecutor());
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -713,7 +786,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listStarredSegmentsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listStarredSegments(athleteId);
 		});
 	}
@@ -723,11 +796,37 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listStarredSegmentsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listStarredSegments(athleteId, pagingInstruction);
 		});
 	}
 
+	/**
+	 * <p>
+	 * Put the entries of a leaderboard got a page at a time into rank order
+	 * </p>
+	 *
+	 * <p>
+	 * If someone sets a new time while the pages are being got, entries move from one page to the next, so the same athlete can appear twice; only their first (best) entry is
+	 * kept. Entries with the same rank stay in the order Strava returned them.
+	 * </p>
+	 *
+	 * @param entries
+	 *            The entries, in page order
+	 * @return The entries in rank order
+	 */
+	private List<StravaSegmentLeaderboardEntry> mergeLeaderboardEntries(final List<StravaSegmentLeaderboardEntry> entries) {
+		final List<StravaSegmentLeaderboardEntry> merged = new ArrayList<StravaSegmentLeaderboardEntry>(entries.size());
+		final Set<Integer> athletes = new HashSet<Integer>();
+		for (final StravaSegmentLeaderboardEntry entry : entries) {
+			if ((entry.getAthleteId() == null) || athletes.add(entry.getAthleteId())) {
+				merged.add(entry);
+			}
+		}
+		merged.sort(Comparator.comparing(StravaSegmentLeaderboardEntry::getRank, Comparator.nullsLast(Comparator.<Integer> naturalOrder())));
+		return merged;
+	}
+
 	/**
 	 * @see javastrava.service.SegmentService#segmentExplore(StravaMapPoint, StravaMapPoint, StravaSegmentExplorerActivityType, StravaClimbCategory, StravaClimbCategory)
 	 */
@@ -751,7 +850,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<StravaSegmentExplorerResponse> segmentExploreAsync(final StravaMapPoint southwestCorner, final StravaMapPoint northeastCorner,
 			final StravaSegmentExplorerActivityType activityType, final StravaClimbCategory minCat, final StravaClimbCategory maxCat) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return segmentExplore(southwestCorner, northeastCorner, activityType, minCat, maxCat);
 		});
 	}
@@ -783,9 +882,47 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegment> starSegmentAsync(Integer segmentId, Boolean starred) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return starSegment(segmentId, starred);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.SegmentService#streamAllAuthenticatedAthleteStarredSegments()
+	 */
+	@Override
+	public Stream<StravaSegment> streamAllAuthenticatedAthleteStarredSegments() {
+		return PagingHandler.streamAll(thisPage -> listAuthenticatedAthleteStarredSegments(thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId) {
+		return streamAllSegmentEfforts(segmentId, null, null, null);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		// TODO Workarounds for issues javastrava-api #33 and #45, as for listAllSegmentEfforts
+		final StravaSegment segment = getSegment(segmentId);
+		if ((segment == null) || (segment.getResourceState() == StravaResourceState.META) || (segment.getHazardous() == Boolean.TRUE)) {
+			return Stream.empty();
+		}
+		// End of workaround
+		return PagingHandler.streamAll(thisPage -> listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage), getPagingExecutor());
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllStarredSegments(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegment> streamAllStarredSegments(final Integer athleteId) {
+		return PagingHandler.streamAll(thisPage -> listStarredSegments(athleteId, thisPage), getPagingExecutor());
+	}
+
 }
@@ -1,11 +1,24 @@
 package javastrava.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import javastrava.api.API;
+import javastrava.api.async.StravaAPIFuture;
+import javastrava.api.util.RequestPriority;
 import javastrava.auth.model.Token;
 import javastrava.service.async.AsyncCallback;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.PagingExecutor;
+import javastrava.util.StravaExecutors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,15 +38,59 @@ public abstract class StravaServiceImpl {
 	public static Logger log = LogManager.getLogger();
 
 	/**
-	 * @param <T> Type which will be returned by the future
-	 * @param callback Callback with code to be executed
-	 * @return A {@link CompletableFuture}
+	 * @param <T>
+	 *            Type which would have been returned by the future
+	 * @param cause
+	 *            The exception
+	 * @return A {@link CompletableFuture} that has already completed exceptionally
 	 */
-	protected static <T> CompletableFuture<T> future(final AsyncCallback<T> callback) {
-		final CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> callback.run());
+	protected static <T> CompletableFuture<T> failedFuture(final Throwable cause) {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(cause);
 		return future;
 	}
 
+	/**
+	 * <p>
+	 * Attach processing of the result of an asynchronous API call to it, rather than running the synchronous call on the service's executor
+	 * </p>
+	 *
+	 * <p>
+	 * Retrofit 1.x only has blocking calls, so the call holds a thread of {@link StravaExecutors#getDefault()} while the request is in progress, including while the rate limiter
+	 * makes it wait and between retries; the service's executor isn't involved at all. With the default configuration that is a virtual thread of its own, so thousands of calls
+	 * can be in progress at once without a platform thread each. On a Java runtime without virtual threads, it is a thread of an unbounded cached pool.
+	 * </p>
+	 *
+	 * <p>
+	 * If the call succeeds, its result is passed to <code>success</code>; if it fails, the exception is passed to <code>failure</code>, which may return a result (for example,
+	 * <code>null</code> for a {@link javastrava.service.exception.NotFoundException}) or rethrow it. Both run on the thread that made the call, once it has completed.
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Type returned by the API call
+	 * @param <R>
+	 *            Type which will be returned by the future
+	 * @param call
+	 *            The API call
+	 * @param success
+	 *            Processing of the result of the call
+	 * @param failure
+	 *            Processing of an exception thrown by the call
+	 * @return A {@link CompletableFuture}
+	 */
+	protected static <T, R> CompletableFuture<R> future(final StravaAPIFuture<T> call, final Function<T, R> success, final Function<RuntimeException, R> failure) {
+		return call.toCompletableFuture().handle((result, error) -> {
+			if (error == null) {
+				return success.apply(result);
+			}
+			final Throwable cause = ((error instanceof CompletionException) && (error.getCause() != null) ? error.getCause() : error);
+			if (cause instanceof RuntimeException) {
+				return failure.apply((RuntimeException) cause);
+			}
+			throw new CompletionException(cause);
+		});
+	}
+
 	/**
 	 * The Strava access token in use
 	 */
@@ -44,6 +101,16 @@ public abstract class StravaServiceImpl {
 	 */
 	protected final API api;
 
+	/**
+	 * Executor that runs the asynchronous methods, or <code>null</code> to use {@link StravaExecutors#getDefault()}
+	 */
+	private volatile Executor executor;
+
+	/**
+	 * Executor that gets pages of data in parallel, or <code>null</code> to use the {@link PagingExecutor} for the token
+	 */
+	private volatile Executor pagingExecutor;
+
 	/**
 	 * <p>
 	 * Protected constructor prevents user from getting a service instance
@@ -75,6 +142,91 @@ public abstract class StravaServiceImpl {
 		}
 	}
 
+	/**
+	 * @param <T> Type which will be returned by the future
+	 * @param callback Callback with code to be executed
+	 * @return A {@link CompletableFuture}, completed on a thread from the service's {@link #getExecutor() executor}
+	 */
+	protected <T> CompletableFuture<T> future(final AsyncCallback<T> callback) {
+		final CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> callback.run(), getExecutor());
+		return future;
+	}
+
+	/**
+	 * <p>
+	 * Get several objects by id at once
+	 * </p>
+	 *
+	 * <p>
+	 * Each id is only looked up once, however many times it appears. Objects in the cache are returned straight away; the rest are got from Strava in parallel on the
+	 * {@link #getPagingExecutor() paging executor}, which limits how many requests are made at once, at the priority of the calling thread.
+	 * </p>
+	 *
+	 * @param <K>
+	 *            Class of the ids
+	 * @param <V>
+	 *            Class of the objects
+	 * @param ids
+	 *            The ids
+	 * @param cached
+	 *            Gets an object from the cache, or returns <code>null</code> if it isn't there
+	 * @param get
+	 *            Gets an object, returning <code>null</code> if it doesn't exist
+	 * @return The objects, by id, in the order of the ids; ids which are <code>null</code> or don't exist are left out
+	 */
+	protected <K, V> Map<K, V> getAll(final Collection<K> ids, final Function<K, V> cached, final Function<K, V> get) {
+		final List<K> distinct = new ArrayList<K>(new LinkedHashSet<K>(ids));
+		distinct.remove(null);
+
+		// Serve what we can from the cache, and get the rest in parallel
+		final Map<K, V> hits = new LinkedHashMap<K, V>();
+		final Map<K, CompletableFuture<V>> misses = new LinkedHashMap<K, CompletableFuture<V>>();
+		final RequestPriority priority = RequestPriority.current();
+		for (final K id : distinct) {
+			final V value = cached.apply(id);
+			if (value != null) {
+				hits.put(id, value);
+			} else {
+				misses.put(id, CompletableFuture.supplyAsync(() -> RequestPriority.call(priority, () -> get.apply(id)), getPagingExecutor()));
+			}
+		}
+
+		final Map<K, V> results = new LinkedHashMap<K, V>();
+		try {
+			for (final K id : distinct) {
+				final V value = (hits.containsKey(id) ? hits.get(id) : misses.get(id).join());
+				if (value != null) {
+					results.put(id, value);
+				}
+			}
+		} catch (final CompletionException e) {
+			for (final CompletableFuture<V> future : misses.values()) {
+				future.cancel(false);
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return results;
+	}
+
+	/**
+	 * @return The executor that runs this service's asynchronous methods
+	 */
+	public Executor getExecutor() {
+		final Executor current = this.executor;
+		return (current == null ? StravaExecutors.getDefault() : current);
+	}
+
+	/**
+	 * @return The executor that gets pages of data in parallel for this service; unless another has been set, the {@link PagingExecutor} shared by all the services for the token
+	 */
+	public Executor getPagingExecutor() {
+		final Executor current = this.pagingExecutor;
+		return (current == null ? PagingExecutor.forTenant(this.token) : current);
+	}
+
 	/**
 	 * Get the Strava access token associated with this service
 	 * @return The token
@@ -83,4 +235,37 @@ public abstract class StravaServiceImpl {
 		return this.token;
 	}
 
+	/**
+	 * <p>
+	 * Set the executor that runs this service's asynchronous methods
+	 * </p>
+	 *
+	 * <p>
+	 * Services are shared by everything using the same token, so this applies to all of them.
+	 * </p>
+	 *
+	 * @param executor
+	 *            The executor, or <code>null</code> to go back to {@link StravaExecutors#getDefault()}
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * <p>
+	 * Set the executor that gets pages of data in parallel for this service
+	 * </p>
+	 *
+	 * <p>
+	 * Give the services for several tokens the same {@link PagingExecutor} to put a single bound on the paging they can do between them, for example for all the tokens
+	 * belonging to one tenant.
+	 * </p>
+	 *
+	 * @param pagingExecutor
+	 *            The executor, or <code>null</code> to go back to the {@link PagingExecutor} for the token
+	 */
+	public void setPagingExecutor(final Executor pagingExecutor) {
+		this.pagingExecutor = pagingExecutor;
+	}
+
 }
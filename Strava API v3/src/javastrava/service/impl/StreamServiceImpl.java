@@ -67,6 +67,28 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 		return service;
 	}
 
+	/**
+	 * @param stravaStreams
+	 *            Streams returned by the API
+	 * @param resolution
+	 *            Resolution the streams were asked for at, or <code>null</code>
+	 * @return The streams, as a list
+	 */
+	private static List<StravaStream> streams(final StravaStream[] stravaStreams, final StravaStreamResolutionType resolution) {
+		final List<StravaStream> streams = Arrays.asList(stravaStreams);
+
+		// TODO This is a workaround for issue javastrava-api #21
+		// (https://github.com/danshannon/javastravav3api/issues/21)
+		if (resolution == null) {
+			for (final StravaStream stream : streams) {
+				stream.setResolution(null);
+			}
+		}
+		// End of workaround
+
+		return streams;
+	}
+
 	/**
 	 * convert array of types to a comma-separated string, that's what Strava expects
 	 *
@@ -167,9 +189,8 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 			return new ArrayList<>();
 		}
 
-		List<StravaStream> streams;
 		try {
-			streams = Arrays.asList(this.api.getActivityStreams(activityId, typeString(typesToGet), resolution, seriesType));
+			return streams(this.api.getActivityStreams(activityId, typeString(typesToGet), resolution, seriesType), resolution);
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final BadRequestException e) {
@@ -177,17 +198,6 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 		} catch (final UnauthorizedException e) {
 			return new ArrayList<StravaStream>();
 		}
-
-		// TODO This is a workaround for issue javastrava-api #21
-		// (https://github.com/danshannon/javastravav3api/issues/21)
-		if (resolution == null) {
-			for (final StravaStream stream : streams) {
-				stream.setResolution(null);
-			}
-		}
-		// End of workaround
-
-		return streams;
 	}
 
 	/**
@@ -195,7 +205,7 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getActivityStreamsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> getActivityStreams(activityId));
+		return getActivityStreamsAsync(activityId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -205,7 +215,39 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getActivityStreamsAsync(final Long activityId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getActivityStreams(activityId, resolution, seriesType, types));
+		try {
+			validateArguments(resolution, seriesType, types);
+		} catch (final IllegalArgumentException e) {
+			return StravaServiceImpl.failedFuture(e);
+		}
+		final StravaStreamType[] typesToGet = ((types == null) || (types.length == 0) ? getAllStreamTypes() : types);
+
+		// Check the activity, then get the streams; each call runs on a thread of the default executor, which carries on with the next step when it completes
+		return this.getToken().getService(ActivityService.class).getActivityAsync(activityId).thenCompose(activity -> {
+			// If it's null, it doesn't exist, so return null
+			if (activity == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// If it's private, then don't return the streams, just an empty list
+			if (activity.getResourceState() == StravaResourceState.PRIVATE) {
+				return CompletableFuture.completedFuture(new ArrayList<>());
+			}
+
+			return StravaServiceImpl.future(this.api.getActivityStreamsAsync(activityId, typeString(typesToGet), resolution, seriesType),
+					stravaStreams -> streams(stravaStreams, resolution), e -> {
+				if (e instanceof NotFoundException) {
+					return null;
+				}
+				if (e instanceof BadRequestException) {
+					throw new IllegalArgumentException(e);
+				}
+				if (e instanceof UnauthorizedException) {
+					return new ArrayList<StravaStream>();
+				}
+				throw e;
+			});
+		});
 	}
 
 	/**
@@ -254,7 +296,7 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getEffortStreamsAsync(final Long effortId) {
-		return StravaServiceImpl.future(() -> getEffortStreams(effortId));
+		return getEffortStreamsAsync(effortId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -264,7 +306,36 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getEffortStreamsAsync(final Long effortId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getEffortStreams(effortId, resolution, seriesType, types));
+		try {
+			validateArguments(resolution, seriesType, types);
+		} catch (final IllegalArgumentException e) {
+			return StravaServiceImpl.failedFuture(e);
+		}
+		final StravaStreamType[] typesToGet = ((types == null) || (types.length == 0) ? getAllStreamTypes() : types);
+
+		// Check that the effort exists and is not private, then get the streams; each call runs on a thread of the default executor, which carries on with the next step when it
+		// completes
+		return this.getToken().getService(SegmentEffortService.class).getSegmentEffortAsync(effortId).thenCompose(effort -> {
+			// If it's null it doesn't exist, so return null
+			if (effort == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// If its resource state is PRIVATE, then it's private duh
+			if (effort.getResourceState() == StravaResourceState.PRIVATE) {
+				return CompletableFuture.completedFuture(new ArrayList<>());
+			}
+
+			return StravaServiceImpl.future(this.api.getEffortStreamsAsync(effortId, typeString(typesToGet), resolution, seriesType), Arrays::asList, e -> {
+				if (e instanceof NotFoundException) {
+					return null;
+				}
+				if (e instanceof BadRequestException) {
+					throw new IllegalArgumentException(e);
+				}
+				throw e;
+			});
+		});
 	}
 
 	/**
@@ -317,7 +388,7 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getSegmentStreamsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> getSegmentStreams(segmentId));
+		return getSegmentStreamsAsync(segmentId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -327,7 +398,38 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getSegmentStreamsAsync(final Integer segmentId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getSegmentStreams(segmentId, resolution, seriesType, types));
+		try {
+			validateArguments(resolution, seriesType, types);
+		} catch (final IllegalArgumentException e) {
+			return StravaServiceImpl.failedFuture(e);
+		}
+		if (seriesType == StravaStreamSeriesDownsamplingType.TIME) {
+			return StravaServiceImpl.failedFuture(new IllegalArgumentException(Messages.string("StreamServiceImpl.cannotDownsampleSegmentByTime"))); //$NON-NLS-1$
+		}
+		final StravaStreamType[] typesToGet = ((types == null) || (types.length == 0) ? getAllStreamTypes() : types);
+
+		// Check the segment, then get the streams; each call runs on a thread of the default executor, which carries on with the next step when it completes
+		return this.getToken().getService(SegmentService.class).getSegmentAsync(segmentId).thenCompose(segment -> {
+			// If the segment is null, it doesn't exist
+			if (segment == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// If the segment is PRIVATE, then return an empty list
+			if (segment.getResourceState() == StravaResourceState.PRIVATE) {
+				return CompletableFuture.completedFuture(new ArrayList<>());
+			}
+
+			return StravaServiceImpl.future(this.api.getSegmentStreamsAsync(segmentId, typeString(typesToGet), resolution, seriesType), Arrays::asList, e -> {
+				if (e instanceof NotFoundException) {
+					return null;
+				}
+				if (e instanceof BadRequestException) {
+					throw new IllegalArgumentException(e);
+				}
+				throw e;
+			});
+		});
 	}
 
 }
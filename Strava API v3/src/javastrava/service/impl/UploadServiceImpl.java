@@ -72,7 +72,7 @@ public class UploadServiceImpl extends StravaServiceImpl implements UploadServic
 	 */
 	@Override
 	public CompletableFuture<StravaUploadResponse> checkUploadStatusAsync(final Long uploadId) throws UnauthorizedException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return checkUploadStatus(uploadId);
 		});
 	}
@@ -118,7 +118,7 @@ public class UploadServiceImpl extends StravaServiceImpl implements UploadServic
 	public CompletableFuture<StravaUploadResponse> uploadAsync(final StravaActivityType activityType, final String name,
 			final String description, final Boolean _private, final Boolean trainer, final Boolean commute, final String dataType,
 			final String externalId, final File file) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return upload(activityType, name, description, _private, trainer, commute, dataType, externalId, file);
 		});
 	}
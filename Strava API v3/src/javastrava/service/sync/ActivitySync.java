@@ -0,0 +1,243 @@
+package javastrava.service.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.api.util.APITransport;
+import javastrava.auth.model.Token;
+import javastrava.cache.StravaCache;
+import javastrava.cache.impl.StravaCacheFactory;
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.json.exception.JsonSerialisationException;
+import javastrava.model.StravaActivity;
+import javastrava.service.ActivityService;
+import javastrava.service.impl.ActivityServiceImpl;
+import javastrava.service.sync.SyncCursor.Entry;
+
+/**
+ * <p>
+ * Incremental synchronisation of the authenticated athlete's activities: each sync only asks Strava for the activities that started after the last one seen, less a lookback
+ * window, and works out which of them are new, which have changed and which have been deleted
+ * </p>
+ *
+ * <p>
+ * Strava can't be asked what has changed, only for the activities that started in a range of time. Activities are usually edited (or deleted) soon after they are uploaded, so the
+ * sync looks back over the last <code>strava.sync.lookback_days</code> before the high-water mark, and compares a fingerprint of each activity there with the one it had last time.
+ * Changes to older activities aren't seen.
+ * </p>
+ *
+ * <p>
+ * An activity that was in the window last time and isn't now may have been deleted; it is only reported as deleted once Strava confirms it no longer exists. Deleted and changed
+ * activities are removed from the token's cache, so stale details are never served from it. Optionally, the details of new and changed activities are fetched, which puts them in
+ * the cache.
+ * </p>
+ *
+ * <p>
+ * The cursor is only saved once the sync has succeeded, so if it fails part way through the next sync simply covers the same ground again.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class ActivitySync {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * @param activity
+	 *            An activity
+	 * @return A hash of the activity's representation, which changes if anything about it does
+	 */
+	private static Long fingerprint(final StravaActivity activity) {
+		final byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256").digest(APITransport.getJson().serialise(activity).getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		} catch (final JsonSerialisationException e) {
+			// The activity was deserialised from JSON, so it can be serialised back
+			throw new IllegalStateException(e);
+		} catch (final NoSuchAlgorithmException e) {
+			// Every Java platform has SHA-256
+			throw new IllegalStateException(e);
+		}
+		long hash = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			hash = (hash << 8) | (digest[i] & 0xff);
+		}
+		return Long.valueOf(hash);
+	}
+
+	/**
+	 * The token of the athlete whose activities are synchronised
+	 */
+	private final Token							token;
+
+	/**
+	 * Service used to list and get the activities
+	 */
+	private final ActivityService				service;
+
+	/**
+	 * The token's activity cache
+	 */
+	private final StravaCache<StravaActivity, Long>	cache;
+
+	/**
+	 * Keeps the cursor between syncs
+	 */
+	private final SyncCursorStore				store;
+
+	/**
+	 * How far before the high-water mark to look for changes
+	 */
+	private final Duration						lookback;
+
+	/**
+	 * Whether to fetch the details of new and changed activities
+	 */
+	private final boolean						fetchDetails;
+
+	/**
+	 * Sync with the configured lookback window, without fetching details
+	 *
+	 * @param token
+	 *            The token of the athlete whose activities are synchronised
+	 * @param store
+	 *            Keeps the cursor between syncs
+	 */
+	public ActivitySync(final Token token, final SyncCursorStore store) {
+		this(token, store, Duration.ofDays(StravaConfig.SYNC_LOOKBACK_DAYS), false);
+	}
+
+	/**
+	 * @param token
+	 *            The token of the athlete whose activities are synchronised
+	 * @param store
+	 *            Keeps the cursor between syncs
+	 * @param lookback
+	 *            How far before the high-water mark to look for changes
+	 * @param fetchDetails
+	 *            Whether to fetch the details of new and changed activities (one request each), which also puts them in the cache
+	 */
+	public ActivitySync(final Token token, final SyncCursorStore store, final Duration lookback, final boolean fetchDetails) {
+		this.token = token;
+		this.service = ActivityServiceImpl.instance(token);
+		this.cache = StravaCacheFactory.create(StravaActivity.class, token);
+		this.store = store;
+		this.lookback = lookback;
+		this.fetchDetails = fetchDetails;
+	}
+
+	/**
+	 * Replace each activity in the list with its detailed representation, getting them all in parallel
+	 *
+	 * @param activities
+	 *            The activities
+	 */
+	private void fetchDetails(final List<StravaActivity> activities) {
+		final List<CompletableFuture<StravaActivity>> details = new ArrayList<CompletableFuture<StravaActivity>>(activities.size());
+		for (final StravaActivity activity : activities) {
+			details.add(this.service.getActivityAsync(activity.getId()));
+		}
+		for (int i = 0; i < activities.size(); i++) {
+			final StravaActivity detail = details.get(i).join();
+			if (detail != null) {
+				activities.set(i, detail);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Synchronise the athlete's activities
+	 * </p>
+	 *
+	 * <p>
+	 * The first sync (with no cursor) lists ALL the athlete's activities, and reports them all as added.
+	 * </p>
+	 *
+	 * @return What has changed since the last sync
+	 */
+	public ActivitySyncResult sync() {
+		final Integer athleteId = this.token.getAthlete().getId();
+		final SyncCursor previous = this.store.load(athleteId);
+		final boolean full = (previous == null) || (previous.getHighWaterMark() == null);
+		final ActivitySyncResult result = new ActivitySyncResult(full);
+		final long lookbackSeconds = this.lookback.getSeconds();
+
+		// Look at everything that started in the window, or everything if there's no cursor
+		final LocalDateTime after = (full ? null : LocalDateTime.ofEpochSecond(previous.getHighWaterMark().longValue() - lookbackSeconds, 0, ZoneOffset.UTC));
+		final Map<Long, Entry> seen = new HashMap<Long, Entry>();
+		long highWaterMark = (full ? Long.MIN_VALUE : previous.getHighWaterMark().longValue());
+		try (Stream<StravaActivity> activities = this.service.streamAllAuthenticatedAthleteActivities(null, after)) {
+			for (final Iterator<StravaActivity> iterator = activities.iterator(); iterator.hasNext();) {
+				final StravaActivity activity = iterator.next();
+				if ((activity.getId() == null) || (activity.getStartDate() == null)) {
+					continue;
+				}
+				final Entry entry = new Entry(fingerprint(activity), Long.valueOf(activity.getStartDate().toEpochSecond()));
+				final Entry last = (full ? null : previous.getEntries().get(activity.getId()));
+				if (last == null) {
+					result.getAdded().add(activity);
+				} else if (!entry.getFingerprint().equals(last.getFingerprint())) {
+					result.getUpdated().add(activity);
+					this.cache.remove(activity.getId());
+				} else {
+					result.unchanged();
+				}
+				seen.put(activity.getId(), entry);
+				highWaterMark = Math.max(highWaterMark, entry.getStartDate().longValue());
+			}
+		}
+
+		// Anything in the window last time that isn't there now may have been deleted; check with Strava (not the cache) before saying so
+		if (!full) {
+			for (final Long id : previous.getEntries().keySet()) {
+				if (!seen.containsKey(id)) {
+					this.cache.remove(id);
+					if (this.service.getActivity(id) == null) {
+						result.getDeleted().add(id);
+					}
+				}
+			}
+		}
+
+		if (this.fetchDetails) {
+			fetchDetails(result.getAdded());
+			fetchDetails(result.getUpdated());
+		}
+
+		// Only keep fingerprints for the activities in the next sync's window
+		final SyncCursor cursor = new SyncCursor(athleteId);
+		if (highWaterMark != Long.MIN_VALUE) {
+			cursor.setHighWaterMark(Long.valueOf(highWaterMark));
+			final long windowStart = highWaterMark - lookbackSeconds;
+			for (final Map.Entry<Long, Entry> entry : seen.entrySet()) {
+				if (entry.getValue().getStartDate().longValue() >= windowStart) {
+					cursor.getEntries().put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		cursor.setLastSync(Long.valueOf(System.currentTimeMillis() / 1000));
+		this.store.save(cursor);
+
+		log.info(String.format(Messages.string("ActivitySync.synced"), athleteId, result)); //$NON-NLS-1$
+		return result;
+	}
+}
@@ -0,0 +1,100 @@
+package javastrava.service.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javastrava.model.StravaActivity;
+
+/**
+ * <p>
+ * What an {@link ActivitySync} found had changed since the last sync
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class ActivitySyncResult {
+	/**
+	 * Activities that weren't there last time
+	 */
+	private final List<StravaActivity>	added		= new ArrayList<StravaActivity>();
+
+	/**
+	 * Activities that have changed since last time
+	 */
+	private final List<StravaActivity>	updated		= new ArrayList<StravaActivity>();
+
+	/**
+	 * Identifiers of activities that have been deleted since last time
+	 */
+	private final List<Long>			deleted		= new ArrayList<Long>();
+
+	/**
+	 * Number of activities in the lookback window that hadn't changed
+	 */
+	private int							unchanged;
+
+	/**
+	 * <code>true</code> if there was no cursor, so this sync got all the athlete's activities
+	 */
+	private final boolean				full;
+
+	/**
+	 * @param full
+	 *            <code>true</code> if there was no cursor, so this sync got all the athlete's activities
+	 */
+	public ActivitySyncResult(final boolean full) {
+		this.full = full;
+	}
+
+	/**
+	 * @return Activities that weren't there last time, as summary representations (or detailed, if the sync fetches details)
+	 */
+	public List<StravaActivity> getAdded() {
+		return this.added;
+	}
+
+	/**
+	 * @return Identifiers of activities that have been deleted since last time
+	 */
+	public List<Long> getDeleted() {
+		return this.deleted;
+	}
+
+	/**
+	 * @return Number of activities in the lookback window that hadn't changed
+	 */
+	public int getUnchanged() {
+		return this.unchanged;
+	}
+
+	/**
+	 * @return Activities that have changed since last time, as summary representations (or detailed, if the sync fetches details)
+	 */
+	public List<StravaActivity> getUpdated() {
+		return this.updated;
+	}
+
+	/**
+	 * @return <code>true</code> if there was no cursor, so this sync got all the athlete's activities
+	 */
+	public boolean isFull() {
+		return this.full;
+	}
+
+	/**
+	 * Count another activity that hadn't changed
+	 */
+	void unchanged() {
+		this.unchanged++;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ActivitySyncResult [added=" + this.added.size() + ", updated=" + this.updated.size() + ", deleted=" + this.deleted.size() + ", unchanged=" + this.unchanged //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ ", full=" + this.full + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,156 @@
+package javastrava.service.sync;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * How far an {@link ActivitySync} has got for one athlete: the start time of the most recent activity seen (the high-water mark), and a fingerprint of each activity seen in the
+ * lookback window before it
+ * </p>
+ *
+ * <p>
+ * Times are held as seconds since the epoch, so that a {@link SyncCursorStore} can store the cursor as it is.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class SyncCursor {
+	/**
+	 * Fingerprint and start time of an activity seen by the last sync
+	 */
+	public static class Entry {
+		/**
+		 * Hash of the activity's summary representation; if it changes, so has the activity
+		 */
+		private Long	fingerprint;
+
+		/**
+		 * Start time of the activity, in seconds since the epoch
+		 */
+		private Long	startDate;
+
+		/**
+		 * No args constructor, for deserialisation
+		 */
+		public Entry() {
+			super();
+		}
+
+		/**
+		 * @param fingerprint
+		 *            Hash of the activity's summary representation
+		 * @param startDate
+		 *            Start time of the activity, in seconds since the epoch
+		 */
+		public Entry(final Long fingerprint, final Long startDate) {
+			this.fingerprint = fingerprint;
+			this.startDate = startDate;
+		}
+
+		/**
+		 * @return the fingerprint
+		 */
+		public Long getFingerprint() {
+			return this.fingerprint;
+		}
+
+		/**
+		 * @return the startDate, in seconds since the epoch
+		 */
+		public Long getStartDate() {
+			return this.startDate;
+		}
+	}
+
+	/**
+	 * Identifier of the athlete whose activities are synchronised
+	 */
+	private Integer				athleteId;
+
+	/**
+	 * Start time of the most recent activity seen, in seconds since the epoch, or <code>null</code> if there hasn't been a sync yet
+	 */
+	private Long				highWaterMark;
+
+	/**
+	 * Time the last sync finished, in seconds since the epoch
+	 */
+	private Long				lastSync;
+
+	/**
+	 * Activities seen in the lookback window by the last sync, keyed by activity id
+	 */
+	private Map<Long, Entry>	entries	= new HashMap<Long, Entry>();
+
+	/**
+	 * No args constructor, for deserialisation
+	 */
+	public SyncCursor() {
+		super();
+	}
+
+	/**
+	 * @param athleteId
+	 *            Identifier of the athlete whose activities are synchronised
+	 */
+	public SyncCursor(final Integer athleteId) {
+		this.athleteId = athleteId;
+	}
+
+	/**
+	 * @return the athleteId
+	 */
+	public Integer getAthleteId() {
+		return this.athleteId;
+	}
+
+	/**
+	 * @return Activities seen in the lookback window by the last sync, keyed by activity id
+	 */
+	public Map<Long, Entry> getEntries() {
+		if (this.entries == null) {
+			this.entries = new HashMap<Long, Entry>();
+		}
+		return this.entries;
+	}
+
+	/**
+	 * @return Start time of the most recent activity seen, in seconds since the epoch, or <code>null</code> if there hasn't been a sync yet
+	 */
+	public Long getHighWaterMark() {
+		return this.highWaterMark;
+	}
+
+	/**
+	 * @return Time the last sync finished, in seconds since the epoch
+	 */
+	public Long getLastSync() {
+		return this.lastSync;
+	}
+
+	/**
+	 * @param entries
+	 *            the entries to set
+	 */
+	public void setEntries(final Map<Long, Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * @param highWaterMark
+	 *            the highWaterMark to set
+	 */
+	public void setHighWaterMark(final Long highWaterMark) {
+		this.highWaterMark = highWaterMark;
+	}
+
+	/**
+	 * @param lastSync
+	 *            the lastSync to set
+	 */
+	public void setLastSync(final Long lastSync) {
+		this.lastSync = lastSync;
+	}
+}
@@ -0,0 +1,26 @@
+package javastrava.service.sync;
+
+/**
+ * <p>
+ * Keeps the {@link SyncCursor} for each athlete between syncs
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public interface SyncCursorStore {
+	/**
+	 * @param athleteId
+	 *            Identifier of the athlete
+	 * @return The athlete's cursor, or <code>null</code> if there isn't one (so the next sync gets everything)
+	 */
+	public SyncCursor load(final Integer athleteId);
+
+	/**
+	 * Store the athlete's cursor, replacing any stored before
+	 *
+	 * @param cursor
+	 *            The cursor
+	 */
+	public void save(final SyncCursor cursor);
+}
@@ -0,0 +1,113 @@
+package javastrava.service.sync.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import javastrava.config.Messages;
+import javastrava.service.sync.SyncCursor;
+import javastrava.service.sync.SyncCursorStore;
+
+/**
+ * <p>
+ * Keeps cursors as JSON files in a directory, one per athlete, so that they survive a restart
+ * </p>
+ *
+ * <p>
+ * A cursor is written to a temporary file which then replaces the old one, so a crash part way through a save leaves the previous cursor intact. A file that can't be read as a
+ * cursor is ignored, with a warning, and the next sync starts from scratch.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class FileSyncCursorStore implements SyncCursorStore {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Gson instance used to read and write cursors; thread safe
+	 */
+	private static final Gson GSON = new Gson();
+
+	/**
+	 * Directory holding the cursor files
+	 */
+	private final Path directory;
+
+	/**
+	 * @param directory
+	 *            Directory holding the cursor files; created if it doesn't exist
+	 */
+	public FileSyncCursorStore(final Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param athleteId
+	 *            Identifier of the athlete
+	 * @return Path of the athlete's cursor file
+	 */
+	private Path file(final Integer athleteId) {
+		return this.directory.resolve("athlete-" + athleteId + ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @see javastrava.service.sync.SyncCursorStore#load(java.lang.Integer)
+	 */
+	@Override
+	public SyncCursor load(final Integer athleteId) {
+		final Path file = file(athleteId);
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			final SyncCursor cursor = GSON.fromJson(reader, SyncCursor.class);
+			if ((cursor == null) || !athleteId.equals(cursor.getAthleteId())) {
+				log.warn(String.format(Messages.string("ActivitySync.unreadableCursor"), file, "wrong athlete")); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			}
+			return cursor;
+		} catch (final NoSuchFileException e) {
+			return null;
+		} catch (final JsonParseException e) {
+			log.warn(String.format(Messages.string("ActivitySync.unreadableCursor"), file, e)); //$NON-NLS-1$
+			return null;
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @see javastrava.service.sync.SyncCursorStore#save(javastrava.service.sync.SyncCursor)
+	 */
+	@Override
+	public void save(final SyncCursor cursor) {
+		final Path file = file(cursor.getAthleteId());
+		try {
+			Files.createDirectories(this.directory);
+			final Path temp = Files.createTempFile(this.directory, "athlete-", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+					GSON.toJson(cursor, writer);
+				}
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package javastrava.service.sync.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javastrava.service.sync.SyncCursor;
+import javastrava.service.sync.SyncCursorStore;
+
+/**
+ * <p>
+ * Keeps cursors in memory, so they only last as long as the store does
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class InMemorySyncCursorStore implements SyncCursorStore {
+	/**
+	 * Cursors, keyed by athlete id
+	 */
+	private final ConcurrentHashMap<Integer, SyncCursor> cursors = new ConcurrentHashMap<>();
+
+	/**
+	 * @see javastrava.service.sync.SyncCursorStore#load(java.lang.Integer)
+	 */
+	@Override
+	public SyncCursor load(final Integer athleteId) {
+		return this.cursors.get(athleteId);
+	}
+
+	/**
+	 * @see javastrava.service.sync.SyncCursorStore#save(javastrava.service.sync.SyncCursor)
+	 */
+	@Override
+	public void save(final SyncCursor cursor) {
+		this.cursors.put(cursor.getAthleteId(), cursor);
+	}
+}
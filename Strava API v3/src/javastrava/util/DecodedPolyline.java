@@ -0,0 +1,127 @@
+package javastrava.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javastrava.model.StravaMapPoint;
+
+/**
+ * <p>
+ * A decoded polyline: the points of an encoded polyline, held as arrays of latitudes and longitudes
+ * </p>
+ *
+ * <p>
+ * Instances are immutable, so one decoded polyline can be shared by everyone using the map it came from.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class DecodedPolyline {
+	/**
+	 * The encoded polyline
+	 */
+	private final String	encoded;
+
+	/**
+	 * Latitudes of the points, in degrees
+	 */
+	private final double[]	latitudes;
+
+	/**
+	 * Longitudes of the points, in degrees
+	 */
+	private final double[]	longitudes;
+
+	/**
+	 * @param encoded
+	 *            The encoded polyline
+	 * @param latitudes
+	 *            Latitudes of the points, in degrees; not copied
+	 * @param longitudes
+	 *            Longitudes of the points, in degrees; not copied
+	 */
+	DecodedPolyline(final String encoded, final double[] latitudes, final double[] longitudes) {
+		this.encoded = encoded;
+		this.latitudes = latitudes;
+		this.longitudes = longitudes;
+	}
+
+	/**
+	 * @return The encoded polyline this was decoded from
+	 */
+	public String getEncoded() {
+		return this.encoded;
+	}
+
+	/**
+	 * @param index
+	 *            Index of a point
+	 * @return Its latitude, in degrees
+	 */
+	public double getLatitude(final int index) {
+		return this.latitudes[index];
+	}
+
+	/**
+	 * @return A copy of the latitudes of the points, in degrees
+	 */
+	public double[] getLatitudes() {
+		return Arrays.copyOf(this.latitudes, this.latitudes.length);
+	}
+
+	/**
+	 * @param index
+	 *            Index of a point
+	 * @return Its longitude, in degrees
+	 */
+	public double getLongitude(final int index) {
+		return this.longitudes[index];
+	}
+
+	/**
+	 * @return A copy of the longitudes of the points, in degrees
+	 */
+	public double[] getLongitudes() {
+		return Arrays.copyOf(this.longitudes, this.longitudes.length);
+	}
+
+	/**
+	 * @return The points as map points, for code that works with those
+	 */
+	public List<StravaMapPoint> getMapPoints() {
+		final List<StravaMapPoint> points = new ArrayList<StravaMapPoint>(this.latitudes.length);
+		for (int i = 0; i < this.latitudes.length; i++) {
+			points.add(new StravaMapPoint(Float.valueOf((float) this.latitudes[i]), Float.valueOf((float) this.longitudes[i])));
+		}
+		return points;
+	}
+
+	/**
+	 * @return Number of points
+	 */
+	public int size() {
+		return this.latitudes.length;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DecodedPolyline [encoded=" + this.encoded + ", size=" + this.latitudes.length + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Pass each point to a visitor, in order
+	 *
+	 * @param visitor
+	 *            The visitor
+	 */
+	public void visit(final PolylineVisitor visitor) {
+		for (int i = 0; i < this.latitudes.length; i++) {
+			visitor.point(this.latitudes[i], this.longitudes[i]);
+		}
+	}
+}
@@ -0,0 +1,333 @@
+package javastrava.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Executor that fetches pages of data in parallel for the {@link PagingHandler}, for one token or tenant
+ * </p>
+ *
+ * <p>
+ * No more than <code>maxActive</code> pages are fetched at once; the threads come from an underlying executor ({@link StravaExecutors#getDefault()} unless another is given).
+ * Up to <code>queueCapacity</code> more pages wait their turn. When the queue is full, the thread asking for another page fetches it itself, so a caller that wants far more
+ * pages than the executor can handle is slowed down to its pace (back-pressure) rather than building an ever longer queue.
+ * </p>
+ *
+ * <p>
+ * Each token gets its own executor by default, so one token listing all the members of an enormous club can only hold up its own paging, not everyone else's. Tokens can share
+ * an executor by giving them the same one, for example all the tokens belonging to a tenant.
+ * </p>
+ *
+ * <p>
+ * The number of active and queued pages, and the number of times back-pressure has been applied, are available for monitoring.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class PagingExecutor implements Executor {
+	/**
+	 * Gets a page of data on a fork-join worker thread, letting the pool know that the thread is blocked while it does
+	 *
+	 * @param <T>
+	 *            Class of the result
+	 */
+	private static final class Blocker<T> implements ForkJoinPool.ManagedBlocker {
+		/**
+		 * Gets the page of data
+		 */
+		private final Supplier<T>	supplier;
+
+		/**
+		 * Set once the page has been got
+		 */
+		private boolean				done;
+
+		/**
+		 * The page of data
+		 */
+		T							result;
+
+		/**
+		 * @param supplier
+		 *            Gets the page of data
+		 */
+		Blocker(final Supplier<T> supplier) {
+			this.supplier = supplier;
+		}
+
+		@Override
+		public boolean block() {
+			this.result = this.supplier.get();
+			this.done = true;
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return this.done;
+		}
+	}
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Executors for each token or tenant; weakly keyed, so they go when the token does
+	 */
+	private static final Map<Object, PagingExecutor> TENANTS = Collections.synchronizedMap(new WeakHashMap<Object, PagingExecutor>());
+
+	/**
+	 * <p>
+	 * Get the page of data, allowing the thread to be replaced while it waits for Strava if it belongs to a {@link ForkJoinPool}
+	 * </p>
+	 *
+	 * <p>
+	 * A fork-join pool only starts another thread in place of one that is blocked if it is told about it; otherwise a pool full of threads waiting for HTTP responses can't run
+	 * anything else.
+	 * </p>
+	 *
+	 * @param supplier
+	 *            Gets the page of data
+	 * @param <T>
+	 *            Class of the result
+	 * @return The result
+	 */
+	static <T> T block(final Supplier<T> supplier) {
+		if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+			return supplier.get();
+		}
+		final Blocker<T> blocker = new Blocker<T>(supplier);
+		try {
+			ForkJoinPool.managedBlock(blocker);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		return blocker.result;
+	}
+
+	/**
+	 * Get the executor for a token or tenant, creating it with the configured bounds if necessary
+	 *
+	 * @param tenant
+	 *            The token or tenant
+	 * @return The executor
+	 */
+	public static PagingExecutor forTenant(final Object tenant) {
+		synchronized (TENANTS) {
+			return TENANTS.computeIfAbsent(tenant, key -> new PagingExecutor(StravaConfig.PAGING_MAX_ACTIVE_PAGES, StravaConfig.PAGING_QUEUE_CAPACITY));
+		}
+	}
+
+	/**
+	 * Underlying executor which provides the threads, or <code>null</code> to use {@link StravaExecutors#getDefault()}
+	 */
+	private final Executor				delegate;
+
+	/**
+	 * Maximum number of pages fetched at once
+	 */
+	private final int					maxActive;
+
+	/**
+	 * Maximum number of pages waiting to be fetched
+	 */
+	private final int					queueCapacity;
+
+	/**
+	 * Pages waiting to be fetched; guarded by synchronising on the executor
+	 */
+	private final ArrayDeque<Runnable>	queue			= new ArrayDeque<>();
+
+	/**
+	 * Number of threads currently fetching pages; guarded by synchronising on the executor
+	 */
+	private int							active;
+
+	/**
+	 * Number of pages fetched
+	 */
+	private final AtomicLong			completed		= new AtomicLong();
+
+	/**
+	 * Number of pages fetched by the thread that asked for them, because the queue was full
+	 */
+	private final AtomicLong			callerRuns		= new AtomicLong();
+
+	/**
+	 * @param maxActive
+	 *            Maximum number of pages fetched at once
+	 * @param queueCapacity
+	 *            Maximum number of pages waiting to be fetched
+	 */
+	public PagingExecutor(final int maxActive, final int queueCapacity) {
+		this(null, maxActive, queueCapacity);
+	}
+
+	/**
+	 * @param delegate
+	 *            Underlying executor which provides the threads, or <code>null</code> to use {@link StravaExecutors#getDefault()}
+	 * @param maxActive
+	 *            Maximum number of pages fetched at once
+	 * @param queueCapacity
+	 *            Maximum number of pages waiting to be fetched
+	 */
+	public PagingExecutor(final Executor delegate, final int maxActive, final int queueCapacity) {
+		if (maxActive < 1) {
+			throw new IllegalArgumentException("maxActive must be at least 1"); //$NON-NLS-1$
+		}
+		this.delegate = delegate;
+		this.maxActive = maxActive;
+		this.queueCapacity = Math.max(0, queueCapacity);
+	}
+
+	/**
+	 * Run the task, then the tasks in the queue until there are none left
+	 *
+	 * @param first
+	 *            The first task
+	 */
+	private void drain(final Runnable first) {
+		Runnable task = first;
+		while (task != null) {
+			run(task);
+			synchronized (this) {
+				task = this.queue.poll();
+				if (task == null) {
+					this.active--;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Fetch a page
+	 * </p>
+	 *
+	 * <p>
+	 * If fewer than the maximum number of pages are being fetched, it is fetched straight away on a thread from the underlying executor; otherwise it is queued. If the queue is
+	 * full, it is fetched on the calling thread.
+	 * </p>
+	 *
+	 * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+	 */
+	@Override
+	public void execute(final Runnable task) {
+		final boolean full;
+		synchronized (this) {
+			if (this.active < this.maxActive) {
+				this.active++;
+				full = false;
+			} else if (this.queue.size() < this.queueCapacity) {
+				this.queue.add(task);
+				return;
+			} else {
+				full = true;
+			}
+		}
+		if (full) {
+			// Back-pressure: the caller has to do the work itself
+			this.callerRuns.incrementAndGet();
+			run(task);
+			return;
+		}
+		try {
+			getDelegate().execute(() -> drain(task));
+		} catch (final RuntimeException e) {
+			synchronized (this) {
+				this.active--;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The executor which provides the threads
+	 */
+	private Executor getDelegate() {
+		return (this.delegate == null ? StravaExecutors.getDefault() : this.delegate);
+	}
+
+	/**
+	 * @return Number of threads currently fetching pages
+	 */
+	public synchronized int getActiveCount() {
+		return this.active;
+	}
+
+	/**
+	 * @return Number of times a page has been fetched by the thread that asked for it, because the queue was full
+	 */
+	public long getCallerRunsCount() {
+		return this.callerRuns.get();
+	}
+
+	/**
+	 * @return Number of pages fetched so far
+	 */
+	public long getCompletedTaskCount() {
+		return this.completed.get();
+	}
+
+	/**
+	 * @return Maximum number of pages fetched at once
+	 */
+	public int getMaxActive() {
+		return this.maxActive;
+	}
+
+	/**
+	 * @return Maximum number of pages waiting to be fetched
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * @return Number of pages waiting to be fetched
+	 */
+	public synchronized int getQueueDepth() {
+		return this.queue.size();
+	}
+
+	/**
+	 * @param task
+	 *            The task to run
+	 */
+	private void run(final Runnable task) {
+		try {
+			task.run();
+		} catch (final RuntimeException e) {
+			// Tasks from the PagingHandler complete their futures rather than throwing, so this is somebody else's
+			log.error(e.getMessage(), e);
+		} finally {
+			this.completed.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PagingExecutor [active=" + getActiveCount() + ", maxActive=" + this.maxActive + ", queueDepth=" + getQueueDepth() + ", queueCapacity=" + this.queueCapacity //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ ", completed=" + getCompletedTaskCount() + ", callerRuns=" + getCallerRunsCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -11,7 +11,9 @@ import javastrava.service.exception.NotFoundException;
  * @author Dan Shannon
  *
  * @param <T> Class of objects which will be returned in a list
+ * @deprecated {@link PagingHandler} now gets pages in parallel on a bounded {@link PagingExecutor}; this task blocks its fork-join thread for the whole of each HTTP call
  */
+@Deprecated
 public class PagingForkJoinTask<T> extends RecursiveTask<List<T>> {
 
 	/**
@@ -1,9 +1,17 @@
 package javastrava.util;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javastrava.api.util.RequestPriority;
 import javastrava.config.StravaConfig;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
@@ -24,9 +32,75 @@ import javastrava.service.impl.ActivityServiceImpl;
  */
 public class PagingHandler {
 	/**
-	 * A ForkJoinPool used for parallel processing of large paging requests
+	 * Executor used for parallel paging when none is given; shared by everything that uses it
 	 */
-	private static ForkJoinPool pool = new ForkJoinPool();
+	private static final PagingExecutor DEFAULT_EXECUTOR = new PagingExecutor(StravaConfig.PAGING_MAX_ACTIVE_PAGES, StravaConfig.PAGING_QUEUE_CAPACITY);
+
+	/**
+	 * <p>
+	 * Get the pages in parallel on the executor, and put them together in order
+	 * </p>
+	 *
+	 * @param callback
+	 *            The callback which gets a page of data from the Strava API
+	 * @param pages
+	 *            The Strava-compatible paging instructions
+	 * @param pagingExecutor
+	 *            Executor that gets the pages
+	 * @param <T>
+	 *            The class of objects which will be returned in the list
+	 * @return All the records, or <code>null</code> if none of the pages could be found
+	 */
+	private static <T> List<T> getPagesInParallel(final PagingCallback<T> callback, final List<Paging> pages, final Executor pagingExecutor) {
+		// Requests for the pages are made at the same priority as the one for all of them
+		final Executor executor = runnable -> pagingExecutor.execute(RequestPriority.propagate(runnable));
+		final List<CompletableFuture<List<T>>> futures = new ArrayList<>(pages.size());
+		for (final Paging paging : pages) {
+			futures.add(CompletableFuture.supplyAsync(() -> getPage(callback, paging), executor));
+		}
+		List<T> records = null;
+		for (final CompletableFuture<List<T>> future : futures) {
+			final List<T> page;
+			try {
+				page = future.join();
+			} catch (final CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+			if (page != null) {
+				if (records == null) {
+					records = new ArrayList<>();
+				}
+				records.addAll(page);
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * @param callback
+	 *            The callback which gets a page of data from the Strava API
+	 * @param paging
+	 *            A Strava-compatible paging instruction
+	 * @param <T>
+	 *            The class of objects which will be returned in the list
+	 * @return The page of data, trimmed as the instruction says, or <code>null</code> if it can't be found
+	 */
+	private static <T> List<T> getPage(final PagingCallback<T> callback, final Paging paging) {
+		try {
+			List<T> pageOfData = PagingExecutor.block(() -> callback.getPageOfData(paging));
+			pageOfData = PagingUtils.ignoreLastN(pageOfData, paging.getIgnoreLastN());
+			pageOfData = PagingUtils.ignoreFirstN(pageOfData, paging.getIgnoreFirstN());
+			return pageOfData;
+		} catch (final NotFoundException e) {
+			return null;
+		} catch (final BadRequestException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * <p>
 	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
@@ -48,6 +122,24 @@ public class PagingHandler {
 		return handleListAll(callback, StravaConfig.PAGING_LIST_ALL_PARALLELISM);
 	}
 
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param executor Executor that gets the pages in parallel, usually the {@link PagingExecutor} for the token
+	 * @param <T> the parameterised type of list to be returned
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final Executor executor) {
+		return handleListAll(callback, StravaConfig.PAGING_LIST_ALL_PARALLELISM, executor);
+	}
+
 	/**
 	 * <p>
 	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
@@ -61,43 +153,100 @@ public class PagingHandler {
 	 * The {@link PagingCallback} provides the method to return a single page of data
 	 * </p>
 	 *
+	 * <p>
+	 * Pages are requested at {@link RequestPriority#LOW} priority, so that the sweep gives way to other requests as the rate limit is approached
+	 * </p>
+	 *
 	 * @param callback The callback function that returns one page of data
 	 * @param <T> the parameterised type of list to be returned
 	 * @param parallelism How many concurrent pages should be retrieved. This gives the user an opportunity to specify the right number of pages if
 	 * @return The list containing all the records
 	 */
 	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final int parallelism) {
+		return handleListAll(callback, parallelism, DEFAULT_EXECUTOR);
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * Pages are requested continuously rather than in waves: as each one arrives, another is requested in its place, so there are always several in flight. The number in flight
+	 * starts at <code>parallelism</code> and adapts to how quickly Strava is responding and how much of the rate limit is left. Once a page comes back with fewer than a full page
+	 * of records, pages requested beyond it are cancelled.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param parallelism How many concurrent pages should be retrieved to start with
+	 * @param executor Executor that gets the pages in parallel, usually the {@link PagingExecutor} for the token
+	 * @param <T> the parameterised type of list to be returned
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final int parallelism, final Executor executor) {
 		int parallelismUsed = parallelism;
 		if (parallelismUsed == 0) {
 			parallelismUsed = StravaConfig.PAGING_LIST_ALL_PARALLELISM;
 		}
-		boolean loop = true;
+		final PagingWindow window = new PagingWindow(parallelismUsed, Math.max(parallelismUsed, StravaConfig.PAGING_MAX_ACTIVE_PAGES));
+		final PagingIterator<T> pages = new PagingIterator<T>(callback, executor, StravaConfig.MAX_PAGE_SIZE.intValue(), parallelismUsed, window);
 		final List<T> records = new ArrayList<T>();
-		int page = 0;
-		final Integer pageSize = Integer.valueOf(StravaConfig.MAX_PAGE_SIZE.intValue() * parallelismUsed);
-
-		while (loop) {
-			page++;
-			List<T> currentPage;
-			try {
-				currentPage = handlePaging(new Paging(Integer.valueOf(page), pageSize), callback);
-			} catch (final NotFoundException e) {
-				return null;
-			} catch (final UnauthorizedException e) {
-				return new ArrayList<T>();
-			} catch (final BadRequestException e) {
-				return new ArrayList<T>();
-			}
-			if (currentPage == null) {
-				return null; // Activity doesn't exist
-			}
-			records.addAll(currentPage);
-			if (currentPage.size() < pageSize.intValue()) {
-				loop = false;
+		try {
+			for (List<T> page = pages.nextPage(); page != null; page = pages.nextPage()) {
+				records.addAll(page);
 			}
+		} finally {
+			pages.close();
+		}
+		if (pages.isMissing()) {
+			return null; // Activity doesn't exist
 		}
 		return records;
+	}
 
+	/**
+	 * <p>
+	 * Returns the rest of the data from a Strava service that would normally only return a page of data, when the first page has already been got and says how many records there
+	 * are
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * Knowing how many pages there are, they can all be requested at once rather than discovering the end one page at a time; as many are in flight as the rate limit and
+	 * Strava's response times allow (see {@link #handleListAll(PagingCallback, int, Executor)}). If the last page expected turns out to be full, because more data has arrived in the
+	 * meantime, the pages after it are got one at a time until there's no more.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param firstPage Number of the first page to get
+	 * @param lastPage Number of the last page expected
+	 * @param executor Executor that gets the pages in parallel, usually the {@link PagingExecutor} for the token
+	 * @param <T> the parameterised type of list to be returned
+	 * @return The list containing the records on the pages, in page order, or <code>null</code> if a page couldn't be found
+	 */
+	public static <T> List<T> handleListAllFrom(final PagingCallback<T> callback, final int firstPage, final int lastPage, final Executor executor) {
+		final PagingWindow window = new PagingWindow(StravaConfig.PAGING_LIST_ALL_PARALLELISM, Math.max(StravaConfig.PAGING_LIST_ALL_PARALLELISM, StravaConfig.PAGING_MAX_ACTIVE_PAGES));
+		final PagingIterator<T> pages = new PagingIterator<T>(callback, executor, StravaConfig.MAX_PAGE_SIZE.intValue(), StravaConfig.PAGING_LIST_ALL_PARALLELISM, window, firstPage,
+				lastPage);
+		final List<T> records = new ArrayList<T>();
+		try {
+			for (List<T> page = pages.nextPage(); page != null; page = pages.nextPage()) {
+				records.addAll(page);
+			}
+		} finally {
+			pages.close();
+		}
+		if (pages.isMissing()) {
+			return null;
+		}
+		return records;
 	}
 
 	/**
@@ -118,6 +267,25 @@ public class PagingHandler {
 	 * @return List of strava objects as per the paging instruction
 	 */
 	public static <T> List<T> handlePaging(final Paging pagingInstruction, final PagingCallback<T> callback) {
+		return handlePaging(pagingInstruction, callback, DEFAULT_EXECUTOR);
+	}
+
+	/**
+	 * <p>
+	 * Validates paging instructions and converts them to Strava-compatible paging instructions, then gets the whole lot for you
+	 * </p>
+	 *
+	 * @param pagingInstruction
+	 *            The overarching paging instruction to be managed
+	 * @param callback
+	 *            An implementation of PagingCallback which actually gets the relevant page of data from the Strava API
+	 * @param executor
+	 *            Executor that gets the pages in parallel, if there's more than one, usually the {@link PagingExecutor} for the token
+	 * @param <T>
+	 *            The class of objects which will be returned in the list
+	 * @return List of strava objects as per the paging instruction
+	 */
+	public static <T> List<T> handlePaging(final Paging pagingInstruction, final PagingCallback<T> callback, final Executor executor) {
 		PagingUtils.validatePagingArguments(pagingInstruction);
 		List<T> records = new ArrayList<>();
 		try {
@@ -133,7 +301,7 @@ public class PagingHandler {
 			}
 
 			// But if there is more than one, get them in parallel
-			records = pool.invoke(new PagingForkJoinTask<T>(callback, pages));
+			records = getPagesInParallel(callback, pages, executor);
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -144,4 +312,53 @@ public class PagingHandler {
 		return records;
 
 	}
+
+	/**
+	 * <p>
+	 * Iterates over ALL the data from a Strava service that would normally only return a page of data, getting pages as they are needed rather than all at once
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! READING TO THE END WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 * @param executor
+	 *            Executor that gets the pages, usually the {@link PagingExecutor} for the token
+	 * @param <T>
+	 *            The class of objects iterated over
+	 * @return An iterator over all the records; close it if it isn't read to the end
+	 * @see PagingIterator
+	 */
+	public static <T> PagingIterator<T> iterateAll(final PagingCallback<T> callback, final Executor executor) {
+		return new PagingIterator<T>(callback, executor);
+	}
+
+	/**
+	 * <p>
+	 * Streams ALL the data from a Strava service that would normally only return a page of data, getting pages as they are needed rather than all at once
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! READING TO THE END WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * Nothing is requested from Strava until a terminal operation is started on the stream. Closing the stream cancels pages that have been read ahead.
+	 * </p>
+	 *
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 * @param executor
+	 *            Executor that gets the pages, usually the {@link PagingExecutor} for the token
+	 * @param <T>
+	 *            The class of objects in the stream
+	 * @return A sequential stream of all the records
+	 * @see PagingIterator
+	 */
+	public static <T> Stream<T> streamAll(final PagingCallback<T> callback, final Executor executor) {
+		final PagingIterator<T> iterator = iterateAll(callback, executor);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize((Iterator<T>) iterator, Spliterator.ORDERED), false).onClose(iterator::close);
+	}
 }
@@ -0,0 +1,280 @@
+package javastrava.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javastrava.api.util.RequestPriority;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.BadRequestException;
+import javastrava.service.exception.NotFoundException;
+import javastrava.service.exception.UnauthorizedException;
+
+/**
+ * <p>
+ * Iterates over ALL the data from a Strava service that would normally only return a page of data, getting pages 1..n as they are needed until there's no more data to retrieve
+ * </p>
+ *
+ * <p>
+ * A few pages are read ahead, in parallel, so that the next one is usually there by the time it is wanted; no more than that are requested until the caller catches up. Only the
+ * page being iterated over and the pages read ahead are held, so memory use stays the same however much data there is, and the first items are available as soon as the first
+ * page arrives.
+ * </p>
+ *
+ * <p>
+ * Once a page comes back with fewer items than were asked for, there's no more data: any pages read ahead beyond it are cancelled. {@link #close()} cancels them too, if the caller
+ * stops before the end.
+ * </p>
+ *
+ * <p>
+ * As with {@link PagingHandler#handleListAll(PagingCallback)}, pages are requested at {@link RequestPriority#LOW} priority, and there are simply no items if the parent object can't
+ * be found or the token isn't allowed to see them.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of the objects iterated over
+ */
+public class PagingIterator<T> implements Iterator<T>, AutoCloseable {
+	/**
+	 * Callback which gets a page of data from the Strava API
+	 */
+	private final PagingCallback<T>						callback;
+
+	/**
+	 * Executor that gets the pages
+	 */
+	private final Executor								executor;
+
+	/**
+	 * Number of items to ask for on each page
+	 */
+	private final int									pageSize;
+
+	/**
+	 * Maximum number of pages requested but not yet being iterated over
+	 */
+	private final int									readAhead;
+
+	/**
+	 * Adjusts the number of pages in flight as they arrive, or <code>null</code> to keep it at {@link #readAhead}
+	 */
+	private final PagingWindow							window;
+
+	/**
+	 * Number of the last page expected, if it is known; pages beyond it are only requested one at a time, in case more data has arrived since the number was worked out
+	 */
+	private final int									lastPage;
+
+	/**
+	 * Pages requested, in order
+	 */
+	private final ArrayDeque<CompletableFuture<List<T>>>	pending	= new ArrayDeque<>();
+
+	/**
+	 * The page being iterated over
+	 */
+	private Iterator<T>									current	= Collections.emptyIterator();
+
+	/**
+	 * Number of the next page to request
+	 */
+	private int											nextPage;
+
+	/**
+	 * Set once a page with fewer than {@link #pageSize} items has arrived, or the iterator has been closed; no more pages are requested after that
+	 */
+	private boolean										finished;
+
+	/**
+	 * Set if a page couldn't be found, which usually means the object whose data is being listed doesn't exist
+	 */
+	private boolean										missing;
+
+	/**
+	 * @param callback
+	 *            Callback which gets a page of data from the Strava API
+	 * @param executor
+	 *            Executor that gets the pages
+	 */
+	public PagingIterator(final PagingCallback<T> callback, final Executor executor) {
+		this(callback, executor, StravaConfig.MAX_PAGE_SIZE.intValue(), StravaConfig.PAGING_LIST_ALL_PARALLELISM);
+	}
+
+	/**
+	 * @param callback
+	 *            Callback which gets a page of data from the Strava API
+	 * @param executor
+	 *            Executor that gets the pages
+	 * @param pageSize
+	 *            Number of items to ask for on each page
+	 * @param readAhead
+	 *            Maximum number of pages requested but not yet being iterated over
+	 */
+	public PagingIterator(final PagingCallback<T> callback, final Executor executor, final int pageSize, final int readAhead) {
+		this(callback, executor, pageSize, readAhead, null);
+	}
+
+	/**
+	 * @param callback
+	 *            Callback which gets a page of data from the Strava API
+	 * @param executor
+	 *            Executor that gets the pages
+	 * @param pageSize
+	 *            Number of items to ask for on each page
+	 * @param readAhead
+	 *            Maximum number of pages requested but not yet being iterated over, if there is no window
+	 * @param window
+	 *            Adjusts the number of pages in flight as they arrive, or <code>null</code> to keep it at <code>readAhead</code>
+	 */
+	PagingIterator(final PagingCallback<T> callback, final Executor executor, final int pageSize, final int readAhead, final PagingWindow window) {
+		this(callback, executor, pageSize, readAhead, window, 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param callback
+	 *            Callback which gets a page of data from the Strava API
+	 * @param executor
+	 *            Executor that gets the pages
+	 * @param pageSize
+	 *            Number of items to ask for on each page
+	 * @param readAhead
+	 *            Maximum number of pages requested but not yet being iterated over, if there is no window
+	 * @param window
+	 *            Adjusts the number of pages in flight as they arrive, or <code>null</code> to keep it at <code>readAhead</code>
+	 * @param firstPage
+	 *            Number of the first page to get
+	 * @param lastPage
+	 *            Number of the last page expected, or {@link Integer#MAX_VALUE} if it isn't known
+	 */
+	PagingIterator(final PagingCallback<T> callback, final Executor executor, final int pageSize, final int readAhead, final PagingWindow window, final int firstPage,
+			final int lastPage) {
+		this.callback = callback;
+		this.executor = executor;
+		this.pageSize = pageSize;
+		this.readAhead = Math.max(1, readAhead);
+		this.window = window;
+		this.nextPage = Math.max(1, firstPage);
+		this.lastPage = lastPage;
+	}
+
+	/**
+	 * Move on to the next page, requesting more pages to replace it
+	 *
+	 * @return <code>false</code> if there are no more pages
+	 */
+	private boolean advance() {
+		if (!this.finished || !this.pending.isEmpty()) {
+			final List<T> page = nextPage();
+			this.current = (page == null ? Collections.<T> emptyIterator() : page.iterator());
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Stop requesting pages, and cancel any that have been read ahead but not yet iterated over
+	 */
+	@Override
+	public void close() {
+		this.finished = true;
+		for (final CompletableFuture<List<T>> future : this.pending) {
+			future.cancel(false);
+		}
+		this.pending.clear();
+	}
+
+	/**
+	 * Request pages until as many are pending as the window (or {@link #readAhead}) allows, but only one at a time beyond the {@link #lastPage last page expected}
+	 */
+	private void fill() {
+		final int target = (this.window == null ? this.readAhead : this.window.size());
+		while (!this.finished && (this.pending.size() < target) && ((this.nextPage <= this.lastPage) || this.pending.isEmpty())) {
+			final Paging paging = new Paging(Integer.valueOf(this.nextPage++), Integer.valueOf(this.pageSize));
+			this.pending.add(CompletableFuture.supplyAsync(() -> RequestPriority.call(RequestPriority.LOW, () -> getPage(paging)), this.executor));
+		}
+	}
+
+	/**
+	 * @param paging
+	 *            The page to get
+	 * @return The page of data, or <code>null</code> if there is none to be had
+	 */
+	private List<T> getPage(final Paging paging) {
+		final long start = System.nanoTime();
+		try {
+			return PagingExecutor.block(() -> this.callback.getPageOfData(paging));
+		} catch (final NotFoundException e) {
+			return null;
+		} catch (final UnauthorizedException e) {
+			return Collections.emptyList();
+		} catch (final BadRequestException e) {
+			return Collections.emptyList();
+		} finally {
+			if (this.window != null) {
+				this.window.completed(System.nanoTime() - start);
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!this.current.hasNext()) {
+			if (!advance()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return <code>true</code> if a page couldn't be found, which usually means the object whose data is being listed doesn't exist
+	 */
+	boolean isMissing() {
+		return this.missing;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.current.next();
+	}
+
+	/**
+	 * Wait for the next page, requesting more pages to replace it
+	 *
+	 * @return The page, or <code>null</code> if it couldn't be found or there are no more pages
+	 */
+	List<T> nextPage() {
+		fill();
+		final CompletableFuture<List<T>> future = this.pending.poll();
+		if (future == null) {
+			return null;
+		}
+		final List<T> page;
+		try {
+			page = future.join();
+		} catch (final CompletionException e) {
+			close();
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		if (page == null) {
+			this.missing = true;
+		}
+		if ((page == null) || (page.size() < this.pageSize)) {
+			close();
+		}
+		return page;
+	}
+}
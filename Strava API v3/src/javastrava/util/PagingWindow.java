@@ -0,0 +1,88 @@
+package javastrava.util;
+
+import javastrava.api.util.RateLimiter;
+import javastrava.api.util.RequestPriority;
+
+/**
+ * <p>
+ * Works out how many pages a {@link PagingIterator} should have in flight at once, from how quickly Strava is responding and how much of the rate limit is left
+ * </p>
+ *
+ * <p>
+ * The window starts at the configured parallelism. Each time a page arrives, the window grows by one if the response was about as quick as the quickest seen so far; if the
+ * responses have slowed to more than twice that, Strava (or the connection) is struggling with the requests already in flight, and the window shrinks by one. It never exceeds the
+ * number of {@link RequestPriority#LOW low priority} requests the {@link RateLimiter} could let through now, so pages aren't requested speculatively only to queue for quota.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+final class PagingWindow {
+	/**
+	 * Weight given to the latest response time in the smoothed response time
+	 */
+	private static final double	SMOOTHING	= 0.2;
+
+	/**
+	 * How much slower than the quickest response the smoothed response time can get before the window shrinks
+	 */
+	private static final double	SLOWDOWN	= 2.0;
+
+	/**
+	 * Largest window allowed
+	 */
+	private final int			max;
+
+	/**
+	 * Current window, before allowing for the rate limit
+	 */
+	private int					size;
+
+	/**
+	 * Quickest response seen, in nanoseconds
+	 */
+	private long				quickest	= Long.MAX_VALUE;
+
+	/**
+	 * Smoothed response time, in nanoseconds, or 0 before the first response
+	 */
+	private double				smoothed;
+
+	/**
+	 * @param initial
+	 *            Window to start with
+	 * @param max
+	 *            Largest window allowed
+	 */
+	PagingWindow(final int initial, final int max) {
+		this.max = Math.max(1, max);
+		this.size = Math.max(1, Math.min(initial, this.max));
+	}
+
+	/**
+	 * Adjust the window for a page that has arrived
+	 *
+	 * @param nanos
+	 *            How long the page took to arrive, in nanoseconds
+	 */
+	synchronized void completed(final long nanos) {
+		this.quickest = Math.min(this.quickest, nanos);
+		this.smoothed = (this.smoothed == 0 ? nanos : ((1 - SMOOTHING) * this.smoothed) + (SMOOTHING * nanos));
+		if (this.smoothed > (SLOWDOWN * this.quickest)) {
+			this.size = Math.max(1, this.size - 1);
+		} else if (this.size < this.max) {
+			this.size++;
+		}
+	}
+
+	/**
+	 * @return Number of pages to have in flight now; always at least one
+	 */
+	int size() {
+		final int current;
+		synchronized (this) {
+			current = this.size;
+		}
+		return Math.max(1, Math.min(current, RateLimiter.instance().getAvailable(RequestPriority.LOW)));
+	}
+}
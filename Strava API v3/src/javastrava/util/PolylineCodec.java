@@ -0,0 +1,289 @@
+package javastrava.util;
+
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * Decodes and encodes polylines in Google's encoded polyline format, as used by Strava for the polylines in a {@link javastrava.model.StravaMap}
+ * </p>
+ *
+ * <p>
+ * Co-ordinates are held to 5 decimal places, as integers (multiplied by 100,000) or as <code>double</code>s. Points are decoded into arrays of latitudes and longitudes
+ * provided by the caller, which can be reused from one polyline to the next, or passed one at a time to a {@link PolylineVisitor}; nothing is allocated per point.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class PolylineCodec {
+	/**
+	 * Co-ordinates are multiplied by this to give the integers encoded
+	 */
+	private static final double	SCALE			= 1e5;
+
+	/**
+	 * Added to each 5-bit chunk to make it a printable character
+	 */
+	private static final int	OFFSET			= 63;
+
+	/**
+	 * Set in a chunk if another chunk of the same value follows
+	 */
+	private static final int	CONTINUATION	= 0x20;
+
+	/**
+	 * The 5 bits of value in a chunk
+	 */
+	private static final int	CHUNK			= 0x1f;
+
+	/**
+	 * @param encoded
+	 *            Encoded polyline
+	 * @return Number of points in it, without checking that it is well formed
+	 */
+	public static int count(final CharSequence encoded) {
+		int values = 0;
+		for (int i = 0; i < encoded.length(); i++) {
+			if ((encoded.charAt(i) - OFFSET) < CONTINUATION) {
+				values++;
+			}
+		}
+		return values / 2;
+	}
+
+	/**
+	 * @param encoded
+	 *            Encoded polyline
+	 * @return The decoded polyline
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed
+	 */
+	public static DecodedPolyline decode(final CharSequence encoded) {
+		final int count = count(encoded);
+		final double[] latitudes = new double[count];
+		final double[] longitudes = new double[count];
+		decode(encoded, latitudes, longitudes);
+		return new DecodedPolyline(encoded.toString(), latitudes, longitudes);
+	}
+
+	/**
+	 * Decode a polyline into arrays of latitudes and longitudes, in degrees
+	 *
+	 * @param encoded
+	 *            Encoded polyline
+	 * @param latitudes
+	 *            Array to hold the latitudes, starting at index 0
+	 * @param longitudes
+	 *            Array to hold the longitudes, starting at index 0
+	 * @return Number of points decoded
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed, or the arrays are too small for it
+	 */
+	public static int decode(final CharSequence encoded, final double[] latitudes, final double[] longitudes) {
+		final int capacity = Math.min(latitudes.length, longitudes.length);
+		int latitude = 0;
+		int longitude = 0;
+		int points = 0;
+		int position = 0;
+		while (position < encoded.length()) {
+			long next = next(encoded, position);
+			latitude += value(next);
+			next = next(encoded, position(next));
+			longitude += value(next);
+			position = position(next);
+			if (points == capacity) {
+				throw new IllegalArgumentException(String.format(Messages.string("PolylineCodec.tooSmall"), Integer.valueOf(capacity))); //$NON-NLS-1$
+			}
+			latitudes[points] = latitude / SCALE;
+			longitudes[points] = longitude / SCALE;
+			points++;
+		}
+		return points;
+	}
+
+	/**
+	 * Decode a polyline into arrays of latitudes and longitudes, multiplied by 100,000
+	 *
+	 * @param encoded
+	 *            Encoded polyline
+	 * @param latitudes
+	 *            Array to hold the latitudes, starting at index 0
+	 * @param longitudes
+	 *            Array to hold the longitudes, starting at index 0
+	 * @return Number of points decoded
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed, or the arrays are too small for it
+	 */
+	public static int decodeE5(final CharSequence encoded, final int[] latitudes, final int[] longitudes) {
+		final int capacity = Math.min(latitudes.length, longitudes.length);
+		int latitude = 0;
+		int longitude = 0;
+		int points = 0;
+		int position = 0;
+		while (position < encoded.length()) {
+			long next = next(encoded, position);
+			latitude += value(next);
+			next = next(encoded, position(next));
+			longitude += value(next);
+			position = position(next);
+			if (points == capacity) {
+				throw new IllegalArgumentException(String.format(Messages.string("PolylineCodec.tooSmall"), Integer.valueOf(capacity))); //$NON-NLS-1$
+			}
+			latitudes[points] = latitude;
+			longitudes[points] = longitude;
+			points++;
+		}
+		return points;
+	}
+
+	/**
+	 * Encode points given in degrees
+	 *
+	 * @param latitudes
+	 *            Latitudes of the points
+	 * @param longitudes
+	 *            Longitudes of the points
+	 * @param count
+	 *            Number of points to encode, from index 0
+	 * @return The encoded polyline
+	 */
+	public static String encode(final double[] latitudes, final double[] longitudes, final int count) {
+		final StringBuilder encoded = new StringBuilder(count * 8);
+		long previousLatitude = 0;
+		long previousLongitude = 0;
+		for (int i = 0; i < count; i++) {
+			final long latitude = Math.round(latitudes[i] * SCALE);
+			final long longitude = Math.round(longitudes[i] * SCALE);
+			append(encoded, latitude - previousLatitude);
+			append(encoded, longitude - previousLongitude);
+			previousLatitude = latitude;
+			previousLongitude = longitude;
+		}
+		return encoded.toString();
+	}
+
+	/**
+	 * Encode points given multiplied by 100,000
+	 *
+	 * @param latitudes
+	 *            Latitudes of the points
+	 * @param longitudes
+	 *            Longitudes of the points
+	 * @param count
+	 *            Number of points to encode, from index 0
+	 * @return The encoded polyline
+	 */
+	public static String encodeE5(final int[] latitudes, final int[] longitudes, final int count) {
+		final StringBuilder encoded = new StringBuilder(count * 8);
+		long previousLatitude = 0;
+		long previousLongitude = 0;
+		for (int i = 0; i < count; i++) {
+			append(encoded, latitudes[i] - previousLatitude);
+			append(encoded, longitudes[i] - previousLongitude);
+			previousLatitude = latitudes[i];
+			previousLongitude = longitudes[i];
+		}
+		return encoded.toString();
+	}
+
+	/**
+	 * Pass each point of a polyline to a visitor as it is decoded
+	 *
+	 * @param encoded
+	 *            Encoded polyline
+	 * @param visitor
+	 *            Visitor to pass the points to, in degrees
+	 * @return Number of points visited
+	 * @throws IllegalArgumentException
+	 *             If the polyline isn't well formed; the points before the error will have been visited
+	 */
+	public static int visit(final CharSequence encoded, final PolylineVisitor visitor) {
+		int latitude = 0;
+		int longitude = 0;
+		int points = 0;
+		int position = 0;
+		while (position < encoded.length()) {
+			long next = next(encoded, position);
+			latitude += value(next);
+			next = next(encoded, position(next));
+			longitude += value(next);
+			position = position(next);
+			visitor.point(latitude / SCALE, longitude / SCALE);
+			points++;
+		}
+		return points;
+	}
+
+	/**
+	 * Append an encoded value
+	 *
+	 * @param encoded
+	 *            Polyline being encoded
+	 * @param delta
+	 *            Difference from the previous value
+	 */
+	private static void append(final StringBuilder encoded, final long delta) {
+		long remaining = (delta < 0 ? ~(delta << 1) : (delta << 1));
+		while (remaining >= CONTINUATION) {
+			encoded.append((char) ((CONTINUATION | (remaining & CHUNK)) + OFFSET));
+			remaining >>= 5;
+		}
+		encoded.append((char) (remaining + OFFSET));
+	}
+
+	/**
+	 * Decode the value starting at a position
+	 *
+	 * @param encoded
+	 *            Encoded polyline
+	 * @param start
+	 *            Position of the value's first character
+	 * @return The value in the high 32 bits, and the position after it in the low 32 bits
+	 * @throws IllegalArgumentException
+	 *             If there isn't a well formed value at the position
+	 */
+	private static long next(final CharSequence encoded, final int start) {
+		int result = 0;
+		int shift = 0;
+		int position = start;
+		int chunk;
+		do {
+			if ((position == encoded.length()) || (shift > 30)) {
+				throw new IllegalArgumentException(String.format(Messages.string("PolylineCodec.malformed"), Integer.valueOf(start))); //$NON-NLS-1$
+			}
+			chunk = encoded.charAt(position++) - OFFSET;
+			if ((chunk < 0) || (chunk > (CONTINUATION | CHUNK))) {
+				throw new IllegalArgumentException(String.format(Messages.string("PolylineCodec.malformed"), Integer.valueOf(position - 1))); //$NON-NLS-1$
+			}
+			result |= (chunk & CHUNK) << shift;
+			shift += 5;
+		} while (chunk >= CONTINUATION);
+		final int value = ((result & 1) != 0 ? ~(result >>> 1) : (result >>> 1));
+		return ((long) value << 32) | position;
+	}
+
+	/**
+	 * @param next
+	 *            Result of {@link #next(CharSequence, int)}
+	 * @return The position after the value
+	 */
+	private static int position(final long next) {
+		return (int) next;
+	}
+
+	/**
+	 * @param next
+	 *            Result of {@link #next(CharSequence, int)}
+	 * @return The value
+	 */
+	private static int value(final long next) {
+		return (int) (next >> 32);
+	}
+
+	/**
+	 * No instances
+	 */
+	private PolylineCodec() {
+		// Static methods only
+	}
+}
@@ -0,0 +1,20 @@
+package javastrava.util;
+
+/**
+ * <p>
+ * Implement this interface to visit the points of an encoded polyline as {@link PolylineCodec#visit(CharSequence, PolylineVisitor)} decodes them, without keeping them
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+@FunctionalInterface
+public interface PolylineVisitor {
+	/**
+	 * @param latitude
+	 *            Latitude of the point, in degrees
+	 * @param longitude
+	 *            Longitude of the point, in degrees
+	 */
+	public void point(final double latitude, final double longitude);
+}
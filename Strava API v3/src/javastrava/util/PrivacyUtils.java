@@ -3,11 +3,17 @@ package javastrava.util;
 import java.util.ArrayList;
 import java.util.List;
 
+import javastrava.api.util.APITransport;
 import javastrava.auth.model.Token;
+import javastrava.cache.StravaCacheableEntity;
+import javastrava.json.JsonUtil;
+import javastrava.json.exception.JsonSerialisationException;
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaChallenge;
 import javastrava.model.StravaClub;
 import javastrava.model.StravaGear;
+import javastrava.model.StravaRoute;
+import javastrava.model.StravaRunningRace;
 import javastrava.model.StravaSegment;
 import javastrava.model.StravaSegmentEffort;
 import javastrava.model.StravaSegmentLeaderboard;
@@ -175,6 +181,36 @@ public class PrivacyUtils {
 		return returnedSegments;
 	}
 
+	/**
+	 * <p>
+	 * Checks if an object's visibility is independent of the token it was fetched with, so that it can be shared between tokens
+	 * </p>
+	 *
+	 * <p>
+	 * Only public segments, clubs and routes, and running races, are shareable. Anything private, or in a {@link StravaResourceState#PRIVATE} or
+	 * {@link StravaResourceState#UPDATING} state, never is; nor is gear, which is only visible to the athlete who owns it.
+	 * </p>
+	 *
+	 * @param object
+	 *            The object to check
+	 * @return <code>true</code> if the object may be shared between tokens
+	 */
+	public static boolean isShareable(final StravaCacheableEntity<?> object) {
+		if ((object == null) || (object.getResourceState() == StravaResourceState.PRIVATE) || (object.getResourceState() == StravaResourceState.UPDATING)) {
+			return false;
+		}
+		if (object instanceof StravaSegment) {
+			return !segmentIsPrivate((StravaSegment) object);
+		}
+		if (object instanceof StravaClub) {
+			return !Boolean.TRUE.equals(((StravaClub) object).getPrivateClub());
+		}
+		if (object instanceof StravaRoute) {
+			return !Boolean.TRUE.equals(((StravaRoute) object).getIsPrivate());
+		}
+		return (object instanceof StravaRunningRace);
+	}
+
 	/**
 	 * <p>
 	 * Creates an activity with the given id and resourceState = {@link StravaResourceState#PRIVATE}
@@ -303,4 +339,69 @@ public class PrivacyUtils {
 		return ((segment.getPrivateSegment() != null) && segment.getPrivateSegment().equals(Boolean.TRUE));
 	}
 
+	/**
+	 * <p>
+	 * Makes a copy, for one token, of an object that was cached for another and {@link #shareableCopy(StravaCacheableEntity) shared}. If the object has data specific to the
+	 * authenticated athlete, which was taken out of the shared copy, the copy's resource state is {@link StravaResourceState#SUMMARY}, so that services which need the
+	 * detailed object fetch it afresh rather than returning the missing data as <code>null</code>
+	 * </p>
+	 *
+	 * @param object
+	 *            The shared object
+	 * @param <T>
+	 *            Class of the object
+	 * @return The copy, or <code>null</code> if the object can't be copied
+	 */
+	public static <T extends StravaCacheableEntity<?>> T sharedCopy(final T object) {
+		final T copy = shareableCopy(object);
+		if (copy instanceof StravaSegment) {
+			((StravaSegment) copy).setResourceState(StravaResourceState.SUMMARY);
+		} else if (copy instanceof StravaClub) {
+			((StravaClub) copy).setResourceState(StravaResourceState.SUMMARY);
+		} else if (copy instanceof StravaRoute) {
+			((StravaRoute) copy).setResourceState(StravaResourceState.SUMMARY);
+		}
+		return copy;
+	}
+
+	/**
+	 * <p>
+	 * Makes a copy of a {@link #isShareable(StravaCacheableEntity) shareable} object with the data that is specific to the authenticated athlete removed: whether a segment or route is
+	 * starred and the athlete's efforts on a segment, or the athlete's membership of a club
+	 * </p>
+	 *
+	 * @param object
+	 *            The object to copy
+	 * @param <T>
+	 *            Class of the object
+	 * @return The copy, or <code>null</code> if the object can't be copied
+	 */
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public static <T extends StravaCacheableEntity<?>> T shareableCopy(final T object) {
+		final T copy;
+		try {
+			final JsonUtil json = APITransport.getJson();
+			copy = (T) json.deserialise(json.serialise(object), object.getClass());
+		} catch (final JsonSerialisationException e) {
+			return null;
+		}
+		if (copy instanceof StravaSegment) {
+			final StravaSegment segment = (StravaSegment) copy;
+			segment.setStarred(null);
+			segment.setStarredDate(null);
+			segment.setAthletePrEffort(null);
+			// Deprecated, but Strava may still send them, and they are the athlete's own
+			segment.setPrTime(null);
+			segment.setAthleteSegmentStats(null);
+		} else if (copy instanceof StravaClub) {
+			final StravaClub club = (StravaClub) copy;
+			club.setMembership(null);
+			club.setAdmin(null);
+			club.setOwner(null);
+		} else if (copy instanceof StravaRoute) {
+			((StravaRoute) copy).setStarred(null);
+		}
+		return copy;
+	}
+
 }
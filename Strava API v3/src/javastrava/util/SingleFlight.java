@@ -0,0 +1,160 @@
+package javastrava.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Coalesces concurrent identical requests, so that only one of them goes to Strava and the others share its result
+ * </p>
+ *
+ * <p>
+ * The first caller to ask for a key makes the request. Anyone else who asks for the same key while it is in flight waits for that request instead of making their own, and gets
+ * the same object back (or the same exception). Once it has completed, the next caller for the key makes a new request, by which time the result will usually be in the cache.
+ * </p>
+ *
+ * <p>
+ * Results are only shared between callers using the same instance, so each service has one per endpoint, and the key is the request's parameters; services belong to a token,
+ * so nothing is shared between tokens.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <K>
+ *            Class of the key identifying the request
+ * @param <V>
+ *            Class of the result
+ */
+public final class SingleFlight<K, V> {
+	/**
+	 * Requests in flight
+	 */
+	private final ConcurrentMap<K, CompletableFuture<V>>	inFlight	= new ConcurrentHashMap<>();
+
+	/**
+	 * Number of requests made
+	 */
+	private final AtomicLong								requests	= new AtomicLong();
+
+	/**
+	 * Number of callers who shared a request someone else made
+	 */
+	private final AtomicLong								coalesced	= new AtomicLong();
+
+	/**
+	 * <p>
+	 * Make the request, or wait for the identical one in flight
+	 * </p>
+	 *
+	 * @param key
+	 *            Identifies the request
+	 * @param request
+	 *            Makes the request on the calling thread, if there isn't one in flight
+	 * @return The result
+	 */
+	public V call(final K key, final Supplier<V> request) {
+		final CompletableFuture<V> future = new CompletableFuture<V>();
+		final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			this.coalesced.incrementAndGet();
+			return join(existing);
+		}
+		this.requests.incrementAndGet();
+		try {
+			final V result = request.get();
+			future.complete(result);
+			return result;
+		} catch (final RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Make the request asynchronously, or share the identical one in flight
+	 * </p>
+	 *
+	 * <p>
+	 * Each caller gets their own future, so cancelling it doesn't affect anyone else.
+	 * </p>
+	 *
+	 * @param key
+	 *            Identifies the request
+	 * @param request
+	 *            Starts the request, if there isn't one in flight
+	 * @return Future which completes with the result
+	 */
+	public CompletableFuture<V> callAsync(final K key, final Supplier<CompletableFuture<V>> request) {
+		final CompletableFuture<V> future = new CompletableFuture<V>();
+		final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			this.coalesced.incrementAndGet();
+			return existing.thenApply(Function.identity());
+		}
+		this.requests.incrementAndGet();
+		try {
+			request.get().whenComplete((result, e) -> {
+				this.inFlight.remove(key, future);
+				if (e == null) {
+					future.complete(result);
+				} else {
+					future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+				}
+			});
+		} catch (final RuntimeException | Error e) {
+			this.inFlight.remove(key, future);
+			future.completeExceptionally(e);
+		}
+		return future.thenApply(Function.identity());
+	}
+
+	/**
+	 * @return Number of callers who shared a request someone else made, rather than making their own
+	 */
+	public long getCoalescedCount() {
+		return this.coalesced.get();
+	}
+
+	/**
+	 * @return Number of requests in flight now
+	 */
+	public int getInFlightCount() {
+		return this.inFlight.size();
+	}
+
+	/**
+	 * @return Number of requests made
+	 */
+	public long getRequestCount() {
+		return this.requests.get();
+	}
+
+	/**
+	 * Wait for a request someone else is making
+	 *
+	 * @param future
+	 *            The request
+	 * @return The result
+	 */
+	private V join(final CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
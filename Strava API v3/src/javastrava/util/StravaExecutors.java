@@ -0,0 +1,141 @@
+package javastrava.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Creates the executors that run the asynchronous service methods and fetch pages of data in parallel, and holds the default one
+ * </p>
+ *
+ * <p>
+ * The default is chosen by the <code>strava.executor</code> property:
+ * </p>
+ * <ul>
+ * <li><code>virtual</code> - a new virtual thread for each task, on a Java runtime that has them (Java 21 or later); otherwise the same as <code>cached</code></li>
+ * <li><code>cached</code> - a cached pool of daemon threads, created as they are needed and discarded when they've been idle for a minute</li>
+ * <li><code>common</code> - the common {@link ForkJoinPool}, as in earlier versions; not recommended, as every task spends most of its time blocked waiting for Strava</li>
+ * </ul>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class StravaExecutors {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Value of <code>strava.executor</code> that selects virtual threads
+	 */
+	private static final String VIRTUAL = "virtual"; //$NON-NLS-1$
+
+	/**
+	 * Value of <code>strava.executor</code> that selects the common pool
+	 */
+	private static final String COMMON = "common"; //$NON-NLS-1$
+
+	/**
+	 * The default executor; created when it is first needed
+	 */
+	private static volatile Executor defaultExecutor;
+
+	/**
+	 * @param mode
+	 *            <code>virtual</code>, <code>cached</code> or <code>common</code>
+	 * @return An executor of the given kind
+	 */
+	public static Executor create(final String mode) {
+		if (VIRTUAL.equals(mode)) {
+			return newVirtualThreadPerTaskExecutor();
+		}
+		if (COMMON.equals(mode)) {
+			return ForkJoinPool.commonPool();
+		}
+		return Executors.newCachedThreadPool(daemonThreadFactory("javastrava-worker")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param prefix
+	 *            Prefix of the thread names, which are numbered
+	 * @return A thread factory that creates daemon threads, so that they don't stop the JVM from exiting
+	 */
+	public static ThreadFactory daemonThreadFactory(final String prefix) {
+		final AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			final Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * @return The executor used by services that haven't been given one of their own, and for fetching pages in parallel
+	 */
+	public static Executor getDefault() {
+		Executor executor = defaultExecutor;
+		if (executor == null) {
+			synchronized (StravaExecutors.class) {
+				executor = defaultExecutor;
+				if (executor == null) {
+					executor = create(StravaConfig.EXECUTOR);
+					defaultExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * <p>
+	 * Create an executor that starts a new virtual thread for each task
+	 * </p>
+	 *
+	 * <p>
+	 * Virtual threads are cheap to create and, when they block on I/O, give up their carrier thread; so tens of thousands of requests can be waiting for Strava at once without tens
+	 * of thousands of platform threads. On a Java runtime without virtual threads, a cached pool of daemon threads is returned instead.
+	 * </p>
+	 *
+	 * @return The executor
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			// Looked up reflectively, so that the library still compiles and runs on Java 8
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null); //$NON-NLS-1$
+		} catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			log.info(Messages.string("StravaExecutors.noVirtualThreads")); //$NON-NLS-1$
+			return Executors.newCachedThreadPool(daemonThreadFactory("javastrava-worker")); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Replace the default executor. Executors already given to services are not affected.
+	 *
+	 * @param executor
+	 *            The executor; <code>null</code> to go back to the one configured by <code>strava.executor</code>
+	 */
+	public static void setDefault(final Executor executor) {
+		synchronized (StravaExecutors.class) {
+			defaultExecutor = executor;
+		}
+	}
+
+	/**
+	 * No instances
+	 */
+	private StravaExecutors() {
+		// Static utility class
+	}
+}